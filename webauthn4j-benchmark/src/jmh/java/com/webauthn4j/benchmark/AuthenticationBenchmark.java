@@ -0,0 +1,110 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.benchmark;
+
+import com.webauthn4j.WebAuthnAssertionVerifier;
+import com.webauthn4j.WebAuthnManager;
+import com.webauthn4j.data.AssertionExpectations;
+import com.webauthn4j.data.AssertionVerificationResult;
+import com.webauthn4j.data.AuthenticationData;
+import com.webauthn4j.data.AuthenticationParameters;
+import com.webauthn4j.data.AuthenticationRequest;
+import com.webauthn4j.data.attestation.statement.COSEAlgorithmIdentifier;
+import com.webauthn4j.data.client.challenge.Challenge;
+import com.webauthn4j.data.client.challenge.DefaultChallenge;
+import com.webauthn4j.test.EmulatorUtil;
+import com.webauthn4j.test.authenticator.webauthn.WebAuthnAuthenticatorAdaptor;
+import com.webauthn4j.test.client.ClientPlatform;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a whole authentication ceremony through {@link WebAuthnManager#validate(AuthenticationRequest, AuthenticationParameters)},
+ * and the same assertion through {@link WebAuthnAssertionVerifier}
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthenticationBenchmark {
+
+    @Param({"ES256", "ES384", "ES512", "RS256"})
+    public String algorithm;
+
+    private WebAuthnManager webAuthnManager;
+    private AuthenticationRequest authenticationRequest;
+    private AuthenticationParameters authenticationParameters;
+
+    private WebAuthnAssertionVerifier webAuthnAssertionVerifier;
+    private AssertionExpectations assertionExpectations;
+
+    @Setup
+    public void setup() {
+        webAuthnManager = WebAuthnManager.createNonStrictWebAuthnManager();
+
+        Challenge challenge = new DefaultChallenge();
+        ClientPlatform clientPlatform = new ClientPlatform(BenchmarkDataUtil.ORIGIN, new WebAuthnAuthenticatorAdaptor(EmulatorUtil.PACKED_AUTHENTICATOR));
+        BenchmarkDataUtil.Assertion assertion = BenchmarkDataUtil.createAssertion(clientPlatform, toCOSEAlgorithmIdentifier(algorithm), challenge);
+
+        authenticationRequest = assertion.getAuthenticationRequest();
+        // signCount stays zero, so that the same assertion can be validated repeatedly without tripping the counter check
+        authenticationParameters = new AuthenticationParameters(
+                BenchmarkDataUtil.createServerProperty(challenge),
+                assertion.getAuthenticator(),
+                true
+        );
+
+        webAuthnAssertionVerifier = new WebAuthnAssertionVerifier();
+        assertionExpectations = new AssertionExpectations(authenticationParameters.getServerProperty(), true, true);
+    }
+
+    @Benchmark
+    public AuthenticationData validate() {
+        return webAuthnManager.validate(authenticationRequest, authenticationParameters);
+    }
+
+    @Benchmark
+    public AssertionVerificationResult verify() {
+        return webAuthnAssertionVerifier.verify(
+                authenticationParameters.getAuthenticator(),
+                authenticationRequest.getCredentialId(),
+                authenticationRequest.getClientDataJSON(),
+                authenticationRequest.getAuthenticatorData(),
+                authenticationRequest.getSignature(),
+                assertionExpectations
+        );
+    }
+
+    private static COSEAlgorithmIdentifier toCOSEAlgorithmIdentifier(String algorithm) {
+        switch (algorithm) {
+            case "ES256":
+                return COSEAlgorithmIdentifier.ES256;
+            case "ES384":
+                return COSEAlgorithmIdentifier.ES384;
+            case "ES512":
+                return COSEAlgorithmIdentifier.ES512;
+            case "RS256":
+                return COSEAlgorithmIdentifier.RS256;
+            default:
+                throw new IllegalArgumentException("Unsupported algorithm: " + algorithm);
+        }
+    }
+}
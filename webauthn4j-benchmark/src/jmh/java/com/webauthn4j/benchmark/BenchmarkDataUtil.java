@@ -0,0 +1,172 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.benchmark;
+
+import com.webauthn4j.authenticator.Authenticator;
+import com.webauthn4j.authenticator.AuthenticatorImpl;
+import com.webauthn4j.converter.AuthenticatorDataConverter;
+import com.webauthn4j.converter.CollectedClientDataConverter;
+import com.webauthn4j.converter.util.ObjectConverter;
+import com.webauthn4j.data.*;
+import com.webauthn4j.data.attestation.authenticator.*;
+import com.webauthn4j.data.attestation.statement.COSEAlgorithmIdentifier;
+import com.webauthn4j.data.attestation.statement.NoneAttestationStatement;
+import com.webauthn4j.data.client.ClientDataType;
+import com.webauthn4j.data.client.CollectedClientData;
+import com.webauthn4j.data.client.Origin;
+import com.webauthn4j.data.client.challenge.Challenge;
+import com.webauthn4j.data.extension.authenticator.AuthenticationExtensionAuthenticatorOutput;
+import com.webauthn4j.data.extension.client.AuthenticationExtensionsClientInputs;
+import com.webauthn4j.data.extension.client.RegistrationExtensionClientInput;
+import com.webauthn4j.server.ServerProperty;
+import com.webauthn4j.test.client.ClientPlatform;
+import com.webauthn4j.util.ECUtil;
+import com.webauthn4j.util.MessageDigestUtil;
+import com.webauthn4j.util.RSAUtil;
+import com.webauthn4j.util.exception.UnexpectedCheckedException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.Signature;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Collections;
+import java.util.UUID;
+
+/**
+ * Generates the WebAuthn payloads consumed by the benchmarks
+ */
+class BenchmarkDataUtil {
+
+    static final String RP_ID = "example.com";
+    static final Origin ORIGIN = new Origin("https://example.com");
+
+    private static final ObjectConverter objectConverter = new ObjectConverter();
+    private static final AuthenticatorDataConverter authenticatorDataConverter = new AuthenticatorDataConverter(objectConverter);
+    private static final CollectedClientDataConverter collectedClientDataConverter = new CollectedClientDataConverter(objectConverter);
+
+    private BenchmarkDataUtil() {
+    }
+
+    static ServerProperty createServerProperty(Challenge challenge) {
+        return new ServerProperty(ORIGIN, RP_ID, challenge, null);
+    }
+
+    static PublicKeyCredentialCreationOptions createCredentialCreationOptions(Challenge challenge, AttestationConveyancePreference attestationConveyancePreference) {
+        AuthenticatorSelectionCriteria authenticatorSelectionCriteria = new AuthenticatorSelectionCriteria(
+                AuthenticatorAttachment.CROSS_PLATFORM,
+                ResidentKeyRequirement.REQUIRED,
+                UserVerificationRequirement.REQUIRED);
+        PublicKeyCredentialParameters publicKeyCredentialParameters = new PublicKeyCredentialParameters(PublicKeyCredentialType.PUBLIC_KEY, COSEAlgorithmIdentifier.ES256);
+        return new PublicKeyCredentialCreationOptions(
+                new PublicKeyCredentialRpEntity(RP_ID, "example.com"),
+                new PublicKeyCredentialUserEntity(),
+                challenge,
+                Collections.singletonList(publicKeyCredentialParameters),
+                null,
+                Collections.emptyList(),
+                authenticatorSelectionCriteria,
+                attestationConveyancePreference,
+                new AuthenticationExtensionsClientInputs<RegistrationExtensionClientInput>()
+        );
+    }
+
+    /**
+     * Creates a signed assertion for a freshly generated credential of the specified algorithm.
+     * {@link com.webauthn4j.test.authenticator.webauthn.WebAuthnModelAuthenticator} only issues ES256 credentials,
+     * so the authenticator side of the assertion is assembled here, while the client data is produced by {@link ClientPlatform}.
+     *
+     * @param clientPlatform client platform used to produce clientDataJSON
+     * @param algorithm      credential key algorithm
+     * @param challenge      challenge
+     * @return generated assertion
+     */
+    static Assertion createAssertion(ClientPlatform clientPlatform, COSEAlgorithmIdentifier algorithm, Challenge challenge) {
+        KeyPair keyPair = createKeyPair(algorithm);
+        COSEKey coseKey;
+        if (keyPair.getPublic() instanceof ECPublicKey) {
+            coseKey = EC2COSEKey.create((ECPublicKey) keyPair.getPublic(), algorithm);
+        } else {
+            coseKey = RSACOSEKey.create((RSAPublicKey) keyPair.getPublic(), algorithm);
+        }
+        byte[] credentialId = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
+        AttestedCredentialData attestedCredentialData = new AttestedCredentialData(AAGUID.ZERO, credentialId, coseKey);
+        Authenticator authenticator = new AuthenticatorImpl(attestedCredentialData, new NoneAttestationStatement(), 0);
+
+        byte[] rpIdHash = MessageDigestUtil.createSHA256().digest(RP_ID.getBytes(StandardCharsets.UTF_8));
+        byte flags = AuthenticatorData.BIT_UP | AuthenticatorData.BIT_UV;
+        AuthenticatorData<AuthenticationExtensionAuthenticatorOutput> authenticatorData = new AuthenticatorData<>(rpIdHash, flags, 0);
+        byte[] authenticatorDataBytes = authenticatorDataConverter.convert(authenticatorData);
+
+        CollectedClientData collectedClientData = clientPlatform.createCollectedClientData(ClientDataType.GET, challenge);
+        byte[] clientDataJSON = collectedClientDataConverter.convertToBytes(collectedClientData);
+        byte[] clientDataHash = MessageDigestUtil.createSHA256().digest(clientDataJSON);
+
+        byte[] signedData = ByteBuffer.allocate(authenticatorDataBytes.length + clientDataHash.length).put(authenticatorDataBytes).put(clientDataHash).array();
+        byte[] signature = sign(keyPair, algorithm, signedData);
+
+        AuthenticationRequest authenticationRequest = new AuthenticationRequest(credentialId, authenticatorDataBytes, clientDataJSON, signature);
+        return new Assertion(authenticationRequest, authenticator);
+    }
+
+    private static KeyPair createKeyPair(COSEAlgorithmIdentifier algorithm) {
+        if (algorithm.equals(COSEAlgorithmIdentifier.ES256)) {
+            return ECUtil.createKeyPair(ECUtil.P_256_SPEC);
+        } else if (algorithm.equals(COSEAlgorithmIdentifier.ES384)) {
+            return ECUtil.createKeyPair(ECUtil.P_384_SPEC);
+        } else if (algorithm.equals(COSEAlgorithmIdentifier.ES512)) {
+            return ECUtil.createKeyPair(ECUtil.P_521_SPEC);
+        } else if (algorithm.equals(COSEAlgorithmIdentifier.RS256)) {
+            return RSAUtil.createKeyPair();
+        } else {
+            throw new IllegalArgumentException("Unsupported algorithm: " + algorithm.getValue());
+        }
+    }
+
+    private static byte[] sign(KeyPair keyPair, COSEAlgorithmIdentifier algorithm, byte[] signedData) {
+        try {
+            Signature signature = Signature.getInstance(algorithm.toSignatureAlgorithm().getJcaName());
+            signature.initSign(keyPair.getPrivate());
+            signature.update(signedData);
+            return signature.sign();
+        } catch (GeneralSecurityException e) {
+            throw new UnexpectedCheckedException(e);
+        }
+    }
+
+    static class Assertion {
+
+        private final AuthenticationRequest authenticationRequest;
+        private final Authenticator authenticator;
+
+        Assertion(AuthenticationRequest authenticationRequest, Authenticator authenticator) {
+            this.authenticationRequest = authenticationRequest;
+            this.authenticator = authenticator;
+        }
+
+        AuthenticationRequest getAuthenticationRequest() {
+            return authenticationRequest;
+        }
+
+        Authenticator getAuthenticator() {
+            return authenticator;
+        }
+    }
+}
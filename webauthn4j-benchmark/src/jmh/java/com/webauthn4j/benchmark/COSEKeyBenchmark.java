@@ -0,0 +1,112 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.benchmark;
+
+import com.webauthn4j.data.attestation.authenticator.COSEKey;
+import com.webauthn4j.data.attestation.authenticator.EC2COSEKey;
+import com.webauthn4j.data.attestation.authenticator.RSACOSEKey;
+import com.webauthn4j.data.attestation.statement.COSEAlgorithmIdentifier;
+import com.webauthn4j.util.ECUtil;
+import com.webauthn4j.util.RSAUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of materializing the {@link PublicKey} of a {@link COSEKey} as part of an assertion signature verification.
+ * <p>
+ * {@code verifyWithRetainedCOSEKey} reuses the same {@link COSEKey} instance, like a credential record held in a cache does,
+ * while {@code verifyWithFreshCOSEKey} decodes the public key again for every signature.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class COSEKeyBenchmark {
+
+    @Param({"ES256", "RS256"})
+    public String algorithm;
+
+    private COSEKey coseKey;
+    private String jcaName;
+    private byte[] signedData;
+    private byte[] signature;
+
+    @Setup
+    public void setup() throws GeneralSecurityException {
+        KeyPair keyPair;
+        if (algorithm.equals("ES256")) {
+            keyPair = ECUtil.createKeyPair();
+            coseKey = EC2COSEKey.create((ECPublicKey) keyPair.getPublic(), COSEAlgorithmIdentifier.ES256);
+        } else {
+            keyPair = RSAUtil.createKeyPair();
+            coseKey = RSACOSEKey.create((RSAPublicKey) keyPair.getPublic(), COSEAlgorithmIdentifier.RS256);
+        }
+        jcaName = coseKey.getAlgorithm().toSignatureAlgorithm().getJcaName();
+        signedData = new byte[37 + 32];
+        Signature signer = Signature.getInstance(jcaName);
+        signer.initSign(keyPair.getPrivate());
+        signer.update(signedData);
+        signature = signer.sign();
+    }
+
+    @Benchmark
+    public boolean verifyWithRetainedCOSEKey() throws GeneralSecurityException {
+        return verify(coseKey.getPublicKey());
+    }
+
+    @Benchmark
+    public boolean verifyWithFreshCOSEKey() throws GeneralSecurityException {
+        return verify(copy(coseKey).getPublicKey());
+    }
+
+    @Benchmark
+    public PublicKey getPublicKeyFromRetainedCOSEKey() {
+        return coseKey.getPublicKey();
+    }
+
+    @Benchmark
+    public PublicKey getPublicKeyFromFreshCOSEKey() {
+        return copy(coseKey).getPublicKey();
+    }
+
+    private boolean verify(PublicKey publicKey) throws GeneralSecurityException {
+        Signature verifier = Signature.getInstance(jcaName);
+        verifier.initVerify(publicKey);
+        verifier.update(signedData);
+        return verifier.verify(signature);
+    }
+
+    private static COSEKey copy(COSEKey coseKey) {
+        if (coseKey instanceof EC2COSEKey) {
+            EC2COSEKey ec2COSEKey = (EC2COSEKey) coseKey;
+            return new EC2COSEKey(null, ec2COSEKey.getAlgorithm(), null, ec2COSEKey.getCurve(), ec2COSEKey.getX(), ec2COSEKey.getY());
+        } else {
+            RSACOSEKey rsaCOSEKey = (RSACOSEKey) coseKey;
+            return new RSACOSEKey(null, rsaCOSEKey.getAlgorithm(), null, rsaCOSEKey.getN(), rsaCOSEKey.getE());
+        }
+    }
+}
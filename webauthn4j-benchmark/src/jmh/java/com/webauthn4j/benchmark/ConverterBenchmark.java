@@ -0,0 +1,129 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.benchmark;
+
+import com.webauthn4j.converter.AttestationObjectConverter;
+import com.webauthn4j.converter.AuthenticatorDataConverter;
+import com.webauthn4j.converter.CollectedClientDataConverter;
+import com.webauthn4j.converter.CollectedClientDataMatchResult;
+import com.webauthn4j.converter.FlyweightAuthenticatorData;
+import com.webauthn4j.converter.StreamingCollectedClientDataConverter;
+import com.webauthn4j.converter.util.ObjectConverter;
+import com.webauthn4j.data.AttestationConveyancePreference;
+import com.webauthn4j.data.AuthenticatorAttestationResponse;
+import com.webauthn4j.data.PublicKeyCredential;
+import com.webauthn4j.data.attestation.AttestationObject;
+import com.webauthn4j.data.attestation.authenticator.AuthenticatorData;
+import com.webauthn4j.data.attestation.statement.COSEAlgorithmIdentifier;
+import com.webauthn4j.data.client.CollectedClientData;
+import com.webauthn4j.data.client.challenge.Challenge;
+import com.webauthn4j.data.client.challenge.DefaultChallenge;
+import com.webauthn4j.data.extension.authenticator.AuthenticationExtensionAuthenticatorOutput;
+import com.webauthn4j.data.extension.authenticator.RegistrationExtensionAuthenticatorOutput;
+import com.webauthn4j.data.extension.client.RegistrationExtensionClientOutput;
+import com.webauthn4j.test.EmulatorUtil;
+import com.webauthn4j.test.authenticator.webauthn.WebAuthnAuthenticatorAdaptor;
+import com.webauthn4j.test.client.ClientPlatform;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the converters which parse the binary payloads sent by the client
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConverterBenchmark {
+
+    private AuthenticatorDataConverter authenticatorDataConverter;
+    private CollectedClientDataConverter collectedClientDataConverter;
+    private StreamingCollectedClientDataConverter streamingCollectedClientDataConverter;
+    private AttestationObjectConverter attestationObjectConverter;
+
+    private byte[] assertionAuthenticatorData;
+    private byte[] registrationAuthenticatorData;
+    private byte[] clientDataJSON;
+    private Challenge challenge;
+    private byte[] attestationObject;
+
+    @Setup
+    public void setup() {
+        ObjectConverter objectConverter = new ObjectConverter();
+        authenticatorDataConverter = new AuthenticatorDataConverter(objectConverter);
+        collectedClientDataConverter = new CollectedClientDataConverter(objectConverter);
+        streamingCollectedClientDataConverter = new StreamingCollectedClientDataConverter(objectConverter);
+        attestationObjectConverter = new AttestationObjectConverter(objectConverter);
+
+        challenge = new DefaultChallenge();
+        ClientPlatform clientPlatform = new ClientPlatform(BenchmarkDataUtil.ORIGIN, new WebAuthnAuthenticatorAdaptor(EmulatorUtil.PACKED_AUTHENTICATOR));
+        PublicKeyCredential<AuthenticatorAttestationResponse, RegistrationExtensionClientOutput> credential =
+                clientPlatform.create(BenchmarkDataUtil.createCredentialCreationOptions(challenge, AttestationConveyancePreference.DIRECT));
+        attestationObject = credential.getAuthenticatorResponse().getAttestationObject();
+        registrationAuthenticatorData = attestationObjectConverter.extractAuthenticatorData(attestationObject);
+
+        BenchmarkDataUtil.Assertion assertion = BenchmarkDataUtil.createAssertion(clientPlatform, COSEAlgorithmIdentifier.ES256, challenge);
+        assertionAuthenticatorData = assertion.getAuthenticationRequest().getAuthenticatorData();
+        clientDataJSON = assertion.getAuthenticationRequest().getClientDataJSON();
+    }
+
+    @Benchmark
+    public AuthenticatorData<AuthenticationExtensionAuthenticatorOutput> convertAssertionAuthenticatorData() {
+        return authenticatorDataConverter.convert(assertionAuthenticatorData);
+    }
+
+    @Benchmark
+    public AuthenticatorData<RegistrationExtensionAuthenticatorOutput> convertRegistrationAuthenticatorData() {
+        return authenticatorDataConverter.convert(registrationAuthenticatorData);
+    }
+
+    @Benchmark
+    public long convertAssertionAuthenticatorDataToFlyweight() {
+        FlyweightAuthenticatorData<AuthenticationExtensionAuthenticatorOutput> flyweight = authenticatorDataConverter.convertToFlyweight(assertionAuthenticatorData);
+        return flyweight.getSignCount();
+    }
+
+    @Benchmark
+    public Object convertRegistrationAuthenticatorDataToFlyweight() {
+        FlyweightAuthenticatorData<RegistrationExtensionAuthenticatorOutput> flyweight = authenticatorDataConverter.convertToFlyweight(registrationAuthenticatorData);
+        return flyweight.getCOSEKey();
+    }
+
+    @Benchmark
+    public CollectedClientData convertCollectedClientData() {
+        return collectedClientDataConverter.convert(clientDataJSON);
+    }
+
+    @Benchmark
+    public CollectedClientData convertCollectedClientDataStreaming() {
+        return streamingCollectedClientDataConverter.convert(clientDataJSON);
+    }
+
+    @Benchmark
+    public CollectedClientDataMatchResult matchCollectedClientDataStreaming() {
+        return streamingCollectedClientDataConverter.match(clientDataJSON, challenge, BenchmarkDataUtil.ORIGIN);
+    }
+
+    @Benchmark
+    public AttestationObject convertAttestationObject() {
+        return attestationObjectConverter.convert(attestationObject);
+    }
+}
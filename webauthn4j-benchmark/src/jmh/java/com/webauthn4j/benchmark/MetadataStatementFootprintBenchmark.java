@@ -0,0 +1,109 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.webauthn4j.converter.util.JsonConverter;
+import com.webauthn4j.converter.util.ObjectConverter;
+import com.webauthn4j.metadata.converter.jackson.WebAuthnMetadataJSONModule;
+import com.webauthn4j.metadata.data.statement.CompactMetadataStatement;
+import com.webauthn4j.metadata.data.statement.MetadataStatement;
+import com.webauthn4j.test.TestDataUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the retained heap of metadata statements loaded as {@link MetadataStatement} and as
+ * {@link CompactMetadataStatement}. The retained bytes per statement are reported as the {@code retainedBytes}
+ * secondary result.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetadataStatementFootprintBenchmark {
+
+    private static final int STATEMENT_COUNT = 2000;
+
+    @Param({"full", "compact"})
+    public String mode;
+
+    private JsonConverter jsonConverter;
+    private List<String> statementJsons;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long retainedBytes;
+    }
+
+    @Setup
+    public void setup() {
+        ObjectMapper jsonMapper = new ObjectMapper();
+        jsonMapper.registerModule(new WebAuthnMetadataJSONModule());
+        jsonConverter = new ObjectConverter(jsonMapper, new ObjectMapper(new CBORFactory())).getJsonConverter();
+
+        Map<String, Object> template = jsonConverter.readValue(jsonConverter.writeValueAsString(TestDataUtil.createMetadataStatement()), new TypeReference<Map<String, Object>>() {
+        });
+        template.remove("aaguid");
+        Random random = new Random(0);
+        statementJsons = new ArrayList<>(STATEMENT_COUNT);
+        for (int i = 0; i < STATEMENT_COUNT; i++) {
+            Map<String, Object> statement = new LinkedHashMap<>(template);
+            statement.put("aaguid", new UUID(random.nextLong(), random.nextLong()).toString());
+            byte[] png = new byte[3 * 1024];
+            random.nextBytes(png);
+            statement.put("icon", "data:image/png;base64," + Base64.getEncoder().encodeToString(png));
+            Map<String, String> alternativeDescriptions = new LinkedHashMap<>();
+            for (String language : Arrays.asList("de-DE", "fr-FR", "ja-JP", "ru-RU", "zh-CN")) {
+                alternativeDescriptions.put(language, "Authenticator " + i + " description in " + language);
+            }
+            statement.put("alternativeDescriptions", alternativeDescriptions);
+            statementJsons.add(jsonConverter.writeValueAsString(statement));
+        }
+    }
+
+    @Benchmark
+    public List<MetadataStatement> load(Footprint footprint) {
+        MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+        long before = usedHeap(memoryMXBean);
+        List<MetadataStatement> statements = new ArrayList<>(STATEMENT_COUNT);
+        for (String json : statementJsons) {
+            statements.add("compact".equals(mode)
+                    ? CompactMetadataStatement.parse(jsonConverter, json)
+                    : jsonConverter.readValue(json, MetadataStatement.class));
+        }
+        long after = usedHeap(memoryMXBean);
+        footprint.retainedBytes = (after - before) / STATEMENT_COUNT;
+        return statements;
+    }
+
+    private static long usedHeap(MemoryMXBean memoryMXBean) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memoryMXBean.getHeapMemoryUsage().getUsed();
+    }
+}
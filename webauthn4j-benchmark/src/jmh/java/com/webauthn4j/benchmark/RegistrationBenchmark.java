@@ -0,0 +1,131 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.benchmark;
+
+import com.webauthn4j.WebAuthnManager;
+import com.webauthn4j.anchor.TrustAnchorsResolver;
+import com.webauthn4j.data.*;
+import com.webauthn4j.data.client.challenge.Challenge;
+import com.webauthn4j.data.client.challenge.DefaultChallenge;
+import com.webauthn4j.data.extension.client.RegistrationExtensionClientOutput;
+import com.webauthn4j.test.EmulatorUtil;
+import com.webauthn4j.test.TestAttestationUtil;
+import com.webauthn4j.test.authenticator.AuthenticatorAdaptor;
+import com.webauthn4j.test.authenticator.u2f.FIDOU2FAuthenticatorAdaptor;
+import com.webauthn4j.test.authenticator.webauthn.WebAuthnAuthenticatorAdaptor;
+import com.webauthn4j.test.client.ClientPlatform;
+import com.webauthn4j.validator.attestation.statement.AttestationStatementValidator;
+import com.webauthn4j.validator.attestation.statement.androidkey.AndroidKeyAttestationStatementValidator;
+import com.webauthn4j.validator.attestation.statement.androidsafetynet.AndroidSafetyNetAttestationStatementValidator;
+import com.webauthn4j.validator.attestation.statement.none.NoneAttestationStatementValidator;
+import com.webauthn4j.validator.attestation.statement.packed.PackedAttestationStatementValidator;
+import com.webauthn4j.validator.attestation.statement.tpm.TPMAttestationStatementValidator;
+import com.webauthn4j.validator.attestation.statement.u2f.FIDOU2FAttestationStatementValidator;
+import com.webauthn4j.validator.attestation.trustworthiness.certpath.TrustAnchorCertPathTrustworthinessValidator;
+import com.webauthn4j.validator.attestation.trustworthiness.self.DefaultSelfAttestationTrustworthinessValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a whole registration ceremony through {@link WebAuthnManager#validate(RegistrationRequest, RegistrationParameters)}
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegistrationBenchmark {
+
+    @Param({"none", "packed", "fido-u2f", "tpm", "android-key", "android-safetynet"})
+    public String attestationFormat;
+
+    private WebAuthnManager webAuthnManager;
+    private RegistrationRequest registrationRequest;
+    private RegistrationParameters registrationParameters;
+
+    @Setup
+    public void setup() {
+        AuthenticatorAdaptor authenticatorAdaptor;
+        AttestationStatementValidator attestationStatementValidator;
+        TrustAnchorsResolver trustAnchorsResolver = TestAttestationUtil.createTrustAnchorProviderWith3tierTestRootCACertificate();
+        AttestationConveyancePreference attestationConveyancePreference = AttestationConveyancePreference.DIRECT;
+        switch (attestationFormat) {
+            case "none":
+                authenticatorAdaptor = new WebAuthnAuthenticatorAdaptor(EmulatorUtil.PACKED_AUTHENTICATOR);
+                attestationStatementValidator = new NoneAttestationStatementValidator();
+                attestationConveyancePreference = AttestationConveyancePreference.NONE;
+                break;
+            case "packed":
+                authenticatorAdaptor = new WebAuthnAuthenticatorAdaptor(EmulatorUtil.PACKED_AUTHENTICATOR);
+                attestationStatementValidator = new PackedAttestationStatementValidator();
+                break;
+            case "fido-u2f":
+                authenticatorAdaptor = new FIDOU2FAuthenticatorAdaptor(EmulatorUtil.FIDO_U2F_AUTHENTICATOR);
+                attestationStatementValidator = new FIDOU2FAttestationStatementValidator();
+                trustAnchorsResolver = TestAttestationUtil.createTrustAnchorProviderWith2tierTestRootCACertificate();
+                break;
+            case "tpm":
+                authenticatorAdaptor = new WebAuthnAuthenticatorAdaptor(EmulatorUtil.TPM_AUTHENTICATOR);
+                attestationStatementValidator = new TPMAttestationStatementValidator();
+                break;
+            case "android-key":
+                authenticatorAdaptor = new WebAuthnAuthenticatorAdaptor(EmulatorUtil.ANDROID_KEY_AUTHENTICATOR);
+                attestationStatementValidator = new AndroidKeyAttestationStatementValidator();
+                break;
+            case "android-safetynet":
+                authenticatorAdaptor = new WebAuthnAuthenticatorAdaptor(EmulatorUtil.ANDROID_SAFETY_NET_AUTHENTICATOR);
+                AndroidSafetyNetAttestationStatementValidator androidSafetyNetAttestationStatementValidator = new AndroidSafetyNetAttestationStatementValidator();
+                // the payload is generated once in setup, so its timestampMs must stay acceptable for the whole run
+                androidSafetyNetAttestationStatementValidator.setBackwardThreshold((int) TimeUnit.DAYS.toSeconds(1));
+                attestationStatementValidator = androidSafetyNetAttestationStatementValidator;
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported attestation format: " + attestationFormat);
+        }
+
+        webAuthnManager = new WebAuthnManager(
+                Collections.singletonList(attestationStatementValidator),
+                new TrustAnchorCertPathTrustworthinessValidator(trustAnchorsResolver),
+                new DefaultSelfAttestationTrustworthinessValidator()
+        );
+
+        Challenge challenge = new DefaultChallenge();
+        ClientPlatform clientPlatform = new ClientPlatform(BenchmarkDataUtil.ORIGIN, authenticatorAdaptor);
+        PublicKeyCredentialCreationOptions credentialCreationOptions = BenchmarkDataUtil.createCredentialCreationOptions(challenge, attestationConveyancePreference);
+        PublicKeyCredential<AuthenticatorAttestationResponse, RegistrationExtensionClientOutput> credential = clientPlatform.create(credentialCreationOptions);
+        AuthenticatorAttestationResponse authenticatorAttestationResponse = credential.getAuthenticatorResponse();
+
+        registrationRequest = new RegistrationRequest(
+                authenticatorAttestationResponse.getAttestationObject(),
+                authenticatorAttestationResponse.getClientDataJSON()
+        );
+        registrationParameters = new RegistrationParameters(
+                BenchmarkDataUtil.createServerProperty(challenge),
+                false,
+                true
+        );
+    }
+
+    @Benchmark
+    public RegistrationData validate() {
+        return webAuthnManager.validate(registrationRequest, registrationParameters);
+    }
+}
@@ -0,0 +1,333 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j;
+
+import com.webauthn4j.authenticator.AtomicCounterAuthenticator;
+import com.webauthn4j.authenticator.Authenticator;
+import com.webauthn4j.converter.AuthenticatorDataConverter;
+import com.webauthn4j.converter.CollectedClientDataMatchResult;
+import com.webauthn4j.converter.FlyweightAuthenticatorData;
+import com.webauthn4j.converter.StreamingCollectedClientDataConverter;
+import com.webauthn4j.converter.exception.DataConversionException;
+import com.webauthn4j.converter.util.ObjectConverter;
+import com.webauthn4j.data.AssertionExpectations;
+import com.webauthn4j.data.AssertionVerificationResult;
+import com.webauthn4j.data.SignatureAlgorithm;
+import com.webauthn4j.data.attestation.authenticator.COSEKey;
+import com.webauthn4j.data.client.ClientDataType;
+import com.webauthn4j.data.client.CollectedClientData;
+import com.webauthn4j.data.client.TokenBinding;
+import com.webauthn4j.data.client.TokenBindingStatus;
+import com.webauthn4j.data.extension.authenticator.AuthenticationExtensionAuthenticatorOutput;
+import com.webauthn4j.data.extension.authenticator.AuthenticationExtensionsAuthenticatorOutputs;
+import com.webauthn4j.server.ServerProperty;
+import com.webauthn4j.util.AssertUtil;
+import com.webauthn4j.util.Base64UrlUtil;
+import com.webauthn4j.util.CryptoPrimitivesUtil;
+import com.webauthn4j.validator.AuthenticationObject;
+import com.webauthn4j.validator.CoreMaliciousCounterValueHandler;
+import com.webauthn4j.validator.CounterUpdateUtil;
+import com.webauthn4j.validator.CustomAuthenticationValidator;
+import com.webauthn4j.validator.exception.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Lean assertion verifier which works on the raw clientDataJSON, authenticatorData and signature bytes.
+ * <p>
+ * It performs the same checks as {@link WebAuthnAuthenticationManager#validate}, in the same order and with the same
+ * exceptions, but reads clientDataJSON in a single streaming pass and authenticatorData in place, so that
+ * no {@link com.webauthn4j.data.AuthenticationData} or {@link AuthenticationObject} is built on the success path.
+ * An {@link AuthenticationObject} is only materialized when {@link CustomAuthenticationValidator}s are registered,
+ * or when a custom {@link CoreMaliciousCounterValueHandler} needs to be notified.
+ * <p>
+ * The counter of an {@link AtomicCounterAuthenticator}, such as {@link com.webauthn4j.authenticator.AuthenticatorImpl},
+ * is advanced with a compare-and-set retry loop, so that only one of concurrent assertions presenting the same
+ * signature counter passes. Other {@link Authenticator}s are not updated: the caller is responsible for storing
+ * {@link AssertionVerificationResult#getSignCount()} atomically, e.g. with a conditional update which fails if the
+ * stored counter has changed since the {@link Authenticator} was loaded.
+ */
+public class WebAuthnAssertionVerifier {
+
+    private final Logger logger = LoggerFactory.getLogger(WebAuthnAssertionVerifier.class);
+
+    // ~ Instance fields
+    // ================================================================================================
+
+    private final StreamingCollectedClientDataConverter collectedClientDataConverter;
+    private final AuthenticatorDataConverter authenticatorDataConverter;
+
+    private final List<CustomAuthenticationValidator> customAuthenticationValidators;
+
+    private CoreMaliciousCounterValueHandler maliciousCounterValueHandler;
+
+    public WebAuthnAssertionVerifier(List<CustomAuthenticationValidator> customAuthenticationValidators, ObjectConverter objectConverter) {
+        AssertUtil.notNull(customAuthenticationValidators, "customAuthenticationValidators must not be null");
+        AssertUtil.notNull(objectConverter, "objectConverter must not be null");
+
+        this.customAuthenticationValidators = customAuthenticationValidators;
+        this.collectedClientDataConverter = new StreamingCollectedClientDataConverter(objectConverter);
+        this.authenticatorDataConverter = new AuthenticatorDataConverter(objectConverter);
+    }
+
+    public WebAuthnAssertionVerifier(List<CustomAuthenticationValidator> customAuthenticationValidators) {
+        this(customAuthenticationValidators, new ObjectConverter());
+    }
+
+    public WebAuthnAssertionVerifier() {
+        this(Collections.emptyList(), new ObjectConverter());
+    }
+
+    // ~ Methods
+    // ========================================================================================================
+
+    /**
+     * Verifies an assertion
+     *
+     * @param authenticator     the registered {@link Authenticator}, which provides the credential public key and the stored counter
+     * @param credentialId      the credential id
+     * @param clientDataJSON    the raw clientDataJSON
+     * @param authenticatorData the raw authenticatorData
+     * @param signature         the assertion signature
+     * @param expectations      the expected values
+     * @return the verification result
+     * @throws DataConversionException if clientDataJSON or authenticatorData is malformed
+     * @throws ValidationException     if the assertion is not valid
+     */
+    @SuppressWarnings("squid:S1130")
+    public AssertionVerificationResult verify(Authenticator authenticator, byte[] credentialId, byte[] clientDataJSON,
+                                              byte[] authenticatorData, byte[] signature, AssertionExpectations expectations)
+            throws DataConversionException, ValidationException {
+
+        if (credentialId == null) {
+            throw new ConstraintViolationException("credentialId must not be null");
+        }
+        if (signature == null) {
+            throw new ConstraintViolationException("signature must not be null");
+        }
+        if (authenticatorData == null) {
+            throw new ConstraintViolationException("authenticatorData must not be null");
+        }
+        if (clientDataJSON == null) {
+            throw new ConstraintViolationException("collectedClientData must not be null");
+        }
+        if (expectations == null) {
+            throw new ConstraintViolationException("expectations must not be null");
+        }
+
+        FlyweightAuthenticatorData<AuthenticationExtensionAuthenticatorOutput> flyweight = authenticatorDataConverter.convertToFlyweight(authenticatorData);
+        if (flyweight.isFlagED()) {
+            AuthenticationExtensionsAuthenticatorOutputs<AuthenticationExtensionAuthenticatorOutput> extensions = flyweight.getExtensions();
+            if (extensions != null) {
+                for (AuthenticationExtensionAuthenticatorOutput value : extensions.getExtensions().values()) {
+                    value.validate();
+                }
+            }
+        }
+
+        CollectedClientDataMatchResult matchResult = collectedClientDataConverter.match(clientDataJSON, expectations.getChallenge(), expectations.getOrigins());
+        if (matchResult.getType() == null) {
+            throw new ConstraintViolationException("type must not be null");
+        }
+        CollectedClientData collectedClientData = null;
+        if (!matchResult.isChallengeMatched() || !matchResult.isOriginMatched()) {
+            // rare path: a full parse is needed to tell a missing member from a mismatched one
+            collectedClientData = collectedClientDataConverter.convert(clientDataJSON);
+            if (collectedClientData.getChallenge() == null) {
+                throw new ConstraintViolationException("challenge must not be null");
+            }
+            if (collectedClientData.getOrigin() == null) {
+                throw new ConstraintViolationException("origin must not be null");
+            }
+        }
+        TokenBinding tokenBinding = matchResult.getTokenBinding();
+        if (tokenBinding != null && tokenBinding.getStatus() == null) {
+            throw new ConstraintViolationException("status must not be null");
+        }
+
+        validate(authenticator, expectations);
+
+        if (flyweight.isFlagAT()) {
+            throw new ConstraintViolationException("attestedCredentialData must be null on authentication");
+        }
+
+        //spec| Step7
+        //spec| Verify that the value of C.type is the string webauthn.get.
+        if (matchResult.getType() != ClientDataType.GET) {
+            throw new InconsistentClientDataTypeException("ClientData.type must be 'get' on authentication, but it isn't.");
+        }
+
+        //spec| Step8
+        //spec| Verify that the value of C.challenge matches the challenge that was sent to the authenticator.
+        if (!matchResult.isChallengeMatched()) {
+            throw new BadChallengeException("The actual challenge does not match the expected challenge");
+        }
+
+        //spec| Step9
+        //spec| Verify that the value of C.origin matches the Relying Party's origin.
+        if (!matchResult.isOriginMatched()) {
+            throw new BadOriginException("The collectedClientData origin doesn't match the preconfigured server origin.");
+        }
+
+        //spec| Step10
+        //spec| Verify that the value of C.tokenBinding.status matches the state of Token Binding for the TLS connection.
+        validateTokenBinding(tokenBinding, expectations);
+
+        //spec| Step11
+        //spec| Verify that the rpIdHash in aData is the SHA-256 hash of the RP ID expected by the Relying Party.
+        if (!flyweight.isRpIdHashEqualTo(expectations.getRpIdHash())) {
+            throw new BadRpIdException("rpIdHash doesn't match the hash of preconfigured rpId.");
+        }
+
+        //spec| Step12
+        //spec| Verify that the User Present bit of the flags in authData is set.
+        if (expectations.isUserPresenceRequired() && !flyweight.isFlagUP()) {
+            throw new UserNotPresentException("Validator is configured to check user present, but UP flag in authenticatorData is not set.");
+        }
+
+        //spec| Step13
+        //spec| If user verification is required for this assertion, verify that the User Verified bit of the flags in aData is set.
+        if (expectations.isUserVerificationRequired() && !flyweight.isFlagUV()) {
+            throw new UserNotVerifiedException("Validator is configured to check user verified, but UV flag in authenticatorData is not set.");
+        }
+
+        //spec| Step14 to Step16
+        //spec| Using the credential public key, validate that sig is a valid signature over
+        //spec| the binary concatenation of the authenticatorData and the hash of the collectedClientData.
+        if (!verifySignature(authenticator.getAttestedCredentialData().getCOSEKey(), signature, authenticatorData, clientDataJSON)) {
+            throw new BadSignatureException("Assertion signature is not valid.");
+        }
+
+        //spec| Step17
+        //spec| If the signature counter value adata.signCount is nonzero or the value stored in conjunction with
+        //spec| credential’s id attribute is nonzero, then run the following sub-step:
+        long presentedCounter = flyweight.getSignCount();
+        long signCount = presentedCounter;
+        AuthenticationObject authenticationObject = null;
+        if (!updateCounter(authenticator, presentedCounter)) {
+            signCount = authenticator.getCounter();
+            if (maliciousCounterValueHandler == null) {
+                throw new MaliciousCounterValueException("Malicious counter value is detected. Cloned authenticators exist in parallel.");
+            }
+            authenticationObject = createAuthenticationObject(authenticator, credentialId, clientDataJSON, collectedClientData, authenticatorData, flyweight, expectations);
+            maliciousCounterValueHandler.maliciousCounterValueDetected(authenticationObject);
+        }
+
+        if (!customAuthenticationValidators.isEmpty()) {
+            if (authenticationObject == null) {
+                authenticationObject = createAuthenticationObject(authenticator, credentialId, clientDataJSON, collectedClientData, authenticatorData, flyweight, expectations);
+            }
+            for (CustomAuthenticationValidator customAuthenticationValidator : customAuthenticationValidators) {
+                customAuthenticationValidator.validate(authenticationObject);
+            }
+        }
+
+        return new AssertionVerificationResult(signCount, flyweight.getFlags());
+    }
+
+    private boolean updateCounter(Authenticator authenticator, long presentedCounter) {
+        // an AtomicCounterAuthenticator is advanced with compare-and-set, so that only one of concurrent assertions
+        // presenting the same counter passes. The counter of other authenticators is only compared
+        if (authenticator instanceof AtomicCounterAuthenticator) {
+            return CounterUpdateUtil.update(authenticator, presentedCounter);
+        }
+        long storedCounter = authenticator.getCounter();
+        return (presentedCounter == 0 && storedCounter == 0) || presentedCounter > storedCounter;
+    }
+
+    private void validate(Authenticator authenticator, AssertionExpectations expectations) {
+        if (authenticator == null) {
+            throw new ConstraintViolationException("authenticator must not be null");
+        }
+        if (authenticator.getAttestedCredentialData() == null) {
+            throw new ConstraintViolationException("attestedCredentialData must not be null");
+        }
+        if (authenticator.getAttestedCredentialData().getCOSEKey() == null) {
+            throw new ConstraintViolationException("coseKey must not be null");
+        }
+        if (expectations.getRpId() == null) {
+            throw new ConstraintViolationException("rpId must not be null");
+        }
+        if (expectations.getChallenge() == null) {
+            throw new ConstraintViolationException("challenge must not be null");
+        }
+        if (expectations.getOrigins().isEmpty() || expectations.getOrigins().contains(null)) {
+            throw new ConstraintViolationException("origin must not be null");
+        }
+    }
+
+    private void validateTokenBinding(TokenBinding tokenBinding, AssertionExpectations expectations) {
+        if (tokenBinding == null || tokenBinding.getStatus() != TokenBindingStatus.PRESENT) {
+            return;
+        }
+        byte[] clientDataTokenBindingId = tokenBinding.getId() == null ? null : Base64UrlUtil.decode(tokenBinding.getId());
+        if (!Arrays.equals(clientDataTokenBindingId, expectations.getTokenBindingId())) {
+            throw new TokenBindingException("TokenBinding id does not match");
+        }
+    }
+
+    private boolean verifySignature(COSEKey coseKey, byte[] signature, byte[] authenticatorData, byte[] clientDataJSON) {
+        try {
+            PublicKey publicKey = coseKey.getPublicKey();
+            SignatureAlgorithm signatureAlgorithm = coseKey.getAlgorithm().toSignatureAlgorithm();
+            Signature verifier = CryptoPrimitivesUtil.getSignature(signatureAlgorithm.getJcaName());
+            verifier.initVerify(publicKey);
+            verifier.update(authenticatorData);
+            verifier.update(CryptoPrimitivesUtil.getSHA256().digest(clientDataJSON));
+            return verifier.verify(signature);
+        } catch (IllegalArgumentException e) {
+            logger.debug("COSE key alg must be signature algorithm.", e);
+            return false;
+        } catch (GeneralSecurityException | RuntimeException e) {
+            logger.debug("Unexpected exception is thrown during signature verification.", e);
+            return false;
+        }
+    }
+
+    private AuthenticationObject createAuthenticationObject(Authenticator authenticator, byte[] credentialId, byte[] clientDataJSON, CollectedClientData collectedClientData,
+                                                            byte[] authenticatorData, FlyweightAuthenticatorData<AuthenticationExtensionAuthenticatorOutput> flyweight,
+                                                            AssertionExpectations expectations) {
+        CollectedClientData parsed = collectedClientData != null ? collectedClientData : collectedClientDataConverter.convert(clientDataJSON);
+        ServerProperty serverProperty = new ServerProperty(parsed.getOrigin(), expectations.getRpId(), expectations.getChallenge(), expectations.getTokenBindingId());
+        return new AuthenticationObject(
+                credentialId, flyweight.toAuthenticatorData(), authenticatorData, parsed, clientDataJSON, null,
+                serverProperty, authenticator
+        );
+    }
+
+    public CoreMaliciousCounterValueHandler getMaliciousCounterValueHandler() {
+        return maliciousCounterValueHandler;
+    }
+
+    /**
+     * Sets the handler notified when a malicious counter value is detected.
+     * If not set, {@link MaliciousCounterValueException} is thrown without building an {@link AuthenticationObject}.
+     *
+     * @param maliciousCounterValueHandler the handler
+     */
+    public void setMaliciousCounterValueHandler(CoreMaliciousCounterValueHandler maliciousCounterValueHandler) {
+        AssertUtil.notNull(maliciousCounterValueHandler, "maliciousCounterValueHandler must not be null");
+        this.maliciousCounterValueHandler = maliciousCounterValueHandler;
+    }
+}
@@ -16,24 +16,33 @@
 
 package com.webauthn4j;
 
+import com.webauthn4j.authenticator.Authenticator;
 import com.webauthn4j.converter.*;
 import com.webauthn4j.converter.exception.DataConversionException;
 import com.webauthn4j.converter.util.ObjectConverter;
 import com.webauthn4j.data.AuthenticationData;
 import com.webauthn4j.data.AuthenticationParameters;
 import com.webauthn4j.data.AuthenticationRequest;
+import com.webauthn4j.data.AuthenticationValidationResult;
 import com.webauthn4j.data.attestation.authenticator.AuthenticatorData;
 import com.webauthn4j.data.client.CollectedClientData;
 import com.webauthn4j.data.extension.authenticator.AuthenticationExtensionAuthenticatorOutput;
 import com.webauthn4j.data.extension.client.AuthenticationExtensionClientOutput;
 import com.webauthn4j.data.extension.client.AuthenticationExtensionsClientOutputs;
 import com.webauthn4j.util.AssertUtil;
+import com.webauthn4j.util.CompletableFutureUtil;
 import com.webauthn4j.validator.AuthenticationDataValidator;
 import com.webauthn4j.validator.CustomAuthenticationValidator;
 import com.webauthn4j.validator.exception.ValidationException;
 
-import java.util.Collections;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
 
 public class WebAuthnAuthenticationManager {
 
@@ -105,6 +114,138 @@ public class WebAuthnAuthenticationManager {
         return authenticationData;
     }
 
+    /**
+     * Parses and validates an authentication request asynchronously.
+     * <p>
+     * Parsing and assertion validation run on the calling thread. {@link CustomAuthenticationValidator}s, which may
+     * block, run on the executor.
+     *
+     * @param authenticationRequest    authentication request
+     * @param authenticationParameters authentication parameters
+     * @param executor                 executor to run potentially blocking stages on
+     * @return {@link CompletionStage} completed with the {@link AuthenticationData}, or exceptionally with the same
+     * exception as {@link #validate(AuthenticationRequest, AuthenticationParameters)} would throw
+     */
+    public CompletionStage<AuthenticationData> validateAsync(AuthenticationRequest authenticationRequest, AuthenticationParameters authenticationParameters, Executor executor) {
+        AuthenticationData authenticationData;
+        try {
+            authenticationData = parse(authenticationRequest);
+        } catch (RuntimeException e) {
+            return CompletableFutureUtil.failedFuture(e);
+        }
+        return validateAsync(authenticationData, authenticationParameters, executor);
+    }
+
+    /**
+     * Validates authentication data asynchronously. See {@link #validateAsync(AuthenticationRequest, AuthenticationParameters, Executor)}.
+     *
+     * @param authenticationData       authentication data
+     * @param authenticationParameters authentication parameters
+     * @param executor                 executor to run potentially blocking stages on
+     * @return {@link CompletionStage} completed with the {@link AuthenticationData}
+     */
+    public CompletionStage<AuthenticationData> validateAsync(AuthenticationData authenticationData, AuthenticationParameters authenticationParameters, Executor executor) {
+        CompletableFuture<AuthenticationData> result = new CompletableFuture<>();
+        // the exception is passed through as is, instead of being wrapped by a dependent stage
+        authenticationDataValidator.validateAsync(authenticationData, authenticationParameters, executor).whenComplete((unused, throwable) -> {
+            if (throwable == null) {
+                result.complete(authenticationData);
+            } else {
+                result.completeExceptionally(throwable);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Parses and validates a batch of authentication requests on the common {@link ForkJoinPool}.
+     * See {@link #validateAll(List, Function, ForkJoinPool)}.
+     *
+     * @param authenticationRequests           authentication requests
+     * @param authenticationParametersResolver resolves the {@link AuthenticationParameters} for each request
+     * @return per-item results, in the same order as the requests
+     */
+    public List<AuthenticationValidationResult> validateAll(List<AuthenticationRequest> authenticationRequests,
+                                                            Function<AuthenticationRequest, AuthenticationParameters> authenticationParametersResolver) {
+        return validateAll(authenticationRequests, authenticationParametersResolver, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parses and validates a batch of authentication requests.
+     * <p>
+     * Requests are grouped by credential id. Groups are validated in parallel on the pool, while the requests of a
+     * group are validated one by one in list order against the {@link Authenticator} resolved for the first of them,
+     * so that the decoded public key is reused and the signature counter only moves forward within the batch.
+     * A failure is reported in the result of its item instead of being thrown, and does not affect the other items.
+     *
+     * @param authenticationRequests           authentication requests
+     * @param authenticationParametersResolver resolves the {@link AuthenticationParameters} for each request
+     * @param pool                             pool to validate the credential groups on
+     * @return per-item results, in the same order as the requests
+     */
+    public List<AuthenticationValidationResult> validateAll(List<AuthenticationRequest> authenticationRequests,
+                                                            Function<AuthenticationRequest, AuthenticationParameters> authenticationParametersResolver,
+                                                            ForkJoinPool pool) {
+        AssertUtil.notNull(authenticationRequests, "authenticationRequests must not be null");
+        AssertUtil.notNull(authenticationParametersResolver, "authenticationParametersResolver must not be null");
+        AssertUtil.notNull(pool, "pool must not be null");
+
+        Collection<List<Integer>> groups = groupByCredentialId(authenticationRequests);
+        AuthenticationValidationResult[] results = new AuthenticationValidationResult[authenticationRequests.size()];
+        if (groups.size() <= 1) {
+            groups.forEach(group -> validateGroup(authenticationRequests, group, authenticationParametersResolver, results));
+        } else {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(groups.size());
+            for (List<Integer> group : groups) {
+                tasks.add(pool.submit(() -> validateGroup(authenticationRequests, group, authenticationParametersResolver, results)));
+            }
+            tasks.forEach(ForkJoinTask::join);
+        }
+        return Collections.unmodifiableList(Arrays.asList(results));
+    }
+
+    private Collection<List<Integer>> groupByCredentialId(List<AuthenticationRequest> authenticationRequests) {
+        Map<ByteBuffer, List<Integer>> groups = new LinkedHashMap<>();
+        List<List<Integer>> ungrouped = new ArrayList<>();
+        for (int i = 0; i < authenticationRequests.size(); i++) {
+            byte[] credentialId = authenticationRequests.get(i).getCredentialId();
+            if (credentialId == null) {
+                ungrouped.add(Collections.singletonList(i));
+            } else {
+                groups.computeIfAbsent(ByteBuffer.wrap(credentialId), key -> new ArrayList<>()).add(i);
+            }
+        }
+        List<List<Integer>> all = new ArrayList<>(groups.values());
+        all.addAll(ungrouped);
+        return all;
+    }
+
+    private void validateGroup(List<AuthenticationRequest> authenticationRequests, List<Integer> group,
+                               Function<AuthenticationRequest, AuthenticationParameters> authenticationParametersResolver,
+                               AuthenticationValidationResult[] results) {
+        Authenticator authenticator = null;
+        for (int index : group) {
+            AuthenticationRequest authenticationRequest = authenticationRequests.get(index);
+            try {
+                AuthenticationParameters authenticationParameters = authenticationParametersResolver.apply(authenticationRequest);
+                AssertUtil.notNull(authenticationParameters, "authenticationParameters must not be null");
+                if (authenticator == null) {
+                    authenticator = authenticationParameters.getAuthenticator();
+                } else {
+                    authenticationParameters = new AuthenticationParameters(
+                            authenticationParameters.getServerProperty(),
+                            authenticator,
+                            authenticationParameters.isUserVerificationRequired(),
+                            authenticationParameters.isUserPresenceRequired());
+                }
+                AuthenticationData authenticationData = validate(authenticationRequest, authenticationParameters);
+                results[index] = AuthenticationValidationResult.success(authenticationRequest, authenticationData);
+            } catch (RuntimeException e) {
+                results[index] = AuthenticationValidationResult.failure(authenticationRequest, e);
+            }
+        }
+    }
+
     public AuthenticationDataValidator getAuthenticationDataValidator() {
         return authenticationDataValidator;
     }
@@ -39,6 +39,10 @@ import com.webauthn4j.validator.exception.ValidationException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 
 public class WebAuthnManager {
 
@@ -158,6 +162,23 @@ public class WebAuthnManager {
         return this.webAuthnRegistrationManager.validate(registrationData, registrationParameters);
     }
 
+    /**
+     * Parses and validates a registration request asynchronously.
+     * See {@link WebAuthnRegistrationManager#validateAsync(RegistrationRequest, RegistrationParameters, Executor)}.
+     *
+     * @param registrationRequest    registration request
+     * @param registrationParameters registration parameters
+     * @param executor               executor to run potentially blocking stages on
+     * @return {@link CompletionStage} completed with the {@link RegistrationData}
+     */
+    public CompletionStage<RegistrationData> validateAsync(RegistrationRequest registrationRequest, RegistrationParameters registrationParameters, Executor executor) {
+        return this.webAuthnRegistrationManager.validateAsync(registrationRequest, registrationParameters, executor);
+    }
+
+    public CompletionStage<RegistrationData> validateAsync(RegistrationData registrationData, RegistrationParameters registrationParameters, Executor executor) {
+        return this.webAuthnRegistrationManager.validateAsync(registrationData, registrationParameters, executor);
+    }
+
     @SuppressWarnings("squid:S1130")
     public AuthenticationData parse(AuthenticationRequest authenticationRequest) throws DataConversionException {
         return this.webAuthnAuthenticationManager.parse(authenticationRequest);
@@ -173,6 +194,42 @@ public class WebAuthnManager {
         return this.webAuthnAuthenticationManager.validate(authenticationData, authenticationParameters);
     }
 
+    /**
+     * Parses and validates an authentication request asynchronously.
+     * See {@link WebAuthnAuthenticationManager#validateAsync(AuthenticationRequest, AuthenticationParameters, Executor)}.
+     *
+     * @param authenticationRequest    authentication request
+     * @param authenticationParameters authentication parameters
+     * @param executor                 executor to run potentially blocking stages on
+     * @return {@link CompletionStage} completed with the {@link AuthenticationData}
+     */
+    public CompletionStage<AuthenticationData> validateAsync(AuthenticationRequest authenticationRequest, AuthenticationParameters authenticationParameters, Executor executor) {
+        return this.webAuthnAuthenticationManager.validateAsync(authenticationRequest, authenticationParameters, executor);
+    }
+
+    public CompletionStage<AuthenticationData> validateAsync(AuthenticationData authenticationData, AuthenticationParameters authenticationParameters, Executor executor) {
+        return this.webAuthnAuthenticationManager.validateAsync(authenticationData, authenticationParameters, executor);
+    }
+
+    /**
+     * Parses and validates a batch of authentication requests.
+     * See {@link WebAuthnAuthenticationManager#validateAll(List, Function, ForkJoinPool)}.
+     *
+     * @param authenticationRequests           authentication requests
+     * @param authenticationParametersResolver resolves the {@link AuthenticationParameters} for each request
+     * @return per-item results, in the same order as the requests
+     */
+    public List<AuthenticationValidationResult> validateAll(List<AuthenticationRequest> authenticationRequests,
+                                                            Function<AuthenticationRequest, AuthenticationParameters> authenticationParametersResolver) {
+        return this.webAuthnAuthenticationManager.validateAll(authenticationRequests, authenticationParametersResolver);
+    }
+
+    public List<AuthenticationValidationResult> validateAll(List<AuthenticationRequest> authenticationRequests,
+                                                            Function<AuthenticationRequest, AuthenticationParameters> authenticationParametersResolver,
+                                                            ForkJoinPool pool) {
+        return this.webAuthnAuthenticationManager.validateAll(authenticationRequests, authenticationParametersResolver, pool);
+    }
+
 
     public RegistrationDataValidator getRegistrationDataValidator() {
         return this.webAuthnRegistrationManager.getRegistrationDataValidator();
@@ -31,6 +31,7 @@ import com.webauthn4j.data.client.CollectedClientData;
 import com.webauthn4j.data.extension.client.AuthenticationExtensionsClientOutputs;
 import com.webauthn4j.data.extension.client.RegistrationExtensionClientOutput;
 import com.webauthn4j.util.AssertUtil;
+import com.webauthn4j.util.CompletableFutureUtil;
 import com.webauthn4j.validator.CustomRegistrationValidator;
 import com.webauthn4j.validator.RegistrationDataValidator;
 import com.webauthn4j.validator.attestation.statement.AttestationStatementValidator;
@@ -50,6 +51,9 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 
 public class WebAuthnRegistrationManager {
 
@@ -198,6 +202,50 @@ public class WebAuthnRegistrationManager {
         return registrationData;
     }
 
+    /**
+     * Parses and validates a registration request asynchronously.
+     * <p>
+     * Parsing and the checks on clientData and authenticatorData run on the calling thread. Attestation validation and
+     * {@link CustomRegistrationValidator}s run once trust anchors and metadata are loaded, on the thread completing the
+     * loading. The executor is used only for loading, so they run on the calling thread if everything is already loaded.
+     *
+     * @param registrationRequest    registration request
+     * @param registrationParameters registration parameters
+     * @param executor               executor to run potentially blocking stages on
+     * @return {@link CompletionStage} completed with the {@link RegistrationData}, or exceptionally with the same
+     * exception as {@link #validate(RegistrationRequest, RegistrationParameters)} would throw
+     */
+    public CompletionStage<RegistrationData> validateAsync(RegistrationRequest registrationRequest, RegistrationParameters registrationParameters, Executor executor) {
+        RegistrationData registrationData;
+        try {
+            registrationData = parse(registrationRequest);
+        } catch (RuntimeException e) {
+            return CompletableFutureUtil.failedFuture(e);
+        }
+        return validateAsync(registrationData, registrationParameters, executor);
+    }
+
+    /**
+     * Validates registration data asynchronously. See {@link #validateAsync(RegistrationRequest, RegistrationParameters, Executor)}.
+     *
+     * @param registrationData       registration data
+     * @param registrationParameters registration parameters
+     * @param executor               executor to run potentially blocking stages on
+     * @return {@link CompletionStage} completed with the {@link RegistrationData}
+     */
+    public CompletionStage<RegistrationData> validateAsync(RegistrationData registrationData, RegistrationParameters registrationParameters, Executor executor) {
+        CompletableFuture<RegistrationData> result = new CompletableFuture<>();
+        // the exception is passed through as is, instead of being wrapped by a dependent stage
+        registrationDataValidator.validateAsync(registrationData, registrationParameters, executor).whenComplete((unused, throwable) -> {
+            if (throwable == null) {
+                result.complete(registrationData);
+            } else {
+                result.completeExceptionally(throwable);
+            }
+        });
+        return result;
+    }
+
     public RegistrationDataValidator getRegistrationDataValidator() {
         return registrationDataValidator;
     }
@@ -17,20 +17,47 @@
 package com.webauthn4j.anchor;
 
 import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.util.AssertUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
 import java.security.cert.TrustAnchor;
-import java.util.Map;
-import java.util.Set;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 /**
  * An abstract {@link TrustAnchorsProvider} implementation that provides caching functionality
+ * <p>
+ * The loaded {@link TrustAnchor}s are held as an immutable snapshot. Loading is single-flight and guarded by a
+ * {@link ReentrantLock}, so that virtual threads are not pinned while waiting for it. A reload builds the next
+ * snapshot aside and swaps it in, so that readers keep being served the current one without blocking.
  */
-public abstract class CachingTrustAnchorsProviderBase implements TrustAnchorsProvider {
+public abstract class CachingTrustAnchorsProviderBase implements TrustAnchorsProvider, Closeable {
 
     // ~ Instance fields
     // ================================================================================================
 
-    private Map<AAGUID, Set<TrustAnchor>> cachedTrustAnchors;
+    private final Logger logger = LoggerFactory.getLogger(CachingTrustAnchorsProviderBase.class);
+
+    private volatile Map<AAGUID, Set<TrustAnchor>> cachedTrustAnchors;
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final List<Consumer<Map<AAGUID, Set<TrustAnchor>>>> reloadListeners = new CopyOnWriteArrayList<>();
+
+    private ScheduledFuture<?> periodicReload;
+    private WatchService watchService;
 
     // ~ Methods
     // ========================================================================================================
@@ -42,12 +69,199 @@ public abstract class CachingTrustAnchorsProviderBase implements TrustAnchorsPro
      */
     @Override
     public Map<AAGUID, Set<TrustAnchor>> provide() {
-        if (cachedTrustAnchors == null) {
-            synchronized (this) {
-                cachedTrustAnchors = loadTrustAnchors();
+        Map<AAGUID, Set<TrustAnchor>> snapshot = cachedTrustAnchors;
+        if (snapshot == null) {
+            loadLock.lock();
+            try {
+                snapshot = cachedTrustAnchors;
+                if (snapshot == null) {
+                    snapshot = createSnapshot(loadTrustAnchors());
+                    cachedTrustAnchors = snapshot;
+                }
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Completes on the calling thread once {@link TrustAnchor}s are loaded.
+     */
+    @Override
+    public CompletionStage<Map<AAGUID, Set<TrustAnchor>>> provideAsync(Executor executor) {
+        Map<AAGUID, Set<TrustAnchor>> snapshot = cachedTrustAnchors;
+        if (snapshot != null) {
+            return CompletableFuture.completedFuture(snapshot);
+        }
+        return TrustAnchorsProvider.super.provideAsync(executor);
+    }
+
+    /**
+     * Loads {@link TrustAnchor}s again and swaps them in. The current snapshot is kept if loading fails.
+     * Reload listeners are notified after the swap.
+     */
+    public void reload() {
+        Map<AAGUID, Set<TrustAnchor>> snapshot;
+        loadLock.lock();
+        try {
+            snapshot = createSnapshot(loadTrustAnchors());
+            cachedTrustAnchors = snapshot;
+        } finally {
+            loadLock.unlock();
+        }
+        for (Consumer<Map<AAGUID, Set<TrustAnchor>>> reloadListener : reloadListeners) {
+            try {
+                reloadListener.accept(snapshot);
+            } catch (RuntimeException e) {
+                logger.warn("Reload listener failed", e);
             }
         }
-        return cachedTrustAnchors;
+    }
+
+    /**
+     * Adds a listener which receives the new {@link TrustAnchor}s after each reload
+     *
+     * @param reloadListener reload listener
+     */
+    public void addReloadListener(Consumer<Map<AAGUID, Set<TrustAnchor>>> reloadListener) {
+        AssertUtil.notNull(reloadListener, "reloadListener must not be null");
+        reloadListeners.add(reloadListener);
+    }
+
+    /**
+     * Removes a reload listener
+     *
+     * @param reloadListener reload listener
+     */
+    public void removeReloadListener(Consumer<Map<AAGUID, Set<TrustAnchor>>> reloadListener) {
+        reloadListeners.remove(reloadListener);
+    }
+
+    /**
+     * Reloads {@link TrustAnchor}s periodically on the scheduler. A failed reload is logged and retried at the next
+     * period.
+     *
+     * @param scheduler scheduler to run reloads on
+     * @param interval  reload interval
+     */
+    public synchronized void startPeriodicReload(ScheduledExecutorService scheduler, Duration interval) {
+        AssertUtil.notNull(scheduler, "scheduler must not be null");
+        AssertUtil.notNull(interval, "interval must not be null");
+        if (periodicReload != null) {
+            periodicReload.cancel(false);
+        }
+        long millis = interval.toMillis();
+        periodicReload = scheduler.scheduleWithFixedDelay(this::reloadQuietly, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Watches the files returned by {@link #getWatchedPaths()} in a daemon thread, and reloads {@link TrustAnchor}s
+     * when one of them is created, modified or deleted.
+     */
+    public synchronized void startWatching() {
+        if (watchService != null) {
+            return;
+        }
+        List<Path> watchedPaths = getWatchedPaths();
+        if (watchedPaths.isEmpty()) {
+            throw new IllegalStateException("No file to watch.");
+        }
+        Set<Path> fileNames = new HashSet<>();
+        WatchService newWatchService = null;
+        try {
+            newWatchService = FileSystems.getDefault().newWatchService();
+            Set<Path> directories = new HashSet<>();
+            for (Path watchedPath : watchedPaths) {
+                Path absolutePath = watchedPath.toAbsolutePath();
+                fileNames.add(absolutePath);
+                if (directories.add(absolutePath.getParent())) {
+                    absolutePath.getParent().register(newWatchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                }
+            }
+        } catch (IOException e) {
+            closeQuietly(newWatchService);
+            throw new UncheckedIOException("Failed to watch trust anchor files", e);
+        }
+        watchService = newWatchService;
+        WatchService currentWatchService = newWatchService;
+        Thread thread = new Thread(() -> watch(currentWatchService, fileNames), "trust-anchors-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops periodic reload and file watching
+     */
+    @Override
+    public synchronized void close() {
+        if (periodicReload != null) {
+            periodicReload.cancel(false);
+            periodicReload = null;
+        }
+        closeQuietly(watchService);
+        watchService = null;
+    }
+
+    private void watch(WatchService watchService, Set<Path> watchedPaths) {
+        try {
+            while (true) {
+                WatchKey watchKey = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : watchKey.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        changed = true;
+                    } else {
+                        Path path = ((Path) watchKey.watchable()).resolve((Path) event.context());
+                        changed |= watchedPaths.contains(path);
+                    }
+                }
+                if (changed) {
+                    reloadQuietly();
+                }
+                watchKey.reset();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // closed by close()
+        }
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to reload trust anchors. Current ones are kept.", e);
+        }
+    }
+
+    private void closeQuietly(WatchService watchService) {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close trust anchor file watcher", e);
+        }
+    }
+
+    private static Map<AAGUID, Set<TrustAnchor>> createSnapshot(Map<AAGUID, Set<TrustAnchor>> trustAnchors) {
+        Map<AAGUID, Set<TrustAnchor>> map = new HashMap<>();
+        trustAnchors.forEach((aaguid, set) -> map.put(aaguid, Collections.unmodifiableSet(new HashSet<>(set))));
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Provides files to watch by {@link #startWatching()}
+     *
+     * @return files {@link TrustAnchor}s are loaded from
+     */
+    protected List<Path> getWatchedPaths() {
+        return Collections.emptyList();
     }
 
     /**
@@ -21,6 +21,7 @@ import com.webauthn4j.util.AssertUtil;
 import com.webauthn4j.util.CertificateUtil;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -65,9 +66,14 @@ public class CertFileTrustAnchorsProvider extends CachingTrustAnchorsProviderBas
         return Collections.singletonMap(AAGUID.NULL, trustAnchors);
     }
 
+    @Override
+    protected List<Path> getWatchedPaths() {
+        return certificates == null ? Collections.emptyList() : certificates;
+    }
+
     private TrustAnchor loadTrustAnchor(Path certificate) {
-        try {
-            X509Certificate x509Certificate = CertificateUtil.generateX509Certificate(Files.newInputStream(certificate));
+        try (InputStream inputStream = Files.newInputStream(certificate)) {
+            X509Certificate x509Certificate = CertificateUtil.generateX509Certificate(inputStream);
             return new TrustAnchor(x509Certificate, null);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
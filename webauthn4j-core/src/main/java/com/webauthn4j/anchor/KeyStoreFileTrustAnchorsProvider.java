@@ -69,6 +69,14 @@ public class KeyStoreFileTrustAnchorsProvider extends CachingTrustAnchorsProvide
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected List<Path> getWatchedPaths() {
+        return keyStore == null ? Collections.emptyList() : Collections.singletonList(keyStore);
+    }
+
     private KeyStore loadKeyStoreFromStream(InputStream inputStream, String password)
             throws CertificateException, NoSuchAlgorithmException, IOException {
         KeyStore keyStoreObject = CertificateUtil.createKeyStore();
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.anchor;
+
+import com.webauthn4j.util.CertificateUtil;
+
+import java.security.cert.PKIXParameters;
+import java.security.cert.TrustAnchor;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Immutable {@link TrustAnchor} {@link Set} which keeps a {@link PKIXParameters} template built from itself,
+ * so that cert path validation against the same set doesn't copy the trust anchors into new parameters each time
+ */
+public final class TrustAnchorSet extends AbstractSet<TrustAnchor> {
+
+    private final Set<TrustAnchor> trustAnchors;
+    private volatile PKIXParameters pkixParametersTemplate;
+
+    TrustAnchorSet(Set<TrustAnchor> trustAnchors) {
+        this.trustAnchors = Collections.unmodifiableSet(new HashSet<>(trustAnchors));
+    }
+
+    /**
+     * Creates {@link PKIXParameters} with this set as its trust anchors. The returned instance is a copy of the
+     * template, and may be modified by the caller.
+     *
+     * @return {@link PKIXParameters}
+     */
+    public PKIXParameters createPKIXParameters() {
+        PKIXParameters template = pkixParametersTemplate;
+        if (template == null) {
+            template = CertificateUtil.createPKIXParameters(trustAnchors);
+            pkixParametersTemplate = template;
+        }
+        return (PKIXParameters) template.clone();
+    }
+
+    @Override
+    public Iterator<TrustAnchor> iterator() {
+        return trustAnchors.iterator();
+    }
+
+    @Override
+    public int size() {
+        return trustAnchors.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return trustAnchors.contains(o);
+    }
+}
@@ -17,10 +17,13 @@
 package com.webauthn4j.anchor;
 
 import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.util.CompletableFutureUtil;
 
 import java.security.cert.TrustAnchor;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 
 /**
  * Core interface that provides {@link AAGUID} key {@link TrustAnchor} {@link Set} value {@link Map}
@@ -33,4 +36,16 @@ public interface TrustAnchorsProvider {
      * @return {@link AAGUID} key {@link TrustAnchor} {@link Set} value {@link Map}
      */
     Map<AAGUID, Set<TrustAnchor>> provide();
+
+    /**
+     * Provides {@link AAGUID} key {@link TrustAnchor} {@link Set} value {@link Map} without blocking the calling thread.
+     * The default implementation runs {@link #provide()} on the executor. Implementations which can tell that
+     * {@link #provide()} won't block may complete the stage on the calling thread.
+     *
+     * @param executor executor to run blocking work on
+     * @return {@link CompletionStage} of {@link AAGUID} key {@link TrustAnchor} {@link Set} value {@link Map}
+     */
+    default CompletionStage<Map<AAGUID, Set<TrustAnchor>>> provideAsync(Executor executor) {
+        return CompletableFutureUtil.supplyAsync(this::provide, executor);
+    }
 }
@@ -17,9 +17,12 @@
 package com.webauthn4j.anchor;
 
 import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.util.CompletableFutureUtil;
 
 import java.security.cert.TrustAnchor;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 
 /**
  * Core interface that resolves {@link TrustAnchor} {@link Set} from {@link AAGUID}.
@@ -33,4 +36,15 @@ public interface TrustAnchorsResolver {
      * @return {@link TrustAnchor} {@link Set}.
      */
     Set<TrustAnchor> resolve(AAGUID aaguid);
+
+    /**
+     * Loads {@link TrustAnchor}s without blocking the calling thread, so that {@link #resolve(AAGUID)} called on the
+     * thread completing the returned stage doesn't block. The default implementation completes on the executor.
+     *
+     * @param executor executor to run blocking work on
+     * @return {@link CompletionStage} completed when {@link TrustAnchor}s are loaded
+     */
+    default CompletionStage<Void> prepareAsync(Executor executor) {
+        return CompletableFutureUtil.supplyAsync(() -> null, executor);
+    }
 }
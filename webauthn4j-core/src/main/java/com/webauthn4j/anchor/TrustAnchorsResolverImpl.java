@@ -21,9 +21,12 @@ import com.webauthn4j.util.AssertUtil;
 
 import java.security.cert.TrustAnchor;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 
 /**
  * A {@link TrustAnchorsResolver} implementation that loads {@link TrustAnchor}s with {@link TrustAnchorsProvider}
@@ -34,6 +37,7 @@ public class TrustAnchorsResolverImpl implements TrustAnchorsResolver {
     // ================================================================================================
 
     private final TrustAnchorsProvider trustAnchorsProvider;
+    private volatile Index index;
 
     // ~ Constructor
     // ========================================================================================================
@@ -48,6 +52,11 @@ public class TrustAnchorsResolverImpl implements TrustAnchorsResolver {
 
     /**
      * {@inheritDoc}
+     * <p>
+     * The returned {@link Set} is an immutable {@link TrustAnchorSet}, shared between calls as long as the
+     * {@link TrustAnchorsProvider} provides an equal map. Since {@link TrustAnchor} doesn't override
+     * {@link Object#equals(Object)}, a provider returning a new map on each call should reuse the same
+     * {@link TrustAnchor} instances, otherwise the index is rebuilt on each call.
      */
     @Override
     public Set<TrustAnchor> resolve(AAGUID aaguid) {
@@ -55,10 +64,65 @@ public class TrustAnchorsResolverImpl implements TrustAnchorsResolver {
 
         Map<AAGUID, Set<TrustAnchor>> trustAnchors = trustAnchorsProvider.provide();
 
-        HashSet<TrustAnchor> set = new HashSet<>();
-        set.addAll(trustAnchors.getOrDefault(AAGUID.NULL, Collections.emptySet()));
-        set.addAll(trustAnchors.getOrDefault(aaguid, Collections.emptySet()));
-        return set;
+        Index current = index;
+        if (current == null || current.source != trustAnchors) {
+            // a provider may return a new but equal map, and the index built for the previous one is still valid
+            current = current != null && current.source.equals(trustAnchors) ? current.withSource(trustAnchors) : new Index(trustAnchors);
+            index = current;
+        }
+        return current.get(aaguid);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Completes when {@link TrustAnchorsProvider#provideAsync(Executor)} completes, which is on the calling thread
+     * if the provider has already loaded {@link TrustAnchor}s.
+     */
+    @Override
+    public CompletionStage<Void> prepareAsync(Executor executor) {
+        return trustAnchorsProvider.provideAsync(executor).thenApply(trustAnchors -> null);
+    }
+
+    /**
+     * Immutable {@link AAGUID} key index with the {@link AAGUID#NULL} {@link TrustAnchor}s merged into each entry.
+     * Each entry is a {@link TrustAnchorSet}, which keeps its {@link java.security.cert.PKIXParameters} template.
+     */
+    private static class Index {
+
+        private final Map<AAGUID, Set<TrustAnchor>> source;
+        private final Map<AAGUID, TrustAnchorSet> merged;
+        private final TrustAnchorSet nullAnchors;
+
+        Index(Map<AAGUID, Set<TrustAnchor>> source) {
+            this.source = source;
+            Set<TrustAnchor> nullAnchorSet = source.getOrDefault(AAGUID.NULL, Collections.emptySet());
+            this.nullAnchors = new TrustAnchorSet(nullAnchorSet);
+            Map<AAGUID, TrustAnchorSet> map = new HashMap<>();
+            for (Map.Entry<AAGUID, Set<TrustAnchor>> entry : source.entrySet()) {
+                if (AAGUID.NULL.equals(entry.getKey())) {
+                    continue;
+                }
+                Set<TrustAnchor> set = new HashSet<>(nullAnchorSet);
+                set.addAll(entry.getValue());
+                map.put(entry.getKey(), new TrustAnchorSet(set));
+            }
+            this.merged = Collections.unmodifiableMap(map);
+        }
+
+        private Index(Map<AAGUID, Set<TrustAnchor>> source, Index index) {
+            this.source = source;
+            this.merged = index.merged;
+            this.nullAnchors = index.nullAnchors;
+        }
+
+        Index withSource(Map<AAGUID, Set<TrustAnchor>> source) {
+            return new Index(source, this);
+        }
+
+        TrustAnchorSet get(AAGUID aaguid) {
+            return merged.getOrDefault(aaguid, nullAnchors);
+        }
     }
 
 }
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.authenticator;
+
+/**
+ * Optional {@link CoreAuthenticator} contract for authenticators whose counter can be updated atomically.
+ * Validators update the counter of such an authenticator with a compare-and-set retry loop, so that concurrent
+ * authentications with the same instance never move the counter backwards.
+ */
+public interface AtomicCounterAuthenticator extends CoreAuthenticator {
+
+    /**
+     * Atomically sets the counter value to the new value if the current value equals the expected value
+     *
+     * @param expectedValue the expected counter value
+     * @param newValue      the new counter value
+     * @return true if successful. false indicates that the current value was not equal to the expected value
+     */
+    boolean compareAndSetCounter(long expectedValue, long newValue);
+
+}
@@ -26,16 +26,19 @@ import com.webauthn4j.util.ConstUtil;
 
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
 /**
- * An {@link CoreAuthenticator} implementation
+ * An {@link CoreAuthenticator} implementation, whose counter can be updated atomically
  */
-public class CoreAuthenticatorImpl implements CoreAuthenticator {
+public class CoreAuthenticatorImpl implements AtomicCounterAuthenticator {
+
+    private static final AtomicLongFieldUpdater<CoreAuthenticatorImpl> COUNTER_UPDATER = AtomicLongFieldUpdater.newUpdater(CoreAuthenticatorImpl.class, "counter");
 
     //~ Instance fields ================================================================================================
     private AttestedCredentialData attestedCredentialData;
     private AttestationStatement attestationStatement;
-    private long counter;
+    private volatile long counter;
     private Set<AuthenticatorTransport> transports;
     private AuthenticationExtensionsAuthenticatorOutputs<RegistrationExtensionAuthenticatorOutput> authenticatorExtensions;
 
@@ -85,13 +88,23 @@ public class CoreAuthenticatorImpl implements CoreAuthenticator {
 
     @Override
     public void setCounter(long value) {
+        assertCounterValue(value);
+        this.counter = value;
+    }
+
+    @Override
+    public boolean compareAndSetCounter(long expectedValue, long newValue) {
+        assertCounterValue(newValue);
+        return COUNTER_UPDATER.compareAndSet(this, expectedValue, newValue);
+    }
+
+    private static void assertCounterValue(long value) {
         if (value > ConstUtil.UINT_MAX_VALUE) {
             throw new IllegalArgumentException("[Assertion failed] - this argument is unsigned int. it must not exceed 4294967295.");
         }
         if (value < 0) {
             throw new IllegalArgumentException("[Assertion failed] - this argument is unsigned int. it must not be negative value.");
         }
-        this.counter = value;
     }
 
     @Override
@@ -65,15 +65,22 @@ public class AttestedCredentialDataConverter implements Serializable {
         int length = UnsignedNumberUtil.getUnsignedShort(attestedCredentialData);
         byte[] credentialId = new byte[length];
         attestedCredentialData.get(credentialId, 0, length);
-        byte[] remaining = new byte[attestedCredentialData.remaining()];
-        attestedCredentialData.get(remaining);
-        ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(remaining);
-        COSEKeyEnvelope coseKeyEnvelope = convertToCredentialPublicKey(byteArrayInputStream);
+        COSEKeyEnvelope coseKeyEnvelope;
+        int coseKeyLength;
+        if (attestedCredentialData.hasArray()) {
+            // parse in place to avoid copying the remaining bytes
+            int offset = attestedCredentialData.arrayOffset() + attestedCredentialData.position();
+            coseKeyEnvelope = convertToCredentialPublicKey(attestedCredentialData.array(), offset, attestedCredentialData.remaining());
+            coseKeyLength = coseKeyEnvelope.getLength() - offset;
+        } else {
+            byte[] remaining = new byte[attestedCredentialData.remaining()];
+            attestedCredentialData.duplicate().get(remaining);
+            coseKeyEnvelope = convertToCredentialPublicKey(new ByteArrayInputStream(remaining));
+            coseKeyLength = coseKeyEnvelope.getLength();
+        }
+        attestedCredentialData.position(attestedCredentialData.position() + coseKeyLength);
         COSEKey coseKey = coseKeyEnvelope.getCOSEKey();
-        AttestedCredentialData result = new AttestedCredentialData(aaguid, credentialId, coseKey);
-        int extensionsBufferLength = remaining.length - coseKeyEnvelope.getLength();
-        attestedCredentialData.position(attestedCredentialData.position() - extensionsBufferLength);
-        return result;
+        return new AttestedCredentialData(aaguid, credentialId, coseKey);
     }
 
     public AttestedCredentialData convert(byte[] attestedCredentialData) {
@@ -96,6 +103,14 @@ public class AttestedCredentialDataConverter implements Serializable {
         return cborConverter.readValue(inputStream, COSEKeyEnvelope.class);
     }
 
+    /**
+     * Parses a COSE key located at the specified offset of the source byte array without copying it.
+     * The length of the returned envelope is the end offset of the COSE key in the source byte array.
+     */
+    COSEKeyEnvelope convertToCredentialPublicKey(byte[] source, int offset, int length) {
+        return cborConverter.readValue(source, offset, length, COSEKeyEnvelope.class);
+    }
+
     byte[] convert(COSEKey coseKey) {
         return cborConverter.writeValueAsBytes(coseKey);
     }
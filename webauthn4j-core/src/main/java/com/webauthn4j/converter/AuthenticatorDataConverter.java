@@ -29,7 +29,6 @@ import com.webauthn4j.data.extension.authenticator.ExtensionAuthenticatorOutput;
 import com.webauthn4j.util.AssertUtil;
 import com.webauthn4j.util.UnsignedNumberUtil;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -134,20 +133,51 @@ public class AuthenticatorDataConverter {
         }
     }
 
+    /**
+     * Creates a {@link FlyweightAuthenticatorData} view from a byte array without copying it.
+     *
+     * @param <T>    ExtensionAuthenticatorOutput
+     * @param source the source byte array to convert
+     * @return the view of the byte array
+     */
+    public <T extends ExtensionAuthenticatorOutput> FlyweightAuthenticatorData<T> convertToFlyweight(byte[] source) {
+        AssertUtil.notNull(source, "source must not be null");
+        return convertToFlyweight(source, 0, source.length);
+    }
+
+    /**
+     * Creates a {@link FlyweightAuthenticatorData} view from a range of a byte array without copying it.
+     *
+     * @param <T>    ExtensionAuthenticatorOutput
+     * @param source the source byte array to convert
+     * @param offset the offset of the authenticatorData in the source byte array
+     * @param length the length of the authenticatorData
+     * @return the view of the byte array
+     */
+    public <T extends ExtensionAuthenticatorOutput> FlyweightAuthenticatorData<T> convertToFlyweight(byte[] source, int offset, int length) {
+        AssertUtil.notNull(source, "source must not be null");
+        return new FlyweightAuthenticatorData<>(this, attestedCredentialDataConverter, source, offset, length);
+    }
+
     private <T extends ExtensionAuthenticatorOutput> AuthenticationExtensionsAuthenticatorOutputs<T> convertToExtensions(ByteBuffer byteBuffer) {
         if (byteBuffer.remaining() == 0) {
             return new AuthenticationExtensionsAuthenticatorOutputs<>();
         }
-        byte[] remaining = new byte[byteBuffer.remaining()];
-        byteBuffer.get(remaining);
-        ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(remaining);
-        AuthenticationExtensionsAuthenticatorOutputsEnvelope<T> envelope =
-                cborConverter.readValue(byteArrayInputStream, new TypeReference<AuthenticationExtensionsAuthenticatorOutputsEnvelope<T>>(){});
-        int leftoverLength = remaining.length - envelope.getLength();
-        byteBuffer.position(byteBuffer.position() - leftoverLength);
+        // parse in place to avoid copying the remaining bytes
+        int offset = byteBuffer.arrayOffset() + byteBuffer.position();
+        AuthenticationExtensionsAuthenticatorOutputsEnvelope<T> envelope = convertToExtensionsEnvelope(byteBuffer.array(), offset, byteBuffer.remaining());
+        byteBuffer.position(byteBuffer.position() + envelope.getLength() - offset);
         return envelope.getAuthenticationExtensionsAuthenticatorOutputs();
     }
 
+    /**
+     * Parses extensions located at the specified offset of the source byte array without copying it.
+     * The length of the returned envelope is the end offset of the extensions in the source byte array.
+     */
+    <T extends ExtensionAuthenticatorOutput> AuthenticationExtensionsAuthenticatorOutputsEnvelope<T> convertToExtensionsEnvelope(byte[] source, int offset, int length) {
+        return cborConverter.readValue(source, offset, length, new TypeReference<AuthenticationExtensionsAuthenticatorOutputsEnvelope<T>>(){});
+    }
+
     /**
      * Extract attestedCredData byte array from a authenticatorData byte array.
      *
@@ -159,10 +189,8 @@ public class AuthenticatorDataConverter {
         int credentialIdLength = UnsignedNumberUtil.getUnsignedShort(lengthBytes);
         int credentialPublicKeyIndex = CREDENTIAL_ID_INDEX + credentialIdLength;
 
-        byte[] attestedCredentialDataBytes = Arrays.copyOfRange(authenticatorData, credentialPublicKeyIndex, authenticatorData.length);
-        ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(attestedCredentialDataBytes);
-        COSEKeyEnvelope coseKeyEnvelope = attestedCredentialDataConverter.convertToCredentialPublicKey(byteArrayInputStream);
-        int credentialPublicKeyLength = coseKeyEnvelope.getLength();
+        COSEKeyEnvelope coseKeyEnvelope = attestedCredentialDataConverter.convertToCredentialPublicKey(authenticatorData, credentialPublicKeyIndex, authenticatorData.length - credentialPublicKeyIndex);
+        int credentialPublicKeyLength = coseKeyEnvelope.getLength() - credentialPublicKeyIndex;
         int attestedCredentialDataLength = AAGUID_LENGTH + L_LENGTH + credentialIdLength + credentialPublicKeyLength;
         return Arrays.copyOfRange(authenticatorData, ATTESTED_CREDENTIAL_DATA_INDEX, ATTESTED_CREDENTIAL_DATA_INDEX + attestedCredentialDataLength);
     }
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.converter;
+
+import com.webauthn4j.data.client.ClientDataType;
+import com.webauthn4j.data.client.TokenBinding;
+
+import java.util.Objects;
+
+/**
+ * Result of {@link StreamingCollectedClientDataConverter#match(byte[], com.webauthn4j.data.client.challenge.Challenge, com.webauthn4j.data.client.Origin)}
+ */
+public class CollectedClientDataMatchResult {
+
+    //~ Instance fields
+    // ================================================================================================
+
+    private final ClientDataType type;
+    private final boolean challengeMatched;
+    private final boolean originMatched;
+    private final boolean crossOrigin;
+    private final TokenBinding tokenBinding;
+
+    //~ Constructors
+    // ================================================================================================
+
+    public CollectedClientDataMatchResult(ClientDataType type, boolean challengeMatched, boolean originMatched, boolean crossOrigin, TokenBinding tokenBinding) {
+        this.type = type;
+        this.challengeMatched = challengeMatched;
+        this.originMatched = originMatched;
+        this.crossOrigin = crossOrigin;
+        this.tokenBinding = tokenBinding;
+    }
+
+    //~ Methods
+    // ================================================================================================
+
+    public ClientDataType getType() {
+        return type;
+    }
+
+    /**
+     * Returns true if the challenge in the clientDataJSON matches the expected challenge
+     *
+     * @return true if the challenge matches
+     */
+    public boolean isChallengeMatched() {
+        return challengeMatched;
+    }
+
+    /**
+     * Returns true if the origin in the clientDataJSON matches the expected origin
+     *
+     * @return true if the origin matches
+     */
+    public boolean isOriginMatched() {
+        return originMatched;
+    }
+
+    public boolean isCrossOrigin() {
+        return crossOrigin;
+    }
+
+    public TokenBinding getTokenBinding() {
+        return tokenBinding;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CollectedClientDataMatchResult that = (CollectedClientDataMatchResult) o;
+        return challengeMatched == that.challengeMatched &&
+                originMatched == that.originMatched &&
+                crossOrigin == that.crossOrigin &&
+                type == that.type &&
+                Objects.equals(tokenBinding, that.tokenBinding);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, challengeMatched, originMatched, crossOrigin, tokenBinding);
+    }
+}
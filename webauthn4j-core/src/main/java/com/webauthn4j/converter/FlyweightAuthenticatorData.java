@@ -0,0 +1,283 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.converter;
+
+import com.webauthn4j.converter.exception.DataConversionException;
+import com.webauthn4j.converter.jackson.deserializer.AuthenticationExtensionsAuthenticatorOutputsEnvelope;
+import com.webauthn4j.converter.jackson.deserializer.COSEKeyEnvelope;
+import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.data.attestation.authenticator.AttestedCredentialData;
+import com.webauthn4j.data.attestation.authenticator.AuthenticatorData;
+import com.webauthn4j.data.attestation.authenticator.COSEKey;
+import com.webauthn4j.data.extension.authenticator.AuthenticationExtensionsAuthenticatorOutputs;
+import com.webauthn4j.data.extension.authenticator.ExtensionAuthenticatorOutput;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Flyweight view of an authenticatorData byte array.
+ * <p>
+ * Unlike {@link AuthenticatorData} produced by {@link AuthenticatorDataConverter#convert(byte[])}, this view keeps offsets
+ * into the source byte array instead of copying it. flags and signCount are decoded in place, rpIdHash and credentialId are
+ * exposed as read-only {@link ByteBuffer} slices, and the COSE key and extensions are parsed from the source byte array
+ * on first access. The source byte array must not be modified while the view is in use.
+ *
+ * @param <T> extension type
+ * @see AuthenticatorDataConverter#convertToFlyweight(byte[])
+ */
+public class FlyweightAuthenticatorData<T extends ExtensionAuthenticatorOutput> {
+
+    private static final int RPID_HASH_LENGTH = 32;
+    private static final int FLAGS_LENGTH = 1;
+    private static final int COUNTER_LENGTH = 4;
+    private static final int AAGUID_LENGTH = 16;
+    private static final int L_LENGTH = 2;
+
+    private static final int FLAGS_INDEX = RPID_HASH_LENGTH;
+    private static final int COUNTER_INDEX = FLAGS_INDEX + FLAGS_LENGTH;
+    private static final int ATTESTED_CREDENTIAL_DATA_INDEX = COUNTER_INDEX + COUNTER_LENGTH;
+    private static final int L_INDEX = ATTESTED_CREDENTIAL_DATA_INDEX + AAGUID_LENGTH;
+    private static final int CREDENTIAL_ID_INDEX = L_INDEX + L_LENGTH;
+
+    private static final String INVALID_LAYOUT_MESSAGE = "provided data does not have proper byte layout";
+
+    //~ Instance fields
+    // ================================================================================================
+
+    private final AuthenticatorDataConverter authenticatorDataConverter;
+    private final AttestedCredentialDataConverter attestedCredentialDataConverter;
+
+    private final byte[] source;
+    private final int offset;
+    private final int length;
+
+    private final byte flags;
+    private final long signCount;
+    private final int credentialIdLength;
+
+    private volatile COSEKey coseKey;
+    private volatile int coseKeyEnd = -1;
+    private volatile AuthenticationExtensionsAuthenticatorOutputs<T> extensions;
+
+    //~ Constructors
+    // ================================================================================================
+
+    FlyweightAuthenticatorData(AuthenticatorDataConverter authenticatorDataConverter, AttestedCredentialDataConverter attestedCredentialDataConverter,
+                               byte[] source, int offset, int length) {
+        this.authenticatorDataConverter = authenticatorDataConverter;
+        this.attestedCredentialDataConverter = attestedCredentialDataConverter;
+        this.source = source;
+        this.offset = offset;
+        this.length = length;
+
+        if (offset < 0 || length < ATTESTED_CREDENTIAL_DATA_INDEX || offset + length > source.length) {
+            throw new DataConversionException(INVALID_LAYOUT_MESSAGE);
+        }
+        this.flags = source[offset + FLAGS_INDEX];
+        int counterIndex = offset + COUNTER_INDEX;
+        this.signCount = ((long) (source[counterIndex] & 0xFF) << 24) |
+                ((source[counterIndex + 1] & 0xFF) << 16) |
+                ((source[counterIndex + 2] & 0xFF) << 8) |
+                (source[counterIndex + 3] & 0xFF);
+
+        if (AuthenticatorData.checkFlagAT(flags)) {
+            if (length < CREDENTIAL_ID_INDEX) {
+                throw new DataConversionException(INVALID_LAYOUT_MESSAGE);
+            }
+            int lIndex = offset + L_INDEX;
+            this.credentialIdLength = ((source[lIndex] & 0xFF) << 8) | (source[lIndex + 1] & 0xFF);
+            if (CREDENTIAL_ID_INDEX + credentialIdLength >= length) {
+                throw new DataConversionException(INVALID_LAYOUT_MESSAGE);
+            }
+        } else {
+            this.credentialIdLength = 0;
+            if (!AuthenticatorData.checkFlagED(flags) && length != ATTESTED_CREDENTIAL_DATA_INDEX) {
+                throw new DataConversionException(INVALID_LAYOUT_MESSAGE);
+            }
+        }
+    }
+
+    //~ Methods
+    // ================================================================================================
+
+    /**
+     * Returns the whole authenticatorData as a read-only {@link ByteBuffer}
+     *
+     * @return the authenticatorData
+     */
+    public ByteBuffer getBytes() {
+        return slice(0, length);
+    }
+
+    /**
+     * Returns the rpIdHash as a read-only {@link ByteBuffer}
+     *
+     * @return the rpIdHash
+     */
+    public ByteBuffer getRpIdHash() {
+        return slice(0, RPID_HASH_LENGTH);
+    }
+
+    /**
+     * Compares the rpIdHash with the specified one without allocation
+     *
+     * @param rpIdHash the expected rpIdHash
+     * @return true if they are equal
+     */
+    public boolean isRpIdHashEqualTo(byte[] rpIdHash) {
+        if (rpIdHash == null || rpIdHash.length != RPID_HASH_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < RPID_HASH_LENGTH; i++) {
+            if (source[offset + i] != rpIdHash[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public byte getFlags() {
+        return flags;
+    }
+
+    public boolean isFlagUP() {
+        return AuthenticatorData.checkFlagUP(flags);
+    }
+
+    public boolean isFlagUV() {
+        return AuthenticatorData.checkFlagUV(flags);
+    }
+
+    public boolean isFlagAT() {
+        return AuthenticatorData.checkFlagAT(flags);
+    }
+
+    public boolean isFlagED() {
+        return AuthenticatorData.checkFlagED(flags);
+    }
+
+    public long getSignCount() {
+        return signCount;
+    }
+
+    /**
+     * Returns the {@link AAGUID}
+     *
+     * @return the {@link AAGUID}, or null if attested credential data is not included
+     */
+    public AAGUID getAaguid() {
+        if (!isFlagAT()) {
+            return null;
+        }
+        int aaguidIndex = offset + ATTESTED_CREDENTIAL_DATA_INDEX;
+        return new AAGUID(Arrays.copyOfRange(source, aaguidIndex, aaguidIndex + AAGUID_LENGTH));
+    }
+
+    /**
+     * Returns the credentialId as a read-only {@link ByteBuffer}
+     *
+     * @return the credentialId, or null if attested credential data is not included
+     */
+    public ByteBuffer getCredentialId() {
+        if (!isFlagAT()) {
+            return null;
+        }
+        return slice(CREDENTIAL_ID_INDEX, credentialIdLength);
+    }
+
+    /**
+     * Returns the {@link COSEKey}. It is parsed from the source byte array on the first call.
+     *
+     * @return the {@link COSEKey}, or null if attested credential data is not included
+     */
+    public COSEKey getCOSEKey() {
+        if (!isFlagAT()) {
+            return null;
+        }
+        COSEKey value = coseKey;
+        if (value == null) {
+            int coseKeyIndex = offset + CREDENTIAL_ID_INDEX + credentialIdLength;
+            COSEKeyEnvelope envelope = attestedCredentialDataConverter.convertToCredentialPublicKey(source, coseKeyIndex, offset + length - coseKeyIndex);
+            int end = envelope.getLength();
+            if (!isFlagED() && end != offset + length) {
+                throw new DataConversionException(INVALID_LAYOUT_MESSAGE);
+            }
+            value = envelope.getCOSEKey();
+            coseKeyEnd = end;
+            coseKey = value;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the extensions. They are parsed from the source byte array on the first call.
+     *
+     * @return the extensions
+     */
+    public AuthenticationExtensionsAuthenticatorOutputs<T> getExtensions() {
+        AuthenticationExtensionsAuthenticatorOutputs<T> value = extensions;
+        if (value == null) {
+            if (isFlagED()) {
+                int extensionsIndex;
+                if (isFlagAT()) {
+                    getCOSEKey();
+                    extensionsIndex = coseKeyEnd;
+                } else {
+                    extensionsIndex = offset + ATTESTED_CREDENTIAL_DATA_INDEX;
+                }
+                int extensionsLength = offset + length - extensionsIndex;
+                if (extensionsLength == 0) {
+                    value = new AuthenticationExtensionsAuthenticatorOutputs<>();
+                } else {
+                    AuthenticationExtensionsAuthenticatorOutputsEnvelope<T> envelope =
+                            authenticatorDataConverter.convertToExtensionsEnvelope(source, extensionsIndex, extensionsLength);
+                    if (envelope.getLength() != offset + length) {
+                        throw new DataConversionException(INVALID_LAYOUT_MESSAGE);
+                    }
+                    value = envelope.getAuthenticationExtensionsAuthenticatorOutputs();
+                }
+            } else {
+                value = new AuthenticationExtensionsAuthenticatorOutputs<>();
+            }
+            extensions = value;
+        }
+        return value;
+    }
+
+    /**
+     * Materializes this view into an {@link AuthenticatorData}, which owns copies of the parsed values.
+     *
+     * @return the {@link AuthenticatorData}
+     */
+    public AuthenticatorData<T> toAuthenticatorData() {
+        byte[] rpIdHash = Arrays.copyOfRange(source, offset, offset + RPID_HASH_LENGTH);
+        AttestedCredentialData attestedCredentialData = null;
+        if (isFlagAT()) {
+            int credentialIdIndex = offset + CREDENTIAL_ID_INDEX;
+            byte[] credentialId = Arrays.copyOfRange(source, credentialIdIndex, credentialIdIndex + credentialIdLength);
+            attestedCredentialData = new AttestedCredentialData(getAaguid(), credentialId, getCOSEKey());
+        }
+        return new AuthenticatorData<>(rpIdHash, flags, signCount, attestedCredentialData, getExtensions());
+    }
+
+    private ByteBuffer slice(int index, int sliceLength) {
+        ByteBuffer byteBuffer = ByteBuffer.wrap(source, offset + index, sliceLength).slice();
+        return byteBuffer.asReadOnlyBuffer();
+    }
+}
@@ -0,0 +1,374 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.converter;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.webauthn4j.converter.exception.DataConversionException;
+import com.webauthn4j.converter.util.JsonConverter;
+import com.webauthn4j.converter.util.ObjectConverter;
+import com.webauthn4j.data.client.ClientDataType;
+import com.webauthn4j.data.client.CollectedClientData;
+import com.webauthn4j.data.client.Origin;
+import com.webauthn4j.data.client.TokenBinding;
+import com.webauthn4j.data.client.TokenBindingStatus;
+import com.webauthn4j.data.client.challenge.Challenge;
+import com.webauthn4j.data.client.challenge.DefaultChallenge;
+import com.webauthn4j.util.AssertUtil;
+import com.webauthn4j.util.Base64UrlUtil;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Streaming converter for {@link CollectedClientData}.
+ * <p>
+ * Reads the UTF-8 encoded clientDataJSON directly with a Jackson {@link JsonParser} in a single pass, without
+ * materializing the JSON as a {@link String} nor binding it through an ObjectMapper.
+ * If the input doesn't have the expected form, it falls back to {@link CollectedClientDataConverter}, so that
+ * malformed input is reported in the same way.
+ */
+public class StreamingCollectedClientDataConverter {
+
+    private static final String TYPE = "type";
+    private static final String CHALLENGE = "challenge";
+    private static final String ORIGIN = "origin";
+    private static final String CROSS_ORIGIN = "crossOrigin";
+    private static final String TOKEN_BINDING = "tokenBinding";
+    private static final String TOKEN_BINDING_STATUS = "status";
+    private static final String TOKEN_BINDING_ID = "id";
+
+    private static final String SCHEME_HTTPS = "https";
+    private static final String SCHEME_HTTP = "http";
+    private static final String SCHEME_SEPARATOR = "://";
+
+    private static final char[] BASE64URL_ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+
+    //~ Instance fields
+    // ================================================================================================
+    private final JsonConverter jsonConverter;
+    private final CollectedClientDataConverter fallbackConverter;
+
+    //~ Constructors
+    // ================================================================================================
+
+    public StreamingCollectedClientDataConverter(ObjectConverter objectConverter) {
+        AssertUtil.notNull(objectConverter, "objectConverter must not be null");
+        this.jsonConverter = objectConverter.getJsonConverter();
+        this.fallbackConverter = new CollectedClientDataConverter(objectConverter);
+    }
+
+    //~ Methods
+    // ================================================================================================
+
+    /**
+     * Converts from a byte array to {@link CollectedClientData}.
+     *
+     * @param source the source byte array to convert
+     * @return the converted object
+     */
+    public CollectedClientData convert(byte[] source) {
+        if (source == null) {
+            return null;
+        }
+        try (JsonParser parser = jsonConverter.createParser(source)) {
+            ClientDataType type = null;
+            Challenge challenge = null;
+            Origin origin = null;
+            TokenBinding tokenBinding = null;
+
+            startObject(parser);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                switch (fieldName) {
+                    case TYPE:
+                        type = readType(parser, token);
+                        break;
+                    case CHALLENGE:
+                        String challengeString = readString(parser, token);
+                        challenge = challengeString == null ? null : new DefaultChallenge(challengeString);
+                        break;
+                    case ORIGIN:
+                        String originString = readString(parser, token);
+                        origin = originString == null ? null : Origin.create(originString);
+                        break;
+                    case TOKEN_BINDING:
+                        tokenBinding = readTokenBinding(parser, token);
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            return new CollectedClientData(type, challenge, origin, tokenBinding);
+        } catch (IOException | RuntimeException e) {
+            return fallbackConverter.convert(source);
+        }
+    }
+
+    /**
+     * Parses clientDataJSON and compares its challenge and origin with the expected values in a single pass.
+     * The challenge and the origin are compared on the parser's character buffer, without decoding them into
+     * intermediate objects as long as they are in the canonical form.
+     *
+     * @param source            the clientDataJSON byte array
+     * @param expectedChallenge the expected challenge
+     * @param expectedOrigin    the expected origin
+     * @return the match result
+     */
+    public CollectedClientDataMatchResult match(byte[] source, Challenge expectedChallenge, Origin expectedOrigin) {
+        return match(source, expectedChallenge, Collections.singletonList(expectedOrigin));
+    }
+
+    /**
+     * Parses clientDataJSON and compares its challenge and origin with the expected values in a single pass.
+     * The origin is regarded as matched if it matches one of the expected origins.
+     *
+     * @param source            the clientDataJSON byte array
+     * @param expectedChallenge the expected challenge
+     * @param expectedOrigins   the expected origins
+     * @return the match result
+     */
+    public CollectedClientDataMatchResult match(byte[] source, Challenge expectedChallenge, Collection<Origin> expectedOrigins) {
+        AssertUtil.notNull(source, "source must not be null");
+        AssertUtil.notNull(expectedOrigins, "expectedOrigins must not be null");
+        try (JsonParser parser = jsonConverter.createParser(source)) {
+            ClientDataType type = null;
+            boolean challengeMatched = false;
+            boolean originMatched = false;
+            boolean crossOrigin = false;
+            TokenBinding tokenBinding = null;
+
+            startObject(parser);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                switch (fieldName) {
+                    case TYPE:
+                        type = readType(parser, token);
+                        break;
+                    case CHALLENGE:
+                        challengeMatched = matchChallenge(parser, token, expectedChallenge);
+                        break;
+                    case ORIGIN:
+                        originMatched = matchOrigin(parser, token, expectedOrigins);
+                        break;
+                    case CROSS_ORIGIN:
+                        crossOrigin = token == JsonToken.VALUE_TRUE;
+                        break;
+                    case TOKEN_BINDING:
+                        tokenBinding = readTokenBinding(parser, token);
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            return new CollectedClientDataMatchResult(type, challengeMatched, originMatched, crossOrigin, tokenBinding);
+        } catch (IOException | RuntimeException e) {
+            CollectedClientData collectedClientData = fallbackConverter.convert(source);
+            return new CollectedClientDataMatchResult(
+                    collectedClientData.getType(),
+                    expectedChallenge != null && collectedClientData.getChallenge() != null && Arrays.equals(expectedChallenge.getValue(), collectedClientData.getChallenge().getValue()),
+                    expectedOrigins.contains(collectedClientData.getOrigin()),
+                    false,
+                    collectedClientData.getTokenBinding());
+        }
+    }
+
+    private void startObject(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new DataConversionException("clientDataJSON must be a JSON object");
+        }
+    }
+
+    private String readString(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.VALUE_STRING) {
+            throw new DataConversionException("unexpected token: " + token);
+        }
+        return parser.getText();
+    }
+
+    private ClientDataType readType(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.VALUE_STRING) {
+            throw new DataConversionException("unexpected token: " + token);
+        }
+        if (textEquals(parser, ClientDataType.GET.getValue())) {
+            return ClientDataType.GET;
+        }
+        if (textEquals(parser, ClientDataType.CREATE.getValue())) {
+            return ClientDataType.CREATE;
+        }
+        return ClientDataType.create(parser.getText());
+    }
+
+    private TokenBinding readTokenBinding(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new DataConversionException("unexpected token: " + token);
+        }
+        TokenBindingStatus status = null;
+        String id = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken valueToken = parser.nextToken();
+            switch (fieldName) {
+                case TOKEN_BINDING_STATUS:
+                    String statusString = readString(parser, valueToken);
+                    status = statusString == null ? null : TokenBindingStatus.create(statusString);
+                    break;
+                case TOKEN_BINDING_ID:
+                    id = readString(parser, valueToken);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return new TokenBinding(status, id);
+    }
+
+    private boolean matchChallenge(JsonParser parser, JsonToken token, Challenge expectedChallenge) throws IOException {
+        String challengeString = null;
+        if (token != JsonToken.VALUE_NULL) {
+            if (token != JsonToken.VALUE_STRING) {
+                throw new DataConversionException("unexpected token: " + token);
+            }
+            if (expectedChallenge != null && matchBase64Url(expectedChallenge.getValue(), parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength())) {
+                return true;
+            }
+            challengeString = parser.getText();
+        }
+        // slow path for non-canonical form such as padded base64url
+        if (challengeString == null || expectedChallenge == null) {
+            return false;
+        }
+        return Arrays.equals(expectedChallenge.getValue(), Base64UrlUtil.decode(challengeString));
+    }
+
+    private boolean matchOrigin(JsonParser parser, JsonToken token, Collection<Origin> expectedOrigins) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return expectedOrigins.contains(null);
+        }
+        if (token != JsonToken.VALUE_STRING) {
+            throw new DataConversionException("unexpected token: " + token);
+        }
+        for (Origin expectedOrigin : expectedOrigins) {
+            if (expectedOrigin != null && matchOrigin(expectedOrigin, parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength())) {
+                return true;
+            }
+        }
+        // slow path for non-canonical form such as trailing slash
+        return expectedOrigins.contains(Origin.create(parser.getText()));
+    }
+
+    private boolean textEquals(JsonParser parser, String expected) throws IOException {
+        int length = parser.getTextLength();
+        return length == expected.length() && regionMatches(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextOffset() + length, expected) >= 0;
+    }
+
+    /**
+     * Compares chars with the canonical (unpadded) base64url form of the expected bytes without encoding them into a new array
+     */
+    static boolean matchBase64Url(byte[] expected, char[] chars, int offset, int length) {
+        if (length != (expected.length * 4 + 2) / 3) {
+            return false;
+        }
+        int position = offset;
+        for (int i = 0; i < expected.length; i += 3) {
+            int remaining = expected.length - i;
+            int bits = (expected[i] & 0xFF) << 16;
+            if (remaining > 1) {
+                bits |= (expected[i + 1] & 0xFF) << 8;
+            }
+            if (remaining > 2) {
+                bits |= expected[i + 2] & 0xFF;
+            }
+            int charCount = Math.min(4, remaining + 1);
+            for (int j = 0; j < charCount; j++) {
+                if (chars[position++] != BASE64URL_ALPHABET[(bits >> (18 - 6 * j)) & 0x3F]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares chars with the expected {@link Origin} in the form of scheme://host[:port]
+     */
+    static boolean matchOrigin(Origin expected, char[] chars, int offset, int length) {
+        String scheme = expected.getScheme();
+        String host = expected.getHost();
+        if (scheme == null || host == null) {
+            return false;
+        }
+        int end = offset + length;
+        int position = regionMatches(chars, offset, end, scheme);
+        if (position < 0) {
+            return false;
+        }
+        position = regionMatches(chars, position, end, SCHEME_SEPARATOR);
+        if (position < 0) {
+            return false;
+        }
+        position = regionMatches(chars, position, end, host);
+        if (position < 0) {
+            return false;
+        }
+        if (position == end) {
+            return (SCHEME_HTTPS.equals(scheme) && expected.getPort() == 443) || (SCHEME_HTTP.equals(scheme) && expected.getPort() == 80);
+        }
+        if (chars[position] != ':' || position + 1 == end) {
+            return false;
+        }
+        int port = 0;
+        for (position = position + 1; position < end; position++) {
+            char c = chars[position];
+            if (c < '0' || c > '9' || port > 65535) {
+                return false;
+            }
+            port = port * 10 + (c - '0');
+        }
+        return port == expected.getPort();
+    }
+
+    /**
+     * @return the position next to the matched region, or -1 if not matched
+     */
+    private static int regionMatches(char[] chars, int position, int end, String expected) {
+        int expectedLength = expected.length();
+        if (end - position < expectedLength) {
+            return -1;
+        }
+        for (int i = 0; i < expectedLength; i++) {
+            if (chars[position + i] != expected.charAt(i)) {
+                return -1;
+            }
+        }
+        return position + expectedLength;
+    }
+}
@@ -17,6 +17,7 @@
 package com.webauthn4j.converter.util;
 
 import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -86,6 +87,34 @@ public class JsonConverter implements Serializable {
         }
     }
 
+    /**
+     * Creates a streaming {@link JsonParser} which reads the UTF-8 encoded source byte array directly
+     *
+     * @param src the source byte array
+     * @return the parser
+     */
+    public JsonParser createParser(byte[] src) {
+        try {
+            return jsonMapper.getFactory().createParser(src);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Creates a streaming {@link JsonParser} which reads the UTF-8 encoded source stream incrementally
+     *
+     * @param src the source stream
+     * @return the parser
+     */
+    public JsonParser createParser(InputStream src) {
+        try {
+            return jsonMapper.getFactory().createParser(src);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     public byte[] writeValueAsBytes(Object value) {
         try {
             return jsonMapper.writeValueAsBytes(value);
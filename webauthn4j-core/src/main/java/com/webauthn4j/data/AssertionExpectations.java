@@ -0,0 +1,171 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.data;
+
+import com.webauthn4j.data.client.Origin;
+import com.webauthn4j.data.client.challenge.Challenge;
+import com.webauthn4j.server.ServerProperty;
+import com.webauthn4j.util.ArrayUtil;
+import com.webauthn4j.util.AssertUtil;
+import com.webauthn4j.util.CryptoPrimitivesUtil;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Precompiled expected values for an assertion verified by {@link com.webauthn4j.WebAuthnAssertionVerifier}.
+ * The rpIdHash is computed once on construction, so an instance without a challenge can be kept as a template
+ * and copied for each ceremony with {@link #withChallenge(Challenge)}.
+ */
+public class AssertionExpectations implements Serializable {
+
+    private final List<Origin> origins;
+    private final String rpId;
+    private final byte[] rpIdHash;
+    private final Challenge challenge;
+    private final byte[] tokenBindingId;
+
+    // verification condition
+    private final boolean userVerificationRequired;
+    private final boolean userPresenceRequired;
+
+    public AssertionExpectations(
+            Collection<Origin> origins,
+            String rpId,
+            Challenge challenge,
+            byte[] tokenBindingId,
+            boolean userVerificationRequired,
+            boolean userPresenceRequired) {
+        this(
+                Collections.unmodifiableList(new ArrayList<>(nonNull(origins))),
+                rpId,
+                rpId == null ? null : CryptoPrimitivesUtil.getSHA256().digest(rpId.getBytes(StandardCharsets.UTF_8)),
+                challenge,
+                ArrayUtil.clone(tokenBindingId),
+                userVerificationRequired,
+                userPresenceRequired
+        );
+    }
+
+    public AssertionExpectations(
+            Collection<Origin> origins,
+            String rpId,
+            Challenge challenge,
+            byte[] tokenBindingId,
+            boolean userVerificationRequired) {
+        this(origins, rpId, challenge, tokenBindingId, userVerificationRequired, true);
+    }
+
+    public AssertionExpectations(ServerProperty serverProperty, boolean userVerificationRequired, boolean userPresenceRequired) {
+        this(
+                Collections.singletonList(serverProperty.getOrigin()),
+                serverProperty.getRpId(),
+                serverProperty.getRpIdHash(),
+                serverProperty.getChallenge(),
+                serverProperty.getTokenBindingId(),
+                userVerificationRequired,
+                userPresenceRequired
+        );
+    }
+
+    private AssertionExpectations(
+            List<Origin> origins,
+            String rpId,
+            byte[] rpIdHash,
+            Challenge challenge,
+            byte[] tokenBindingId,
+            boolean userVerificationRequired,
+            boolean userPresenceRequired) {
+        this.origins = origins;
+        this.rpId = rpId;
+        this.rpIdHash = rpIdHash;
+        this.challenge = challenge;
+        this.tokenBindingId = tokenBindingId;
+        this.userVerificationRequired = userVerificationRequired;
+        this.userPresenceRequired = userPresenceRequired;
+    }
+
+    private static Collection<Origin> nonNull(Collection<Origin> origins) {
+        AssertUtil.notNull(origins, "origins must not be null");
+        return origins;
+    }
+
+    /**
+     * Returns a copy of this {@link AssertionExpectations} with the specified {@link Challenge}.
+     * All other values, including the precomputed rpIdHash, are shared with this instance.
+     *
+     * @param challenge the {@link Challenge} for the new instance
+     * @return the new {@link AssertionExpectations}
+     */
+    public AssertionExpectations withChallenge(Challenge challenge) {
+        return new AssertionExpectations(origins, rpId, rpIdHash, challenge, tokenBindingId, userVerificationRequired, userPresenceRequired);
+    }
+
+    public List<Origin> getOrigins() {
+        return origins;
+    }
+
+    public String getRpId() {
+        return rpId;
+    }
+
+    public byte[] getRpIdHash() {
+        return ArrayUtil.clone(rpIdHash);
+    }
+
+    public Challenge getChallenge() {
+        return challenge;
+    }
+
+    public byte[] getTokenBindingId() {
+        return ArrayUtil.clone(tokenBindingId);
+    }
+
+    public boolean isUserVerificationRequired() {
+        return userVerificationRequired;
+    }
+
+    public boolean isUserPresenceRequired() {
+        return userPresenceRequired;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AssertionExpectations that = (AssertionExpectations) o;
+        return userVerificationRequired == that.userVerificationRequired &&
+                userPresenceRequired == that.userPresenceRequired &&
+                Objects.equals(origins, that.origins) &&
+                Objects.equals(rpId, that.rpId) &&
+                Objects.equals(challenge, that.challenge) &&
+                Arrays.equals(tokenBindingId, that.tokenBindingId);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(origins, rpId, challenge, userVerificationRequired, userPresenceRequired);
+        result = 31 * result + Arrays.hashCode(tokenBindingId);
+        return result;
+    }
+}
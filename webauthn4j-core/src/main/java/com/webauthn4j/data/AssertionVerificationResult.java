@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.data;
+
+import com.webauthn4j.data.attestation.authenticator.AuthenticatorData;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Result of an assertion verified by {@link com.webauthn4j.WebAuthnAssertionVerifier}
+ */
+public class AssertionVerificationResult implements Serializable {
+
+    private final long signCount;
+    private final byte flags;
+
+    public AssertionVerificationResult(long signCount, byte flags) {
+        this.signCount = signCount;
+        this.flags = flags;
+    }
+
+    /**
+     * Returns the signature counter value to be stored in conjunction with the credential.
+     *
+     * @return the signature counter value
+     */
+    public long getSignCount() {
+        return signCount;
+    }
+
+    public byte getFlags() {
+        return flags;
+    }
+
+    public boolean isFlagUP() {
+        return (flags & AuthenticatorData.BIT_UP) != 0;
+    }
+
+    public boolean isFlagUV() {
+        return (flags & AuthenticatorData.BIT_UV) != 0;
+    }
+
+    public boolean hasExtensions() {
+        return (flags & AuthenticatorData.BIT_ED) != 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AssertionVerificationResult that = (AssertionVerificationResult) o;
+        return signCount == that.signCount &&
+                flags == that.flags;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(signCount, flags);
+    }
+}
@@ -22,7 +22,7 @@ import com.webauthn4j.data.extension.authenticator.AuthenticationExtensionAuthen
 import com.webauthn4j.data.extension.client.AuthenticationExtensionClientOutput;
 import com.webauthn4j.data.extension.client.AuthenticationExtensionsClientOutputs;
 import com.webauthn4j.util.ArrayUtil;
-import com.webauthn4j.util.MessageDigestUtil;
+import com.webauthn4j.util.CryptoPrimitivesUtil;
 
 import java.util.Arrays;
 import java.util.Objects;
@@ -44,7 +44,7 @@ public class AuthenticationData extends CoreAuthenticationData {
             byte[] collectedClientDataBytes,
             AuthenticationExtensionsClientOutputs<AuthenticationExtensionClientOutput> clientExtensions,
             byte[] signature) {
-        super(credentialId, authenticatorData, authenticatorDataBytes, collectedClientDataBytes == null ? null : MessageDigestUtil.createSHA256().digest(collectedClientDataBytes), signature);
+        super(credentialId, authenticatorData, authenticatorDataBytes, collectedClientDataBytes == null ? null : CryptoPrimitivesUtil.getSHA256().digest(collectedClientDataBytes), signature);
         this.userHandle = ArrayUtil.clone(userHandle);
         this.collectedClientData = collectedClientData;
         this.collectedClientDataBytes = ArrayUtil.clone(collectedClientDataBytes);
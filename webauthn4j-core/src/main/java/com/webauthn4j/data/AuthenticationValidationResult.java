@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.data;
+
+import java.util.Objects;
+
+/**
+ * Per-item result of {@link com.webauthn4j.WebAuthnAuthenticationManager#validateAll}.
+ * Holds either the validated {@link AuthenticationData} or the exception the item failed with.
+ */
+public class AuthenticationValidationResult {
+
+    private final AuthenticationRequest authenticationRequest;
+    private final AuthenticationData authenticationData;
+    private final RuntimeException exception;
+
+    private AuthenticationValidationResult(AuthenticationRequest authenticationRequest, AuthenticationData authenticationData, RuntimeException exception) {
+        this.authenticationRequest = authenticationRequest;
+        this.authenticationData = authenticationData;
+        this.exception = exception;
+    }
+
+    public static AuthenticationValidationResult success(AuthenticationRequest authenticationRequest, AuthenticationData authenticationData) {
+        return new AuthenticationValidationResult(authenticationRequest, authenticationData, null);
+    }
+
+    public static AuthenticationValidationResult failure(AuthenticationRequest authenticationRequest, RuntimeException exception) {
+        return new AuthenticationValidationResult(authenticationRequest, null, exception);
+    }
+
+    public AuthenticationRequest getAuthenticationRequest() {
+        return authenticationRequest;
+    }
+
+    /**
+     * Returns the validated authentication data
+     *
+     * @return the validated authentication data, or {@code null} if the item failed
+     */
+    public AuthenticationData getAuthenticationData() {
+        return authenticationData;
+    }
+
+    /**
+     * Returns the exception the item failed with
+     *
+     * @return the exception, or {@code null} if the item succeeded
+     */
+    public RuntimeException getException() {
+        return exception;
+    }
+
+    public boolean isSuccess() {
+        return exception == null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AuthenticationValidationResult that = (AuthenticationValidationResult) o;
+        return Objects.equals(authenticationRequest, that.authenticationRequest) &&
+                Objects.equals(authenticationData, that.authenticationData) &&
+                Objects.equals(exception, that.exception);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(authenticationRequest, authenticationData, exception);
+    }
+}
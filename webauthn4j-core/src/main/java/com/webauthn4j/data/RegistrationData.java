@@ -21,7 +21,7 @@ import com.webauthn4j.data.client.CollectedClientData;
 import com.webauthn4j.data.extension.client.AuthenticationExtensionsClientOutputs;
 import com.webauthn4j.data.extension.client.RegistrationExtensionClientOutput;
 import com.webauthn4j.util.ArrayUtil;
-import com.webauthn4j.util.MessageDigestUtil;
+import com.webauthn4j.util.CryptoPrimitivesUtil;
 
 import java.util.Arrays;
 import java.util.Objects;
@@ -41,7 +41,7 @@ public class RegistrationData extends CoreRegistrationData {
             AuthenticationExtensionsClientOutputs<RegistrationExtensionClientOutput> clientExtensions,
             Set<AuthenticatorTransport> transports) {
 
-        super(attestationObject, attestationObjectBytes, collectedClientDataBytes == null ? null : MessageDigestUtil.createSHA256().digest(collectedClientDataBytes), transports);
+        super(attestationObject, attestationObjectBytes, collectedClientDataBytes == null ? null : CryptoPrimitivesUtil.getSHA256().digest(collectedClientDataBytes), transports);
 
         this.collectedClientData = collectedClientData;
         this.collectedClientDataBytes = ArrayUtil.clone(collectedClientDataBytes);
@@ -36,7 +36,9 @@ public enum UserVerificationMethod {
     PATTERN(0x00000080L),
     HANDPRINT(0x00000100L),
     NONE(0x00000200L),
-    ALL(0x00000400L);
+    ALL(0x00000400L),
+    PASSCODE_EXTERNAL(0x00000800L),
+    PATTERN_EXTERNAL(0x00001000L);
 
     private final long value;
 
@@ -67,6 +69,10 @@ public enum UserVerificationMethod {
             return NONE;
         } else if (value == 0x00000400L) {
             return ALL;
+        } else if (value == 0x00000800L) {
+            return PASSCODE_EXTERNAL;
+        } else if (value == 0x00001000L) {
+            return PATTERN_EXTERNAL;
         } else {
             throw new IllegalArgumentException("value '" + value + "' is out of range");
         }
@@ -17,12 +17,14 @@
 package com.webauthn4j.data.attestation.authenticator;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.webauthn4j.data.attestation.statement.COSEAlgorithmIdentifier;
 import com.webauthn4j.data.attestation.statement.COSEKeyOperation;
 import com.webauthn4j.data.attestation.statement.COSEKeyType;
 import com.webauthn4j.util.ArrayUtil;
 
+import java.security.PublicKey;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
@@ -41,6 +43,10 @@ public abstract class AbstractCOSEKey implements COSEKey {
     @JsonProperty("5")
     private final byte[] baseIV;
 
+    // Materialized lazily from the key parameters. Not serialized; it is restored on first access after deserialization.
+    @JsonIgnore
+    private transient volatile PublicKey publicKey;
+
     @JsonCreator
     AbstractCOSEKey(
             @JsonProperty("2") byte[] keyId,
@@ -73,6 +79,24 @@ public abstract class AbstractCOSEKey implements COSEKey {
         return ArrayUtil.clone(baseIV);
     }
 
+    /**
+     * Returns the {@link PublicKey} represented by this COSE key.
+     * It is decoded on the first call, and the same instance is returned afterwards.
+     *
+     * @return public key, or null if this COSE key doesn't have public key parameters
+     */
+    @Override
+    public PublicKey getPublicKey() {
+        PublicKey value = publicKey;
+        if (value == null && hasPublicKey()) {
+            value = createPublicKey();
+            publicKey = value;
+        }
+        return value;
+    }
+
+    abstract PublicKey createPublicKey();
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
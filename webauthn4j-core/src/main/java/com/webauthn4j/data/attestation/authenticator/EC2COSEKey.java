@@ -210,15 +210,10 @@ public class EC2COSEKey extends AbstractCOSEKey implements Serializable {
     }
 
     @Override
-    public PublicKey getPublicKey() {
-
-        if (!hasPublicKey()) {
-            return null;
-        }
-
+    PublicKey createPublicKey() {
         ECPoint ecPoint = new ECPoint(
-                new BigInteger(1, getX()),
-                new BigInteger(1, getY())
+                new BigInteger(1, x),
+                new BigInteger(1, y)
         );
         ECPublicKeySpec spec = new ECPublicKeySpec(ecPoint, curve.getECParameterSpec());
 
@@ -18,7 +18,7 @@ package com.webauthn4j.data.jws;
 
 import com.webauthn4j.util.ArrayUtil;
 import com.webauthn4j.util.Base64UrlUtil;
-import com.webauthn4j.util.SignatureUtil;
+import com.webauthn4j.util.CryptoPrimitivesUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -71,7 +71,7 @@ public class JWS<T extends Serializable> implements Serializable {
     public boolean isValidSignature() {
         String signedData = headerString + "." + payloadString;
         try {
-            Signature signatureObj = SignatureUtil.createSignature(header.getAlg().getJcaName());
+            Signature signatureObj = CryptoPrimitivesUtil.getSignature(header.getAlg().getJcaName());
             PublicKey publicKey = header.getX5c().getEndEntityAttestationCertificate().getCertificate().getPublicKey();
             signatureObj.initVerify(publicKey);
             signatureObj.update(signedData.getBytes());
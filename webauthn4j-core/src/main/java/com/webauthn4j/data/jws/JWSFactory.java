@@ -19,7 +19,7 @@ package com.webauthn4j.data.jws;
 import com.webauthn4j.converter.util.JsonConverter;
 import com.webauthn4j.converter.util.ObjectConverter;
 import com.webauthn4j.util.Base64UrlUtil;
-import com.webauthn4j.util.SignatureUtil;
+import com.webauthn4j.util.CryptoPrimitivesUtil;
 
 import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
@@ -44,7 +44,7 @@ public class JWSFactory {
         String headerString = Base64UrlUtil.encodeToString(jsonConverter.writeValueAsString(header).getBytes(StandardCharsets.UTF_8));
         String payloadString = Base64UrlUtil.encodeToString(jsonConverter.writeValueAsString(payload).getBytes(StandardCharsets.UTF_8));
         String signedData = headerString + "." + payloadString;
-        Signature signatureObj = SignatureUtil.createSignature(header.getAlg().getJcaName());
+        Signature signatureObj = CryptoPrimitivesUtil.getSignature(header.getAlg().getJcaName());
         try {
             signatureObj.initSign(privateKey);
             signatureObj.update(signedData.getBytes());
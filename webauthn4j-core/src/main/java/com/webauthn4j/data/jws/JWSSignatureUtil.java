@@ -16,7 +16,7 @@
 
 package com.webauthn4j.data.jws;
 
-class JWSSignatureUtil {
+public class JWSSignatureUtil {
 
     private static final String INVALID_ECDSA_SIGNATURE_FORMAT = "Invalid ECDSA signature format";
 
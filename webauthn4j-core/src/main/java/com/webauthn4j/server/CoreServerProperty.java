@@ -17,20 +17,42 @@
 package com.webauthn4j.server;
 
 import com.webauthn4j.data.client.challenge.Challenge;
+import com.webauthn4j.util.ArrayUtil;
+import com.webauthn4j.util.CryptoPrimitivesUtil;
 
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Objects;
 
 public class CoreServerProperty implements Serializable {
 
     private final String rpId;
     private final Challenge challenge;
+    private transient volatile byte[] rpIdHash;
 
     public CoreServerProperty(String rpId, Challenge challenge) {
         this.rpId = rpId;
         this.challenge = challenge;
     }
 
+    CoreServerProperty(String rpId, Challenge challenge, byte[] rpIdHash) {
+        this(rpId, challenge);
+        this.rpIdHash = rpIdHash;
+    }
+
+    /**
+     * Returns a copy of this {@link CoreServerProperty} with the specified {@link Challenge}.
+     * The rpIdHash already computed for this instance is shared, so a template instance can be kept
+     * and reused for each ceremony.
+     *
+     * @param challenge the {@link Challenge} for the new instance
+     * @return the new {@link CoreServerProperty}
+     */
+    public CoreServerProperty withChallenge(Challenge challenge) {
+        return new CoreServerProperty(rpId, challenge, getRawRpIdHash());
+    }
+
     /**
      * Returns the rpId
      *
@@ -40,6 +62,38 @@ public class CoreServerProperty implements Serializable {
         return rpId;
     }
 
+    /**
+     * Returns the SHA-256 hash of the rpId. It is computed on the first call and cached.
+     *
+     * @return the rpIdHash, or null if the rpId is null
+     */
+    public byte[] getRpIdHash() {
+        return ArrayUtil.clone(getRawRpIdHash());
+    }
+
+    /**
+     * Returns whether the specified hash matches the SHA-256 hash of the rpId, without copying the cached hash
+     *
+     * @param rpIdHash the hash to compare, e.g. the rpIdHash of the authenticator data
+     * @return true if the hash matches
+     */
+    public boolean matchesRpIdHash(byte[] rpIdHash) {
+        byte[] hash = getRawRpIdHash();
+        if (hash == null || rpIdHash == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(hash, rpIdHash);
+    }
+
+    byte[] getRawRpIdHash() {
+        byte[] hash = rpIdHash;
+        if (hash == null && rpId != null) {
+            hash = CryptoPrimitivesUtil.getSHA256().digest(rpId.getBytes(StandardCharsets.UTF_8));
+            rpIdHash = hash;
+        }
+        return hash;
+    }
+
     /**
      * Returns the {@link Challenge}
      *
@@ -42,9 +42,27 @@ public class ServerProperty extends CoreServerProperty {
         this.tokenBindingId = tokenBindingId;
     }
 
+    private ServerProperty(Origin origin, String rpId, Challenge challenge, byte[] tokenBindingId, byte[] rpIdHash) {
+        super(rpId, challenge, rpIdHash);
+        this.origin = origin;
+        this.tokenBindingId = tokenBindingId;
+    }
+
     // ~ Methods
     // ========================================================================================================
 
+    /**
+     * Returns a copy of this {@link ServerProperty} with the specified {@link Challenge}.
+     * origin, rpId, tokenBindingId and the cached rpIdHash are shared with this instance.
+     *
+     * @param challenge the {@link Challenge} for the new instance
+     * @return the new {@link ServerProperty}
+     */
+    @Override
+    public ServerProperty withChallenge(Challenge challenge) {
+        return new ServerProperty(origin, getRpId(), challenge, tokenBindingId, getRawRpIdHash());
+    }
+
     /**
      * Returns the {@link Origin}
      *
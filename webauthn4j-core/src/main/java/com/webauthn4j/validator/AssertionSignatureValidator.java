@@ -21,6 +21,7 @@ import com.webauthn4j.data.CoreAuthenticationData;
 import com.webauthn4j.data.SignatureAlgorithm;
 import com.webauthn4j.data.attestation.authenticator.COSEKey;
 import com.webauthn4j.validator.exception.BadSignatureException;
+import com.webauthn4j.util.CryptoPrimitivesUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,14 +57,14 @@ class AssertionSignatureValidator {
             PublicKey publicKey = coseKey.getPublicKey();
             SignatureAlgorithm signatureAlgorithm = coseKey.getAlgorithm().toSignatureAlgorithm();
             String jcaName = signatureAlgorithm.getJcaName();
-            Signature verifier = Signature.getInstance(jcaName);
+            Signature verifier = CryptoPrimitivesUtil.getSignature(jcaName);
             verifier.initVerify(publicKey);
             verifier.update(data);
             return verifier.verify(signature);
         } catch (IllegalArgumentException e) {
             logger.debug("COSE key alg must be signature algorithm.", e);
             return false;
-        } catch (NoSuchAlgorithmException | SignatureException | InvalidKeyException | RuntimeException e) {
+        } catch (SignatureException | InvalidKeyException | RuntimeException e) {
             logger.debug("Unexpected exception is thrown during signature verification.", e);
             return false;
         }
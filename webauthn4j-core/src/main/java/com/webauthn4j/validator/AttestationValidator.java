@@ -30,6 +30,8 @@ import com.webauthn4j.validator.exception.BadAttestationStatementException;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 
 /**
  * Validates the attestation
@@ -46,6 +48,8 @@ class AttestationValidator {
     private final CertPathTrustworthinessValidator certPathTrustworthinessValidator;
     private final SelfAttestationTrustworthinessValidator selfAttestationTrustworthinessValidator;
 
+    private Executor parallelStageExecutor;
+
     // ~ Constructor
     // ========================================================================================================
 
@@ -76,9 +80,19 @@ class AttestationValidator {
 
         //spec| Note: Each attestation statement format specifies its own verification procedure. See §8 Defined Attestation
         //spec| Statement Formats for the initially-defined formats, and  [WebAuthn-Registries] for the up-to-date list.
-        AttestationType attestationType = validateAttestationStatement(registrationObject);
-
-        validateAAGUID(attestationObject);
+        AttestationStatement attestationStatement = attestationObject.getAttestationStatement();
+        ConcurrentStages.Stage certPathStage = forkCertPathTrustworthinessValidation(attestationObject);
+        AttestationType attestationType;
+        try {
+            attestationType = validateAttestationStatement(registrationObject);
+
+            validateAAGUID(attestationObject);
+        } catch (RuntimeException e) {
+            if (certPathStage != null) {
+                certPathStage.cancel();
+            }
+            throw e;
+        }
 
         //spec| If validation is successful, obtain a list of acceptable trust anchors (attestation root certificates or
         //spec| ECDAA-Issuer public keys) for that attestation type and attestation statement format fmt,
@@ -88,7 +102,9 @@ class AttestationValidator {
 
         //spec| Assess the attestation trustworthiness using the outputs of the verification procedure in step 14, as follows:
 
-        AttestationStatement attestationStatement = attestationObject.getAttestationStatement();
+        if (certPathStage != null && attestationType != AttestationType.BASIC && attestationType != AttestationType.ATT_CA) {
+            certPathStage.cancel();
+        }
         switch (attestationType) {
             // If self attestation was used, check if self attestation is acceptable under Relying Party policy.
             case SELF:
@@ -108,8 +124,12 @@ class AttestationValidator {
                 if (attestationStatement instanceof CertificateBaseAttestationStatement) {
                     CertificateBaseAttestationStatement certificateBaseAttestationStatement =
                             (CertificateBaseAttestationStatement) attestationStatement;
-                    AAGUID aaguid = attestationObject.getAuthenticatorData().getAttestedCredentialData().getAaguid();
-                    certPathTrustworthinessValidator.validate(aaguid, certificateBaseAttestationStatement);
+                    if (certPathStage != null) {
+                        certPathStage.join();
+                    } else {
+                        AAGUID aaguid = attestationObject.getAuthenticatorData().getAttestedCredentialData().getAaguid();
+                        certPathTrustworthinessValidator.validate(aaguid, certificateBaseAttestationStatement);
+                    }
                 } else {
                     throw new IllegalStateException();
                 }
@@ -123,6 +143,45 @@ class AttestationValidator {
 
     }
 
+    /**
+     * Starts the cert path trustworthiness validation on the parallel stage executor, speculating that an attestation
+     * statement with a certificate path is of {@link AttestationType#BASIC} or {@link AttestationType#ATT_CA} type.
+     * Its result is only used if the attestation statement validation confirms the type.
+     *
+     * @param attestationObject attestation object
+     * @return the forked stage, or null if not forked
+     */
+    private ConcurrentStages.Stage forkCertPathTrustworthinessValidation(AttestationObject attestationObject) {
+        if (parallelStageExecutor == null || !(attestationObject.getAttestationStatement() instanceof CertificateBaseAttestationStatement)) {
+            return null;
+        }
+        CertificateBaseAttestationStatement certificateBaseAttestationStatement = (CertificateBaseAttestationStatement) attestationObject.getAttestationStatement();
+        if (certificateBaseAttestationStatement.getX5c() == null || certificateBaseAttestationStatement.getX5c().isEmpty()) {
+            return null;
+        }
+        AAGUID aaguid = attestationObject.getAuthenticatorData().getAttestedCredentialData().getAaguid();
+        return ConcurrentStages.Stage.fork(() -> certPathTrustworthinessValidator.validate(aaguid, certificateBaseAttestationStatement), parallelStageExecutor);
+    }
+
+    /**
+     * Prepares for {@link #validate(CoreRegistrationObject)} without blocking the calling thread.
+     * Only the cert path trustworthiness validation may block, on loading trust anchors.
+     *
+     * @param executor executor to run blocking work on
+     * @return {@link CompletionStage} completed when ready to validate
+     */
+    CompletionStage<Void> prepareAsync(Executor executor) {
+        return certPathTrustworthinessValidator.prepareAsync(executor);
+    }
+
+    Executor getParallelStageExecutor() {
+        return parallelStageExecutor;
+    }
+
+    void setParallelStageExecutor(Executor parallelStageExecutor) {
+        this.parallelStageExecutor = parallelStageExecutor;
+    }
+
     void validateAAGUID(AttestationObject attestationObject) {
         if (attestationObject.getFormat().equals(FIDOU2FAttestationStatement.FORMAT)) {
             AAGUID aaguid = attestationObject.getAuthenticatorData().getAttestedCredentialData().getAaguid();
@@ -28,6 +28,7 @@ import com.webauthn4j.data.extension.client.AuthenticationExtensionClientOutput;
 import com.webauthn4j.data.extension.client.AuthenticationExtensionsClientOutputs;
 import com.webauthn4j.server.ServerProperty;
 import com.webauthn4j.util.AssertUtil;
+import com.webauthn4j.util.CompletableFutureUtil;
 import com.webauthn4j.validator.exception.ConstraintViolationException;
 import com.webauthn4j.validator.exception.InconsistentClientDataTypeException;
 import com.webauthn4j.validator.exception.UserNotPresentException;
@@ -36,6 +37,9 @@ import com.webauthn4j.validator.exception.UserNotVerifiedException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 
 public class AuthenticationDataValidator {
 
@@ -59,8 +63,41 @@ public class AuthenticationDataValidator {
         this.customAuthenticationValidators = new ArrayList<>();
     }
 
-    @SuppressWarnings("deprecation")
     public void validate(AuthenticationData authenticationData, AuthenticationParameters authenticationParameters) {
+        AuthenticationObject authenticationObject = validateAssertion(authenticationData, authenticationParameters);
+        validateWithCustomValidators(authenticationObject);
+    }
+
+    /**
+     * Validates {@link AuthenticationData} asynchronously.
+     * <p>
+     * Assertion validation, which is pure computation, runs on the calling thread. {@link CustomAuthenticationValidator}s,
+     * which may block, run on the executor. If none is registered, the returned stage is already completed.
+     *
+     * @param authenticationData       authentication data
+     * @param authenticationParameters authentication parameters
+     * @param executor                 executor to run potentially blocking stages on
+     * @return {@link CompletionStage} completed exceptionally with the same exception as {@link #validate} would throw
+     */
+    public CompletionStage<Void> validateAsync(AuthenticationData authenticationData, AuthenticationParameters authenticationParameters, Executor executor) {
+        AssertUtil.notNull(executor, "executor must not be null");
+        AuthenticationObject authenticationObject;
+        try {
+            authenticationObject = validateAssertion(authenticationData, authenticationParameters);
+        } catch (RuntimeException e) {
+            return CompletableFutureUtil.failedFuture(e);
+        }
+        if (customAuthenticationValidators.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFutureUtil.supplyAsync(() -> {
+            validateWithCustomValidators(authenticationObject);
+            return null;
+        }, executor);
+    }
+
+    @SuppressWarnings("deprecation")
+    private AuthenticationObject validateAssertion(AuthenticationData authenticationData, AuthenticationParameters authenticationParameters) {
 
         BeanAssertUtil.validate(authenticationData);
         BeanAssertUtil.validate(authenticationParameters);
@@ -173,32 +210,25 @@ public class AuthenticationDataValidator {
         //spec| Step17
         //spec| If the signature counter value adata.signCount is nonzero or the value stored in conjunction with
         //spec| credential’s id attribute is nonzero, then run the following sub-step:
-        long presentedCounter = authenticatorData.getSignCount();
-        long storedCounter = authenticator.getCounter();
-        if (presentedCounter > 0 || storedCounter > 0) {
-            //spec| If the signature counter value adata.signCount is
-            //spec| greater than the signature counter value stored in conjunction with credential’s id attribute.
-            if (presentedCounter > storedCounter) {
-
-                //spec| Update the stored signature counter value, associated with credential’s id attribute, to be the value of authData.signCount.
-
-                //      (caller need to update the signature counter value based on the value set in the Authenticator instance)
-                authenticator.setCounter(presentedCounter);
-            }
-            //spec| less than or equal to the signature counter value stored in conjunction with credential’s id attribute.
-            else {
-                maliciousCounterValueHandler.maliciousCounterValueDetected(authenticationObject);
-            }
+        //spec| If the signature counter value adata.signCount is
+        //spec| greater than the signature counter value stored in conjunction with credential’s id attribute.
+        //spec| Update the stored signature counter value, associated with credential’s id attribute, to be the value of authData.signCount.
+        //      (caller need to update the signature counter value based on the value set in the Authenticator instance.
+        //       an AtomicCounterAuthenticator is updated with compare-and-set, so that concurrent updates never move it backwards)
+        //spec| less than or equal to the signature counter value stored in conjunction with credential’s id attribute.
+        if (!CounterUpdateUtil.update(authenticator, authenticatorData.getSignCount())) {
+            maliciousCounterValueHandler.maliciousCounterValueDetected(authenticationObject);
         }
+        return authenticationObject;
+    }
 
+    private void validateWithCustomValidators(AuthenticationObject authenticationObject) {
         for (CustomAuthenticationValidator customAuthenticationValidator : customAuthenticationValidators) {
             customAuthenticationValidator.validate(authenticationObject);
         }
 
         //spec| Step18
         //spec| If all the above steps are successful, continue with the authentication ceremony as appropriate. Otherwise, fail the authentication ceremony.
-
-
     }
 
     void validateAuthenticatorData(AuthenticatorData<AuthenticationExtensionAuthenticatorOutput> authenticatorData) {
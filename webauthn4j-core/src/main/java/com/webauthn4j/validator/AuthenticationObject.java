@@ -8,7 +8,7 @@ import com.webauthn4j.data.extension.client.AuthenticationExtensionClientOutput;
 import com.webauthn4j.data.extension.client.AuthenticationExtensionsClientOutputs;
 import com.webauthn4j.server.ServerProperty;
 import com.webauthn4j.util.ArrayUtil;
-import com.webauthn4j.util.MessageDigestUtil;
+import com.webauthn4j.util.CryptoPrimitivesUtil;
 
 import java.util.Arrays;
 import java.util.Objects;
@@ -37,7 +37,7 @@ public class AuthenticationObject extends CoreAuthenticationObject{
             ServerProperty serverProperty,
             Authenticator authenticator) {
 
-        super(credentialId, authenticatorData, authenticatorDataBytes, MessageDigestUtil.createSHA256().digest(collectedClientDataBytes), serverProperty, authenticator);
+        super(credentialId, authenticatorData, authenticatorDataBytes, CryptoPrimitivesUtil.getSHA256().digest(collectedClientDataBytes), serverProperty, authenticator);
 
         this.collectedClientData = collectedClientData;
         this.collectedClientDataBytes = ArrayUtil.clone(collectedClientDataBytes);
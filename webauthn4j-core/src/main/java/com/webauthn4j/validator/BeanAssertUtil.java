@@ -123,6 +123,13 @@ class BeanAssertUtil {
         if (authenticationParameters.getAuthenticator() == null) {
             throw new ConstraintViolationException("authenticator must not be null");
         }
+        AttestedCredentialData attestedCredentialData = authenticationParameters.getAuthenticator().getAttestedCredentialData();
+        if (attestedCredentialData == null) {
+            throw new ConstraintViolationException("attestedCredentialData must not be null");
+        }
+        if (attestedCredentialData.getCOSEKey() == null) {
+            throw new ConstraintViolationException("coseKey must not be null");
+        }
         validate(authenticationParameters.getServerProperty());
     }
 
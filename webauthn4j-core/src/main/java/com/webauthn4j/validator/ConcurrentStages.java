@@ -0,0 +1,129 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.validator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs independent validation stages concurrently with the same exception semantics as running them in sequence
+ * <p>
+ * The first stage runs on the calling thread, and the rest on the executor. When stages fail, the exception of the
+ * earliest one in the sequential order is thrown. Once a stage fails, the stages after it which have not started yet
+ * are cancelled, as they would not have run sequentially. A stage which has not started when the calling thread
+ * waits for it is run on the calling thread, so that stages never wait for a saturated executor.
+ */
+class ConcurrentStages {
+
+    private ConcurrentStages() {
+    }
+
+    static void run(List<Runnable> stages, Executor executor) {
+        List<Stage> forkedStages = new ArrayList<>(stages.size());
+        for (int i = 1; i < stages.size(); i++) {
+            forkedStages.add(Stage.fork(stages.get(i), executor));
+        }
+        for (int i = 0; i < forkedStages.size(); i++) {
+            List<Stage> laterStages = forkedStages.subList(i + 1, forkedStages.size());
+            forkedStages.get(i).whenFailed(() -> laterStages.forEach(Stage::cancel));
+        }
+
+        try {
+            stages.get(0).run();
+            for (Stage stage : forkedStages) {
+                stage.join();
+            }
+        } catch (RuntimeException | Error e) {
+            forkedStages.forEach(Stage::cancel);
+            throw e;
+        }
+    }
+
+    /**
+     * A stage which is run either by the executor or by the thread joining it, whichever claims it first
+     */
+    static class Stage {
+
+        private final Runnable task;
+        private final AtomicBoolean claimed = new AtomicBoolean(false);
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private Stage(Runnable task) {
+            this.task = task;
+        }
+
+        static Stage fork(Runnable task, Executor executor) {
+            Stage stage = new Stage(task);
+            try {
+                executor.execute(stage::runIfUnclaimed);
+            } catch (RejectedExecutionException e) {
+                // the joining thread runs it
+            }
+            return stage;
+        }
+
+        /**
+         * Cancels the stage if it has not started. A running stage is not interrupted, and its result is ignored.
+         */
+        void cancel() {
+            if (claimed.compareAndSet(false, true)) {
+                future.cancel(false);
+            }
+        }
+
+        void join() {
+            runIfUnclaimed();
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw e;
+            }
+        }
+
+        private void whenFailed(Runnable callback) {
+            future.whenComplete((unused, throwable) -> {
+                if (throwable != null && !future.isCancelled()) {
+                    callback.run();
+                }
+            });
+        }
+
+        private void runIfUnclaimed() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                task.run();
+                future.complete(null);
+            } catch (RuntimeException | Error e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -139,22 +139,14 @@ public class CoreAuthenticationDataValidator {
         //spec| Step17
         //spec| If the signature counter value adata.signCount is nonzero or the value stored in conjunction with
         //spec| credential’s id attribute is nonzero, then run the following sub-step:
-        long presentedCounter = authenticatorData.getSignCount();
-        long storedCounter = authenticator.getCounter();
-        if (presentedCounter > 0 || storedCounter > 0) {
-            //spec| If the signature counter value adata.signCount is
-            //spec| greater than the signature counter value stored in conjunction with credential’s id attribute.
-            if (presentedCounter > storedCounter) {
-
-                //spec| Update the stored signature counter value, associated with credential’s id attribute, to be the value of authData.signCount.
-
-                //      (caller need to update the signature counter value based on the value set in the Authenticator instance)
-                authenticator.setCounter(presentedCounter);
-            }
-            //spec| less than or equal to the signature counter value stored in conjunction with credential’s id attribute.
-            else {
-                coreMaliciousCounterValueHandler.maliciousCounterValueDetected(authenticationObject);
-            }
+        //spec| If the signature counter value adata.signCount is
+        //spec| greater than the signature counter value stored in conjunction with credential’s id attribute.
+        //spec| Update the stored signature counter value, associated with credential’s id attribute, to be the value of authData.signCount.
+        //      (caller need to update the signature counter value based on the value set in the Authenticator instance.
+        //       an AtomicCounterAuthenticator is updated with compare-and-set, so that concurrent updates never move it backwards)
+        //spec| less than or equal to the signature counter value stored in conjunction with credential’s id attribute.
+        if (!CounterUpdateUtil.update(authenticator, authenticatorData.getSignCount())) {
+            coreMaliciousCounterValueHandler.maliciousCounterValueDetected(authenticationObject);
         }
 
         for (CustomCoreAuthenticationValidator customAuthenticationValidator : customAuthenticationValidators) {
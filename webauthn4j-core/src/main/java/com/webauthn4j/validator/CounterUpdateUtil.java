@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.validator;
+
+import com.webauthn4j.authenticator.AtomicCounterAuthenticator;
+import com.webauthn4j.authenticator.CoreAuthenticator;
+
+/**
+ * Signature counter checker and updater utility class
+ */
+public class CounterUpdateUtil {
+
+    private CounterUpdateUtil() {
+    }
+
+    /**
+     * Updates the counter of the authenticator to the presented counter if the presented counter is greater than the
+     * stored one. An {@link AtomicCounterAuthenticator} is updated with a compare-and-set retry loop.
+     *
+     * @param authenticator    authenticator
+     * @param presentedCounter signature counter value in the authenticator data
+     * @return false if the counter is nonzero and not greater than the stored counter, which indicates a cloned authenticator
+     */
+    public static boolean update(CoreAuthenticator authenticator, long presentedCounter) {
+        if (authenticator instanceof AtomicCounterAuthenticator) {
+            AtomicCounterAuthenticator atomicCounterAuthenticator = (AtomicCounterAuthenticator) authenticator;
+            while (true) {
+                long storedCounter = atomicCounterAuthenticator.getCounter();
+                if (presentedCounter == 0 && storedCounter == 0) {
+                    return true;
+                }
+                if (presentedCounter <= storedCounter) {
+                    return false;
+                }
+                if (atomicCounterAuthenticator.compareAndSetCounter(storedCounter, presentedCounter)) {
+                    return true;
+                }
+            }
+        }
+        long storedCounter = authenticator.getCounter();
+        if (presentedCounter == 0 && storedCounter == 0) {
+            return true;
+        }
+        if (presentedCounter <= storedCounter) {
+            return false;
+        }
+        authenticator.setCounter(presentedCounter);
+        return true;
+    }
+}
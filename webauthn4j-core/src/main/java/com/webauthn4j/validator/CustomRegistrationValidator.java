@@ -1,7 +1,25 @@
 package com.webauthn4j.validator;
 
+import com.webauthn4j.util.CompletableFutureUtil;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
 public interface CustomRegistrationValidator {
 
     void validate(RegistrationObject registrationObject);
 
+    /**
+     * Prepares for {@link #validate(RegistrationObject)} without blocking the calling thread. On asynchronous
+     * validation, {@link #validate(RegistrationObject)} is called on the thread completing the returned stage.
+     * The default implementation completes on the executor, as {@link #validate(RegistrationObject)} may block.
+     * Implementations which don't block, or which can load what they need ahead, may complete it on the calling thread.
+     *
+     * @param executor executor to run blocking work on
+     * @return {@link CompletionStage} completed when ready to validate
+     */
+    default CompletionStage<Void> prepareAsync(Executor executor) {
+        return CompletableFutureUtil.supplyAsync(() -> null, executor);
+    }
+
 }
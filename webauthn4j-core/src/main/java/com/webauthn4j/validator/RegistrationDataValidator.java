@@ -30,6 +30,7 @@ import com.webauthn4j.data.extension.client.AuthenticationExtensionsClientOutput
 import com.webauthn4j.data.extension.client.RegistrationExtensionClientOutput;
 import com.webauthn4j.server.ServerProperty;
 import com.webauthn4j.util.AssertUtil;
+import com.webauthn4j.util.CompletableFutureUtil;
 import com.webauthn4j.validator.attestation.statement.AttestationStatementValidator;
 import com.webauthn4j.validator.attestation.trustworthiness.certpath.CertPathTrustworthinessValidator;
 import com.webauthn4j.validator.attestation.trustworthiness.self.SelfAttestationTrustworthinessValidator;
@@ -42,6 +43,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 
 public class RegistrationDataValidator {
 
@@ -79,6 +82,41 @@ public class RegistrationDataValidator {
 
     @SuppressWarnings("deprecation")
     public void validate(RegistrationData registrationData, RegistrationParameters registrationParameters) {
+        RegistrationObject registrationObject = validateClientDataAndAuthenticatorData(registrationData, registrationParameters);
+        validateAttestation(registrationObject);
+    }
+
+    /**
+     * Validates {@link RegistrationData} asynchronously.
+     * <p>
+     * The checks on clientData and authenticatorData, which are pure computation, run on the calling thread.
+     * Attestation validation and {@link CustomRegistrationValidator}s may block on trust anchor or metadata loading.
+     * They run after the configured {@link CertPathTrustworthinessValidator} and {@link CustomRegistrationValidator}s
+     * are prepared, on the thread completing the preparation. If trust anchors and metadata are already loaded,
+     * that is the calling thread, and the executor is not used.
+     *
+     * @param registrationData       registration data
+     * @param registrationParameters registration parameters
+     * @param executor               executor to run potentially blocking stages on
+     * @return {@link CompletionStage} completed exceptionally with the same exception as {@link #validate} would throw
+     */
+    public CompletionStage<Void> validateAsync(RegistrationData registrationData, RegistrationParameters registrationParameters, Executor executor) {
+        AssertUtil.notNull(executor, "executor must not be null");
+        RegistrationObject registrationObject;
+        try {
+            registrationObject = validateClientDataAndAuthenticatorData(registrationData, registrationParameters);
+        } catch (RuntimeException e) {
+            return CompletableFutureUtil.failedFuture(e);
+        }
+        List<CompletionStage<Void>> preparations = new ArrayList<>(customRegistrationValidators.size() + 1);
+        preparations.add(attestationValidator.prepareAsync(executor));
+        for (CustomRegistrationValidator customRegistrationValidator : customRegistrationValidators) {
+            preparations.add(customRegistrationValidator.prepareAsync(executor));
+        }
+        return CompletableFutureUtil.runAfterAll(preparations, () -> validateAttestation(registrationObject));
+    }
+
+    private RegistrationObject validateClientDataAndAuthenticatorData(RegistrationData registrationData, RegistrationParameters registrationParameters) {
 
         BeanAssertUtil.validate(registrationData);
         BeanAssertUtil.validate(registrationParameters);
@@ -153,6 +191,22 @@ public class RegistrationDataValidator {
         clientExtensionValidator.validate(clientExtensions);
         authenticatorExtensionValidator.validate(authenticationExtensionsAuthenticatorOutputs);
 
+        return registrationObject;
+    }
+
+    private void validateAttestation(RegistrationObject registrationObject) {
+        Executor parallelStageExecutor = attestationValidator.getParallelStageExecutor();
+        if (parallelStageExecutor != null && !customRegistrationValidators.isEmpty()) {
+            // attestation validation (Step13-16,19) and custom validators only read registrationObject
+            List<Runnable> stages = new ArrayList<>(customRegistrationValidators.size() + 1);
+            stages.add(() -> attestationValidator.validate(registrationObject));
+            for (CustomRegistrationValidator customRegistrationValidator : customRegistrationValidators) {
+                stages.add(() -> customRegistrationValidator.validate(registrationObject));
+            }
+            ConcurrentStages.run(stages, parallelStageExecutor);
+            return;
+        }
+
         //spec| Step13-16,19
         attestationValidator.validate(registrationObject);
 
@@ -198,6 +252,25 @@ public class RegistrationDataValidator {
         }
     }
 
+    public Executor getParallelStageExecutor() {
+        return attestationValidator.getParallelStageExecutor();
+    }
+
+    /**
+     * Sets the executor to run independent validation stages concurrently on. If set, the attestation statement
+     * validation, the cert path trustworthiness validation and each {@link CustomRegistrationValidator} run
+     * concurrently. They are run in sequence if null (default).
+     * <p>
+     * If stages fail, the exception of the earliest one in the sequential order is thrown, as in the sequential mode.
+     * Stages after a failed one are cancelled if they have not started yet. Since a stage may run even if an earlier
+     * one fails, {@link CustomRegistrationValidator}s must not have side effects in this mode.
+     *
+     * @param parallelStageExecutor executor to run validation stages on
+     */
+    public void setParallelStageExecutor(Executor parallelStageExecutor) {
+        attestationValidator.setParallelStageExecutor(parallelStageExecutor);
+    }
+
     public List<CustomRegistrationValidator> getCustomRegistrationValidators() {
         return customRegistrationValidators;
     }
@@ -24,7 +24,7 @@ import com.webauthn4j.data.extension.client.RegistrationExtensionClientOutput;
 import com.webauthn4j.server.ServerProperty;
 import com.webauthn4j.util.ArrayUtil;
 import com.webauthn4j.util.CollectionUtil;
-import com.webauthn4j.util.MessageDigestUtil;
+import com.webauthn4j.util.CryptoPrimitivesUtil;
 
 import java.time.Clock;
 import java.time.LocalDateTime;
@@ -58,7 +58,7 @@ public class RegistrationObject extends CoreRegistrationObject {
             ServerProperty serverProperty,
             LocalDateTime timestamp) {
 
-        super(attestationObject, attestationObjectBytes, MessageDigestUtil.createSHA256().digest(collectedClientDataBytes), serverProperty, timestamp);
+        super(attestationObject, attestationObjectBytes, CryptoPrimitivesUtil.getSHA256().digest(collectedClientDataBytes), serverProperty, timestamp);
         this.collectedClientData = collectedClientData;
         this.collectedClientDataBytes = ArrayUtil.clone(collectedClientDataBytes);
         this.clientExtensions = clientExtensions;
@@ -18,13 +18,8 @@ package com.webauthn4j.validator;
 
 import com.webauthn4j.server.CoreServerProperty;
 import com.webauthn4j.util.AssertUtil;
-import com.webauthn4j.util.MessageDigestUtil;
 import com.webauthn4j.validator.exception.BadRpIdException;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.util.Arrays;
-
 /**
  * Validates the specified rpIdHash
  */
@@ -42,10 +37,7 @@ class RpIdHashValidator {
         String rpId = serverProperty.getRpId();
         AssertUtil.notNull(rpId, "rpId must not be null");
 
-        MessageDigest messageDigest = MessageDigestUtil.createSHA256();
-        byte[] relyingPartyRpIdBytes = rpId.getBytes(StandardCharsets.UTF_8);
-        byte[] relyingPartyRpIdHash = messageDigest.digest(relyingPartyRpIdBytes);
-        if (!Arrays.equals(rpIdHash, relyingPartyRpIdHash)) {
+        if (!serverProperty.matchesRpIdHash(rpIdHash)) {
             throw new BadRpIdException("rpIdHash doesn't match the hash of preconfigured rpId.");
         }
     }
@@ -18,12 +18,12 @@ package com.webauthn4j.validator.attestation.statement.androidkey;
 
 import com.webauthn4j.data.attestation.statement.AndroidKeyAttestationStatement;
 import com.webauthn4j.data.attestation.statement.AttestationType;
-import com.webauthn4j.util.SignatureUtil;
 import com.webauthn4j.validator.CoreRegistrationObject;
 import com.webauthn4j.validator.attestation.statement.AbstractStatementValidator;
 import com.webauthn4j.validator.exception.BadAttestationStatementException;
 import com.webauthn4j.validator.exception.BadSignatureException;
 import com.webauthn4j.validator.exception.PublicKeyMismatchException;
+import com.webauthn4j.util.CryptoPrimitivesUtil;
 
 import java.nio.ByteBuffer;
 import java.security.InvalidKeyException;
@@ -81,7 +81,7 @@ public class AndroidKeyAttestationStatementValidator extends AbstractStatementVa
         try {
             String jcaName;
             jcaName = getJcaName(attestationStatement.getAlg());
-            Signature verifier = SignatureUtil.createSignature(jcaName);
+            Signature verifier = CryptoPrimitivesUtil.getSignature(jcaName);
             verifier.initVerify(publicKey);
             verifier.update(signedData);
             if (verifier.verify(signature)) {
@@ -21,7 +21,7 @@ import com.webauthn4j.data.attestation.statement.AttestationCertificate;
 import com.webauthn4j.data.attestation.statement.AttestationType;
 import com.webauthn4j.data.attestation.statement.Response;
 import com.webauthn4j.util.Base64Util;
-import com.webauthn4j.util.MessageDigestUtil;
+import com.webauthn4j.util.CryptoPrimitivesUtil;
 import com.webauthn4j.validator.CoreRegistrationObject;
 import com.webauthn4j.validator.attestation.statement.AbstractStatementValidator;
 import com.webauthn4j.validator.exception.BadAttestationStatementException;
@@ -103,7 +103,7 @@ public class AndroidSafetyNetAttestationStatementValidator extends AbstractState
     private void validateNonce(String nonce, byte[] authenticatorData, byte[] clientDataHash) {
         ByteBuffer buffer = ByteBuffer.allocate(authenticatorData.length + clientDataHash.length);
         byte[] data = buffer.put(authenticatorData).put(clientDataHash).array();
-        byte[] hash = MessageDigestUtil.createSHA256().digest(data);
+        byte[] hash = CryptoPrimitivesUtil.getSHA256().digest(data);
         if (!Arrays.equals(hash, Base64Util.decode(nonce))) {
             throw new BadAttestationStatementException("Nonce in the Android safetynet response doesn't match.");
         }
@@ -22,7 +22,7 @@ import com.webauthn4j.data.attestation.statement.AttestationStatement;
 import com.webauthn4j.data.attestation.statement.AttestationType;
 import com.webauthn4j.data.attestation.statement.COSEAlgorithmIdentifier;
 import com.webauthn4j.data.attestation.statement.PackedAttestationStatement;
-import com.webauthn4j.util.SignatureUtil;
+import com.webauthn4j.util.CryptoPrimitivesUtil;
 import com.webauthn4j.util.UUIDUtil;
 import com.webauthn4j.validator.CoreRegistrationObject;
 import com.webauthn4j.validator.attestation.statement.AbstractStatementValidator;
@@ -129,7 +129,7 @@ public class PackedAttestationStatementValidator extends AbstractStatementValida
     private boolean verifySignature(PublicKey publicKey, COSEAlgorithmIdentifier algorithmIdentifier, byte[] signature, byte[] data) {
         try {
             String jcaName = getJcaName(algorithmIdentifier);
-            Signature verifier = SignatureUtil.createSignature(jcaName);
+            Signature verifier = CryptoPrimitivesUtil.getSignature(jcaName);
             verifier.initVerify(publicKey);
             verifier.update(data);
 
@@ -22,8 +22,7 @@ import com.webauthn4j.data.attestation.statement.*;
 import com.webauthn4j.data.extension.authenticator.RegistrationExtensionAuthenticatorOutput;
 import com.webauthn4j.data.SignatureAlgorithm;
 import com.webauthn4j.data.x500.X500Name;
-import com.webauthn4j.util.MessageDigestUtil;
-import com.webauthn4j.util.SignatureUtil;
+import com.webauthn4j.util.CryptoPrimitivesUtil;
 import com.webauthn4j.util.UnsignedNumberUtil;
 import com.webauthn4j.validator.CoreRegistrationObject;
 import com.webauthn4j.validator.attestation.statement.AbstractStatementValidator;
@@ -104,7 +103,7 @@ public class TPMAttestationStatementValidator extends AbstractStatementValidator
         String algJcaName;
         algJcaName = getAlgJcaName(hashAlg);
 
-        byte[] pubAreaDigest = MessageDigestUtil.createMessageDigest(algJcaName).digest(pubArea.getBytes());
+        byte[] pubAreaDigest = CryptoPrimitivesUtil.getMessageDigest(algJcaName).digest(pubArea.getBytes());
         if (!Arrays.equals(pubAreaDigest, certifyInfo.getName().getDigest())) {
             throw new BadAttestationStatementException("hash of `attested` doesn't match with name field of certifyInfo");
         }
@@ -124,7 +123,7 @@ public class TPMAttestationStatementValidator extends AbstractStatementValidator
     private MessageDigest getMessageDigest(COSEAlgorithmIdentifier alg) {
         try {
             SignatureAlgorithm signatureAlgorithm = alg.toSignatureAlgorithm();
-            return signatureAlgorithm.getMessageDigestAlgorithm().createMessageDigestObject();
+            return CryptoPrimitivesUtil.getMessageDigest(signatureAlgorithm.getMessageDigestAlgorithm().getJcaName());
         } catch (IllegalArgumentException e) {
             throw new BadAttestationStatementException("alg is not signature algorithm", e);
         }
@@ -135,7 +134,7 @@ public class TPMAttestationStatementValidator extends AbstractStatementValidator
 
         /// Verify the sig is a valid signature over certInfo using the attestation public key in aikCert with the algorithm specified in alg.
         String jcaName = getJcaName(attestationStatement.getAlg());
-        Signature certInfoSignature = SignatureUtil.createSignature(jcaName);
+        Signature certInfoSignature = CryptoPrimitivesUtil.getSignature(jcaName);
         try {
             certInfoSignature.initVerify(aikCert.getPublicKey());
             certInfoSignature.update(certInfo.getBytes());
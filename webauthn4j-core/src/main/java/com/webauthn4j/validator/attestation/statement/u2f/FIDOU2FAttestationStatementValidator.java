@@ -21,8 +21,8 @@ import com.webauthn4j.data.attestation.authenticator.EC2COSEKey;
 import com.webauthn4j.data.attestation.statement.AttestationStatement;
 import com.webauthn4j.data.attestation.statement.AttestationType;
 import com.webauthn4j.data.attestation.statement.FIDOU2FAttestationStatement;
+import com.webauthn4j.util.CryptoPrimitivesUtil;
 import com.webauthn4j.util.ECUtil;
-import com.webauthn4j.util.MessageDigestUtil;
 import com.webauthn4j.validator.CoreRegistrationObject;
 import com.webauthn4j.validator.attestation.statement.AbstractStatementValidator;
 import com.webauthn4j.validator.exception.BadAttestationStatementException;
@@ -83,14 +83,14 @@ public class FIDOU2FAttestationStatementValidator extends AbstractStatementValid
         PublicKey publicKey = getPublicKey(attestationStatement);
 
         try {
-            Signature verifier = Signature.getInstance("SHA256withECDSA");
+            Signature verifier = CryptoPrimitivesUtil.getSignature("SHA256withECDSA");
             verifier.initVerify(publicKey);
             verifier.update(signedData);
             if (verifier.verify(signature)) {
                 return;
             }
             throw new BadSignatureException("`sig` in attestation statement is not valid signature. Please refer U2F Raw Message Formats. https://fidoalliance.org/specs/fido-u2f-v1.1-id-20160915/fido-u2f-raw-message-formats-v1.1-id-20160915.html");
-        } catch (NoSuchAlgorithmException | SignatureException | InvalidKeyException e) {
+        } catch (SignatureException | InvalidKeyException e) {
             throw new BadSignatureException("`sig` in attestation statement is not valid signature. Please refer U2F Raw Message Formats. https://fidoalliance.org/specs/fido-u2f-v1.1-id-20160915/fido-u2f-raw-message-formats-v1.1-id-20160915.html");
         }
     }
@@ -98,7 +98,7 @@ public class FIDOU2FAttestationStatementValidator extends AbstractStatementValid
     private byte[] getSignedData(CoreRegistrationObject registrationObject) {
 
         String rpId = registrationObject.getServerProperty().getRpId();
-        MessageDigest messageDigest = MessageDigestUtil.createSHA256();
+        MessageDigest messageDigest = CryptoPrimitivesUtil.getSHA256();
 
         AttestationObject attestationObject = registrationObject.getAttestationObject();
         EC2COSEKey credentialPublicKey =
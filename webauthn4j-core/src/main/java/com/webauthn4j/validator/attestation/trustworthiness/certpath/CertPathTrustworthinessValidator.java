@@ -19,6 +19,10 @@ package com.webauthn4j.validator.attestation.trustworthiness.certpath;
 import com.webauthn4j.data.attestation.authenticator.AAGUID;
 import com.webauthn4j.data.attestation.statement.AttestationStatement;
 import com.webauthn4j.data.attestation.statement.CertificateBaseAttestationStatement;
+import com.webauthn4j.util.CompletableFutureUtil;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 
 /**
  * Validates the specified {@link AttestationStatement} x5c trustworthiness
@@ -26,4 +30,17 @@ import com.webauthn4j.data.attestation.statement.CertificateBaseAttestationState
 public interface CertPathTrustworthinessValidator {
 
     void validate(AAGUID aaguid, CertificateBaseAttestationStatement attestationStatement);
+
+    /**
+     * Prepares for {@link #validate(AAGUID, CertificateBaseAttestationStatement)} without blocking the calling thread.
+     * On asynchronous validation, it is called on the thread completing the returned stage. The default implementation
+     * completes on the executor. Implementations which can load their trust anchors ahead may complete it on the
+     * calling thread once they are loaded.
+     *
+     * @param executor executor to run blocking work on
+     * @return {@link CompletionStage} completed when ready to validate
+     */
+    default CompletionStage<Void> prepareAsync(Executor executor) {
+        return CompletableFutureUtil.supplyAsync(() -> null, executor);
+    }
 }
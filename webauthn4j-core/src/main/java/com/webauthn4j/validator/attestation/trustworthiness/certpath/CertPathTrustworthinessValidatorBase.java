@@ -16,6 +16,7 @@
 
 package com.webauthn4j.validator.attestation.trustworthiness.certpath;
 
+import com.webauthn4j.anchor.TrustAnchorSet;
 import com.webauthn4j.data.attestation.authenticator.AAGUID;
 import com.webauthn4j.data.attestation.statement.CertificateBaseAttestationStatement;
 import com.webauthn4j.util.CertificateUtil;
@@ -29,6 +30,7 @@ import java.util.Set;
 public abstract class CertPathTrustworthinessValidatorBase implements CertPathTrustworthinessValidator {
 
     private boolean fullChainProhibited = false;
+    private CertPathValidationCache certPathValidationCache;
 
     public void validate(AAGUID aaguid, CertificateBaseAttestationStatement attestationStatement) {
         CertPath certPath = attestationStatement.getX5c().createCertPath();
@@ -39,23 +41,40 @@ public abstract class CertPathTrustworthinessValidatorBase implements CertPathTr
             throw new TrustAnchorNotFoundException("TrustAnchors are not found for AAGUID: " + aaguid.toString());
         }
 
-        CertPathValidator certPathValidator = CertificateUtil.createCertPathValidator();
-        PKIXParameters certPathParameters = CertificateUtil.createPKIXParameters(trustAnchors);
-        certPathParameters.setPolicyQualifiersRejected(false); // As policy qualifiers are checked manually in attestation statement validator, it is turned off
+        PKIXCertPathValidatorResult result = certPathValidationCache == null ? null : certPathValidationCache.get(certPath, trustAnchors);
+        if (result == null) {
+            result = validateCertPath(certPath, trustAnchors);
+            if (certPathValidationCache != null) {
+                certPathValidationCache.put(certPath, trustAnchors, result);
+            }
+        }
+        if (fullChainProhibited && certPath.getCertificates().contains(result.getTrustAnchor().getTrustedCert())) {
+            throw new CertificateException("`certpath` must not contain full chain.");
+        }
+    }
 
-        certPathParameters.setRevocationEnabled(false);
+    private PKIXCertPathValidatorResult validateCertPath(CertPath certPath, Set<TrustAnchor> trustAnchors) {
+        CertPathValidator certPathValidator = CertificateUtil.createCertPathValidator();
+        PKIXParameters certPathParameters = createPKIXParameters(trustAnchors);
 
-        PKIXCertPathValidatorResult result;
         try {
-            result = (PKIXCertPathValidatorResult) certPathValidator.validate(certPath, certPathParameters);
+            return (PKIXCertPathValidatorResult) certPathValidator.validate(certPath, certPathParameters);
         } catch (InvalidAlgorithmParameterException e) {
             throw new com.webauthn4j.validator.exception.CertificateException("invalid algorithm parameter", e);
         } catch (CertPathValidatorException e) {
             throw new com.webauthn4j.validator.exception.CertificateException("invalid cert path", e);
         }
-        if (fullChainProhibited && certPath.getCertificates().contains(result.getTrustAnchor().getTrustedCert())) {
-            throw new CertificateException("`certpath` must not contain full chain.");
-        }
+    }
+
+    private PKIXParameters createPKIXParameters(Set<TrustAnchor> trustAnchors) {
+        // TrustAnchorSet keeps a template, which saves copying the trust anchors on each validation
+        PKIXParameters certPathParameters = trustAnchors instanceof TrustAnchorSet
+                ? ((TrustAnchorSet) trustAnchors).createPKIXParameters()
+                : CertificateUtil.createPKIXParameters(trustAnchors);
+        certPathParameters.setPolicyQualifiersRejected(false); // As policy qualifiers are checked manually in attestation statement validator, it is turned off
+
+        certPathParameters.setRevocationEnabled(false);
+        return certPathParameters;
     }
 
     protected abstract Set<TrustAnchor> resolveTrustAnchors(AAGUID aaguid);
@@ -69,4 +88,17 @@ public abstract class CertPathTrustworthinessValidatorBase implements CertPathTr
         this.fullChainProhibited = fullChainProhibited;
     }
 
+    public CertPathValidationCache getCertPathValidationCache() {
+        return certPathValidationCache;
+    }
+
+    /**
+     * Sets the cache of successful cert path validation results. Caching is disabled if null (default).
+     *
+     * @param certPathValidationCache the cache
+     */
+    public void setCertPathValidationCache(CertPathValidationCache certPathValidationCache) {
+        this.certPathValidationCache = certPathValidationCache;
+    }
+
 }
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.validator.attestation.trustworthiness.certpath;
+
+import com.webauthn4j.util.AssertUtil;
+import com.webauthn4j.util.CryptoPrimitivesUtil;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.cert.*;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded LRU cache of successful PKIX cert path validation results, used by {@link CertPathTrustworthinessValidatorBase}.
+ * <p>
+ * Entries are keyed by the SHA-256 hash of the DER-encoded certificate path. An entry is only served when
+ * <ul>
+ * <li>it was validated against the same trust anchor set (trust anchor sets are compared by {@link TrustAnchor}
+ * instance, so reloading the {@link com.webauthn4j.anchor.TrustAnchorsProvider} invalidates the entries),</li>
+ * <li>it is younger than the TTL, if configured, and</li>
+ * <li>the current time is within the validity windows of all the certificates in the path and of the trust anchor.</li>
+ * </ul>
+ * Otherwise, the cert path is validated again.
+ */
+public class CertPathValidationCache {
+
+    // ~ Instance fields
+    // ================================================================================================
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<ByteBuffer, CachedResult> entries;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    // ~ Constructor
+    // ========================================================================================================
+
+    public CertPathValidationCache(int maxEntries, Duration ttl, Clock clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        AssertUtil.notNull(clock, "clock must not be null");
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<ByteBuffer, CachedResult>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ByteBuffer, CachedResult> eldest) {
+                return size() > CertPathValidationCache.this.maxEntries;
+            }
+        };
+    }
+
+    public CertPathValidationCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, Clock.systemUTC());
+    }
+
+    public CertPathValidationCache(int maxEntries) {
+        this(maxEntries, null);
+    }
+
+    // ~ Methods
+    // ========================================================================================================
+
+    /**
+     * Returns the cached result for the specified cert path and trust anchors, or null if there is no usable entry.
+     *
+     * @param certPath     cert path
+     * @param trustAnchors trust anchors the cert path is validated against
+     * @return the cached result or null
+     */
+    public PKIXCertPathValidatorResult get(CertPath certPath, Set<TrustAnchor> trustAnchors) {
+        ByteBuffer key = createKey(certPath);
+        if (key == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        CachedResult entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        Instant now = clock.instant();
+        if (entry == null || !entry.isUsable(trustAnchors, now)) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        return entry.result;
+    }
+
+    /**
+     * Caches the successful validation result for the specified cert path and trust anchors.
+     *
+     * @param certPath     cert path
+     * @param trustAnchors trust anchors the cert path is validated against
+     * @param result       validation result
+     */
+    public void put(CertPath certPath, Set<TrustAnchor> trustAnchors, PKIXCertPathValidatorResult result) {
+        ByteBuffer key = createKey(certPath);
+        if (key == null) {
+            return;
+        }
+        Instant notBefore = Instant.MIN;
+        Instant notAfter = Instant.MAX;
+        List<X509Certificate> certificates = new ArrayList<>();
+        for (Certificate certificate : certPath.getCertificates()) {
+            certificates.add((X509Certificate) certificate);
+        }
+        X509Certificate trustedCert = result.getTrustAnchor().getTrustedCert();
+        if (trustedCert != null) {
+            certificates.add(trustedCert);
+        }
+        for (X509Certificate certificate : certificates) {
+            Instant certNotBefore = certificate.getNotBefore().toInstant();
+            Instant certNotAfter = certificate.getNotAfter().toInstant();
+            notBefore = certNotBefore.isAfter(notBefore) ? certNotBefore : notBefore;
+            notAfter = certNotAfter.isBefore(notAfter) ? certNotAfter : notAfter;
+        }
+        Instant expiresAt = ttl == null ? Instant.MAX : clock.instant().plus(ttl);
+        CachedResult entry = new CachedResult(Collections.unmodifiableSet(new HashSet<>(trustAnchors)), result, notBefore, notAfter, expiresAt);
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    /**
+     * Discards all the cached results
+     */
+    public void invalidate() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    private ByteBuffer createKey(CertPath certPath) {
+        MessageDigest messageDigest = CryptoPrimitivesUtil.getSHA256();
+        try {
+            for (Certificate certificate : certPath.getCertificates()) {
+                if (!(certificate instanceof X509Certificate)) {
+                    return null;
+                }
+                messageDigest.update(certificate.getEncoded());
+            }
+        } catch (CertificateEncodingException e) {
+            // not cacheable, let the cert path validator report the problem
+            return null;
+        }
+        return ByteBuffer.wrap(messageDigest.digest());
+    }
+
+    private static class CachedResult {
+
+        private final Set<TrustAnchor> trustAnchors;
+        private final PKIXCertPathValidatorResult result;
+        private final Instant notBefore;
+        private final Instant notAfter;
+        private final Instant expiresAt;
+
+        CachedResult(Set<TrustAnchor> trustAnchors, PKIXCertPathValidatorResult result, Instant notBefore, Instant notAfter, Instant expiresAt) {
+            this.trustAnchors = trustAnchors;
+            this.result = result;
+            this.notBefore = notBefore;
+            this.notAfter = notAfter;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isUsable(Set<TrustAnchor> currentTrustAnchors, Instant now) {
+            return now.isBefore(expiresAt) &&
+                    !now.isBefore(notBefore) &&
+                    !now.isAfter(notAfter) &&
+                    trustAnchors.equals(currentTrustAnchors);
+        }
+    }
+}
@@ -19,6 +19,10 @@ package com.webauthn4j.validator.attestation.trustworthiness.certpath;
 import com.webauthn4j.data.attestation.authenticator.AAGUID;
 import com.webauthn4j.data.attestation.statement.CertificateBaseAttestationStatement;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
 /**
  * Null validator that bypass x5c trustworthiness check
  */
@@ -27,4 +31,9 @@ public class NullCertPathTrustworthinessValidator implements CertPathTrustworthi
     public void validate(AAGUID aaguid, CertificateBaseAttestationStatement attestationStatement) {
         // nop
     }
+
+    @Override
+    public CompletionStage<Void> prepareAsync(Executor executor) {
+        return CompletableFuture.completedFuture(null);
+    }
 }
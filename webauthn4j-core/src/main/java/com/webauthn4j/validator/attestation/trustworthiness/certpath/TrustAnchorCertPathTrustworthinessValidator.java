@@ -23,6 +23,8 @@ import com.webauthn4j.util.AssertUtil;
 
 import java.security.cert.TrustAnchor;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 
 /**
  * Validates the specified {@link AttestationStatement} x5c trustworthiness based on {@link TrustAnchor}
@@ -40,4 +42,9 @@ public class TrustAnchorCertPathTrustworthinessValidator extends CertPathTrustwo
     protected Set<TrustAnchor> resolveTrustAnchors(AAGUID aaguid) {
         return trustAnchorsResolver.resolve(aaguid);
     }
+
+    @Override
+    public CompletionStage<Void> prepareAsync(Executor executor) {
+        return trustAnchorsResolver.prepareAsync(executor);
+    }
 }
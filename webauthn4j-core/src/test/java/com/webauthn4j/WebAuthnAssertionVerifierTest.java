@@ -0,0 +1,433 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j;
+
+import com.webauthn4j.authenticator.Authenticator;
+import com.webauthn4j.converter.AttestationObjectConverter;
+import com.webauthn4j.converter.util.ObjectConverter;
+import com.webauthn4j.data.*;
+import com.webauthn4j.data.attestation.AttestationObject;
+import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.data.attestation.authenticator.AttestedCredentialData;
+import com.webauthn4j.data.attestation.statement.COSEAlgorithmIdentifier;
+import com.webauthn4j.data.client.ClientDataType;
+import com.webauthn4j.data.client.CollectedClientData;
+import com.webauthn4j.data.client.Origin;
+import com.webauthn4j.data.client.TokenBinding;
+import com.webauthn4j.data.client.TokenBindingStatus;
+import com.webauthn4j.data.client.challenge.Challenge;
+import com.webauthn4j.data.client.challenge.DefaultChallenge;
+import com.webauthn4j.data.extension.client.AuthenticationExtensionClientOutput;
+import com.webauthn4j.server.ServerProperty;
+import com.webauthn4j.test.TestDataUtil;
+import com.webauthn4j.test.authenticator.u2f.FIDOU2FAuthenticator;
+import com.webauthn4j.test.authenticator.u2f.FIDOU2FAuthenticatorAdaptor;
+import com.webauthn4j.test.client.ClientPlatform;
+import com.webauthn4j.validator.CustomAuthenticationValidator;
+import com.webauthn4j.validator.exception.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WebAuthnAssertionVerifierTest {
+
+    private final ObjectConverter objectConverter = new ObjectConverter();
+
+    private final String rpId = "example.com";
+    private final Origin origin = new Origin("http://example.com");
+    private final FIDOU2FAuthenticatorAdaptor authenticatorAdaptor = new FIDOU2FAuthenticatorAdaptor();
+    private final ClientPlatform clientPlatform = new ClientPlatform(origin, authenticatorAdaptor);
+
+    private final WebAuthnAuthenticationManager authenticationManager = new WebAuthnAuthenticationManager();
+    private final WebAuthnAssertionVerifier target = new WebAuthnAssertionVerifier();
+
+    @Test
+    void verify_test() {
+        Challenge challenge = new DefaultChallenge();
+        AttestationObject attestationObject = createAttestationObject(challenge);
+        Authenticator authenticator = TestDataUtil.createAuthenticator(attestationObject);
+        PublicKeyCredential<AuthenticatorAssertionResponse, AuthenticationExtensionClientOutput> credential =
+                clientPlatform.get(createRequestOptions(challenge, rpId, attestationObject));
+        AuthenticatorAssertionResponse response = credential.getAuthenticatorResponse();
+        long storedCounter = authenticator.getCounter();
+
+        AssertionVerificationResult result = target.verify(authenticator, credential.getRawId(), response.getClientDataJSON(),
+                response.getAuthenticatorData(), response.getSignature(),
+                new AssertionExpectations(Arrays.asList(new Origin("https://other.example.com"), origin), rpId, challenge, null, false));
+
+        assertAll(
+                () -> assertThat(result.getSignCount()).isGreaterThan(storedCounter),
+                () -> assertThat(authenticator.getCounter()).isEqualTo(result.getSignCount()),
+                () -> assertThat(result.isFlagUP()).isTrue(),
+                () -> assertThat(result.isFlagUV()).isFalse(),
+                () -> assertThat(result.hasExtensions()).isFalse()
+        );
+    }
+
+    @Test
+    void verify_is_equivalent_to_WebAuthnAuthenticationManager_test() {
+        List<Scenario> scenarios = new ArrayList<>();
+        scenarios.add(new Scenario("valid"));
+        scenarios.add(new Scenario("bad clientData type").clientDataType(ClientDataType.CREATE));
+        scenarios.add(new Scenario("bad challenge").clientDataChallenge(new DefaultChallenge()));
+        scenarios.add(new Scenario("bad origin").clientDataOrigin(new Origin("http://bad.origin.example.net")));
+        scenarios.add(new Scenario("missing origin").clientDataOrigin(null));
+        scenarios.add(new Scenario("missing challenge").clientDataChallenge(null));
+        scenarios.add(new Scenario("missing type").clientDataType(null));
+        scenarios.add(new Scenario("bad rpId").requestRpId("bad.rpId.example.net"));
+        scenarios.add(new Scenario("userVerificationRequired").userVerificationRequired());
+        scenarios.add(new Scenario("UP flag off").flags(FIDOU2FAuthenticator.FLAG_OFF));
+        scenarios.add(new Scenario("UP flag off, UP not required").flags(FIDOU2FAuthenticator.FLAG_OFF).userPresenceNotRequired());
+        scenarios.add(new Scenario("bad signature").signature(new byte[32]));
+        scenarios.add(new Scenario("malicious counter").storedCounter(100));
+        scenarios.add(new Scenario("token binding present and matched").tokenBinding(new byte[]{0x01, 0x23}, new byte[]{0x01, 0x23}));
+        scenarios.add(new Scenario("token binding present and not matched").tokenBinding(new byte[]{0x01, 0x23}, new byte[]{0x45, 0x67}));
+        scenarios.add(new Scenario("missing attestedCredentialData").storedAttestedCredentialData(null));
+        scenarios.add(new Scenario("missing coseKey").storedAttestedCredentialData(new AttestedCredentialData(AAGUID.ZERO, new byte[32], null)));
+
+        for (Scenario scenario : scenarios) {
+            scenario.prepare();
+            // both update the counter of the authenticator, so it is restored before WebAuthnAuthenticationManager runs
+            long storedCounter = scenario.authenticator.getCounter();
+            Outcome actual = scenario.runVerifier();
+            scenario.authenticator.setCounter(storedCounter);
+            Outcome expected = scenario.runManager();
+            assertThat(actual).as(scenario.name).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void verify_with_incomplete_authenticator_test() {
+        Scenario missingAttestedCredentialData = new Scenario("missing attestedCredentialData").storedAttestedCredentialData(null);
+        Scenario missingCOSEKey = new Scenario("missing coseKey").storedAttestedCredentialData(new AttestedCredentialData(AAGUID.ZERO, new byte[32], null));
+        missingAttestedCredentialData.prepare();
+        missingCOSEKey.prepare();
+
+        assertAll(
+                () -> assertThat(missingAttestedCredentialData.runVerifier()).isEqualTo(new Outcome(ConstraintViolationException.class, "attestedCredentialData must not be null", 0)),
+                () -> assertThat(missingCOSEKey.runVerifier()).isEqualTo(new Outcome(ConstraintViolationException.class, "coseKey must not be null", 0))
+        );
+    }
+
+    @Test
+    void verify_with_missing_challenge_in_expectations_test() {
+        Scenario scenario = new Scenario("missing server challenge").serverChallengeMissing();
+        scenario.prepare();
+        Outcome actual = scenario.runVerifier();
+        Outcome expected = scenario.runManager();
+        assertThat(actual).isEqualTo(expected);
+        assertThat(expected.exceptionClass).isEqualTo(ConstraintViolationException.class);
+    }
+
+    @Test
+    void verify_with_custom_validator_test() {
+        AtomicInteger count = new AtomicInteger();
+        CustomAuthenticationValidator customAuthenticationValidator = authenticationObject -> {
+            assertThat(authenticationObject.getCollectedClientData().getOrigin()).isEqualTo(origin);
+            assertThat(authenticationObject.getAuthenticatorData().isFlagUP()).isTrue();
+            count.incrementAndGet();
+        };
+        WebAuthnAssertionVerifier verifier = new WebAuthnAssertionVerifier(Collections.singletonList(customAuthenticationValidator));
+        Scenario scenario = new Scenario("custom validator");
+        scenario.prepare();
+        verifier.verify(scenario.authenticator, scenario.credentialId, scenario.clientDataJSON, scenario.authenticatorData, scenario.signature, scenario.createExpectations());
+        assertThat(count.get()).isEqualTo(1);
+    }
+
+    @Test
+    void verify_with_lenient_malicious_counter_value_handler_test() {
+        AtomicInteger count = new AtomicInteger();
+        target.setMaliciousCounterValueHandler(authenticationObject -> count.incrementAndGet());
+        Scenario scenario = new Scenario("malicious counter").storedCounter(100);
+        scenario.prepare();
+        AssertionVerificationResult result = target.verify(scenario.authenticator, scenario.credentialId, scenario.clientDataJSON, scenario.authenticatorData, scenario.signature, scenario.createExpectations());
+        assertAll(
+                () -> assertThat(count.get()).isEqualTo(1),
+                () -> assertThat(result.getSignCount()).isEqualTo(100)
+        );
+    }
+
+    @Test
+    void verify_concurrently_with_same_counter_test() throws Exception {
+        Scenario scenario = new Scenario("replayed assertion");
+        scenario.prepare();
+        AssertionExpectations expectations = scenario.createExpectations();
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        CountDownLatch latch = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                futures.add(executorService.submit(() -> {
+                    latch.await();
+                    try {
+                        target.verify(scenario.authenticator, scenario.credentialId, scenario.clientDataJSON, scenario.authenticatorData, scenario.signature, expectations);
+                        return true;
+                    } catch (MaliciousCounterValueException e) {
+                        return false;
+                    }
+                }));
+            }
+            latch.countDown();
+            int succeeded = 0;
+            for (Future<Boolean> future : futures) {
+                if (future.get()) {
+                    succeeded++;
+                }
+            }
+            // the assertions present the same counter, so only the one which advanced the stored counter passes
+            assertThat(succeeded).isEqualTo(1);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    void verify_with_null_signature_test() {
+        Scenario scenario = new Scenario("null signature");
+        scenario.prepare();
+        AssertionExpectations expectations = scenario.createExpectations();
+        assertThrows(ConstraintViolationException.class,
+                () -> target.verify(scenario.authenticator, scenario.credentialId, scenario.clientDataJSON, scenario.authenticatorData, null, expectations)
+        );
+    }
+
+    @Test
+    void expectations_withChallenge_test() {
+        AssertionExpectations template = new AssertionExpectations(Collections.singletonList(origin), rpId, null, null, true);
+        Challenge challenge = new DefaultChallenge();
+        AssertionExpectations expectations = template.withChallenge(challenge);
+        assertAll(
+                () -> assertThat(expectations.getChallenge()).isEqualTo(challenge),
+                () -> assertThat(expectations.getRpIdHash()).isEqualTo(template.getRpIdHash()),
+                () -> assertThat(expectations.getOrigins()).containsExactly(origin),
+                () -> assertThat(expectations.isUserVerificationRequired()).isTrue(),
+                () -> assertThat(expectations.isUserPresenceRequired()).isTrue()
+        );
+    }
+
+    private PublicKeyCredentialRequestOptions createRequestOptions(Challenge challenge, String requestRpId, AttestationObject attestationObject) {
+        return new PublicKeyCredentialRequestOptions(
+                challenge,
+                0L,
+                requestRpId,
+                Collections.singletonList(
+                        new PublicKeyCredentialDescriptor(
+                                PublicKeyCredentialType.PUBLIC_KEY,
+                                attestationObject.getAuthenticatorData().getAttestedCredentialData().getCredentialId(),
+                                null
+                        )
+                ),
+                UserVerificationRequirement.DISCOURAGED,
+                null
+        );
+    }
+
+    private AttestationObject createAttestationObject(Challenge challenge) {
+        PublicKeyCredentialCreationOptions credentialCreationOptions = new PublicKeyCredentialCreationOptions(
+                new PublicKeyCredentialRpEntity(rpId, "example.com"),
+                new PublicKeyCredentialUserEntity(),
+                challenge,
+                Collections.singletonList(new PublicKeyCredentialParameters(PublicKeyCredentialType.PUBLIC_KEY, COSEAlgorithmIdentifier.ES256))
+        );
+        AuthenticatorAttestationResponse registrationRequest = clientPlatform.create(credentialCreationOptions).getAuthenticatorResponse();
+        return new AttestationObjectConverter(objectConverter).convert(registrationRequest.getAttestationObject());
+    }
+
+    private static class Outcome {
+        private final Class<?> exceptionClass;
+        private final String message;
+        private final long counter;
+
+        Outcome(Class<?> exceptionClass, String message, long counter) {
+            this.exceptionClass = exceptionClass;
+            this.message = message;
+            this.counter = counter;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Outcome that = (Outcome) o;
+            return counter == that.counter && Objects.equals(exceptionClass, that.exceptionClass) && Objects.equals(message, that.message);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(exceptionClass, message, counter);
+        }
+
+        @Override
+        public String toString() {
+            return exceptionClass == null ? "success(counter=" + counter + ")" : exceptionClass.getSimpleName() + ": " + message;
+        }
+    }
+
+    private class Scenario {
+        private final String name;
+        private final Challenge challenge = new DefaultChallenge();
+        private ClientDataType clientDataType = ClientDataType.GET;
+        private Challenge clientDataChallenge = challenge;
+        private Origin clientDataOrigin = origin;
+        private TokenBinding clientDataTokenBinding;
+        private byte[] serverTokenBindingId;
+        private String requestRpId = rpId;
+        private byte flags = FIDOU2FAuthenticator.FLAG_UP;
+        private byte[] badSignature;
+        private Long storedCounter;
+        private boolean userVerificationRequired = false;
+        private boolean userPresenceRequired = true;
+        private boolean serverChallengeMissing = false;
+        private boolean storedAttestedCredentialDataReplaced = false;
+        private AttestedCredentialData storedAttestedCredentialData;
+
+        private Authenticator authenticator;
+        private byte[] credentialId;
+        private byte[] clientDataJSON;
+        private byte[] authenticatorData;
+        private byte[] signature;
+
+        Scenario(String name) {
+            this.name = name;
+        }
+
+        Scenario clientDataType(ClientDataType clientDataType) {
+            this.clientDataType = clientDataType;
+            return this;
+        }
+
+        Scenario clientDataChallenge(Challenge clientDataChallenge) {
+            this.clientDataChallenge = clientDataChallenge;
+            return this;
+        }
+
+        Scenario clientDataOrigin(Origin clientDataOrigin) {
+            this.clientDataOrigin = clientDataOrigin;
+            return this;
+        }
+
+        Scenario tokenBinding(byte[] clientTokenBindingId, byte[] serverTokenBindingId) {
+            this.clientDataTokenBinding = new TokenBinding(TokenBindingStatus.PRESENT, clientTokenBindingId);
+            this.serverTokenBindingId = serverTokenBindingId;
+            return this;
+        }
+
+        Scenario requestRpId(String requestRpId) {
+            this.requestRpId = requestRpId;
+            return this;
+        }
+
+        Scenario flags(byte flags) {
+            this.flags = flags;
+            return this;
+        }
+
+        Scenario signature(byte[] signature) {
+            this.badSignature = signature;
+            return this;
+        }
+
+        Scenario storedCounter(long storedCounter) {
+            this.storedCounter = storedCounter;
+            return this;
+        }
+
+        Scenario userVerificationRequired() {
+            this.userVerificationRequired = true;
+            return this;
+        }
+
+        Scenario userPresenceNotRequired() {
+            this.userPresenceRequired = false;
+            return this;
+        }
+
+        Scenario storedAttestedCredentialData(AttestedCredentialData storedAttestedCredentialData) {
+            this.storedAttestedCredentialDataReplaced = true;
+            this.storedAttestedCredentialData = storedAttestedCredentialData;
+            return this;
+        }
+
+        Scenario serverChallengeMissing() {
+            this.serverChallengeMissing = true;
+            return this;
+        }
+
+        void prepare() {
+            authenticatorAdaptor.getFIDOU2FAuthenticator().setFlags(FIDOU2FAuthenticator.FLAG_UP);
+            AttestationObject attestationObject = createAttestationObject(challenge);
+            authenticatorAdaptor.getFIDOU2FAuthenticator().setFlags(flags);
+            CollectedClientData collectedClientData = new CollectedClientData(clientDataType, clientDataChallenge, clientDataOrigin, clientDataTokenBinding);
+            PublicKeyCredential<AuthenticatorAssertionResponse, AuthenticationExtensionClientOutput> credential =
+                    clientPlatform.get(createRequestOptions(challenge, requestRpId, attestationObject), collectedClientData);
+            AuthenticatorAssertionResponse response = credential.getAuthenticatorResponse();
+            authenticatorAdaptor.getFIDOU2FAuthenticator().setFlags(FIDOU2FAuthenticator.FLAG_UP);
+
+            authenticator = storedAttestedCredentialDataReplaced
+                    ? TestDataUtil.createAuthenticator(storedAttestedCredentialData, attestationObject.getAttestationStatement())
+                    : TestDataUtil.createAuthenticator(attestationObject);
+            if (storedCounter != null) {
+                authenticator.setCounter(storedCounter);
+            }
+            credentialId = credential.getRawId();
+            clientDataJSON = response.getClientDataJSON();
+            authenticatorData = response.getAuthenticatorData();
+            signature = badSignature != null ? badSignature : response.getSignature();
+        }
+
+        ServerProperty createServerProperty() {
+            return new ServerProperty(origin, rpId, serverChallengeMissing ? null : challenge, serverTokenBindingId);
+        }
+
+        AssertionExpectations createExpectations() {
+            return new AssertionExpectations(createServerProperty(), userVerificationRequired, userPresenceRequired);
+        }
+
+        Outcome runManager() {
+            AuthenticationRequest authenticationRequest = new AuthenticationRequest(credentialId, authenticatorData, clientDataJSON, signature);
+            AuthenticationParameters authenticationParameters = new AuthenticationParameters(createServerProperty(), authenticator, userVerificationRequired, userPresenceRequired);
+            try {
+                authenticationManager.validate(authenticationRequest, authenticationParameters);
+                return new Outcome(null, null, authenticator.getCounter());
+            } catch (RuntimeException e) {
+                return new Outcome(e.getClass(), e.getMessage(), 0);
+            }
+        }
+
+        Outcome runVerifier() {
+            try {
+                AssertionVerificationResult result = target.verify(authenticator, credentialId, clientDataJSON, authenticatorData, signature, createExpectations());
+                return new Outcome(null, null, result.getSignCount());
+            } catch (RuntimeException e) {
+                return new Outcome(e.getClass(), e.getMessage(), 0);
+            }
+        }
+    }
+}
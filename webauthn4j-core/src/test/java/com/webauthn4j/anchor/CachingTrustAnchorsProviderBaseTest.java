@@ -0,0 +1,182 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.anchor;
+
+import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.test.TestAttestationUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.cert.TrustAnchor;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CachingTrustAnchorsProviderBaseTest {
+
+    private final TrustAnchor trustAnchorA = new TrustAnchor(TestAttestationUtil.load3tierTestRootCACertificate(), null);
+    private final TrustAnchor trustAnchorB = new TrustAnchor(TestAttestationUtil.load3tierTestIntermediateCACertificate(), null);
+
+    @Test
+    void provide_loads_once_under_concurrent_first_access_test() throws Exception {
+        AtomicInteger loadCount = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CachingTrustAnchorsProviderBase target = new CachingTrustAnchorsProviderBase() {
+            @Override
+            protected Map<AAGUID, Set<TrustAnchor>> loadTrustAnchors() {
+                loadCount.incrementAndGet();
+                try {
+                    loading.await(100, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Collections.singletonMap(AAGUID.NULL, Collections.singleton(trustAnchorA));
+            }
+        };
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Map<AAGUID, Set<TrustAnchor>>>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executorService.submit(target::provide));
+            }
+            loading.countDown();
+            Map<AAGUID, Set<TrustAnchor>> first = futures.get(0).get();
+            for (Future<Map<AAGUID, Set<TrustAnchor>>> future : futures) {
+                assertThat(future.get()).isSameAs(first);
+            }
+            assertThat(loadCount).hasValue(1);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    void reload_swaps_snapshot_and_notifies_listeners_test() {
+        AtomicReference<TrustAnchor> source = new AtomicReference<>(trustAnchorA);
+        CachingTrustAnchorsProviderBase target = createProvider(source);
+        List<Map<AAGUID, Set<TrustAnchor>>> notified = new ArrayList<>();
+        target.addReloadListener(notified::add);
+
+        Map<AAGUID, Set<TrustAnchor>> initial = target.provide();
+        source.set(trustAnchorB);
+        target.reload();
+        Map<AAGUID, Set<TrustAnchor>> reloaded = target.provide();
+
+        assertAll(
+                () -> assertThat(initial.get(AAGUID.NULL)).containsExactly(trustAnchorA),
+                () -> assertThat(reloaded.get(AAGUID.NULL)).containsExactly(trustAnchorB),
+                () -> assertThat(notified).containsExactly(reloaded),
+                () -> assertThrows(UnsupportedOperationException.class, () -> reloaded.get(AAGUID.NULL).clear())
+        );
+    }
+
+    @Test
+    void reload_keeps_current_snapshot_on_failure_test() {
+        AtomicReference<TrustAnchor> source = new AtomicReference<>(trustAnchorA);
+        CachingTrustAnchorsProviderBase target = createProvider(source);
+        Map<AAGUID, Set<TrustAnchor>> initial = target.provide();
+
+        source.set(null);
+        assertThrows(IllegalStateException.class, target::reload);
+        assertThat(target.provide()).isSameAs(initial);
+    }
+
+    @Test
+    void provideAsync_test() {
+        AtomicReference<TrustAnchor> source = new AtomicReference<>(trustAnchorA);
+        CachingTrustAnchorsProviderBase target = createProvider(source);
+        List<Runnable> tasks = new ArrayList<>();
+
+        CompletableFuture<Map<AAGUID, Set<TrustAnchor>>> first = target.provideAsync(tasks::add).toCompletableFuture();
+        // the first load is offloaded
+        assertThat(first).isNotDone();
+        tasks.forEach(Runnable::run);
+        // once loaded, completes on the calling thread
+        CompletableFuture<Map<AAGUID, Set<TrustAnchor>>> second = target.provideAsync(tasks::add).toCompletableFuture();
+
+        assertAll(
+                () -> assertThat(first.join().get(AAGUID.NULL)).containsExactly(trustAnchorA),
+                () -> assertThat(second).isCompletedWithValue(first.join()),
+                () -> assertThat(tasks).hasSize(1)
+        );
+    }
+
+    @Test
+    void startPeriodicReload_test() throws Exception {
+        AtomicReference<TrustAnchor> source = new AtomicReference<>(trustAnchorA);
+        CachingTrustAnchorsProviderBase target = createProvider(source);
+        CountDownLatch reloaded = new CountDownLatch(1);
+        target.addReloadListener(trustAnchors -> reloaded.countDown());
+        target.provide();
+        source.set(trustAnchorB);
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            target.startPeriodicReload(scheduler, Duration.ofMillis(10));
+            assertThat(reloaded.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(target.provide().get(AAGUID.NULL)).containsExactly(trustAnchorB);
+        } finally {
+            target.close();
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void startWatching_test(@TempDir Path tempDir) throws Exception {
+        Path source = Paths.get(ClassLoader.getSystemResource("com/webauthn4j/anchor/CertFileTrustAnchorsProviderTest/test.crt").toURI());
+        Path certificate = tempDir.resolve("test.crt");
+        Files.copy(source, certificate);
+        CountDownLatch reloaded = new CountDownLatch(1);
+        try (CertFileTrustAnchorsProvider target = new CertFileTrustAnchorsProvider(Collections.singletonList(certificate))) {
+            target.addReloadListener(trustAnchors -> reloaded.countDown());
+            target.provide();
+            target.startWatching();
+
+            Files.copy(source, certificate, StandardCopyOption.REPLACE_EXISTING);
+            assertThat(reloaded.await(30, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    void startWatching_without_files_test() {
+        CachingTrustAnchorsProviderBase target = createProvider(new AtomicReference<>(trustAnchorA));
+        assertThrows(IllegalStateException.class, target::startWatching);
+    }
+
+    private CachingTrustAnchorsProviderBase createProvider(AtomicReference<TrustAnchor> source) {
+        return new CachingTrustAnchorsProviderBase() {
+            @Override
+            protected Map<AAGUID, Set<TrustAnchor>> loadTrustAnchors() {
+                TrustAnchor trustAnchor = source.get();
+                if (trustAnchor == null) {
+                    throw new IllegalStateException("unavailable");
+                }
+                return Collections.singletonMap(AAGUID.NULL, Collections.singleton(trustAnchor));
+            }
+        };
+    }
+}
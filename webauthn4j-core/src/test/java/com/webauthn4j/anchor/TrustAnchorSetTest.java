@@ -0,0 +1,61 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.anchor;
+
+import com.webauthn4j.test.TestAttestationUtil;
+import org.junit.jupiter.api.Test;
+
+import java.security.cert.PKIXParameters;
+import java.security.cert.TrustAnchor;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TrustAnchorSetTest {
+
+    @Test
+    void createPKIXParameters_returns_copy_test() {
+        TrustAnchor trustAnchor = new TrustAnchor(TestAttestationUtil.load2tierTestRootCACertificate(), null);
+        TrustAnchorSet target = new TrustAnchorSet(Collections.singleton(trustAnchor));
+
+        PKIXParameters first = target.createPKIXParameters();
+        first.setRevocationEnabled(false);
+        PKIXParameters second = target.createPKIXParameters();
+
+        assertAll(
+                () -> assertThat(first).isNotSameAs(second),
+                () -> assertThat(first.getTrustAnchors()).containsExactly(trustAnchor),
+                () -> assertThat(second.isRevocationEnabled()).isTrue()
+        );
+    }
+
+    @Test
+    void equals_test() {
+        TrustAnchor trustAnchor = new TrustAnchor(TestAttestationUtil.load2tierTestRootCACertificate(), null);
+        TrustAnchorSet target = new TrustAnchorSet(Collections.singleton(trustAnchor));
+
+        assertAll(
+                () -> assertThat(target).isEqualTo(new HashSet<>(Collections.singleton(trustAnchor))),
+                () -> assertThat(target).hasSameHashCodeAs(new HashSet<>(Collections.singleton(trustAnchor))),
+                () -> assertThrows(UnsupportedOperationException.class, () -> target.add(trustAnchor))
+        );
+    }
+}
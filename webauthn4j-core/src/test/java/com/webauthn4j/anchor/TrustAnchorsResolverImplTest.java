@@ -17,12 +17,20 @@
 package com.webauthn4j.anchor;
 
 import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.test.TestAttestationUtil;
 import org.junit.jupiter.api.Test;
 
 import java.security.cert.TrustAnchor;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class TrustAnchorsResolverImplTest {
 
@@ -34,4 +42,50 @@ class TrustAnchorsResolverImplTest {
         Set<TrustAnchor> trustAnchorsB = target.resolve(AAGUID.ZERO);
         assertThat(trustAnchorsA).isEqualTo(trustAnchorsB);
     }
+
+    @Test
+    void resolve_merges_NULL_aaguid_trustAnchors_test() {
+        TrustAnchor nullAnchor = createTrustAnchor();
+        TrustAnchor zeroAnchor = createTrustAnchor();
+        Map<AAGUID, Set<TrustAnchor>> map = new HashMap<>();
+        map.put(AAGUID.NULL, Collections.singleton(nullAnchor));
+        map.put(AAGUID.ZERO, Collections.singleton(zeroAnchor));
+        TrustAnchorsResolverImpl target = new TrustAnchorsResolverImpl(() -> map);
+
+        Set<TrustAnchor> zeroTrustAnchors = target.resolve(AAGUID.ZERO);
+        assertAll(
+                () -> assertThat(zeroTrustAnchors).containsExactlyInAnyOrder(nullAnchor, zeroAnchor),
+                () -> assertThat(target.resolve(AAGUID.ZERO)).isSameAs(zeroTrustAnchors),
+                () -> assertThat(target.resolve(new AAGUID(UUID.randomUUID()))).containsExactly(nullAnchor),
+                () -> assertThrows(UnsupportedOperationException.class, () -> zeroTrustAnchors.add(createTrustAnchor()))
+        );
+    }
+
+    @Test
+    void resolve_rebuilds_index_on_provider_change_test() {
+        TrustAnchor anchorA = createTrustAnchor();
+        TrustAnchor anchorB = createTrustAnchor();
+        AtomicReference<Map<AAGUID, Set<TrustAnchor>>> reference = new AtomicReference<>(Collections.singletonMap(AAGUID.ZERO, Collections.singleton(anchorA)));
+        TrustAnchorsResolverImpl target = new TrustAnchorsResolverImpl(reference::get);
+
+        assertThat(target.resolve(AAGUID.ZERO)).containsExactly(anchorA);
+        reference.set(Collections.singletonMap(AAGUID.ZERO, Collections.singleton(anchorB)));
+        assertThat(target.resolve(AAGUID.ZERO)).containsExactly(anchorB);
+    }
+
+    @Test
+    void resolve_keeps_index_for_equal_map_test() {
+        TrustAnchor anchor = createTrustAnchor();
+        TrustAnchorsResolverImpl target = new TrustAnchorsResolverImpl(() -> new HashMap<>(Collections.singletonMap(AAGUID.ZERO, Collections.singleton(anchor))));
+
+        Set<TrustAnchor> trustAnchors = target.resolve(AAGUID.ZERO);
+        assertAll(
+                () -> assertThat(trustAnchors).isInstanceOf(TrustAnchorSet.class).containsExactly(anchor),
+                () -> assertThat(target.resolve(AAGUID.ZERO)).isSameAs(trustAnchors)
+        );
+    }
+
+    private TrustAnchor createTrustAnchor() {
+        return new TrustAnchor(TestAttestationUtil.load2tierTestRootCACertificate(), null);
+    }
 }
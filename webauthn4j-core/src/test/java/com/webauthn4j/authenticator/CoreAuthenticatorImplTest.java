@@ -26,6 +26,8 @@ import java.util.Collections;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class CoreAuthenticatorImplTest {
 
@@ -44,4 +46,17 @@ class CoreAuthenticatorImplTest {
         assertThat(authenticator.getAuthenticatorExtensions()).isEqualTo(attestationObject.getAuthenticatorData().getExtensions());
     }
 
-}
\ No newline at end of file
+    @Test
+    void compareAndSetCounter_test() {
+        AttestationObject attestationObject = TestDataUtil.createAttestationObjectWithFIDOU2FAttestationStatement();
+        CoreAuthenticatorImpl authenticator = new CoreAuthenticatorImpl(attestationObject.getAuthenticatorData().getAttestedCredentialData(), attestationObject.getAttestationStatement(), 1, Collections.emptySet(), null);
+        assertAll(
+                () -> assertThat(authenticator.compareAndSetCounter(0, 2)).isFalse(),
+                () -> assertThat(authenticator.getCounter()).isEqualTo(1),
+                () -> assertThat(authenticator.compareAndSetCounter(1, 2)).isTrue(),
+                () -> assertThat(authenticator.getCounter()).isEqualTo(2),
+                () -> assertThrows(IllegalArgumentException.class, () -> authenticator.compareAndSetCounter(2, -1))
+        );
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.converter;
+
+import com.webauthn4j.converter.exception.DataConversionException;
+import com.webauthn4j.converter.util.ObjectConverter;
+import com.webauthn4j.data.attestation.authenticator.AuthenticatorData;
+import com.webauthn4j.data.extension.UvmEntries;
+import com.webauthn4j.data.extension.authenticator.AuthenticationExtensionsAuthenticatorOutputs;
+import com.webauthn4j.data.extension.authenticator.RegistrationExtensionAuthenticatorOutput;
+import com.webauthn4j.data.extension.authenticator.UserVerificationMethodExtensionAuthenticatorOutput;
+import com.webauthn4j.test.TestDataUtil;
+import com.webauthn4j.util.Base64UrlUtil;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static com.webauthn4j.data.attestation.authenticator.AuthenticatorData.BIT_ED;
+import static com.webauthn4j.data.attestation.authenticator.AuthenticatorData.BIT_UP;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test for FlyweightAuthenticatorData
+ */
+class FlyweightAuthenticatorDataTest {
+
+    private final ObjectConverter objectConverter = new ObjectConverter();
+    private final AuthenticatorDataConverter authenticatorDataConverter = new AuthenticatorDataConverter(objectConverter);
+
+    @Test
+    void convertToFlyweight_test() {
+        //Given
+        //noinspection SpellCheckingInspection
+        byte[] input = Base64UrlUtil.decode("SZYN5YgOjGh0NBcPZHZgW4_krrmihjLHmVzzuoMdl2MBAAABRQ");
+
+        //When
+        FlyweightAuthenticatorData<RegistrationExtensionAuthenticatorOutput> result = authenticatorDataConverter.convertToFlyweight(input);
+
+        //Then
+        assertAll(
+                () -> assertThat(result.getRpIdHash()).isEqualTo(ByteBuffer.wrap(input, 0, 32)),
+                () -> assertThat(result.getRpIdHash().isReadOnly()).isTrue(),
+                () -> assertThat(result.isRpIdHashEqualTo(Arrays.copyOf(input, 32))).isTrue(),
+                () -> assertThat(result.isRpIdHashEqualTo(new byte[32])).isFalse(),
+                () -> assertThat(result.getFlags()).isEqualTo(BIT_UP),
+                () -> assertThat(result.getSignCount()).isEqualTo(325),
+                () -> assertThat(result.getAaguid()).isNull(),
+                () -> assertThat(result.getCredentialId()).isNull(),
+                () -> assertThat(result.getCOSEKey()).isNull(),
+                () -> assertThat(result.getExtensions().getKeys()).isEmpty(),
+                () -> assertThat(result.toAuthenticatorData()).isEqualTo(authenticatorDataConverter.convert(input))
+        );
+    }
+
+    @Test
+    void convertToFlyweight_with_attested_credential_data_test() {
+        //Given
+        AuthenticatorData<RegistrationExtensionAuthenticatorOutput> authenticatorData = TestDataUtil.createAuthenticatorData();
+        byte[] input = authenticatorDataConverter.convert(authenticatorData);
+
+        //When
+        FlyweightAuthenticatorData<RegistrationExtensionAuthenticatorOutput> result = authenticatorDataConverter.convertToFlyweight(input);
+
+        //Then
+        assertAll(
+                () -> assertThat(result.getSignCount()).isEqualTo(authenticatorData.getSignCount()),
+                () -> assertThat(result.getAaguid()).isEqualTo(authenticatorData.getAttestedCredentialData().getAaguid()),
+                () -> assertThat(result.getCredentialId()).isEqualTo(ByteBuffer.wrap(authenticatorData.getAttestedCredentialData().getCredentialId())),
+                () -> assertThat(result.getCOSEKey()).isEqualTo(authenticatorData.getAttestedCredentialData().getCOSEKey()),
+                () -> assertThat(result.getCOSEKey()).isSameAs(result.getCOSEKey()),
+                () -> assertThat(result.toAuthenticatorData()).isEqualTo(authenticatorData)
+        );
+    }
+
+    @Test
+    void convertToFlyweight_with_extensions_and_offset_test() {
+        //Given
+        AuthenticationExtensionsAuthenticatorOutputs.BuilderForRegistration builder = new AuthenticationExtensionsAuthenticatorOutputs.BuilderForRegistration();
+        builder.setUvm(new UvmEntries());
+        AuthenticatorData<RegistrationExtensionAuthenticatorOutput> authenticatorData = new AuthenticatorData<>(new byte[32], BIT_ED, 0, builder.build());
+        byte[] bytes = authenticatorDataConverter.convert(authenticatorData);
+        byte[] input = new byte[bytes.length + 4];
+        System.arraycopy(bytes, 0, input, 2, bytes.length);
+
+        //When
+        FlyweightAuthenticatorData<RegistrationExtensionAuthenticatorOutput> result = authenticatorDataConverter.convertToFlyweight(input, 2, bytes.length);
+
+        //Then
+        assertAll(
+                () -> assertThat(result.getExtensions().getKeys()).contains(UserVerificationMethodExtensionAuthenticatorOutput.ID),
+                () -> assertThat(result.getBytes()).isEqualTo(ByteBuffer.wrap(bytes)),
+                () -> assertThat(result.toAuthenticatorData().getExtensions().getKeys()).contains(UserVerificationMethodExtensionAuthenticatorOutput.ID)
+        );
+    }
+
+    @Test
+    void convertToFlyweight_too_short_data_test() {
+        //noinspection SpellCheckingInspection
+        byte[] input = Base64UrlUtil.decode("SZYN5YgOjGh0NBcP");
+        assertThrows(DataConversionException.class,
+                () -> authenticatorDataConverter.convertToFlyweight(input)
+        );
+    }
+
+    @Test
+    void convertToFlyweight_with_surplus_bytes_test() {
+        //noinspection SpellCheckingInspection
+        byte[] data = Base64UrlUtil.decode("SZYN5YgOjGh0NBcPZHZgW4_krrmihjLHmVzzuoMdl2MBAAABRQ");
+        byte[] input = Arrays.copyOf(data, data.length + 1);
+        assertThrows(DataConversionException.class,
+                () -> authenticatorDataConverter.convertToFlyweight(input)
+        );
+    }
+
+    @Test
+    void getCOSEKey_with_surplus_bytes_test() {
+        byte[] data = authenticatorDataConverter.convert(TestDataUtil.createAuthenticatorData());
+        byte[] input = Arrays.copyOf(data, data.length + 1);
+        FlyweightAuthenticatorData<RegistrationExtensionAuthenticatorOutput> result = authenticatorDataConverter.convertToFlyweight(input);
+        assertThrows(DataConversionException.class,
+                result::getCOSEKey
+        );
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.converter;
+
+import com.webauthn4j.converter.exception.DataConversionException;
+import com.webauthn4j.converter.util.ObjectConverter;
+import com.webauthn4j.data.client.ClientDataType;
+import com.webauthn4j.data.client.CollectedClientData;
+import com.webauthn4j.data.client.Origin;
+import com.webauthn4j.data.client.TokenBinding;
+import com.webauthn4j.data.client.TokenBindingStatus;
+import com.webauthn4j.data.client.challenge.Challenge;
+import com.webauthn4j.data.client.challenge.DefaultChallenge;
+import com.webauthn4j.util.Base64UrlUtil;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StreamingCollectedClientDataConverterTest {
+
+    private final ObjectConverter objectConverter = new ObjectConverter();
+
+    private final StreamingCollectedClientDataConverter target = new StreamingCollectedClientDataConverter(objectConverter);
+    private final CollectedClientDataConverter collectedClientDataConverter = new CollectedClientDataConverter(objectConverter);
+
+    @Test
+    void convert_is_equivalent_to_CollectedClientDataConverter_test() {
+        String[] clientDataJsons = {
+                "{\"challenge\":\"tk31UH1ETGGTPj33OhOMzw\",\"origin\":\"http://localhost:8080\",\"tokenBinding\":{\"status\":\"not-supported\"},\"type\":\"webauthn.get\"}",
+                "{\"type\":\"webauthn.create\",\"challenge\":\"Tgup0LZZQKinvtQcZFYdRw\",\"new_keys_may_be_added_here\":{\"nested\":[1,2,{}]},\"origin\":\"https://example.com\",\"crossOrigin\":false}",
+                "{\"type\":\"webauthn.get\",\"challenge\":\"tk31UH1ETGGTPj33OhOMzw==\",\"origin\":\"https://example.com:443/\",\"tokenBinding\":{\"status\":\"present\",\"id\":\"AQID\"}}",
+                "{\"type\":null,\"challenge\":null,\"origin\":null}",
+                "{}"
+        };
+        for (String clientDataJson : clientDataJsons) {
+            byte[] source = clientDataJson.getBytes(StandardCharsets.UTF_8);
+            assertThat(target.convert(source)).isEqualTo(collectedClientDataConverter.convert(source));
+        }
+    }
+
+    @Test
+    void convert_null_test() {
+        assertThat(target.convert(null)).isNull();
+    }
+
+    @Test
+    void convert_invalid_input_test() {
+        String[] clientDataJsons = {
+                "{\"type\":\"webauthn.invalid\"}",
+                "{\"challenge\":\"!!!\"}",
+                "{\"origin\":\"ftp://example.com\"}",
+                "[]",
+                "{\"type\":"
+        };
+        for (String clientDataJson : clientDataJsons) {
+            byte[] source = clientDataJson.getBytes(StandardCharsets.UTF_8);
+            assertThrows(DataConversionException.class,
+                    () -> target.convert(source)
+            );
+        }
+    }
+
+    @Test
+    void match_test() {
+        Challenge challenge = new DefaultChallenge("tk31UH1ETGGTPj33OhOMzw");
+        byte[] source = "{\"type\":\"webauthn.get\",\"challenge\":\"tk31UH1ETGGTPj33OhOMzw\",\"origin\":\"http://localhost:8080\",\"crossOrigin\":true,\"tokenBinding\":{\"status\":\"not-supported\"}}".getBytes(StandardCharsets.UTF_8);
+
+        CollectedClientDataMatchResult result = target.match(source, challenge, new Origin("http://localhost:8080"));
+
+        assertAll(
+                () -> assertThat(result.getType()).isEqualTo(ClientDataType.GET),
+                () -> assertThat(result.isChallengeMatched()).isTrue(),
+                () -> assertThat(result.isOriginMatched()).isTrue(),
+                () -> assertThat(result.isCrossOrigin()).isTrue(),
+                () -> assertThat(result.getTokenBinding()).isEqualTo(new TokenBinding(TokenBindingStatus.NOT_SUPPORTED, (String) null))
+        );
+    }
+
+    @Test
+    void match_with_non_canonical_values_test() {
+        Challenge challenge = new DefaultChallenge("tk31UH1ETGGTPj33OhOMzw");
+        byte[] source = "{\"type\":\"webauthn.get\",\"challenge\":\"tk31UH1ETGGTPj33OhOMzw==\",\"origin\":\"https://example.com:443/\"}".getBytes(StandardCharsets.UTF_8);
+
+        CollectedClientDataMatchResult result = target.match(source, challenge, new Origin("https://example.com"));
+
+        assertAll(
+                () -> assertThat(result.isChallengeMatched()).isTrue(),
+                () -> assertThat(result.isOriginMatched()).isTrue(),
+                () -> assertThat(result.isCrossOrigin()).isFalse()
+        );
+    }
+
+    @Test
+    void match_with_different_values_test() {
+        byte[] source = "{\"type\":\"webauthn.get\",\"challenge\":\"tk31UH1ETGGTPj33OhOMzw\",\"origin\":\"https://example.com:8443\"}".getBytes(StandardCharsets.UTF_8);
+
+        CollectedClientDataMatchResult result = target.match(source, new DefaultChallenge(), new Origin("https://example.com"));
+
+        assertAll(
+                () -> assertThat(result.isChallengeMatched()).isFalse(),
+                () -> assertThat(result.isOriginMatched()).isFalse()
+        );
+    }
+
+    @Test
+    void match_invalid_input_test() {
+        byte[] source = "{\"type\":\"webauthn.get\",\"challenge\":\"!!!\"}".getBytes(StandardCharsets.UTF_8);
+        Challenge challenge = new DefaultChallenge();
+        Origin origin = new Origin("https://example.com");
+        assertThrows(DataConversionException.class,
+                () -> target.match(source, challenge, origin)
+        );
+    }
+
+    @Test
+    void matchBase64Url_test() {
+        for (int length = 0; length < 40; length++) {
+            byte[] bytes = new byte[length];
+            Arrays.fill(bytes, (byte) (0xF0 + length));
+            char[] encoded = Base64UrlUtil.encodeToString(bytes).toCharArray();
+            assertThat(StreamingCollectedClientDataConverter.matchBase64Url(bytes, encoded, 0, encoded.length)).isTrue();
+            if (length > 0) {
+                byte[] different = bytes.clone();
+                different[length - 1] ^= 0x01;
+                assertThat(StreamingCollectedClientDataConverter.matchBase64Url(different, encoded, 0, encoded.length)).isFalse();
+            }
+        }
+    }
+
+    @Test
+    void matchOrigin_test() {
+        char[] chars = "xhttps://example.com:8443x".toCharArray();
+        assertAll(
+                () -> assertThat(StreamingCollectedClientDataConverter.matchOrigin(new Origin("https://example.com:8443"), chars, 1, chars.length - 2)).isTrue(),
+                () -> assertThat(StreamingCollectedClientDataConverter.matchOrigin(new Origin("https://example.com"), chars, 1, chars.length - 2)).isFalse(),
+                () -> assertThat(StreamingCollectedClientDataConverter.matchOrigin(new Origin("https://example.com"), "https://example.com".toCharArray(), 0, 19)).isTrue(),
+                () -> assertThat(StreamingCollectedClientDataConverter.matchOrigin(new Origin("http://example.com"), "https://example.com".toCharArray(), 0, 19)).isFalse()
+        );
+    }
+}
@@ -26,6 +26,10 @@ import com.webauthn4j.util.ECUtil;
 import com.webauthn4j.validator.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
 import java.security.PublicKey;
@@ -242,6 +246,30 @@ class EC2COSEKeyTest {
         assertThat(publicKey.getPublicKey()).isNotNull();
     }
 
+    @Test
+    void getPublicKey_returns_cached_instance_test() {
+        EC2COSEKey target = EC2COSEKey.create((ECPublicKey) ECUtil.createKeyPair().getPublic(), COSEAlgorithmIdentifier.ES256);
+        assertThat(target.getPublicKey()).isSameAs(target.getPublicKey());
+    }
+
+    @Test
+    void getPublicKey_after_java_serialization_test() throws Exception {
+        EC2COSEKey original = EC2COSEKey.create((ECPublicKey) ECUtil.createKeyPair().getPublic(), COSEAlgorithmIdentifier.ES256);
+        PublicKey publicKey = original.getPublicKey();
+
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream)) {
+            objectOutputStream.writeObject(original);
+        }
+        EC2COSEKey deserialized;
+        try (ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(byteArrayOutputStream.toByteArray()))) {
+            deserialized = (EC2COSEKey) objectInputStream.readObject();
+        }
+
+        assertThat(deserialized).isEqualTo(original);
+        assertThat(deserialized.getPublicKey()).isEqualTo(publicKey);
+    }
+
     @Test
     void getPrivateKey_test(){
         EC2COSEKey keyPair = EC2COSEKey.create(ECUtil.createKeyPair());
@@ -25,7 +25,12 @@ import com.webauthn4j.util.RSAUtil;
 import com.webauthn4j.validator.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.security.KeyPair;
+import java.security.PublicKey;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
 
@@ -159,6 +164,30 @@ class RSACOSEKeyTest {
         assertThat(publicKey.getPublicKey()).isNotNull();
     }
 
+    @Test
+    void getPublicKey_returns_cached_instance_test() {
+        RSACOSEKey target = RSACOSEKey.create((RSAPublicKey) RSAUtil.createKeyPair().getPublic(), COSEAlgorithmIdentifier.RS256);
+        assertThat(target.getPublicKey()).isSameAs(target.getPublicKey());
+    }
+
+    @Test
+    void getPublicKey_after_java_serialization_test() throws Exception {
+        RSACOSEKey original = RSACOSEKey.create((RSAPublicKey) RSAUtil.createKeyPair().getPublic(), COSEAlgorithmIdentifier.RS256);
+        PublicKey publicKey = original.getPublicKey();
+
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream)) {
+            objectOutputStream.writeObject(original);
+        }
+        RSACOSEKey deserialized;
+        try (ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(byteArrayOutputStream.toByteArray()))) {
+            deserialized = (RSACOSEKey) objectInputStream.readObject();
+        }
+
+        assertThat(deserialized).isEqualTo(original);
+        assertThat(deserialized.getPublicKey()).isEqualTo(publicKey);
+    }
+
     @Test
     void getPrivateKey_test(){
         RSACOSEKey keyPair = RSACOSEKey.create(RSAUtil.createKeyPair());
@@ -18,9 +18,13 @@ package com.webauthn4j.server;
 
 import com.webauthn4j.data.client.challenge.Challenge;
 import com.webauthn4j.data.client.challenge.DefaultChallenge;
+import com.webauthn4j.data.client.Origin;
 import com.webauthn4j.test.TestDataUtil;
+import com.webauthn4j.util.MessageDigestUtil;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
 
@@ -37,4 +41,49 @@ class ServerPropertyTest {
                 () -> assertThat(serverPropertyA).hasSameHashCodeAs(serverPropertyB)
         );
     }
+
+    @Test
+    void getRpIdHash_test() {
+        ServerProperty serverProperty = new ServerProperty(new Origin("https://example.com"), "example.com", new DefaultChallenge(), null);
+        byte[] expected = MessageDigestUtil.createSHA256().digest("example.com".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(serverProperty.getRpIdHash()).isEqualTo(expected);
+        assertThat(serverProperty.getRpIdHash()).isEqualTo(expected);
+    }
+
+    @Test
+    void getRpIdHash_with_null_rpId_test() {
+        ServerProperty serverProperty = new ServerProperty(null, null, null, null);
+        assertThat(serverProperty.getRpIdHash()).isNull();
+    }
+
+    @Test
+    void matchesRpIdHash_test() {
+        ServerProperty serverProperty = new ServerProperty(new Origin("https://example.com"), "example.com", new DefaultChallenge(), null);
+        byte[] expected = serverProperty.getRpIdHash();
+        byte[] different = serverProperty.getRpIdHash();
+        different[0] ^= 1;
+
+        assertAll(
+                () -> assertThat(serverProperty.matchesRpIdHash(expected)).isTrue(),
+                () -> assertThat(serverProperty.matchesRpIdHash(different)).isFalse(),
+                () -> assertThat(serverProperty.matchesRpIdHash(null)).isFalse(),
+                () -> assertThat(new ServerProperty(null, null, null, null).matchesRpIdHash(expected)).isFalse()
+        );
+    }
+
+    @Test
+    void withChallenge_test() {
+        byte[] tokenBindingId = new byte[]{0x01, 0x23};
+        ServerProperty template = new ServerProperty(new Origin("https://example.com"), "example.com", null, tokenBindingId);
+        Challenge challenge = new DefaultChallenge();
+
+        ServerProperty serverProperty = template.withChallenge(challenge);
+
+        assertAll(
+                () -> assertThat(serverProperty).isEqualTo(new ServerProperty(new Origin("https://example.com"), "example.com", challenge, tokenBindingId)),
+                () -> assertThat(serverProperty.getRpIdHash()).isEqualTo(template.getRpIdHash()),
+                () -> assertThat(template.getChallenge()).isNull()
+        );
+    }
 }
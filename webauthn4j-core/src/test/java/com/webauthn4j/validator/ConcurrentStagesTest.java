@@ -0,0 +1,126 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.validator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConcurrentStagesTest {
+
+    @Test
+    void run_test() {
+        AtomicInteger count = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            ConcurrentStages.run(Arrays.asList(count::incrementAndGet, count::incrementAndGet, count::incrementAndGet), executorService);
+        } finally {
+            executorService.shutdown();
+        }
+        assertThat(count).hasValue(3);
+    }
+
+    @Test
+    void run_throws_exception_of_earliest_failed_stage_test() {
+        CountDownLatch laterStageFailed = new CountDownLatch(1);
+        IllegalStateException earlier = new IllegalStateException("earlier");
+        IllegalStateException later = new IllegalStateException("later");
+        List<Runnable> stages = Arrays.asList(
+                () -> {
+                },
+                () -> {
+                    await(laterStageFailed);
+                    throw earlier;
+                },
+                () -> {
+                    laterStageFailed.countDown();
+                    throw later;
+                }
+        );
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> ConcurrentStages.run(stages, executorService));
+            assertThat(thrown).isSameAs(earlier);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    void run_cancels_stages_after_failed_one_test() {
+        List<Runnable> queued = new ArrayList<>();
+        AtomicInteger laterStageRuns = new AtomicInteger();
+        IllegalStateException failure = new IllegalStateException();
+        List<Runnable> stages = Arrays.asList(
+                () -> {
+                    // the first forked stage fails before the calling thread waits for any stage
+                    queued.get(0).run();
+                },
+                () -> {
+                    throw failure;
+                },
+                laterStageRuns::incrementAndGet
+        );
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> ConcurrentStages.run(stages, queued::add));
+        queued.forEach(Runnable::run);
+
+        assertAll(
+                () -> assertThat(thrown).isSameAs(failure),
+                () -> assertThat(laterStageRuns).hasValue(0)
+        );
+    }
+
+    @Test
+    void run_runs_unstarted_stages_on_calling_thread_test() {
+        Thread callingThread = Thread.currentThread();
+        List<Thread> threads = new ArrayList<>();
+        // an executor which never runs the tasks, like a saturated one
+        ConcurrentStages.run(Arrays.asList(() -> threads.add(Thread.currentThread()), () -> threads.add(Thread.currentThread())), command -> {
+        });
+        assertThat(threads).containsExactly(callingThread, callingThread);
+    }
+
+    @Test
+    void run_with_rejecting_executor_test() {
+        AtomicInteger count = new AtomicInteger();
+        ConcurrentStages.run(Arrays.asList(count::incrementAndGet, count::incrementAndGet), command -> {
+            throw new RejectedExecutionException();
+        });
+        assertThat(count).hasValue(2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
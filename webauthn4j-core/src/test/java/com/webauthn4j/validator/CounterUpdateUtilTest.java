@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.validator;
+
+import com.webauthn4j.authenticator.AuthenticatorImpl;
+import com.webauthn4j.authenticator.CoreAuthenticator;
+import com.webauthn4j.data.attestation.AttestationObject;
+import com.webauthn4j.test.TestDataUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.*;
+
+class CounterUpdateUtilTest {
+
+    @Test
+    void update_with_non_atomic_authenticator_test() {
+        CoreAuthenticator authenticator = mock(CoreAuthenticator.class);
+        when(authenticator.getCounter()).thenReturn(1L);
+        assertAll(
+                () -> assertThat(CounterUpdateUtil.update(authenticator, 1)).isFalse(),
+                () -> assertThat(CounterUpdateUtil.update(authenticator, 2)).isTrue()
+        );
+        verify(authenticator).setCounter(2);
+    }
+
+    @Test
+    void update_with_zero_counters_test() {
+        CoreAuthenticator authenticator = createAuthenticator(0);
+        assertAll(
+                () -> assertThat(CounterUpdateUtil.update(authenticator, 0)).isTrue(),
+                () -> assertThat(authenticator.getCounter()).isZero()
+        );
+    }
+
+    @Test
+    void update_concurrently_test() throws Exception {
+        CoreAuthenticator authenticator = createAuthenticator(0);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        try {
+            for (long i = 1; i <= 1000; i++) {
+                long presentedCounter = i;
+                futures.add(executorService.submit(() -> CounterUpdateUtil.update(authenticator, presentedCounter)));
+            }
+            for (Future<Boolean> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        // whichever order the updates ran in, the counter never moved backwards
+        assertThat(authenticator.getCounter()).isEqualTo(1000);
+    }
+
+    private CoreAuthenticator createAuthenticator(long counter) {
+        AttestationObject attestationObject = TestDataUtil.createAttestationObjectWithFIDOU2FAttestationStatement();
+        return new AuthenticatorImpl(attestationObject.getAuthenticatorData().getAttestedCredentialData(), attestationObject.getAttestationStatement(), counter);
+    }
+}
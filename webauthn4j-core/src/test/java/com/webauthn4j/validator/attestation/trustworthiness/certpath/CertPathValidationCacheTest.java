@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.validator.attestation.trustworthiness.certpath;
+
+import com.webauthn4j.test.TestAttestationUtil;
+import com.webauthn4j.util.CertificateUtil;
+import org.junit.jupiter.api.Test;
+
+import java.security.cert.CertPath;
+import java.security.cert.PKIXCertPathValidatorResult;
+import java.security.cert.TrustAnchor;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CertPathValidationCacheTest {
+
+    private final CertPath certPath = TestAttestationUtil.load2tierTestAttestationCertificatePath().createCertPath();
+    private final Set<TrustAnchor> trustAnchors = createTrustAnchors();
+    private final PKIXCertPathValidatorResult result = new PKIXCertPathValidatorResult(trustAnchors.iterator().next(), null,
+            TestAttestationUtil.load2tierTestAttestationCertificatePath().getEndEntityAttestationCertificate().getCertificate().getPublicKey());
+    private final Instant now = TestAttestationUtil.load2tierTestAttestationCertificatePath().get(0).getNotBefore().toInstant().plus(Duration.ofDays(1));
+    private final Clock clock = mock(Clock.class);
+
+    @Test
+    void get_after_put_test() {
+        when(clock.instant()).thenReturn(now);
+        CertPathValidationCache target = new CertPathValidationCache(10, null, clock);
+        assertThat(target.get(certPath, trustAnchors)).isNull();
+        target.put(certPath, trustAnchors, result);
+        assertAll(
+                () -> assertThat(target.get(certPath, trustAnchors)).isSameAs(result),
+                () -> assertThat(target.getHitCount()).isEqualTo(1),
+                () -> assertThat(target.getMissCount()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void get_with_reloaded_trustAnchors_test() {
+        when(clock.instant()).thenReturn(now);
+        CertPathValidationCache target = new CertPathValidationCache(10, null, clock);
+        target.put(certPath, trustAnchors, result);
+        // TrustAnchor instances are regenerated on reload
+        assertThat(target.get(certPath, createTrustAnchors())).isNull();
+    }
+
+    @Test
+    void get_after_ttl_test() {
+        when(clock.instant()).thenReturn(now);
+        CertPathValidationCache target = new CertPathValidationCache(10, Duration.ofMinutes(5), clock);
+        target.put(certPath, trustAnchors, result);
+        when(clock.instant()).thenReturn(now.plus(Duration.ofMinutes(6)));
+        assertThat(target.get(certPath, trustAnchors)).isNull();
+    }
+
+    @Test
+    void get_outside_of_certificate_validity_test() {
+        when(clock.instant()).thenReturn(now);
+        CertPathValidationCache target = new CertPathValidationCache(10, null, clock);
+        target.put(certPath, trustAnchors, result);
+        when(clock.instant()).thenReturn(Instant.parse("2200-01-01T00:00:00Z"));
+        assertThat(target.get(certPath, trustAnchors)).isNull();
+    }
+
+    @Test
+    void lru_eviction_test() {
+        when(clock.instant()).thenReturn(now);
+        CertPathValidationCache target = new CertPathValidationCache(1, null, clock);
+        CertPath otherCertPath = TestAttestationUtil.load3tierTestAttestationCertificatePath().createCertPath();
+        target.put(certPath, trustAnchors, result);
+        target.put(otherCertPath, trustAnchors, result);
+        assertAll(
+                () -> assertThat(target.size()).isEqualTo(1),
+                () -> assertThat(target.get(certPath, trustAnchors)).isNull()
+        );
+    }
+
+    @Test
+    void invalidate_test() {
+        when(clock.instant()).thenReturn(now);
+        CertPathValidationCache target = new CertPathValidationCache(10, null, clock);
+        target.put(certPath, trustAnchors, result);
+        target.invalidate();
+        assertThat(target.get(certPath, trustAnchors)).isNull();
+    }
+
+    @Test
+    void constructor_with_invalid_maxEntries_test() {
+        assertThrows(IllegalArgumentException.class, () -> new CertPathValidationCache(0));
+    }
+
+    private static Set<TrustAnchor> createTrustAnchors() {
+        return CertificateUtil.generateTrustAnchors(Collections.singletonList(TestAttestationUtil.load2tierTestRootCACertificate()));
+    }
+}
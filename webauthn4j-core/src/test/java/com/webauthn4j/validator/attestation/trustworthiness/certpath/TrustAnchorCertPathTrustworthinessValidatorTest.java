@@ -33,6 +33,7 @@ import java.util.Collections;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -54,6 +55,25 @@ class TrustAnchorCertPathTrustworthinessValidatorTest {
         target.validate(aaguid, attestationStatement);
     }
 
+    @Test
+    void validate_with_certPathValidationCache_test() {
+
+        Set<TrustAnchor> trustAnchors = CertificateUtil.generateTrustAnchors(
+                Collections.singletonList(TestAttestationUtil.load2tierTestRootCACertificate()));
+        when(trustAnchorsResolver.resolve(aaguid)).thenReturn(trustAnchors);
+        CertPathValidationCache certPathValidationCache = new CertPathValidationCache(10);
+        target.setCertPathValidationCache(certPathValidationCache);
+
+        CertificateBaseAttestationStatement attestationStatement = TestAttestationStatementUtil.createFIDOU2FAttestationStatement(TestAttestationUtil.load2tierTestAttestationCertificatePath());
+        target.validate(aaguid, attestationStatement);
+        target.validate(aaguid, attestationStatement);
+        assertAll(
+                () -> assertThat(target.getCertPathValidationCache()).isSameAs(certPathValidationCache),
+                () -> assertThat(certPathValidationCache.getMissCount()).isEqualTo(1),
+                () -> assertThat(certPathValidationCache.getHitCount()).isEqualTo(1)
+        );
+    }
+
     @Test
     void validate_with_empty_trustAnchors_test() {
 
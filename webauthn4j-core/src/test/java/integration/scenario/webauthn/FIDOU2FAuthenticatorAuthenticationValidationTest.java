@@ -40,7 +40,13 @@ import com.webauthn4j.util.CollectionUtil;
 import com.webauthn4j.validator.exception.*;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
@@ -114,6 +120,166 @@ class FIDOU2FAuthenticatorAuthenticationValidationTest {
         );
     }
 
+    @Test
+    void validateAsync_test() {
+        String rpId = "example.com";
+        long timeout = 0;
+        Challenge challenge = new DefaultChallenge();
+
+        // create
+        AttestationObject attestationObject = createAttestationObject(rpId, challenge);
+
+        // get
+        PublicKeyCredentialRequestOptions credentialRequestOptions = new PublicKeyCredentialRequestOptions(
+                challenge,
+                timeout,
+                rpId,
+                Collections.singletonList(
+                        new PublicKeyCredentialDescriptor(
+                                PublicKeyCredentialType.PUBLIC_KEY,
+                                attestationObject.getAuthenticatorData().getAttestedCredentialData().getCredentialId(),
+                                CollectionUtil.unmodifiableSet(AuthenticatorTransport.USB, AuthenticatorTransport.NFC, AuthenticatorTransport.BLE)
+                        )
+                ),
+                UserVerificationRequirement.DISCOURAGED,
+                null
+        );
+        PublicKeyCredential<AuthenticatorAssertionResponse, AuthenticationExtensionClientOutput> credential = clientPlatform.get(credentialRequestOptions);
+        AuthenticatorAssertionResponse authenticationRequest = credential.getAuthenticatorResponse();
+        AuthenticationExtensionsClientOutputs<AuthenticationExtensionClientOutput> clientExtensionResults = credential.getClientExtensionResults();
+        String clientExtensionJSON = authenticationExtensionsClientOutputsConverter.convertToString(clientExtensionResults);
+
+        ServerProperty serverProperty = new ServerProperty(origin, rpId, challenge, null);
+        Authenticator authenticator = TestDataUtil.createAuthenticator(attestationObject);
+
+        AuthenticationRequest webAuthnAuthenticationRequest =
+                new AuthenticationRequest(
+                        credential.getRawId(),
+                        authenticationRequest.getAuthenticatorData(),
+                        authenticationRequest.getClientDataJSON(),
+                        clientExtensionJSON,
+                        authenticationRequest.getSignature()
+                );
+        AuthenticationParameters webAuthnAuthenticationParameters =
+                new AuthenticationParameters(
+                        serverProperty,
+                        authenticator,
+                        false,
+                        true
+                );
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        AuthenticationData response;
+        try {
+            response = target.validateAsync(webAuthnAuthenticationRequest, webAuthnAuthenticationParameters, executorService).toCompletableFuture().join();
+        } finally {
+            executorService.shutdown();
+        }
+
+        assertAll(
+                () -> assertThat(response.getCollectedClientData()).isNotNull(),
+                () -> assertThat(response.getAuthenticatorData()).isNotNull(),
+                () -> assertThat(response.getClientExtensions()).isNotNull()
+        );
+    }
+
+    @Test
+    void validateAsync_with_bad_challenge_test() {
+        String rpId = "example.com";
+        long timeout = 0;
+        Challenge challenge = new DefaultChallenge();
+
+        // create
+        AttestationObject attestationObject = createAttestationObject(rpId, challenge);
+
+        // get
+        PublicKeyCredentialRequestOptions credentialRequestOptions = new PublicKeyCredentialRequestOptions(
+                challenge,
+                timeout,
+                rpId,
+                Collections.singletonList(
+                        new PublicKeyCredentialDescriptor(
+                                PublicKeyCredentialType.PUBLIC_KEY,
+                                attestationObject.getAuthenticatorData().getAttestedCredentialData().getCredentialId(),
+                                CollectionUtil.unmodifiableSet(AuthenticatorTransport.USB, AuthenticatorTransport.NFC, AuthenticatorTransport.BLE)
+                        )
+                ),
+                UserVerificationRequirement.DISCOURAGED,
+                null
+        );
+        PublicKeyCredential<AuthenticatorAssertionResponse, AuthenticationExtensionClientOutput> credential = clientPlatform.get(credentialRequestOptions);
+        AuthenticatorAssertionResponse authenticationRequest = credential.getAuthenticatorResponse();
+        AuthenticationExtensionsClientOutputs<AuthenticationExtensionClientOutput> clientExtensionResults = credential.getClientExtensionResults();
+        String clientExtensionJSON = authenticationExtensionsClientOutputsConverter.convertToString(clientExtensionResults);
+
+        ServerProperty serverProperty = new ServerProperty(origin, rpId, new DefaultChallenge(), null);
+        Authenticator authenticator = TestDataUtil.createAuthenticator(attestationObject);
+
+        AuthenticationRequest webAuthnAuthenticationRequest =
+                new AuthenticationRequest(
+                        credential.getRawId(),
+                        authenticationRequest.getAuthenticatorData(),
+                        authenticationRequest.getClientDataJSON(),
+                        clientExtensionJSON,
+                        authenticationRequest.getSignature()
+                );
+        AuthenticationParameters webAuthnAuthenticationParameters =
+                new AuthenticationParameters(
+                        serverProperty,
+                        authenticator,
+                        false,
+                        true
+                );
+
+        Executor executor = command -> {
+            throw new IllegalStateException("executor must not be used once an inline stage fails");
+        };
+        Throwable throwable = target.validateAsync(webAuthnAuthenticationRequest, webAuthnAuthenticationParameters, executor)
+                .handle((result, e) -> e).toCompletableFuture().join();
+
+        assertThat(throwable).isInstanceOf(BadChallengeException.class);
+    }
+
+    @Test
+    void validateAll_test() {
+        String rpId = "example.com";
+        Challenge challenge = new DefaultChallenge();
+        ServerProperty serverProperty = new ServerProperty(origin, rpId, challenge, null);
+
+        AttestationObject attestationObjectA = createAttestationObject(rpId, challenge);
+        AttestationObject attestationObjectB = createAttestationObject(rpId, challenge);
+        AuthenticationRequest a1 = createAuthenticationRequest(rpId, challenge, attestationObjectA);
+        AuthenticationRequest b1 = createAuthenticationRequest(rpId, challenge, attestationObjectB);
+        AuthenticationRequest a2 = createAuthenticationRequest(rpId, challenge, attestationObjectA);
+        List<AuthenticationRequest> authenticationRequests = Arrays.asList(a1, b1, a2, a1);
+
+        // a fresh authenticator with the stored counter is resolved for every request
+        ForkJoinPool pool = new ForkJoinPool(2);
+        List<AuthenticationValidationResult> results;
+        try {
+            results = target.validateAll(authenticationRequests, authenticationRequest -> {
+                AttestationObject attestationObject = Arrays.equals(authenticationRequest.getCredentialId(), a1.getCredentialId()) ? attestationObjectA : attestationObjectB;
+                return new AuthenticationParameters(serverProperty, TestDataUtil.createAuthenticator(attestationObject), false, true);
+            }, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertAll(
+                () -> assertThat(results).hasSize(4),
+                () -> assertThat(results.get(0).isSuccess()).isTrue(),
+                () -> assertThat(results.get(0).getAuthenticationRequest()).isEqualTo(a1),
+                () -> assertThat(results.get(1).isSuccess()).isTrue(),
+                () -> assertThat(results.get(2).isSuccess()).isTrue(),
+                () -> assertThat(results.get(2).getAuthenticationData().getAuthenticatorData().getSignCount())
+                        .isGreaterThan(results.get(0).getAuthenticationData().getAuthenticatorData().getSignCount()),
+                // replaying a1 after a2 is rejected as the counter has already moved forward within the batch
+                () -> assertThat(results.get(3).isSuccess()).isFalse(),
+                () -> assertThat(results.get(3).getAuthenticationData()).isNull(),
+                () -> assertThat(results.get(3).getException()).isInstanceOf(MaliciousCounterValueException.class)
+        );
+    }
+
     @Test
     void validate_assertion_test_with_bad_clientData_type() {
         String rpId = "example.com";
@@ -512,6 +678,31 @@ class FIDOU2FAuthenticatorAuthenticationValidationTest {
         );
     }
 
+    private AuthenticationRequest createAuthenticationRequest(String rpId, Challenge challenge, AttestationObject attestationObject) {
+        PublicKeyCredentialRequestOptions credentialRequestOptions = new PublicKeyCredentialRequestOptions(
+                challenge,
+                0L,
+                rpId,
+                Collections.singletonList(
+                        new PublicKeyCredentialDescriptor(
+                                PublicKeyCredentialType.PUBLIC_KEY,
+                                attestationObject.getAuthenticatorData().getAttestedCredentialData().getCredentialId(),
+                                CollectionUtil.unmodifiableSet(AuthenticatorTransport.USB, AuthenticatorTransport.NFC, AuthenticatorTransport.BLE)
+                        )
+                ),
+                UserVerificationRequirement.DISCOURAGED,
+                null
+        );
+        PublicKeyCredential<AuthenticatorAssertionResponse, AuthenticationExtensionClientOutput> credential = clientPlatform.get(credentialRequestOptions);
+        AuthenticatorAssertionResponse authenticatorAssertionResponse = credential.getAuthenticatorResponse();
+        return new AuthenticationRequest(
+                credential.getRawId(),
+                authenticatorAssertionResponse.getAuthenticatorData(),
+                authenticatorAssertionResponse.getClientDataJSON(),
+                authenticatorAssertionResponse.getSignature()
+        );
+    }
+
     private AttestationObject createAttestationObject(String rpId, Challenge challenge) {
         PublicKeyCredentialParameters publicKeyCredentialParameters
                 = new PublicKeyCredentialParameters(PublicKeyCredentialType.PUBLIC_KEY, COSEAlgorithmIdentifier.ES256);
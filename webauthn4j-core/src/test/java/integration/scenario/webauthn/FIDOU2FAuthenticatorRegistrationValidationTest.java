@@ -17,12 +17,15 @@
 package integration.scenario.webauthn;
 
 import com.webauthn4j.WebAuthnManager;
+import com.webauthn4j.anchor.CachingTrustAnchorsProviderBase;
 import com.webauthn4j.anchor.TrustAnchorsResolver;
+import com.webauthn4j.anchor.TrustAnchorsResolverImpl;
 import com.webauthn4j.converter.AuthenticationExtensionsClientOutputsConverter;
 import com.webauthn4j.converter.AuthenticatorTransportConverter;
 import com.webauthn4j.converter.CollectedClientDataConverter;
 import com.webauthn4j.converter.util.ObjectConverter;
 import com.webauthn4j.data.*;
+import com.webauthn4j.data.attestation.authenticator.AAGUID;
 import com.webauthn4j.data.attestation.statement.COSEAlgorithmIdentifier;
 import com.webauthn4j.data.client.ClientDataType;
 import com.webauthn4j.data.client.CollectedClientData;
@@ -42,8 +45,17 @@ import com.webauthn4j.validator.attestation.trustworthiness.self.DefaultSelfAtte
 import com.webauthn4j.validator.exception.*;
 import org.junit.jupiter.api.Test;
 
+import java.security.cert.TrustAnchor;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -116,6 +128,269 @@ class FIDOU2FAuthenticatorRegistrationValidationTest {
         );
     }
 
+    @Test
+    void validate_with_parallelStageExecutor_test() {
+        String rpId = "example.com";
+        Challenge challenge = new DefaultChallenge();
+
+        PublicKeyCredentialParameters publicKeyCredentialParameters
+                = new PublicKeyCredentialParameters(PublicKeyCredentialType.PUBLIC_KEY, COSEAlgorithmIdentifier.ES256);
+
+        PublicKeyCredentialCreationOptions credentialCreationOptions = new PublicKeyCredentialCreationOptions(
+                new PublicKeyCredentialRpEntity(rpId, "example.com"),
+                new PublicKeyCredentialUserEntity(),
+                challenge,
+                Collections.singletonList(publicKeyCredentialParameters)
+        );
+
+        PublicKeyCredential<AuthenticatorAttestationResponse, RegistrationExtensionClientOutput> credential = clientPlatform.create(credentialCreationOptions);
+        AuthenticatorAttestationResponse authenticatorAttestationResponse = credential.getAuthenticatorResponse();
+        AuthenticationExtensionsClientOutputs<RegistrationExtensionClientOutput> clientExtensionResults = credential.getClientExtensionResults();
+        Set<String> transports = authenticatorTransportConverter.convertSetToStringSet(authenticatorAttestationResponse.getTransports());
+        String clientExtensionJSON = authenticationExtensionsClientOutputsConverter.convertToString(clientExtensionResults);
+        ServerProperty serverProperty = new ServerProperty(origin, rpId, challenge, null);
+        RegistrationRequest registrationRequest
+                = new RegistrationRequest(
+                authenticatorAttestationResponse.getAttestationObject(),
+                authenticatorAttestationResponse.getClientDataJSON(),
+                clientExtensionJSON,
+                transports
+        );
+        RegistrationParameters registrationParameters
+                = new RegistrationParameters(
+                serverProperty,
+                false,
+                true
+        );
+
+        List<Thread> customValidatorThreads = Collections.synchronizedList(new ArrayList<>());
+        target.getRegistrationDataValidator().getCustomRegistrationValidators().add(registrationObject -> customValidatorThreads.add(Thread.currentThread()));
+        target.getRegistrationDataValidator().getCustomRegistrationValidators().add(registrationObject -> customValidatorThreads.add(Thread.currentThread()));
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        RegistrationData response;
+        try {
+            target.getRegistrationDataValidator().setParallelStageExecutor(executorService);
+            response = target.validate(registrationRequest, registrationParameters);
+        } finally {
+            executorService.shutdown();
+        }
+
+        assertAll(
+                () -> assertThat(response.getCollectedClientData()).isNotNull(),
+                () -> assertThat(response.getAttestationObject()).isNotNull(),
+                () -> assertThat(response.getClientExtensions()).isNotNull(),
+                () -> assertThat(customValidatorThreads).hasSize(2)
+        );
+    }
+
+    @Test
+    void validate_with_parallelStageExecutor_and_failing_custom_validator_test() {
+        String rpId = "example.com";
+        Challenge challenge = new DefaultChallenge();
+
+        PublicKeyCredentialParameters publicKeyCredentialParameters
+                = new PublicKeyCredentialParameters(PublicKeyCredentialType.PUBLIC_KEY, COSEAlgorithmIdentifier.ES256);
+
+        PublicKeyCredentialCreationOptions credentialCreationOptions = new PublicKeyCredentialCreationOptions(
+                new PublicKeyCredentialRpEntity(rpId, "example.com"),
+                new PublicKeyCredentialUserEntity(),
+                challenge,
+                Collections.singletonList(publicKeyCredentialParameters)
+        );
+
+        PublicKeyCredential<AuthenticatorAttestationResponse, RegistrationExtensionClientOutput> credential = clientPlatform.create(credentialCreationOptions);
+        AuthenticatorAttestationResponse authenticatorAttestationResponse = credential.getAuthenticatorResponse();
+        AuthenticationExtensionsClientOutputs<RegistrationExtensionClientOutput> clientExtensionResults = credential.getClientExtensionResults();
+        Set<String> transports = authenticatorTransportConverter.convertSetToStringSet(authenticatorAttestationResponse.getTransports());
+        String clientExtensionJSON = authenticationExtensionsClientOutputsConverter.convertToString(clientExtensionResults);
+        ServerProperty serverProperty = new ServerProperty(origin, rpId, challenge, null);
+        RegistrationRequest registrationRequest
+                = new RegistrationRequest(
+                authenticatorAttestationResponse.getAttestationObject(),
+                authenticatorAttestationResponse.getClientDataJSON(),
+                clientExtensionJSON,
+                transports
+        );
+        RegistrationParameters registrationParameters
+                = new RegistrationParameters(
+                serverProperty,
+                false,
+                true
+        );
+
+        target.getRegistrationDataValidator().getCustomRegistrationValidators().add(registrationObject -> {
+            throw new BadAttestationStatementException("rejected by custom validator");
+        });
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            target.getRegistrationDataValidator().setParallelStageExecutor(executorService);
+            assertThrows(BadAttestationStatementException.class,
+                    () -> target.validate(registrationRequest, registrationParameters)
+            );
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    void validateAsync_test() {
+        String rpId = "example.com";
+        Challenge challenge = new DefaultChallenge();
+
+        PublicKeyCredentialParameters publicKeyCredentialParameters
+                = new PublicKeyCredentialParameters(PublicKeyCredentialType.PUBLIC_KEY, COSEAlgorithmIdentifier.ES256);
+
+        PublicKeyCredentialCreationOptions credentialCreationOptions = new PublicKeyCredentialCreationOptions(
+                new PublicKeyCredentialRpEntity(rpId, "example.com"),
+                new PublicKeyCredentialUserEntity(),
+                challenge,
+                Collections.singletonList(publicKeyCredentialParameters)
+        );
+
+        PublicKeyCredential<AuthenticatorAttestationResponse, RegistrationExtensionClientOutput> credential = clientPlatform.create(credentialCreationOptions);
+        AuthenticatorAttestationResponse authenticatorAttestationResponse = credential.getAuthenticatorResponse();
+        AuthenticationExtensionsClientOutputs<RegistrationExtensionClientOutput> clientExtensionResults = credential.getClientExtensionResults();
+        Set<String> transports = authenticatorTransportConverter.convertSetToStringSet(authenticatorAttestationResponse.getTransports());
+        String clientExtensionJSON = authenticationExtensionsClientOutputsConverter.convertToString(clientExtensionResults);
+        ServerProperty serverProperty = new ServerProperty(origin, rpId, challenge, null);
+        RegistrationRequest registrationRequest
+                = new RegistrationRequest(
+                authenticatorAttestationResponse.getAttestationObject(),
+                authenticatorAttestationResponse.getClientDataJSON(),
+                clientExtensionJSON,
+                transports
+        );
+        RegistrationParameters registrationParameters
+                = new RegistrationParameters(
+                serverProperty,
+                false,
+                true
+        );
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        RegistrationData response;
+        try {
+            response = target.validateAsync(registrationRequest, registrationParameters, executorService).toCompletableFuture().join();
+        } finally {
+            executorService.shutdown();
+        }
+
+        assertAll(
+                () -> assertThat(response.getCollectedClientData()).isNotNull(),
+                () -> assertThat(response.getAttestationObject()).isNotNull(),
+                () -> assertThat(response.getClientExtensions()).isNotNull()
+        );
+    }
+
+    @Test
+    void validateAsync_with_loaded_trust_anchors_does_not_use_executor_test() {
+        String rpId = "example.com";
+        Challenge challenge = new DefaultChallenge();
+
+        PublicKeyCredentialParameters publicKeyCredentialParameters
+                = new PublicKeyCredentialParameters(PublicKeyCredentialType.PUBLIC_KEY, COSEAlgorithmIdentifier.ES256);
+
+        PublicKeyCredentialCreationOptions credentialCreationOptions = new PublicKeyCredentialCreationOptions(
+                new PublicKeyCredentialRpEntity(rpId, "example.com"),
+                new PublicKeyCredentialUserEntity(),
+                challenge,
+                Collections.singletonList(publicKeyCredentialParameters)
+        );
+
+        PublicKeyCredential<AuthenticatorAttestationResponse, RegistrationExtensionClientOutput> credential = clientPlatform.create(credentialCreationOptions);
+        AuthenticatorAttestationResponse authenticatorAttestationResponse = credential.getAuthenticatorResponse();
+        AuthenticationExtensionsClientOutputs<RegistrationExtensionClientOutput> clientExtensionResults = credential.getClientExtensionResults();
+        Set<String> transports = authenticatorTransportConverter.convertSetToStringSet(authenticatorAttestationResponse.getTransports());
+        String clientExtensionJSON = authenticationExtensionsClientOutputsConverter.convertToString(clientExtensionResults);
+        ServerProperty serverProperty = new ServerProperty(origin, rpId, challenge, null);
+        RegistrationRequest registrationRequest
+                = new RegistrationRequest(
+                authenticatorAttestationResponse.getAttestationObject(),
+                authenticatorAttestationResponse.getClientDataJSON(),
+                clientExtensionJSON,
+                transports
+        );
+        RegistrationParameters registrationParameters
+                = new RegistrationParameters(
+                serverProperty,
+                false,
+                true
+        );
+
+        CachingTrustAnchorsProviderBase trustAnchorsProvider = new CachingTrustAnchorsProviderBase() {
+            @Override
+            protected Map<AAGUID, Set<TrustAnchor>> loadTrustAnchors() {
+                return Collections.singletonMap(AAGUID.NULL, Collections.singleton(new TrustAnchor(TestAttestationUtil.load2tierTestRootCACertificate(), null)));
+            }
+        };
+        WebAuthnManager webAuthnManager = new WebAuthnManager(
+                Arrays.asList(noneAttestationStatementValidator, fidoU2FAttestationStatementValidator),
+                new TrustAnchorCertPathTrustworthinessValidator(new TrustAnchorsResolverImpl(trustAnchorsProvider)),
+                new DefaultSelfAttestationTrustworthinessValidator()
+        );
+        AtomicInteger executions = new AtomicInteger();
+        Executor executor = command -> {
+            executions.incrementAndGet();
+            command.run();
+        };
+
+        CompletableFuture<RegistrationData> cold = webAuthnManager.validateAsync(registrationRequest, registrationParameters, executor).toCompletableFuture();
+        int coldExecutions = executions.getAndSet(0);
+        CompletableFuture<RegistrationData> warm = webAuthnManager.validateAsync(registrationRequest, registrationParameters, executor).toCompletableFuture();
+
+        assertAll(
+                () -> assertThat(cold.join()).isNotNull(),
+                () -> assertThat(coldExecutions).isEqualTo(1),
+                () -> assertThat(warm.isDone()).isTrue(),
+                () -> assertThat(warm.join()).isNotNull(),
+                () -> assertThat(executions.get()).isZero()
+        );
+    }
+
+    @Test
+    void validateAsync_with_bad_challenge_test() {
+        String rpId = "example.com";
+        Challenge challenge = new DefaultChallenge();
+
+        PublicKeyCredentialParameters publicKeyCredentialParameters
+                = new PublicKeyCredentialParameters(PublicKeyCredentialType.PUBLIC_KEY, COSEAlgorithmIdentifier.ES256);
+
+        PublicKeyCredentialCreationOptions credentialCreationOptions = new PublicKeyCredentialCreationOptions(
+                new PublicKeyCredentialRpEntity(rpId, "example.com"),
+                new PublicKeyCredentialUserEntity(),
+                challenge,
+                Collections.singletonList(publicKeyCredentialParameters)
+        );
+
+        PublicKeyCredential<AuthenticatorAttestationResponse, RegistrationExtensionClientOutput> credential = clientPlatform.create(credentialCreationOptions);
+        AuthenticatorAttestationResponse authenticatorAttestationResponse = credential.getAuthenticatorResponse();
+        AuthenticationExtensionsClientOutputs<RegistrationExtensionClientOutput> clientExtensionResults = credential.getClientExtensionResults();
+        Set<String> transports = authenticatorTransportConverter.convertSetToStringSet(authenticatorAttestationResponse.getTransports());
+        String clientExtensionJSON = authenticationExtensionsClientOutputsConverter.convertToString(clientExtensionResults);
+        ServerProperty serverProperty = new ServerProperty(origin, rpId, new DefaultChallenge(), null);
+        RegistrationRequest registrationRequest
+                = new RegistrationRequest(
+                authenticatorAttestationResponse.getAttestationObject(),
+                authenticatorAttestationResponse.getClientDataJSON(),
+                clientExtensionJSON,
+                transports
+        );
+        RegistrationParameters registrationParameters
+                = new RegistrationParameters(
+                serverProperty,
+                false,
+                true
+        );
+
+        Executor executor = command -> {
+            throw new IllegalStateException("executor must not be used once an inline stage fails");
+        };
+        Throwable throwable = target.validateAsync(registrationRequest, registrationParameters, executor)
+                .handle((result, e) -> e).toCompletableFuture().join();
+
+        assertThat(throwable).isInstanceOf(BadChallengeException.class);
+    }
+
     @SuppressWarnings("deprecation")
     @Test
     void validate_with_direct_attestation_conveyance_preference_test() {
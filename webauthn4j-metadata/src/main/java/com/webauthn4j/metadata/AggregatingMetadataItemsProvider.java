@@ -21,6 +21,7 @@ import com.webauthn4j.metadata.data.MetadataItem;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -32,6 +33,7 @@ public class AggregatingMetadataItemsProvider implements MetadataItemsProvider {
     private final Logger logger = LoggerFactory.getLogger(AggregatingMetadataItemsProvider.class);
 
     private final List<MetadataItemsProvider> metadataItemsProviders;
+    private final DerivedSnapshotCache<Map<AAGUID, Set<MetadataItem>>> cache = new DerivedSnapshotCache<>();
 
     public AggregatingMetadataItemsProvider(List<MetadataItemsProvider> metadataItemsProviders) {
         this.metadataItemsProviders = metadataItemsProviders;
@@ -40,16 +42,19 @@ public class AggregatingMetadataItemsProvider implements MetadataItemsProvider {
     @SuppressWarnings("Duplicates")
     @Override
     public Map<AAGUID, Set<MetadataItem>> provide() {
-        return metadataItemsProviders.stream()
-                .flatMap(provider -> {
+        List<Map<AAGUID, Set<MetadataItem>>> maps = metadataItemsProviders.stream()
+                .map(provider -> {
                     try {
-                        return provider.provide().entrySet().stream();
+                        return provider.provide();
                     } catch (RuntimeException e) {
                         logger.warn("Failed to load metadata from one of metadataItemsProviders", e);
                         return null;
                     }
                 })
                 .filter(Objects::nonNull)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+                .collect(Collectors.toList());
+        return cache.get(maps, () -> Collections.unmodifiableMap(maps.stream()
+                .flatMap(map -> map.entrySet().stream())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue))));
     }
 }
@@ -21,6 +21,7 @@ import com.webauthn4j.metadata.data.statement.MetadataStatement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -32,6 +33,7 @@ public class AggregatingMetadataStatementsProvider implements MetadataStatements
     private final Logger logger = LoggerFactory.getLogger(AggregatingMetadataStatementsProvider.class);
 
     private final List<MetadataStatementsProvider> metadataStatementsProviders;
+    private final DerivedSnapshotCache<Map<AAGUID, Set<MetadataStatement>>> cache = new DerivedSnapshotCache<>();
 
     public AggregatingMetadataStatementsProvider(List<MetadataStatementsProvider> metadataStatementsProviders) {
         this.metadataStatementsProviders = metadataStatementsProviders;
@@ -40,16 +42,19 @@ public class AggregatingMetadataStatementsProvider implements MetadataStatements
     @SuppressWarnings("Duplicates")
     @Override
     public Map<AAGUID, Set<MetadataStatement>> provide() {
-        return metadataStatementsProviders.stream()
-                .flatMap(provider -> {
+        List<Map<AAGUID, Set<MetadataStatement>>> maps = metadataStatementsProviders.stream()
+                .map(provider -> {
                     try {
-                        return provider.provide().entrySet().stream();
+                        return provider.provide();
                     } catch (RuntimeException e) {
                         logger.warn("Failed to load metadata from one of metadataStatementsProviders", e);
                         return null;
                     }
                 })
                 .filter(Objects::nonNull)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+                .collect(Collectors.toList());
+        return cache.get(maps, () -> Collections.unmodifiableMap(maps.stream()
+                .flatMap(map -> map.entrySet().stream())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue))));
     }
 }
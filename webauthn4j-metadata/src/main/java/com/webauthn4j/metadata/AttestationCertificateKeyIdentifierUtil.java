@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metadata;
+
+import com.webauthn4j.util.CryptoPrimitivesUtil;
+import com.webauthn4j.util.HexUtil;
+
+import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Utility to compute the attestation certificate key identifier, which is the lowercase hex encoded SHA-1 hash of
+ * the subjectPublicKey of the attestation certificate, used by metadata of authenticators without AAGUID.
+ */
+class AttestationCertificateKeyIdentifierUtil {
+
+    private static final int TAG_SEQUENCE = 0x30;
+    private static final int TAG_BIT_STRING = 0x03;
+
+    private AttestationCertificateKeyIdentifierUtil() {
+    }
+
+    static String compute(X509Certificate certificate) {
+        byte[] subjectPublicKey = extractSubjectPublicKey(certificate.getPublicKey().getEncoded());
+        byte[] hash = CryptoPrimitivesUtil.getMessageDigest("SHA-1").digest(subjectPublicKey);
+        return normalize(HexUtil.encodeToString(hash));
+    }
+
+    static String normalize(String keyIdentifier) {
+        return keyIdentifier.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Extracts the subjectPublicKey bit string value from the DER encoded SubjectPublicKeyInfo
+     */
+    private static byte[] extractSubjectPublicKey(byte[] subjectPublicKeyInfo) {
+        int[] position = {0};
+        expectTag(subjectPublicKeyInfo, position, TAG_SEQUENCE);
+        readLength(subjectPublicKeyInfo, position);
+        // skip the algorithm identifier
+        expectTag(subjectPublicKeyInfo, position, TAG_SEQUENCE);
+        int algorithmIdentifierLength = readLength(subjectPublicKeyInfo, position);
+        position[0] += algorithmIdentifierLength;
+        expectTag(subjectPublicKeyInfo, position, TAG_BIT_STRING);
+        int length = readLength(subjectPublicKeyInfo, position);
+        // the first byte of the bit string is the number of unused bits
+        int start = position[0] + 1;
+        int end = position[0] + length;
+        if (length < 1 || end > subjectPublicKeyInfo.length) {
+            throw new IllegalArgumentException("Invalid SubjectPublicKeyInfo");
+        }
+        return Arrays.copyOfRange(subjectPublicKeyInfo, start, end);
+    }
+
+    private static void expectTag(byte[] der, int[] position, int tag) {
+        if (position[0] >= der.length || (der[position[0]] & 0xFF) != tag) {
+            throw new IllegalArgumentException("Invalid SubjectPublicKeyInfo");
+        }
+        position[0]++;
+    }
+
+    private static int readLength(byte[] der, int[] position) {
+        if (position[0] >= der.length) {
+            throw new IllegalArgumentException("Invalid SubjectPublicKeyInfo");
+        }
+        int first = der[position[0]++] & 0xFF;
+        if (first < 0x80) {
+            return first;
+        }
+        int octets = first & 0x7F;
+        if (octets == 0 || octets > 3 || position[0] + octets > der.length) {
+            throw new IllegalArgumentException("Invalid SubjectPublicKeyInfo");
+        }
+        int length = 0;
+        for (int i = 0; i < octets; i++) {
+            length = (length << 8) | (der[position[0]++] & 0xFF);
+        }
+        return length;
+    }
+}
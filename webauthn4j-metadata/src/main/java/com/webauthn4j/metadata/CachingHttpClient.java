@@ -0,0 +1,234 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metadata;
+
+import com.webauthn4j.metadata.exception.MDSException;
+import com.webauthn4j.util.AssertUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * {@link HttpClient} implementation which reuses connections and avoids downloading unchanged resources.
+ * <p>
+ * Connections are kept alive and pooled by the JDK as long as response bodies are fully consumed, which this class
+ * always does, including error responses. Each response is remembered with its {@code ETag} and
+ * {@code Last-Modified} validators, and subsequent requests to the same URL are sent as conditional requests.
+ * When the server answers {@code 304 Not Modified}, the remembered body is returned.
+ * <p>
+ * At most {@link #getMaxCachedResponses()} responses are remembered, and the least recently used one is forgotten first.
+ */
+public class CachingHttpClient implements HttpClient {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int DEFAULT_MAX_CACHED_RESPONSES = 16;
+
+    private int maxCachedResponses = DEFAULT_MAX_CACHED_RESPONSES;
+    private final Map<String, CachedResponse> cache = Collections.synchronizedMap(new LinkedHashMap<String, CachedResponse>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+            return size() > maxCachedResponses;
+        }
+    });
+    private Duration connectTimeout = Duration.ofSeconds(10);
+    private Duration readTimeout = Duration.ofSeconds(30);
+
+    @Override
+    public String fetch(String url) {
+        CachedResponse cachedResponse = cache.get(url);
+        HttpURLConnection urlConnection = null;
+        try {
+            urlConnection = openConnection(url);
+            if (cachedResponse != null) {
+                if (cachedResponse.etag != null) {
+                    urlConnection.setRequestProperty("If-None-Match", cachedResponse.etag);
+                }
+                if (cachedResponse.lastModified != null) {
+                    urlConnection.setRequestProperty("If-Modified-Since", cachedResponse.lastModified);
+                }
+            }
+
+            int status = urlConnection.getResponseCode();
+            if (status == HttpURLConnection.HTTP_OK) {
+                String body;
+                try (InputStream inputStream = urlConnection.getInputStream()) {
+                    body = new String(readAll(inputStream), StandardCharsets.UTF_8);
+                }
+                String etag = urlConnection.getHeaderField("ETag");
+                String lastModified = urlConnection.getHeaderField("Last-Modified");
+                if (etag != null || lastModified != null) {
+                    cache.put(url, new CachedResponse(etag, lastModified, body));
+                } else {
+                    cache.remove(url);
+                }
+                return body;
+            }
+            drain(urlConnection.getErrorStream());
+            if (status == HttpURLConnection.HTTP_NOT_MODIFIED && cachedResponse != null) {
+                return cachedResponse.body;
+            }
+            throw new MDSException("failed to fetch " + url);
+        } catch (IOException e) {
+            if (urlConnection != null) {
+                try {
+                    drain(urlConnection.getErrorStream());
+                } catch (IOException ignored) {
+                    // the connection is not reused
+                }
+            }
+            throw new MDSException("failed to fetch " + url, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The body is streamed from the connection without being remembered, so that a large resource is not buffered in
+     * memory. The request is therefore not conditional.
+     */
+    @Override
+    public InputStream fetchAsStream(String url) {
+        HttpURLConnection urlConnection = null;
+        try {
+            urlConnection = openConnection(url);
+            if (urlConnection.getResponseCode() == HttpURLConnection.HTTP_OK) {
+                return urlConnection.getInputStream();
+            }
+            drain(urlConnection.getErrorStream());
+            throw new MDSException("failed to fetch " + url);
+        } catch (IOException e) {
+            if (urlConnection != null) {
+                try {
+                    drain(urlConnection.getErrorStream());
+                } catch (IOException ignored) {
+                    // the connection is not reused
+                }
+            }
+            throw new MDSException("failed to fetch " + url, e);
+        }
+    }
+
+    private HttpURLConnection openConnection(String url) throws IOException {
+        HttpURLConnection urlConnection = (HttpURLConnection) new URL(url).openConnection();
+        urlConnection.setRequestMethod("GET");
+        urlConnection.setConnectTimeout((int) connectTimeout.toMillis());
+        urlConnection.setReadTimeout((int) readTimeout.toMillis());
+        urlConnection.setUseCaches(false);
+        return urlConnection;
+    }
+
+    /**
+     * Forgets all the remembered responses
+     */
+    public void clearCache() {
+        cache.clear();
+    }
+
+    /**
+     * Forgets the remembered responses except for the specified URLs, e.g. the ones no longer listed in the TOC
+     *
+     * @param urls URLs to keep remembering
+     */
+    public void retainCache(Collection<String> urls) {
+        AssertUtil.notNull(urls, "urls must not be null");
+        Set<String> retained = new HashSet<>(urls);
+        synchronized (cache) {
+            cache.keySet().retainAll(retained);
+        }
+    }
+
+    public int getMaxCachedResponses() {
+        return maxCachedResponses;
+    }
+
+    /**
+     * Sets how many responses are remembered at most. Defaults to 16.
+     *
+     * @param maxCachedResponses the maximum number of remembered responses
+     */
+    public void setMaxCachedResponses(int maxCachedResponses) {
+        AssertUtil.isTrue(maxCachedResponses >= 0, "maxCachedResponses must not be negative");
+        synchronized (cache) {
+            this.maxCachedResponses = maxCachedResponses;
+            Iterator<String> iterator = cache.keySet().iterator();
+            while (cache.size() > maxCachedResponses && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        AssertUtil.notNull(connectTimeout, "connectTimeout must not be null");
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(Duration readTimeout) {
+        AssertUtil.notNull(readTimeout, "readTimeout must not be null");
+        this.readTimeout = readTimeout;
+    }
+
+    private static byte[] readAll(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int length;
+        while ((length = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, length);
+        }
+        return outputStream.toByteArray();
+    }
+
+    // consumes the body so that the connection can be returned to the keep-alive pool
+    private static void drain(InputStream inputStream) throws IOException {
+        if (inputStream == null) {
+            return;
+        }
+        try (InputStream closeable = inputStream) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            //noinspection StatementWithEmptyBody
+            while (closeable.read(buffer) != -1) {
+            }
+        }
+    }
+
+    private static class CachedResponse {
+
+        private final String etag;
+        private final String lastModified;
+        private final String body;
+
+        CachedResponse(String etag, String lastModified, String body) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.body = body;
+        }
+    }
+}
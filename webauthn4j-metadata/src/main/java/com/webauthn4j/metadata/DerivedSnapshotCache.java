@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metadata;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Holds a value derived from the data provided by upstream providers, and rebuilds it only when one of them
+ * provides new data. Upstream data is compared by identity, as providers return the same instance until they reload.
+ * The snapshot is swapped without locking. Concurrent rebuilds are harmless, the last one wins.
+ *
+ * @param <T> derived value type
+ */
+class DerivedSnapshotCache<T> {
+
+    private volatile Snapshot<T> snapshot;
+
+    T get(Object source, Supplier<T> builder) {
+        Snapshot<T> current = snapshot;
+        if (current == null || current.sources.size() != 1 || current.sources.get(0) != source) {
+            current = new Snapshot<>(Collections.singletonList(source), builder.get());
+            snapshot = current;
+        }
+        return current.value;
+    }
+
+    T get(List<?> sources, Supplier<T> builder) {
+        Snapshot<T> current = snapshot;
+        if (current == null || !current.isDerivedFrom(sources)) {
+            current = new Snapshot<>(new ArrayList<>(sources), builder.get());
+            snapshot = current;
+        }
+        return current.value;
+    }
+
+    private static class Snapshot<T> {
+
+        private final List<?> sources;
+        private final T value;
+
+        Snapshot(List<?> sources, T value) {
+            this.sources = sources;
+            this.value = value;
+        }
+
+        boolean isDerivedFrom(List<?> otherSources) {
+            if (sources.size() != otherSources.size()) {
+                return false;
+            }
+            for (int i = 0; i < sources.size(); i++) {
+                if (sources.get(i) != otherSources.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
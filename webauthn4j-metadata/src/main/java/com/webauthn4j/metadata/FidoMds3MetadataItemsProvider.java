@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metadata;
+
+import com.webauthn4j.converter.util.ObjectConverter;
+import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.metadata.data.MetadataItem;
+import com.webauthn4j.metadata.exception.MDSException;
+import com.webauthn4j.util.AssertUtil;
+
+import java.io.InputStream;
+import java.security.cert.TrustAnchor;
+import java.security.cert.X509Certificate;
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * {@link MetadataItemsProvider} for the FIDO Metadata Service 3, which serves all the metadata statements embedded
+ * in a single signed BLOB. The BLOB is downloaded once per refresh and parsed as a stream.
+ */
+public class FidoMds3MetadataItemsProvider implements MetadataItemsProvider {
+
+    private static final String DEFAULT_FIDO_METADATA_SERVICE_BLOB_ENDPOINT = "https://mds3.fidoalliance.org/";
+
+    volatile Map<AAGUID, Set<MetadataItem>> cachedMetadataItemMap;
+    volatile OffsetDateTime nextUpdate;
+    volatile OffsetDateTime lastRefresh;
+    Clock clock = Clock.systemUTC();
+    private final HttpClient httpClient;
+    private final MetadataBLOBReader metadataBLOBReader;
+    private String fidoMetadataServiceEndpoint = DEFAULT_FIDO_METADATA_SERVICE_BLOB_ENDPOINT;
+    private int lastNo = -1;
+
+    public FidoMds3MetadataItemsProvider(ObjectConverter objectConverter, HttpClient httpClient, X509Certificate rootCertificate) {
+        AssertUtil.notNull(objectConverter, "objectConverter must not be null");
+        AssertUtil.notNull(httpClient, "httpClient must not be null");
+        AssertUtil.notNull(rootCertificate, "rootCertificate must not be null");
+        this.httpClient = httpClient;
+        this.metadataBLOBReader = new MetadataBLOBReader(objectConverter.getJsonConverter(), new TrustAnchor(rootCertificate, null));
+    }
+
+    public FidoMds3MetadataItemsProvider(ObjectConverter objectConverter, X509Certificate rootCertificate) {
+        this(objectConverter, new SimpleHttpClient(), rootCertificate);
+    }
+
+    @Override
+    public Map<AAGUID, Set<MetadataItem>> provide() {
+        if (needsRefresh()) {
+            synchronized (this) {
+                if (needsRefresh()) {
+                    refresh(fetchMetadataBLOB(false));
+                }
+            }
+        }
+        return cachedMetadataItemMap;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Completes on the calling thread unless the BLOB needs to be fetched.
+     */
+    @Override
+    public CompletionStage<Map<AAGUID, Set<MetadataItem>>> provideAsync(Executor executor) {
+        if (needsRefresh()) {
+            return MetadataItemsProvider.super.provideAsync(executor);
+        }
+        return CompletableFuture.completedFuture(cachedMetadataItemMap);
+    }
+
+    public String getFidoMetadataServiceEndpoint() {
+        return fidoMetadataServiceEndpoint;
+    }
+
+    public void setFidoMetadataServiceEndpoint(String fidoMetadataServiceEndpoint) {
+        this.fidoMetadataServiceEndpoint = fidoMetadataServiceEndpoint;
+    }
+
+    void refresh(MetadataBLOBReader.MetadataBLOB blob) {
+        if (blob.getNo() < lastNo) {
+            throw new MDSException("metadata BLOB serial number must not decrease");
+        }
+        lastNo = blob.getNo();
+        nextUpdate = blob.getNextUpdate().atStartOfDay().atOffset(ZoneOffset.UTC);
+        lastRefresh = OffsetDateTime.now(clock);
+        cachedMetadataItemMap = blob.getMetadataItems();
+    }
+
+    boolean needsRefresh() {
+        OffsetDateTime now = OffsetDateTime.now(clock);
+        return cachedMetadataItemMap == null || (nextUpdate.isBefore(now) && lastRefresh.isBefore(now.minusHours(1)));
+    }
+
+    /**
+     * fetch the metadata BLOB
+     *
+     * @param skipCertPathValidation certPath Validation shouldn't be off except testing
+     * @return the metadata BLOB contents
+     */
+    MetadataBLOBReader.MetadataBLOB fetchMetadataBLOB(boolean skipCertPathValidation) {
+        InputStream inputStream = httpClient.fetchAsStream(fidoMetadataServiceEndpoint);
+        return metadataBLOBReader.read(inputStream, skipCertPathValidation);
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.metadata;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Converts a metadata statement of the MDS3 schema (Metadata Statement v3.0) to the form the
+ * {@link com.webauthn4j.metadata.data.statement.MetadataStatement} model reads.
+ * <p>
+ * MDS3 represents the values of the FIDO Registry of Predefined Values as strings, where the former schema used their
+ * numeric codes. Values which are already numeric are left as is, so statements of the former schema pass through.
+ *
+ * @see <a href="https://fidoalliance.org/specs/common-specs/fido-registry-v2.1-ps-20191217.html">FIDO Registry of Predefined Values</a>
+ */
+class FidoMds3MetadataStatementConverter {
+
+    private static final Map<String, Long> USER_VERIFICATION_METHODS = new HashMap<>();
+    private static final Map<String, Long> KEY_PROTECTIONS = new HashMap<>();
+    private static final Map<String, Long> MATCHER_PROTECTIONS = new HashMap<>();
+    private static final Map<String, Long> ATTACHMENT_HINTS = new HashMap<>();
+    private static final Map<String, Long> TRANSACTION_CONFIRMATION_DISPLAYS = new HashMap<>();
+    private static final Map<String, Long> AUTHENTICATION_ALGORITHMS = new HashMap<>();
+    private static final Map<String, Long> PUBLIC_KEY_REPRESENTATION_FORMATS = new HashMap<>();
+    private static final Map<String, Long> ATTESTATION_TYPES = new HashMap<>();
+    private static final Map<String, String> ASSERTION_SCHEMES = new HashMap<>();
+
+    static {
+        USER_VERIFICATION_METHODS.put("presence_internal", 0x00000001L);
+        USER_VERIFICATION_METHODS.put("fingerprint_internal", 0x00000002L);
+        USER_VERIFICATION_METHODS.put("passcode_internal", 0x00000004L);
+        USER_VERIFICATION_METHODS.put("voiceprint_internal", 0x00000008L);
+        USER_VERIFICATION_METHODS.put("faceprint_internal", 0x00000010L);
+        USER_VERIFICATION_METHODS.put("location_internal", 0x00000020L);
+        USER_VERIFICATION_METHODS.put("eyeprint_internal", 0x00000040L);
+        USER_VERIFICATION_METHODS.put("pattern_internal", 0x00000080L);
+        USER_VERIFICATION_METHODS.put("handprint_internal", 0x00000100L);
+        USER_VERIFICATION_METHODS.put("none", 0x00000200L);
+        USER_VERIFICATION_METHODS.put("all", 0x00000400L);
+        USER_VERIFICATION_METHODS.put("passcode_external", 0x00000800L);
+        USER_VERIFICATION_METHODS.put("pattern_external", 0x00001000L);
+
+        KEY_PROTECTIONS.put("software", 0x0001L);
+        KEY_PROTECTIONS.put("hardware", 0x0002L);
+        KEY_PROTECTIONS.put("tee", 0x0004L);
+        KEY_PROTECTIONS.put("secure_element", 0x0008L);
+        KEY_PROTECTIONS.put("remote_handle", 0x0010L);
+
+        MATCHER_PROTECTIONS.put("software", 0x0001L);
+        MATCHER_PROTECTIONS.put("tee", 0x0002L);
+        MATCHER_PROTECTIONS.put("on_chip", 0x0004L);
+
+        ATTACHMENT_HINTS.put("internal", 0x0001L);
+        ATTACHMENT_HINTS.put("external", 0x0002L);
+        ATTACHMENT_HINTS.put("wired", 0x0004L);
+        ATTACHMENT_HINTS.put("wireless", 0x0008L);
+        ATTACHMENT_HINTS.put("nfc", 0x0010L);
+        ATTACHMENT_HINTS.put("bluetooth", 0x0020L);
+        ATTACHMENT_HINTS.put("network", 0x0040L);
+        ATTACHMENT_HINTS.put("ready", 0x0080L);
+        ATTACHMENT_HINTS.put("wifi_direct", 0x0100L);
+
+        TRANSACTION_CONFIRMATION_DISPLAYS.put("any", 0x0001L);
+        TRANSACTION_CONFIRMATION_DISPLAYS.put("privileged_software", 0x0002L);
+        TRANSACTION_CONFIRMATION_DISPLAYS.put("tee", 0x0004L);
+        TRANSACTION_CONFIRMATION_DISPLAYS.put("hardware", 0x0008L);
+        TRANSACTION_CONFIRMATION_DISPLAYS.put("remote", 0x0010L);
+
+        AUTHENTICATION_ALGORITHMS.put("secp256r1_ecdsa_sha256_raw", 0x0001L);
+        AUTHENTICATION_ALGORITHMS.put("secp256r1_ecdsa_sha256_der", 0x0002L);
+        AUTHENTICATION_ALGORITHMS.put("rsassa_pss_sha256_raw", 0x0003L);
+        AUTHENTICATION_ALGORITHMS.put("rsassa_pss_sha256_der", 0x0004L);
+        AUTHENTICATION_ALGORITHMS.put("secp256k1_ecdsa_sha256_raw", 0x0005L);
+        AUTHENTICATION_ALGORITHMS.put("secp256k1_ecdsa_sha256_der", 0x0006L);
+        AUTHENTICATION_ALGORITHMS.put("sm2_sm3_raw", 0x0007L);
+        AUTHENTICATION_ALGORITHMS.put("rsa_emsa_pkcs1_sha256_raw", 0x0008L);
+        AUTHENTICATION_ALGORITHMS.put("rsa_emsa_pkcs1_sha256_der", 0x0009L);
+        AUTHENTICATION_ALGORITHMS.put("rsassa_pss_sha384_raw", 0x000AL);
+        AUTHENTICATION_ALGORITHMS.put("rsassa_pss_sha512_raw", 0x000BL);
+        AUTHENTICATION_ALGORITHMS.put("rsassa_pkcsv15_sha256_raw", 0x000CL);
+        AUTHENTICATION_ALGORITHMS.put("rsassa_pkcsv15_sha384_raw", 0x000DL);
+        AUTHENTICATION_ALGORITHMS.put("rsassa_pkcsv15_sha512_raw", 0x000EL);
+        AUTHENTICATION_ALGORITHMS.put("rsassa_pkcsv15_sha1_raw", 0x000FL);
+        AUTHENTICATION_ALGORITHMS.put("secp384r1_ecdsa_sha384_raw", 0x0010L);
+        AUTHENTICATION_ALGORITHMS.put("secp521r1_ecdsa_sha512_raw", 0x0011L);
+        AUTHENTICATION_ALGORITHMS.put("ed25519_eddsa_sha512_raw", 0x0012L);
+        AUTHENTICATION_ALGORITHMS.put("ed448_eddsa_sha512_raw", 0x0013L);
+
+        PUBLIC_KEY_REPRESENTATION_FORMATS.put("ecc_x962_raw", 0x0100L);
+        PUBLIC_KEY_REPRESENTATION_FORMATS.put("ecc_x962_der", 0x0101L);
+        PUBLIC_KEY_REPRESENTATION_FORMATS.put("rsa_2048_raw", 0x0102L);
+        PUBLIC_KEY_REPRESENTATION_FORMATS.put("rsa_2048_der", 0x0103L);
+        PUBLIC_KEY_REPRESENTATION_FORMATS.put("cose", 0x0104L);
+
+        ATTESTATION_TYPES.put("basic_full", 0x3E07L);
+        ATTESTATION_TYPES.put("basic_surrogate", 0x3E08L);
+        ATTESTATION_TYPES.put("ecdaa", 0x3E09L);
+        ATTESTATION_TYPES.put("attca", 0x3E0AL);
+        ATTESTATION_TYPES.put("anonca", 0x3E0CL);
+
+        // MDS3 dropped assertionScheme, which is implied by the protocol family
+        ASSERTION_SCHEMES.put("fido2", "FIDOV2");
+        ASSERTION_SCHEMES.put("u2f", "U2FV1BIN");
+        ASSERTION_SCHEMES.put("uaf", "UAFV1TLV");
+    }
+
+    private FidoMds3MetadataStatementConverter() {
+    }
+
+    /**
+     * Rewrites the MDS3 metadata statement in place
+     *
+     * @param statement metadata statement
+     * @throws IllegalArgumentException if the statement contains a value which is not registered
+     */
+    static void convert(ObjectNode statement) {
+        if (!statement.hasNonNull("assertionScheme") && statement.hasNonNull("protocolFamily")) {
+            String assertionScheme = ASSERTION_SCHEMES.get(statement.get("protocolFamily").asText());
+            if (assertionScheme != null) {
+                statement.put("assertionScheme", assertionScheme);
+            }
+        }
+        convertArray(statement, "authenticationAlgorithms", AUTHENTICATION_ALGORITHMS);
+        convertArray(statement, "publicKeyAlgAndEncodings", PUBLIC_KEY_REPRESENTATION_FORMATS);
+        convertArray(statement, "attestationTypes", ATTESTATION_TYPES);
+        convertFlags(statement, "keyProtection", KEY_PROTECTIONS);
+        convertFlags(statement, "matcherProtection", MATCHER_PROTECTIONS);
+        convertFlags(statement, "attachmentHint", ATTACHMENT_HINTS);
+        convertFlags(statement, "tcDisplay", TRANSACTION_CONFIRMATION_DISPLAYS);
+
+        JsonNode userVerificationDetails = statement.get("userVerificationDetails");
+        if (userVerificationDetails != null && userVerificationDetails.isArray()) {
+            for (JsonNode combination : userVerificationDetails) {
+                for (JsonNode descriptor : combination) {
+                    JsonNode method = descriptor.get("userVerificationMethod");
+                    if (descriptor.isObject() && method != null && method.isTextual()) {
+                        ((ObjectNode) descriptor).put("userVerification", lookup(USER_VERIFICATION_METHODS, "userVerificationMethod", method.asText()));
+                    }
+                }
+            }
+        }
+    }
+
+    private static void convertArray(ObjectNode statement, String fieldName, Map<String, Long> codes) {
+        JsonNode node = statement.get(fieldName);
+        if (node == null || !node.isArray()) {
+            return;
+        }
+        ArrayNode converted = statement.arrayNode();
+        for (JsonNode element : node) {
+            if (element.isTextual()) {
+                converted.add(lookup(codes, fieldName, element.asText()));
+            } else {
+                converted.add(element);
+            }
+        }
+        statement.set(fieldName, converted);
+    }
+
+    private static void convertFlags(ObjectNode statement, String fieldName, Map<String, Long> codes) {
+        JsonNode node = statement.get(fieldName);
+        if (node == null) {
+            return;
+        }
+        if (node.isTextual()) {
+            statement.put(fieldName, lookup(codes, fieldName, node.asText()));
+        } else if (node.isArray()) {
+            long flags = 0;
+            for (JsonNode element : node) {
+                flags |= lookup(codes, fieldName, element.asText());
+            }
+            statement.put(fieldName, flags);
+        }
+    }
+
+    private static long lookup(Map<String, Long> codes, String fieldName, String value) {
+        Long code = codes.get(value);
+        if (code == null) {
+            throw new IllegalArgumentException(String.format("Unknown %s value '%s' is provided", fieldName, value));
+        }
+        return code;
+    }
+}
@@ -23,14 +23,17 @@ import com.webauthn4j.data.jws.JWS;
 import com.webauthn4j.data.jws.JWSFactory;
 import com.webauthn4j.metadata.data.MetadataItem;
 import com.webauthn4j.metadata.data.MetadataItemImpl;
+import com.webauthn4j.metadata.data.statement.CompactMetadataStatement;
 import com.webauthn4j.metadata.data.statement.MetadataStatement;
 import com.webauthn4j.metadata.data.toc.MetadataTOCPayload;
 import com.webauthn4j.metadata.data.toc.MetadataTOCPayloadEntry;
 import com.webauthn4j.metadata.exception.MDSException;
 import com.webauthn4j.metadata.validator.MetadataStatementValidator;
+import com.webauthn4j.util.AssertUtil;
 import com.webauthn4j.util.Base64UrlUtil;
 import com.webauthn4j.util.CertificateUtil;
-import com.webauthn4j.util.MessageDigestUtil;
+import com.webauthn4j.util.CompletableFutureUtil;
+import com.webauthn4j.util.CryptoPrimitivesUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,18 +46,42 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.security.InvalidAlgorithmParameterException;
+import java.security.MessageDigest;
 import java.security.cert.*;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class FidoMdsMetadataItemsProvider implements MetadataItemsProvider {
 
     private static final String DEFAULT_FIDO_METADATA_SERVICE_ENDPOINT = "https://mds2.fidoalliance.org/";
-    Map<AAGUID, Set<MetadataItem>> cachedMetadataItemMap;
-    OffsetDateTime nextUpdate;
-    OffsetDateTime lastRefresh;
+    private static final int DEFAULT_FETCH_PARALLELISM = 4;
+    volatile Map<AAGUID, Set<MetadataItem>> cachedMetadataItemMap;
+    volatile OffsetDateTime nextUpdate;
+    volatile OffsetDateTime lastRefresh;
+    Clock clock = Clock.systemUTC();
+    private Map<MetadataItemKey, MetadataItem> metadataItemIndex = Collections.emptyMap();
+    private MetadataRefreshStatistics lastRefreshStatistics;
     private final Logger logger = LoggerFactory.getLogger(FidoMdsMetadataItemsProvider.class);
     private final JsonConverter jsonConverter;
     private final JWSFactory jwsFactory;
@@ -63,6 +90,27 @@ public class FidoMdsMetadataItemsProvider implements MetadataItemsProvider {
     private final HttpClient httpClient;
     private final TrustAnchor trustAnchor;
     private final MetadataStatementValidator metadataStatementValidator = new MetadataStatementValidator();
+    private boolean compactMetadataStatements = false;
+
+    // background refresh
+    private ScheduledExecutorService refreshExecutor;
+    private Duration initialRetryBackoff = Duration.ofMinutes(1);
+    private Duration maxRetryBackoff = Duration.ofHours(1);
+    private Duration maxStaleness;
+    private Consumer<Duration> snapshotAgeListener;
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+    private int consecutiveFailures = 0;
+
+    private Executor fetchExecutor;
+    private Executor defaultFetchExecutor;
+
+    // persistent snapshot
+    private Path snapshotPath;
+
+    // verified TOC cache
+    private Duration tocVerificationCacheDuration = Duration.ofHours(24);
+    private volatile VerifiedTOC lastVerifiedTOC;
+    private final AtomicLong skippedTOCVerificationCount = new AtomicLong();
 
     public FidoMdsMetadataItemsProvider(ObjectConverter objectConverter, String token, HttpClient httpClient, X509Certificate rootCertificate) {
         this.jsonConverter = objectConverter.getJsonConverter();
@@ -138,12 +186,266 @@ public class FidoMdsMetadataItemsProvider implements MetadataItemsProvider {
         }
     }
 
+    /**
+     * Provides the current metadata snapshot.
+     * <p>
+     * By default, the snapshot is refreshed inline by the calling thread once it is due.
+     * If a refresh executor is set, the current snapshot keeps being served while a single background task
+     * fetches the next one and swaps it in. Only the first load is done inline.
+     *
+     * @return {@link AAGUID} key {@link MetadataItem} {@link Set} value {@link Map}
+     * @throws MDSException if the snapshot is stale beyond the configured maximum staleness
+     */
     @Override
     public Map<AAGUID, Set<MetadataItem>> provide() {
-        if (needsRefresh()) {
-            refresh();
+        if (cachedMetadataItemMap == null && snapshotPath != null) {
+            synchronized (this) {
+                if (cachedMetadataItemMap == null) {
+                    loadSnapshot();
+                }
+            }
+        }
+        if (refreshExecutor == null || cachedMetadataItemMap == null) {
+            if (needsRefresh()) {
+                synchronized (this) {
+                    if (needsRefresh()) {
+                        refresh();
+                    }
+                }
+            }
+        } else if (needsRefresh()) {
+            scheduleRefresh();
+        }
+        Map<AAGUID, Set<MetadataItem>> snapshot = cachedMetadataItemMap;
+
+        if (snapshotAgeListener != null) {
+            snapshotAgeListener.accept(getSnapshotAge());
+        }
+        if (maxStaleness != null && getStaleness().compareTo(maxStaleness) > 0) {
+            throw new MDSException("FIDO MDS metadata is stale beyond the configured maximum staleness.");
+        }
+        return snapshot;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Completes on the calling thread unless the TOC needs to be fetched by the calling thread, that is, on the first
+     * load or when a refresh is due and no refresh executor is set.
+     */
+    @Override
+    public CompletionStage<Map<AAGUID, Set<MetadataItem>>> provideAsync(Executor executor) {
+        if (cachedMetadataItemMap == null || (refreshExecutor == null && needsRefresh())) {
+            return MetadataItemsProvider.super.provideAsync(executor);
         }
-        return cachedMetadataItemMap;
+        return CompletableFutureUtil.supply(this::provide);
+    }
+
+    /**
+     * Returns the time elapsed since the current snapshot was fetched
+     *
+     * @return the age of the snapshot, or null if not fetched yet
+     */
+    public Duration getSnapshotAge() {
+        OffsetDateTime refreshed = lastRefresh;
+        return refreshed == null ? null : Duration.between(refreshed, OffsetDateTime.now(clock));
+    }
+
+    /**
+     * Returns the time elapsed since the current snapshot became due for refresh
+     *
+     * @return the staleness of the snapshot, or {@link Duration#ZERO} if it is not due yet
+     */
+    public Duration getStaleness() {
+        OffsetDateTime due = nextUpdate;
+        if (due == null) {
+            return Duration.ZERO;
+        }
+        Duration staleness = Duration.between(due, OffsetDateTime.now(clock));
+        return staleness.isNegative() ? Duration.ZERO : staleness;
+    }
+
+    private void loadSnapshot() {
+        if (!Files.exists(snapshotPath)) {
+            return;
+        }
+        MetadataItemsSnapshot snapshot;
+        try {
+            snapshot = MetadataItemsSnapshot.read(snapshotPath);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to load FIDO MDS metadata snapshot. It is ignored.", e);
+            return;
+        }
+        if (snapshot.getNextUpdate() == null) {
+            return;
+        }
+        // the snapshot is only protected by a checksum, not by the TOC signature. Its items are not seeded to
+        // metadataItemIndex, so that the first refresh fetches and verifies every statement against the signed TOC again
+        nextUpdate = snapshot.getNextUpdate().atStartOfDay().atOffset(ZoneOffset.UTC);
+        lastRefresh = snapshot.getCreatedAt().atOffset(ZoneOffset.UTC);
+        cachedMetadataItemMap = snapshot.getMetadataItems();
+        logger.debug("FIDO MDS metadata is loaded from the snapshot created at {}", lastRefresh);
+        // the snapshot is served while it is revalidated against the latest TOC
+        if (refreshExecutor != null) {
+            scheduleRefresh();
+        }
+    }
+
+    private void scheduleRefresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(this::backgroundRefresh);
+        } catch (RejectedExecutionException e) {
+            refreshing.set(false);
+            logger.warn("Failed to schedule FIDO MDS metadata refresh", e);
+        }
+    }
+
+    private void backgroundRefresh() {
+        try {
+            synchronized (this) {
+                refresh();
+            }
+            consecutiveFailures = 0;
+            refreshing.set(false);
+        } catch (RuntimeException e) {
+            consecutiveFailures++;
+            Duration backoff = computeRetryBackoff(consecutiveFailures);
+            logger.warn("Failed to refresh FIDO MDS metadata. Retrying in {}", backoff, e);
+            try {
+                refreshExecutor.schedule(this::backgroundRefresh, backoff.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException rejectedExecutionException) {
+                refreshing.set(false);
+            }
+        }
+    }
+
+    Duration computeRetryBackoff(int failures) {
+        Duration backoff = initialRetryBackoff;
+        for (int i = 1; i < failures && backoff.compareTo(maxRetryBackoff) < 0; i++) {
+            backoff = backoff.multipliedBy(2);
+        }
+        return backoff.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : backoff;
+    }
+
+    public ScheduledExecutorService getRefreshExecutor() {
+        return refreshExecutor;
+    }
+
+    /**
+     * Sets the scheduler that runs background refreshes. Refreshes run inline if null (default).
+     *
+     * @param refreshExecutor the scheduler
+     */
+    public void setRefreshExecutor(ScheduledExecutorService refreshExecutor) {
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    /**
+     * Sets the backoff applied after a failed background refresh. It doubles on each consecutive failure up to the maximum.
+     *
+     * @param initialRetryBackoff the backoff after the first failure
+     * @param maxRetryBackoff     the maximum backoff
+     */
+    public void setRetryBackoff(Duration initialRetryBackoff, Duration maxRetryBackoff) {
+        AssertUtil.notNull(initialRetryBackoff, "initialRetryBackoff must not be null");
+        AssertUtil.notNull(maxRetryBackoff, "maxRetryBackoff must not be null");
+        this.initialRetryBackoff = initialRetryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+    }
+
+    public Duration getMaxStaleness() {
+        return maxStaleness;
+    }
+
+    /**
+     * Sets how long a snapshot may be served after it became due for refresh. Unlimited if null (default).
+     *
+     * @param maxStaleness the maximum staleness
+     */
+    public void setMaxStaleness(Duration maxStaleness) {
+        this.maxStaleness = maxStaleness;
+    }
+
+    public boolean isCompactMetadataStatements() {
+        return compactMetadataStatements;
+    }
+
+    /**
+     * Sets whether metadata statements are kept as {@link CompactMetadataStatement}, which decodes fields not used for
+     * validation on first access to reduce heap footprint. Disabled by default.
+     *
+     * @param compactMetadataStatements true to enable compact mode
+     */
+    public void setCompactMetadataStatements(boolean compactMetadataStatements) {
+        this.compactMetadataStatements = compactMetadataStatements;
+    }
+
+    public Executor getFetchExecutor() {
+        return fetchExecutor;
+    }
+
+    /**
+     * Sets the executor to fetch metadata statements on. If null (default), metadata statements are fetched on
+     * a dedicated pool of at most 4 daemon threads, which are released while idle.
+     *
+     * @param fetchExecutor fetch executor
+     */
+    public void setFetchExecutor(Executor fetchExecutor) {
+        this.fetchExecutor = fetchExecutor;
+    }
+
+    public Path getSnapshotPath() {
+        return snapshotPath;
+    }
+
+    /**
+     * Sets the file to persist validated metadata to. When set, the provider serves the persisted snapshot on startup
+     * instead of fetching the TOC, and rewrites it after each successful refresh. Disabled if null (default).
+     * Since the snapshot is not signed, the file must be writable only by trusted users. Its items are served only until
+     * the first successful refresh, which fetches every metadata statement again instead of reusing them.
+     *
+     * @param snapshotPath snapshot file path
+     */
+    public void setSnapshotPath(Path snapshotPath) {
+        this.snapshotPath = snapshotPath;
+    }
+
+    /**
+     * Sets a hook which receives the snapshot age on each {@link #provide()} call
+     *
+     * @param snapshotAgeListener the hook
+     */
+    public void setSnapshotAgeListener(Consumer<Duration> snapshotAgeListener) {
+        this.snapshotAgeListener = snapshotAgeListener;
+    }
+
+    public Duration getTOCVerificationCacheDuration() {
+        return tocVerificationCacheDuration;
+    }
+
+    /**
+     * Sets how long the verification result of a TOC is reused. While the downloaded TOC is byte-identical to the
+     * last verified one, its signature verification, cert path validation (including revocation check) and parsing
+     * are skipped until this duration elapses or a certificate in the chain expires. Since the revocation checker
+     * doesn't expose the nextUpdate of CRLs it consulted, this duration bounds how long a revocation can go unnoticed.
+     * Defaults to 24 hours. Disabled if null or zero.
+     *
+     * @param tocVerificationCacheDuration verification cache duration
+     */
+    public void setTOCVerificationCacheDuration(Duration tocVerificationCacheDuration) {
+        this.tocVerificationCacheDuration = tocVerificationCacheDuration;
+    }
+
+    /**
+     * Returns how many times the verification of an unchanged TOC was skipped
+     *
+     * @return skipped verification count
+     */
+    public long getSkippedTOCVerificationCount() {
+        return skippedTOCVerificationCount.get();
     }
 
     public String getFidoMetadataServiceEndpoint() {
@@ -155,17 +457,43 @@ public class FidoMdsMetadataItemsProvider implements MetadataItemsProvider {
     }
 
     private void refresh() {
-        MetadataTOCPayload tocPayload = fetchMetadataTOCPayload(false);
-
-        cachedMetadataItemMap =
-                tocPayload.getEntries().parallelStream().map(entry -> {
-                    try {
-                        return fetchFidoMdsMetadataItem(entry);
-                    } catch (RuntimeException e) {
-                        logger.warn("Failed to fetch MetadataTOCPayLoad", e);
-                        return null;
-                    }
-                })
+        refresh(fetchMetadataTOCPayload(false));
+    }
+
+    void refresh(MetadataTOCPayload tocPayload) {
+        Map<MetadataItemKey, MetadataItem> previousIndex = metadataItemIndex;
+        Map<MetadataItemKey, MetadataItem> newIndex = new ConcurrentHashMap<>();
+        AtomicInteger reused = new AtomicInteger();
+        AtomicInteger fetched = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        Function<MetadataTOCPayloadEntry, MetadataItem> resolver = entry -> {
+            // entries whose statement hash and status are unchanged are not fetched again
+            MetadataItemKey key = new MetadataItemKey(entry);
+            MetadataItem metadataItem = previousIndex.get(key);
+            if (metadataItem != null) {
+                reused.incrementAndGet();
+            } else {
+                try {
+                    metadataItem = fetchFidoMdsMetadataItem(entry);
+                    fetched.incrementAndGet();
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to fetch MetadataTOCPayLoad", e);
+                    failed.incrementAndGet();
+                    return null;
+                }
+            }
+            newIndex.put(key, metadataItem);
+            return metadataItem;
+        };
+        Executor executor = fetchExecutor == null ? getDefaultFetchExecutor() : fetchExecutor;
+        List<CompletableFuture<MetadataItem>> futures = tocPayload.getEntries().stream()
+                .map(entry -> CompletableFuture.supplyAsync(() -> resolver.apply(entry), executor))
+                .collect(Collectors.toList());
+        Stream<MetadataItem> metadataItems = futures.stream().map(CompletableFuture::join);
+
+        Map<AAGUID, Set<MetadataItem>> metadataItemMap =
+                metadataItems
                         .filter(Objects::nonNull)
                         .distinct()
                         .collect(Collectors.groupingBy(MetadataItem::getAaguid))
@@ -173,12 +501,57 @@ public class FidoMdsMetadataItemsProvider implements MetadataItemsProvider {
                         .stream()
                         .collect(Collectors.toMap(Map.Entry::getKey, entry -> Collections.unmodifiableSet(new HashSet<>(entry.getValue()))));
 
+        int dropped = (int) previousIndex.keySet().stream().filter(key -> !newIndex.containsKey(key)).count();
+        metadataItemIndex = newIndex;
+        lastRefreshStatistics = new MetadataRefreshStatistics(reused.get(), fetched.get(), failed.get(), dropped);
+        logger.debug("FIDO MDS metadata is refreshed: {}", lastRefreshStatistics);
+
         nextUpdate = tocPayload.getNextUpdate().atStartOfDay().atOffset(ZoneOffset.UTC);
-        lastRefresh = OffsetDateTime.now(ZoneOffset.UTC);
+        lastRefresh = OffsetDateTime.now(clock);
+        cachedMetadataItemMap = Collections.unmodifiableMap(metadataItemMap);
+
+        if (httpClient instanceof CachingHttpClient) {
+            // responses for URLs no longer listed in the TOC are never requested again
+            List<String> urls = new ArrayList<>();
+            urls.add(appendToken(fidoMetadataServiceEndpoint, token));
+            tocPayload.getEntries().forEach(entry -> urls.add(appendToken(entry.getUrl().toString(), token)));
+            ((CachingHttpClient) httpClient).retainCache(urls);
+        }
+
+        if (snapshotPath != null) {
+            try {
+                new MetadataItemsSnapshot(cachedMetadataItemMap, lastRefresh.toInstant(), tocPayload.getNextUpdate()).write(snapshotPath);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to write FIDO MDS metadata snapshot", e);
+            }
+        }
+    }
+
+    private synchronized Executor getDefaultFetchExecutor() {
+        if (defaultFetchExecutor == null) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(DEFAULT_FETCH_PARALLELISM, DEFAULT_FETCH_PARALLELISM,
+                    60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "fido-mds-fetcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.allowCoreThreadTimeOut(true);
+            defaultFetchExecutor = executor;
+        }
+        return defaultFetchExecutor;
+    }
+
+    /**
+     * Returns the statistics of the last refresh
+     *
+     * @return the statistics, or null if not refreshed yet
+     */
+    public MetadataRefreshStatistics getLastRefreshStatistics() {
+        return lastRefreshStatistics;
     }
 
     boolean needsRefresh() {
-        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        OffsetDateTime now = OffsetDateTime.now(clock);
         return cachedMetadataItemMap == null || (nextUpdate.isBefore(now) && lastRefresh.isBefore(now.minusHours(1)));
     }
 
@@ -193,6 +566,14 @@ public class FidoMdsMetadataItemsProvider implements MetadataItemsProvider {
 
         String toc = httpClient.fetch(uriWithToken);
 
+        byte[] digest = CryptoPrimitivesUtil.getSHA256().digest(toc.getBytes(StandardCharsets.UTF_8));
+        Instant now = clock.instant();
+        VerifiedTOC verifiedTOC = lastVerifiedTOC;
+        if (verifiedTOC != null && verifiedTOC.covers(digest, skipCertPathValidation, now)) {
+            skippedTOCVerificationCount.incrementAndGet();
+            return verifiedTOC.payload;
+        }
+
         JWS<MetadataTOCPayload> jws = jwsFactory.parse(toc, MetadataTOCPayload.class);
         if (!jws.isValidSignature()) {
             throw new MDSException("invalid signature");
@@ -200,6 +581,18 @@ public class FidoMdsMetadataItemsProvider implements MetadataItemsProvider {
         if (!skipCertPathValidation) {
             validateCertPath(jws);
         }
+        if (tocVerificationCacheDuration != null && !tocVerificationCacheDuration.isZero()) {
+            Instant validUntil = now.plus(tocVerificationCacheDuration);
+            List<X509Certificate> certificates = new ArrayList<>(jws.getHeader().getX5c());
+            certificates.add(trustAnchor.getTrustedCert());
+            for (X509Certificate certificate : certificates) {
+                Instant notAfter = certificate.getNotAfter().toInstant();
+                if (notAfter.isBefore(validUntil)) {
+                    validUntil = notAfter;
+                }
+            }
+            lastVerifiedTOC = new VerifiedTOC(digest, !skipCertPathValidation, validUntil, jws.getPayload());
+        }
         return jws.getPayload();
     }
 
@@ -217,9 +610,11 @@ public class FidoMdsMetadataItemsProvider implements MetadataItemsProvider {
     }
 
     private void validateCertPath(JWS<MetadataTOCPayload> jws) {
-        Set<TrustAnchor> trustAnchors = Collections.singleton(trustAnchor);
-        CertPath certPath = jws.getHeader().getX5c().createCertPath();
+        validateCertPath(jws.getHeader().getX5c().createCertPath(), trustAnchor);
+    }
 
+    static void validateCertPath(CertPath certPath, TrustAnchor trustAnchor) {
+        Set<TrustAnchor> trustAnchors = Collections.singleton(trustAnchor);
         CertPathValidator certPathValidator = CertificateUtil.createCertPathValidator();
         PKIXParameters certPathParameters = CertificateUtil.createPKIXParameters(trustAnchors);
         PKIXRevocationChecker pkixRevocationChecker = (PKIXRevocationChecker) certPathValidator.getRevocationChecker();
@@ -239,13 +634,72 @@ public class FidoMdsMetadataItemsProvider implements MetadataItemsProvider {
         String uriWithToken = appendToken(uri, token);
         String metadataStatementBase64url = httpClient.fetch(uriWithToken);
         String metadataStatementStr = new String(Base64UrlUtil.decode(metadataStatementBase64url));
-        byte[] hash = MessageDigestUtil.createSHA256().digest(metadataStatementBase64url.getBytes(StandardCharsets.UTF_8));
+        byte[] hash = CryptoPrimitivesUtil.getSHA256().digest(metadataStatementBase64url.getBytes(StandardCharsets.UTF_8));
         if (!Arrays.equals(hash, expectedHash)) {
             throw new MDSException("Hash of metadataStatement doesn't match");
         }
-        MetadataStatement metadataStatement = jsonConverter.readValue(metadataStatementStr, MetadataStatement.class);
+        MetadataStatement metadataStatement = compactMetadataStatements
+                ? CompactMetadataStatement.parse(jsonConverter, metadataStatementStr)
+                : jsonConverter.readValue(metadataStatementStr, MetadataStatement.class);
         metadataStatementValidator.validate(metadataStatement);
         return metadataStatement;
     }
 
+    /**
+     * Identifies the fetched {@link MetadataItem} for a {@link MetadataTOCPayloadEntry} by the statement hash and
+     * the time of the last status change
+     */
+    private static class MetadataItemKey {
+
+        private final String hash;
+        private final LocalDate timeOfLastStatusChange;
+
+        MetadataItemKey(MetadataTOCPayloadEntry entry) {
+            this(entry.getHash(), entry.getTimeOfLastStatusChange());
+        }
+
+        MetadataItemKey(String hash, LocalDate timeOfLastStatusChange) {
+            this.hash = hash;
+            this.timeOfLastStatusChange = timeOfLastStatusChange;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            MetadataItemKey that = (MetadataItemKey) o;
+            return Objects.equals(hash, that.hash) &&
+                    Objects.equals(timeOfLastStatusChange, that.timeOfLastStatusChange);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(hash, timeOfLastStatusChange);
+        }
+    }
+
+
+    /**
+     * Verification result of a TOC, identified by the digest of its bytes
+     */
+    private static class VerifiedTOC {
+
+        private final byte[] digest;
+        private final boolean certPathValidated;
+        private final Instant validUntil;
+        private final MetadataTOCPayload payload;
+
+        VerifiedTOC(byte[] digest, boolean certPathValidated, Instant validUntil, MetadataTOCPayload payload) {
+            this.digest = digest;
+            this.certPathValidated = certPathValidated;
+            this.validUntil = validUntil;
+            this.payload = payload;
+        }
+
+        boolean covers(byte[] digest, boolean skipCertPathValidation, Instant now) {
+            return MessageDigest.isEqual(this.digest, digest)
+                    && (certPathValidated || skipCertPathValidation)
+                    && now.isBefore(validUntil);
+        }
+    }
 }
@@ -18,32 +18,49 @@ package com.webauthn4j.metadata;
 
 import com.webauthn4j.converter.util.ObjectConverter;
 import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.data.attestation.statement.AttestationCertificatePath;
 import com.webauthn4j.data.attestation.statement.AttestationStatement;
 import com.webauthn4j.data.attestation.statement.CertificateBaseAttestationStatement;
 import com.webauthn4j.metadata.data.MetadataItem;
-import com.webauthn4j.metadata.data.statement.AttestationType;
 import com.webauthn4j.metadata.exception.BadStatusException;
 import com.webauthn4j.validator.CustomRegistrationValidator;
 import com.webauthn4j.validator.RegistrationObject;
 import com.webauthn4j.validator.exception.BadAttestationStatementException;
 
-import java.util.List;
+import java.security.cert.X509Certificate;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 
 public class FidoMdsMetadataValidator implements CustomRegistrationValidator {
 
 
     private final MetadataItemsResolver metadataItemsResolver;
+    private final MetadataItemsProvider metadataItemsProvider;
+    private final DerivedSnapshotCache<MetadataVerdictTable> verdictTableCache = new DerivedSnapshotCache<>();
 
     public FidoMdsMetadataValidator(MetadataItemsResolver metadataItemsResolver) {
         this.metadataItemsResolver = metadataItemsResolver;
+        this.metadataItemsProvider = null;
+    }
+
+    /**
+     * Constructor which validates against a {@link MetadataVerdictTable} compiled whenever the provider provides a new
+     * metadata snapshot
+     *
+     * @param metadataItemsProvider metadata items provider
+     */
+    public FidoMdsMetadataValidator(MetadataItemsProvider metadataItemsProvider) {
+        this.metadataItemsResolver = null;
+        this.metadataItemsProvider = metadataItemsProvider;
     }
 
     public FidoMdsMetadataValidator(ObjectConverter objectConverter, String fidoMetadataServiceEndpoint) {
-        FidoMdsMetadataItemsProvider metadataItemsProvider = new FidoMdsMetadataItemsProvider(objectConverter);
-        metadataItemsProvider.setFidoMetadataServiceEndpoint(fidoMetadataServiceEndpoint);
-        this.metadataItemsResolver = new MetadataItemsResolverImpl(metadataItemsProvider);
+        FidoMdsMetadataItemsProvider fidoMdsMetadataItemsProvider = new FidoMdsMetadataItemsProvider(objectConverter);
+        fidoMdsMetadataItemsProvider.setFidoMetadataServiceEndpoint(fidoMetadataServiceEndpoint);
+        this.metadataItemsResolver = null;
+        this.metadataItemsProvider = fidoMdsMetadataItemsProvider;
     }
 
     public FidoMdsMetadataValidator(String fidoMetadataServiceEndpoint) {
@@ -55,49 +72,53 @@ public class FidoMdsMetadataValidator implements CustomRegistrationValidator {
         AAGUID aaguid = registrationObject.getAttestationObject().getAuthenticatorData().getAttestedCredentialData().getAaguid();
         AttestationStatement attestationStatement = registrationObject.getAttestationObject().getAttestationStatement();
 
-        Set<MetadataItem> metadataItems = metadataItemsResolver.resolve(aaguid);
-
-        List<AttestationType> attestationTypes = metadataItems.stream()
-                .flatMap(item -> item.getMetadataStatement().getAttestationTypes().stream()).collect(Collectors.toList());
+        X509Certificate attestationCertificate = null;
+        if (attestationStatement instanceof CertificateBaseAttestationStatement) {
+            AttestationCertificatePath x5c = ((CertificateBaseAttestationStatement) attestationStatement).getX5c();
+            if (x5c != null && !x5c.isEmpty()) {
+                attestationCertificate = x5c.getEndEntityAttestationCertificate().getCertificate();
+            }
+        }
 
-        boolean isSurrogate = !attestationTypes.isEmpty() &&
-                attestationTypes.stream().allMatch(type -> type.equals(AttestationType.BASIC_SURROGATE));
+        MetadataVerdict verdict;
+        if (metadataItemsProvider != null) {
+            verdict = getVerdictTable().get(aaguid, attestationCertificate);
+        } else {
+            verdict = MetadataVerdict.create(metadataItemsResolver.resolve(aaguid, attestationCertificate));
+        }
 
-        if (isSurrogate && attestationStatement instanceof CertificateBaseAttestationStatement) {
+        if (verdict.isSurrogateOnly() && attestationStatement instanceof CertificateBaseAttestationStatement) {
             CertificateBaseAttestationStatement certificateBaseAttestationStatement = (CertificateBaseAttestationStatement) attestationStatement;
             if (certificateBaseAttestationStatement.getX5c() != null) {
                 throw new BadAttestationStatementException("Although AAGUID is registered for surrogate attestation in metadata, x5c contains certificates.");
             }
         }
 
-        for (MetadataItem metadataItem : metadataItems) {
-            doAdditionalValidationForFidoMdsMetadataItem(metadataItem);
+        if (verdict.getBadStatus() != null) {
+            throw new BadStatusException(String.format("FIDO Metadata Service reported `%s` for this authenticator.", verdict.getBadStatus()));
         }
     }
 
-    private void doAdditionalValidationForFidoMdsMetadataItem(MetadataItem metadataItem) {
-        metadataItem.getStatusReports().forEach(report -> {
-            switch (report.getStatus()) {
-                case FIDO_CERTIFIED:
-                case FIDO_CERTIFIED_L1:
-                case FIDO_CERTIFIED_L1_PLUS:
-                case FIDO_CERTIFIED_L2:
-                case FIDO_CERTIFIED_L2_PLUS:
-                case FIDO_CERTIFIED_L3:
-                case FIDO_CERTIFIED_L3_PLUS:
-                case UPDATE_AVAILABLE:
-                case NOT_FIDO_CERTIFIED:
-                case SELF_ASSERTION_SUBMITTED:
-                    return;
-                case ATTESTATION_KEY_COMPROMISE:
-                case USER_VERIFICATION_BYPASS:
-                case USER_KEY_REMOTE_COMPROMISE:
-                case USER_KEY_PHYSICAL_COMPROMISE:
-                case REVOKED:
-                default:
-                    throw new BadStatusException(String.format("FIDO Metadata Service reported `%s` for this authenticator.", report.getStatus()));
-            }
-        });
+    @Override
+    public CompletionStage<Void> prepareAsync(Executor executor) {
+        if (metadataItemsProvider != null) {
+            return metadataItemsProvider.provideAsync(executor).thenApply(metadataItems -> null);
+        }
+        return metadataItemsResolver.prepareAsync(executor);
+    }
+
+    /**
+     * Returns the verdict table of the current metadata snapshot, which can also be used to pre-screen authenticators
+     *
+     * @return the verdict table
+     * @throws IllegalStateException if the validator is constructed with a {@link MetadataItemsResolver}
+     */
+    public MetadataVerdictTable getVerdictTable() {
+        if (metadataItemsProvider == null) {
+            throw new IllegalStateException("Verdict table is available only when constructed with a MetadataItemsProvider.");
+        }
+        Map<AAGUID, Set<MetadataItem>> metadataItemMap = metadataItemsProvider.provide();
+        return verdictTableCache.get(metadataItemMap, () -> MetadataVerdictTable.create(metadataItemMap));
     }
 
 }
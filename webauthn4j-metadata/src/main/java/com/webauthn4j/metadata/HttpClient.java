@@ -18,6 +18,10 @@ package com.webauthn4j.metadata;
 
 import com.webauthn4j.metadata.exception.MDSException;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
 /**
  * HTTP Client for FIDO MetadataItemImpl Service
  */
@@ -25,4 +29,16 @@ public interface HttpClient {
 
     String fetch(String uri) throws MDSException;
 
+    /**
+     * Fetches the resource as a stream, which the caller must close. Implementations should override this to avoid
+     * buffering large resources in memory.
+     *
+     * @param uri resource uri
+     * @return the response body stream
+     * @throws MDSException if it fails to fetch the resource
+     */
+    default InputStream fetchAsStream(String uri) throws MDSException {
+        return new ByteArrayInputStream(fetch(uri).getBytes(StandardCharsets.UTF_8));
+    }
+
 }
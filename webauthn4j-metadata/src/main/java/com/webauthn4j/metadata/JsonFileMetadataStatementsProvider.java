@@ -21,42 +21,265 @@ import com.webauthn4j.converter.util.ObjectConverter;
 import com.webauthn4j.data.attestation.authenticator.AAGUID;
 import com.webauthn4j.metadata.data.statement.MetadataStatement;
 import com.webauthn4j.metadata.validator.MetadataStatementValidator;
+import com.webauthn4j.util.AssertUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
-public class JsonFileMetadataStatementsProvider implements MetadataStatementsProvider {
+/**
+ * {@link MetadataStatementsProvider} which loads metadata statements from JSON files.
+ * <p>
+ * Files are given either as an explicit list, or as a directory whose {@code *.json} files are loaded.
+ * In directory mode, {@link #startWatching()} keeps the statements in sync with the directory: only the files
+ * which are created, modified or deleted are parsed again, and the new statements are published as a whole.
+ */
+public class JsonFileMetadataStatementsProvider implements MetadataStatementsProvider, Closeable {
+
+    private static final String JSON_FILE_GLOB = "*.json";
+
+    private final Logger logger = LoggerFactory.getLogger(JsonFileMetadataStatementsProvider.class);
 
     private final JsonConverter jsonConverter;
+    private final Path directory;
     private List<Path> paths = Collections.emptyList();
-    private Map<AAGUID, Set<MetadataStatement>> cachedMetadataItems;
+    private volatile Map<Path, MetadataStatement> metadataStatementsByPath;
+    private volatile Map<AAGUID, Set<MetadataStatement>> cachedMetadataItems;
     private final MetadataStatementValidator metadataStatementValidator = new MetadataStatementValidator();
 
+    private Executor loadExecutor;
+    private WatchService watchService;
+
     public JsonFileMetadataStatementsProvider(ObjectConverter objectConverter, List<Path> paths) {
         this.jsonConverter = objectConverter.getJsonConverter();
+        this.directory = null;
         this.paths = paths;
     }
 
+    /**
+     * Creates a provider which loads all {@code *.json} files in the directory
+     *
+     * @param objectConverter object converter
+     * @param directory       directory which contains metadata statement JSON files
+     */
+    public JsonFileMetadataStatementsProvider(ObjectConverter objectConverter, Path directory) {
+        AssertUtil.notNull(directory, "directory must not be null");
+        this.jsonConverter = objectConverter.getJsonConverter();
+        this.directory = directory;
+    }
+
     @Override
     public Map<AAGUID, Set<MetadataStatement>> provide() {
         if (cachedMetadataItems == null) {
-            cachedMetadataItems =
-                    paths.stream()
-                            .map(this::readJsonFile)
-                            .distinct()
-                            .collect(Collectors.groupingBy(this::extractAAGUID))
-                            .entrySet().stream()
-                            .collect(Collectors.toMap(Map.Entry::getKey, entry -> new HashSet<>(entry.getValue())));
-
+            synchronized (this) {
+                if (cachedMetadataItems == null) {
+                    List<Path> targets = directory == null ? paths : listJsonFiles();
+                    List<MetadataStatement> metadataStatements = readJsonFiles(targets, this::readJsonFile);
+                    Map<Path, MetadataStatement> map = new LinkedHashMap<>();
+                    for (int i = 0; i < targets.size(); i++) {
+                        map.put(targets.get(i), metadataStatements.get(i));
+                    }
+                    publish(map);
+                }
+            }
         }
         return cachedMetadataItems;
     }
 
+    public Executor getLoadExecutor() {
+        return loadExecutor;
+    }
+
+    /**
+     * Sets the executor to parse metadata statement files on. Files are parsed by the calling thread if null (default).
+     * Since parsing includes blocking file I/O, a dedicated bounded executor is recommended.
+     *
+     * @param loadExecutor load executor
+     */
+    public void setLoadExecutor(Executor loadExecutor) {
+        this.loadExecutor = loadExecutor;
+    }
+
+    /**
+     * Starts watching the directory in a daemon thread, and reloads files on change.
+     * A file which fails to load on reload is logged and its previous statement is kept.
+     * <p>
+     * The directory is loaded after the watch is registered, so that no change is missed in between. If statements
+     * are already loaded, every file is loaded again, since changes made before the registration are not notified.
+     *
+     * @throws IllegalStateException if the provider is not configured with a directory
+     */
+    public synchronized void startWatching() {
+        if (directory == null) {
+            throw new IllegalStateException("Only a provider configured with a directory can watch it.");
+        }
+        if (watchService != null) {
+            return;
+        }
+        WatchService newWatchService = null;
+        try {
+            newWatchService = directory.getFileSystem().newWatchService();
+            directory.register(newWatchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            closeQuietly(newWatchService);
+            throw new UncheckedIOException("Failed to watch the metadata statement directory", e);
+        }
+        try {
+            if (cachedMetadataItems == null) {
+                provide();
+            } else {
+                Set<Path> allPaths = new LinkedHashSet<>(metadataStatementsByPath.keySet());
+                allPaths.addAll(listJsonFiles());
+                reload(allPaths);
+            }
+        } catch (RuntimeException e) {
+            closeQuietly(newWatchService);
+            throw e;
+        }
+        watchService = newWatchService;
+        WatchService currentWatchService = newWatchService;
+        Thread thread = new Thread(() -> watch(currentWatchService), "json-file-metadata-statements-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops watching the directory
+     */
+    @Override
+    public synchronized void close() {
+        closeQuietly(watchService);
+        watchService = null;
+    }
+
+    private void closeQuietly(WatchService watchService) {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close the metadata statement directory watcher", e);
+        }
+    }
+
+    private void watch(WatchService watchService) {
+        try {
+            while (true) {
+                WatchKey watchKey = watchService.take();
+                Set<Path> changedPaths = new LinkedHashSet<>();
+                for (WatchEvent<?> event : watchKey.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // events are lost. every file is reloaded
+                        changedPaths.addAll(metadataStatementsByPath.keySet());
+                        changedPaths.addAll(listJsonFiles());
+                    } else {
+                        Path path = directory.resolve((Path) event.context());
+                        if (path.getFileName().toString().endsWith(".json")) {
+                            changedPaths.add(path);
+                        }
+                    }
+                }
+                if (!changedPaths.isEmpty()) {
+                    reload(changedPaths);
+                }
+                if (!watchKey.reset()) {
+                    logger.warn("Metadata statement directory {} is no longer accessible. Watching is stopped.", directory);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // closed by close()
+        } catch (RuntimeException e) {
+            logger.warn("Metadata statement directory watcher is stopped unexpectedly", e);
+        }
+    }
+
+    /**
+     * Reloads the given files, and publishes the result
+     *
+     * @param changedPaths files which are created, modified or deleted
+     */
+    synchronized void reload(Collection<Path> changedPaths) {
+        provide();
+        List<Path> existingPaths = new ArrayList<>();
+        Map<Path, MetadataStatement> map = new LinkedHashMap<>(metadataStatementsByPath);
+        for (Path path : changedPaths) {
+            if (Files.exists(path)) {
+                existingPaths.add(path);
+            } else {
+                map.remove(path);
+            }
+        }
+        List<MetadataStatement> metadataStatements = readJsonFiles(existingPaths, path -> {
+            try {
+                return readJsonFile(path);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to reload a metadata statement json file {}. Previous one is kept.", path, e);
+                return null;
+            }
+        });
+        for (int i = 0; i < existingPaths.size(); i++) {
+            MetadataStatement metadataStatement = metadataStatements.get(i);
+            if (metadataStatement != null) {
+                map.put(existingPaths.get(i), metadataStatement);
+            }
+        }
+        publish(map);
+        logger.debug("Metadata statement json files are reloaded: {}", changedPaths);
+    }
+
+    private void publish(Map<Path, MetadataStatement> map) {
+        Map<AAGUID, Set<MetadataStatement>> metadataItems =
+                map.values().stream()
+                        .distinct()
+                        .collect(Collectors.groupingBy(this::extractAAGUID))
+                        .entrySet().stream()
+                        .collect(Collectors.toMap(Map.Entry::getKey, entry -> Collections.unmodifiableSet(new HashSet<>(entry.getValue()))));
+        metadataStatementsByPath = Collections.unmodifiableMap(map);
+        cachedMetadataItems = Collections.unmodifiableMap(metadataItems);
+    }
+
+    private List<MetadataStatement> readJsonFiles(List<Path> targets, Function<Path, MetadataStatement> reader) {
+        if (loadExecutor == null) {
+            return targets.stream().map(reader).collect(Collectors.toList());
+        }
+        List<CompletableFuture<MetadataStatement>> futures = targets.stream()
+                .map(path -> CompletableFuture.supplyAsync(() -> reader.apply(path), loadExecutor))
+                .collect(Collectors.toList());
+        try {
+            return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private List<Path> listJsonFiles() {
+        List<Path> list = new ArrayList<>();
+        try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(directory, JSON_FILE_GLOB)) {
+            directoryStream.forEach(list::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list metadata statement json files", e);
+        }
+        Collections.sort(list);
+        return list;
+    }
+
     private AAGUID extractAAGUID(MetadataStatement metadataStatement) {
         switch (metadataStatement.getProtocolFamily()) {
             case "fido2":
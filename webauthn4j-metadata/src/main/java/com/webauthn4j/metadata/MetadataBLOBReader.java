@@ -0,0 +1,357 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metadata;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
+import com.webauthn4j.converter.util.JsonConverter;
+import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.data.jws.JWSHeader;
+import com.webauthn4j.data.jws.JWSSignatureUtil;
+import com.webauthn4j.metadata.data.MetadataItem;
+import com.webauthn4j.metadata.data.MetadataItemImpl;
+import com.webauthn4j.metadata.data.statement.MetadataStatement;
+import com.webauthn4j.metadata.data.toc.StatusReport;
+import com.webauthn4j.metadata.exception.MDSException;
+import com.webauthn4j.metadata.validator.MetadataStatementValidator;
+import com.webauthn4j.util.Base64UrlUtil;
+import com.webauthn4j.util.CryptoPrimitivesUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.cert.TrustAnchor;
+import java.security.interfaces.ECPublicKey;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming reader of the FIDO MDS3 metadata BLOB, which is a JWS whose payload embeds all the metadata statements.
+ * <p>
+ * The BLOB is never held in memory as a whole: the signature is updated with the raw bytes while the payload is
+ * base64url-decoded and parsed on the fly, and {@link MetadataItem}s are materialized entry by entry.
+ * The items are returned only after the signature is verified. Metadata statements are read in the MDS3 schema.
+ */
+class MetadataBLOBReader {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Logger logger = LoggerFactory.getLogger(MetadataBLOBReader.class);
+
+    private final JsonConverter jsonConverter;
+    private final TrustAnchor trustAnchor;
+    private final MetadataStatementValidator metadataStatementValidator = new MetadataStatementValidator();
+
+    MetadataBLOBReader(JsonConverter jsonConverter, TrustAnchor trustAnchor) {
+        this.jsonConverter = jsonConverter;
+        this.trustAnchor = trustAnchor;
+    }
+
+    /**
+     * Reads the BLOB
+     *
+     * @param source                 BLOB stream
+     * @param skipCertPathValidation certPath Validation shouldn't be off except testing
+     * @return the BLOB contents
+     */
+    MetadataBLOB read(InputStream source, boolean skipCertPathValidation) {
+        try (InputStream inputStream = new BufferedInputStream(source, BUFFER_SIZE)) {
+            byte[] headerBytes = readSegment(inputStream);
+            JWSHeader header = jsonConverter.readValue(new String(Base64UrlUtil.decode(headerBytes)), JWSHeader.class);
+            if (header.getAlg() == null || header.getX5c() == null || header.getX5c().isEmpty()) {
+                throw new MDSException("invalid JWS header");
+            }
+            if (!skipCertPathValidation) {
+                FidoMdsMetadataItemsProvider.validateCertPath(header.getX5c().createCertPath(), trustAnchor);
+            }
+
+            PublicKey publicKey = header.getX5c().getEndEntityAttestationCertificate().getCertificate().getPublicKey();
+            Signature signature = CryptoPrimitivesUtil.getSignature(header.getAlg().getJcaName());
+            signature.initVerify(publicKey);
+            signature.update(headerBytes);
+            signature.update((byte) '.');
+
+            MetadataBLOB blob;
+            try (SignedSegmentInputStream payloadSegment = new SignedSegmentInputStream(inputStream, signature)) {
+                // the decoder reads byte by byte on some JDKs, so the segment is read through a buffer
+                blob = readPayload(Base64.getUrlDecoder().wrap(new BufferedInputStream(payloadSegment, BUFFER_SIZE)));
+                payloadSegment.drain();
+            }
+
+            byte[] signatureBytes = Base64UrlUtil.decode(readSegment(inputStream));
+            if (publicKey instanceof ECPublicKey) {
+                signatureBytes = JWSSignatureUtil.convertJwsSignatureToDerSignature(signatureBytes);
+            }
+            if (!signature.verify(signatureBytes)) {
+                throw new MDSException("invalid signature");
+            }
+            return blob;
+        } catch (JsonProcessingException e) {
+            throw new MDSException("invalid metadata BLOB", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read a metadata BLOB", e);
+        } catch (GeneralSecurityException e) {
+            throw new MDSException("invalid signature", e);
+        }
+    }
+
+    private MetadataBLOB readPayload(InputStream payload) throws IOException {
+        Integer no = null;
+        LocalDate nextUpdate = null;
+        String legalHeader = null;
+        List<MetadataItem> items = new ArrayList<>();
+        try (JsonParser parser = jsonConverter.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new MDSException("invalid metadata BLOB payload");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                switch (fieldName) {
+                    case "no":
+                        no = parser.getIntValue();
+                        break;
+                    case "nextUpdate":
+                        nextUpdate = LocalDate.parse(parser.getText());
+                        break;
+                    case "legalHeader":
+                        legalHeader = parser.getText();
+                        break;
+                    case "entries":
+                        if (token != JsonToken.START_ARRAY) {
+                            throw new MDSException("invalid metadata BLOB payload");
+                        }
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            MetadataItem item = readEntry(parser);
+                            if (item != null) {
+                                items.add(item);
+                            }
+                        }
+                        break;
+                    default:
+                        parser.skipChildren();
+                        break;
+                }
+            }
+        }
+        if (no == null || nextUpdate == null) {
+            throw new MDSException("invalid metadata BLOB payload");
+        }
+        Map<AAGUID, Set<MetadataItem>> metadataItems = items.stream()
+                .collect(Collectors.groupingBy(MetadataItem::getAaguid, Collectors.collectingAndThen(Collectors.toSet(), Collections::unmodifiableSet)));
+        return new MetadataBLOB(legalHeader, no, nextUpdate, Collections.unmodifiableMap(metadataItems));
+    }
+
+    /**
+     * Reads an entry, whose metadata statement is of the MDS3 schema. An entry which cannot be read is skipped, as
+     * a single malformed statement must not make the whole signed BLOB unusable.
+     */
+    private MetadataItem readEntry(JsonParser parser) throws IOException {
+        ObjectNode entryNode = parser.readValueAsTree();
+        try {
+            JsonNode statementNode = entryNode.get("metadataStatement");
+            if (statementNode instanceof ObjectNode) {
+                FidoMds3MetadataStatementConverter.convert((ObjectNode) statementNode);
+            }
+            Entry entry = parser.getCodec().treeToValue(entryNode, Entry.class);
+            if (entry.metadataStatement == null) {
+                throw new MDSException("metadataStatement is missing");
+            }
+            metadataStatementValidator.validate(entry.metadataStatement);
+            return entry.toMetadataItem();
+        } catch (JsonProcessingException | RuntimeException e) {
+            logger.warn("Failed to read a metadata BLOB entry. It is skipped: aaguid={}, aaid={}", entryNode.path("aaguid").asText(null), entryNode.path("aaid").asText(null), e);
+            return null;
+        }
+    }
+
+    private static byte[] readSegment(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        int value;
+        while ((value = inputStream.read()) != -1 && value != '.') {
+            outputStream.write(value);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Contents of the metadata BLOB
+     */
+    static class MetadataBLOB {
+
+        private final String legalHeader;
+        private final int no;
+        private final LocalDate nextUpdate;
+        private final Map<AAGUID, Set<MetadataItem>> metadataItems;
+
+        MetadataBLOB(String legalHeader, int no, LocalDate nextUpdate, Map<AAGUID, Set<MetadataItem>> metadataItems) {
+            this.legalHeader = legalHeader;
+            this.no = no;
+            this.nextUpdate = nextUpdate;
+            this.metadataItems = metadataItems;
+        }
+
+        String getLegalHeader() {
+            return legalHeader;
+        }
+
+        int getNo() {
+            return no;
+        }
+
+        LocalDate getNextUpdate() {
+            return nextUpdate;
+        }
+
+        Map<AAGUID, Set<MetadataItem>> getMetadataItems() {
+            return metadataItems;
+        }
+    }
+
+    /**
+     * Metadata BLOB payload entry
+     */
+    static class Entry {
+
+        private final String aaid;
+        private final String aaguid;
+        private final List<String> attestationCertificateKeyIdentifiers;
+        private final MetadataStatement metadataStatement;
+        private final List<StatusReport> statusReports;
+        private final LocalDate timeOfLastStatusChange;
+
+        @JsonCreator
+        Entry(
+                @JsonProperty("aaid") String aaid,
+                @JsonProperty("aaguid") String aaguid,
+                @JsonProperty("attestationCertificateKeyIdentifiers") List<String> attestationCertificateKeyIdentifiers,
+                @JsonProperty("metadataStatement") MetadataStatement metadataStatement,
+                @JsonProperty("statusReports") List<StatusReport> statusReports,
+                @JsonDeserialize(using = LocalDateDeserializer.class) @JsonProperty("timeOfLastStatusChange") LocalDate timeOfLastStatusChange) {
+            this.aaid = aaid;
+            this.aaguid = aaguid;
+            this.attestationCertificateKeyIdentifiers = attestationCertificateKeyIdentifiers;
+            this.metadataStatement = metadataStatement;
+            this.statusReports = statusReports;
+            this.timeOfLastStatusChange = timeOfLastStatusChange;
+        }
+
+        MetadataItem toMetadataItem() {
+            return new MetadataItemImpl(aaid, new AAGUID(aaguid), attestationCertificateKeyIdentifiers, null,
+                    statusReports, timeOfLastStatusChange, metadataStatement);
+        }
+    }
+
+    /**
+     * Reads a base64url segment of the compact JWS up to the next period, updating the signature with the raw bytes
+     */
+    private static class SignedSegmentInputStream extends InputStream {
+
+        private final InputStream source;
+        private final Signature signature;
+        private boolean ended = false;
+
+        SignedSegmentInputStream(InputStream source, Signature signature) {
+            this.source = source;
+            this.signature = signature;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (ended) {
+                return -1;
+            }
+            int value = source.read();
+            if (value == -1 || value == '.') {
+                ended = true;
+                return -1;
+            }
+            try {
+                signature.update((byte) value);
+            } catch (GeneralSecurityException e) {
+                throw new IOException(e);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (ended) {
+                return -1;
+            }
+            if (length == 0) {
+                return 0;
+            }
+            source.mark(length);
+            int read = source.read(buffer, offset, length);
+            if (read == -1) {
+                ended = true;
+                return -1;
+            }
+            int segmentLength = read;
+            for (int i = 0; i < read; i++) {
+                if (buffer[offset + i] == '.') {
+                    segmentLength = i;
+                    ended = true;
+                    // leave the bytes after the period to the source
+                    source.reset();
+                    long skipped = source.skip(segmentLength + 1L);
+                    if (skipped != segmentLength + 1L) {
+                        throw new IOException("Failed to skip the segment separator");
+                    }
+                    break;
+                }
+            }
+            try {
+                signature.update(buffer, offset, segmentLength);
+            } catch (GeneralSecurityException e) {
+                throw new IOException(e);
+            }
+            if (segmentLength == 0 && ended) {
+                return -1;
+            }
+            return segmentLength;
+        }
+
+        void drain() throws IOException {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            //noinspection StatementWithEmptyBody
+            while (read(buffer, 0, buffer.length) != -1) {
+            }
+        }
+
+        @Override
+        public void close() {
+            // the source is closed by the owner
+        }
+    }
+}
@@ -20,13 +20,17 @@ import com.webauthn4j.data.attestation.authenticator.AAGUID;
 import com.webauthn4j.metadata.data.MetadataItem;
 import com.webauthn4j.metadata.data.statement.MetadataStatement;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 public class MetadataItemsMetadataStatementsProvider implements MetadataStatementsProvider {
 
     private final MetadataItemsProvider metadataItemsProvider;
+    private final DerivedSnapshotCache<Map<AAGUID, Set<MetadataStatement>>> cache = new DerivedSnapshotCache<>();
 
     public MetadataItemsMetadataStatementsProvider(MetadataItemsProvider metadataItemsProvider) {
         this.metadataItemsProvider = metadataItemsProvider;
@@ -34,10 +38,24 @@ public class MetadataItemsMetadataStatementsProvider implements MetadataStatemen
 
     @Override
     public Map<AAGUID, Set<MetadataStatement>> provide() {
-        return metadataItemsProvider.provide().entrySet().stream()
+        return derive(metadataItemsProvider.provide());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Completes when {@link MetadataItemsProvider#provideAsync(Executor)} completes.
+     */
+    @Override
+    public CompletionStage<Map<AAGUID, Set<MetadataStatement>>> provideAsync(Executor executor) {
+        return metadataItemsProvider.provideAsync(executor).thenApply(this::derive);
+    }
+
+    private Map<AAGUID, Set<MetadataStatement>> derive(Map<AAGUID, Set<MetadataItem>> metadataItems) {
+        return cache.get(metadataItems, () -> Collections.unmodifiableMap(metadataItems.entrySet().stream()
                 .collect(Collectors.toMap(
                         Map.Entry::getKey,
-                        entry -> entry.getValue().stream().map(MetadataItem::getMetadataStatement).collect(Collectors.toSet())
-                ));
+                        entry -> Collections.unmodifiableSet(entry.getValue().stream().map(MetadataItem::getMetadataStatement).collect(Collectors.toSet()))
+                ))));
     }
 }
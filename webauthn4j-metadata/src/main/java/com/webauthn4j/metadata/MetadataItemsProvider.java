@@ -18,11 +18,26 @@ package com.webauthn4j.metadata;
 
 import com.webauthn4j.data.attestation.authenticator.AAGUID;
 import com.webauthn4j.metadata.data.MetadataItem;
+import com.webauthn4j.util.CompletableFutureUtil;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 
 public interface MetadataItemsProvider {
 
     Map<AAGUID, Set<MetadataItem>> provide();
+
+    /**
+     * Provides metadata items without blocking the calling thread. The default implementation runs {@link #provide()}
+     * on the executor. Implementations which can tell that {@link #provide()} won't block may complete the stage on
+     * the calling thread.
+     *
+     * @param executor executor to run blocking work on
+     * @return {@link CompletionStage} of {@link AAGUID} key {@link MetadataItem} {@link Set} value {@link Map}
+     */
+    default CompletionStage<Map<AAGUID, Set<MetadataItem>>> provideAsync(Executor executor) {
+        return CompletableFutureUtil.supplyAsync(this::provide, executor);
+    }
 }
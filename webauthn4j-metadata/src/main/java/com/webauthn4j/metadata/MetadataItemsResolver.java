@@ -18,10 +18,38 @@ package com.webauthn4j.metadata;
 
 import com.webauthn4j.data.attestation.authenticator.AAGUID;
 import com.webauthn4j.metadata.data.MetadataItem;
+import com.webauthn4j.util.CompletableFutureUtil;
 
+import java.security.cert.X509Certificate;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 
 public interface MetadataItemsResolver {
 
     Set<MetadataItem> resolve(AAGUID aaguid);
+
+    /**
+     * Resolves the metadata items for the authenticator. For a U2F authenticator, whose AAGUID is {@link AAGUID#ZERO},
+     * if the attestation certificate key identifier of the attestation certificate matches metadata items, only they
+     * are returned.
+     *
+     * @param aaguid                 aaguid
+     * @param attestationCertificate attestation certificate, nullable
+     * @return metadata items
+     */
+    default Set<MetadataItem> resolve(AAGUID aaguid, X509Certificate attestationCertificate) {
+        return resolve(aaguid);
+    }
+
+    /**
+     * Loads metadata items without blocking the calling thread, so that resolve methods called on the thread
+     * completing the returned stage don't block. The default implementation completes on the executor.
+     *
+     * @param executor executor to run blocking work on
+     * @return {@link CompletionStage} completed when metadata items are loaded
+     */
+    default CompletionStage<Void> prepareAsync(Executor executor) {
+        return CompletableFutureUtil.supplyAsync(() -> null, executor);
+    }
 }
@@ -20,14 +20,15 @@ import com.webauthn4j.data.attestation.authenticator.AAGUID;
 import com.webauthn4j.metadata.data.MetadataItem;
 import com.webauthn4j.util.AssertUtil;
 
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.security.cert.X509Certificate;
+import java.util.*;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 
 public class MetadataItemsResolverImpl implements MetadataItemsResolver {
 
     private final MetadataItemsProvider metadataItemsProvider;
+    private final DerivedSnapshotCache<Map<String, Set<MetadataItem>>> keyIdentifierIndexCache = new DerivedSnapshotCache<>();
 
     public MetadataItemsResolverImpl(MetadataItemsProvider metadataItemsProvider) {
         this.metadataItemsProvider = metadataItemsProvider;
@@ -44,4 +45,38 @@ public class MetadataItemsResolverImpl implements MetadataItemsResolver {
         list.addAll(metadataItemMap.getOrDefault(aaguid, Collections.emptySet()));
         return list;
     }
+
+    @Override
+    public Set<MetadataItem> resolve(AAGUID aaguid, X509Certificate attestationCertificate) {
+        AssertUtil.notNull(aaguid, "aaguid must not be null");
+        // only U2F authenticators, which have no AAGUID, are identified by the key identifier. For the others, an item
+        // listing the same attestation key must not hide the items registered for the AAGUID.
+        if (AAGUID.ZERO.equals(aaguid) && attestationCertificate != null) {
+            Map<AAGUID, Set<MetadataItem>> metadataItemMap = metadataItemsProvider.provide();
+            Map<String, Set<MetadataItem>> keyIdentifierIndex = keyIdentifierIndexCache.get(metadataItemMap, () -> createKeyIdentifierIndex(metadataItemMap));
+            Set<MetadataItem> metadataItems = keyIdentifierIndex.get(AttestationCertificateKeyIdentifierUtil.compute(attestationCertificate));
+            if (metadataItems != null) {
+                return metadataItems;
+            }
+        }
+        return resolve(aaguid);
+    }
+
+    @Override
+    public CompletionStage<Void> prepareAsync(Executor executor) {
+        return metadataItemsProvider.provideAsync(executor).thenApply(metadataItems -> null);
+    }
+
+    static Map<String, Set<MetadataItem>> createKeyIdentifierIndex(Map<AAGUID, Set<MetadataItem>> metadataItemMap) {
+        Map<String, Set<MetadataItem>> index = new HashMap<>();
+        metadataItemMap.values().forEach(metadataItems -> metadataItems.forEach(metadataItem -> {
+            List<String> keyIdentifiers = metadataItem.getAttestationCertificateKeyIdentifiers();
+            if (keyIdentifiers != null) {
+                keyIdentifiers.forEach(keyIdentifier ->
+                        index.computeIfAbsent(AttestationCertificateKeyIdentifierUtil.normalize(keyIdentifier), key -> new HashSet<>()).add(metadataItem));
+            }
+        }));
+        index.replaceAll((key, value) -> Collections.unmodifiableSet(value));
+        return Collections.unmodifiableMap(index);
+    }
 }
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metadata;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
+import com.webauthn4j.converter.util.ObjectConverter;
+import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.metadata.converter.jackson.WebAuthnMetadataJSONModule;
+import com.webauthn4j.metadata.data.MetadataItem;
+import com.webauthn4j.metadata.data.MetadataItemImpl;
+import com.webauthn4j.metadata.data.statement.MetadataStatement;
+import com.webauthn4j.metadata.data.toc.StatusReport;
+import com.webauthn4j.metadata.exception.MDSException;
+import com.webauthn4j.util.AssertUtil;
+import com.webauthn4j.util.CryptoPrimitivesUtil;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * A persistent snapshot of validated {@link MetadataItem}s, which allows to start serving metadata without
+ * fetching and validating it again.
+ * <p>
+ * File layout (big endian):
+ * <pre>
+ * magic "W4JM" | format version (int) | created at, epoch millis (long) | next update, epoch day or -1 (long) |
+ * payload length (int) | SHA-256 of payload (32 bytes) | payload
+ * </pre>
+ * The payload is a CBOR array of metadata items. Certificates are stored in DER form.
+ * The file is read through a memory-mapped buffer, and rejected if the format version or the checksum doesn't match.
+ * The checksum only detects corruption. It doesn't authenticate the content, which must be revalidated against a signed TOC.
+ */
+public class MetadataItemsSnapshot {
+
+    static final int FORMAT_VERSION = 1;
+    private static final byte[] MAGIC = {'W', '4', 'J', 'M'};
+    private static final int HEADER_LENGTH = MAGIC.length + 4 + 8 + 8 + 4 + 32;
+
+    private static final ObjectMapper cborMapper = createCborMapper();
+
+    private final Map<AAGUID, Set<MetadataItem>> metadataItems;
+    private final Instant createdAt;
+    private final LocalDate nextUpdate;
+
+    public MetadataItemsSnapshot(Map<AAGUID, Set<MetadataItem>> metadataItems, Instant createdAt, LocalDate nextUpdate) {
+        AssertUtil.notNull(metadataItems, "metadataItems must not be null");
+        AssertUtil.notNull(createdAt, "createdAt must not be null");
+        this.metadataItems = metadataItems;
+        this.createdAt = createdAt;
+        this.nextUpdate = nextUpdate;
+    }
+
+    private static ObjectMapper createCborMapper() {
+        ObjectMapper jsonMapper = new ObjectMapper();
+        ObjectMapper mapper = new ObjectMapper(new CBORFactory());
+        mapper.registerModule(new WebAuthnMetadataJSONModule());
+        new ObjectConverter(jsonMapper, mapper); // registers WebAuthn modules to the mappers
+        return mapper;
+    }
+
+    /**
+     * Reads a snapshot file
+     *
+     * @param path snapshot file path
+     * @return the snapshot
+     * @throws MDSException if the file is not a valid snapshot of the supported format version
+     */
+    public static MetadataItemsSnapshot read(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_LENGTH) {
+                throw new MDSException("Metadata snapshot is truncated.");
+            }
+            byte[] magic = new byte[MAGIC.length];
+            buffer.get(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new MDSException("Not a metadata snapshot file.");
+            }
+            int formatVersion = buffer.getInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new MDSException("Unsupported metadata snapshot format version: " + formatVersion);
+            }
+            Instant createdAt = Instant.ofEpochMilli(buffer.getLong());
+            long nextUpdateEpochDay = buffer.getLong();
+            int payloadLength = buffer.getInt();
+            byte[] checksum = new byte[32];
+            buffer.get(checksum);
+            if (payloadLength < 0 || buffer.remaining() != payloadLength) {
+                throw new MDSException("Metadata snapshot is truncated.");
+            }
+
+            ByteBuffer payload = buffer.slice();
+            MessageDigest messageDigest = CryptoPrimitivesUtil.getSHA256();
+            messageDigest.update(payload.duplicate());
+            if (!MessageDigest.isEqual(checksum, messageDigest.digest())) {
+                throw new MDSException("Metadata snapshot checksum doesn't match.");
+            }
+            List<Entry> entries = cborMapper.readValue(new ByteBufferBackedInputStream(payload), new TypeReference<List<Entry>>() {
+            });
+            Map<AAGUID, Set<MetadataItem>> metadataItems = entries.stream()
+                    .map(Entry::toMetadataItem)
+                    .collect(Collectors.groupingBy(MetadataItem::getAaguid, Collectors.collectingAndThen(Collectors.toSet(), Collections::unmodifiableSet)));
+            return new MetadataItemsSnapshot(Collections.unmodifiableMap(metadataItems), createdAt, nextUpdateEpochDay < 0 ? null : LocalDate.ofEpochDay(nextUpdateEpochDay));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read a metadata snapshot", e);
+        }
+    }
+
+    /**
+     * Writes this snapshot to the file. The file is replaced atomically.
+     *
+     * @param path snapshot file path
+     */
+    public void write(Path path) {
+        try {
+            List<Entry> entries = metadataItems.values().stream()
+                    .flatMap(Collection::stream)
+                    .map(Entry::new)
+                    .collect(Collectors.toList());
+            byte[] payload = cborMapper.writeValueAsBytes(entries);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+            header.put(MAGIC);
+            header.putInt(FORMAT_VERSION);
+            header.putLong(createdAt.toEpochMilli());
+            header.putLong(nextUpdate == null ? -1 : nextUpdate.toEpochDay());
+            header.putInt(payload.length);
+            header.put(CryptoPrimitivesUtil.getSHA256().digest(payload));
+
+            Path directory = path.toAbsolutePath().getParent();
+            Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream outputStream = Files.newOutputStream(temporary)) {
+                    outputStream.write(header.array());
+                    outputStream.write(payload);
+                }
+                Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write a metadata snapshot", e);
+        }
+    }
+
+    public Map<AAGUID, Set<MetadataItem>> getMetadataItems() {
+        return metadataItems;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDate getNextUpdate() {
+        return nextUpdate;
+    }
+
+    /**
+     * Serialized form of a {@link MetadataItem}
+     */
+    static class Entry {
+
+        private final String aaid;
+        private final String aaguid;
+        private final List<String> attestationCertificateKeyIdentifiers;
+        private final String hash;
+        private final List<StatusReport> statusReports;
+        @JsonDeserialize(using = LocalDateDeserializer.class)
+        @JsonSerialize(using = LocalDateSerializer.class)
+        private final LocalDate timeOfLastStatusChange;
+        private final MetadataStatement metadataStatement;
+
+        @JsonCreator
+        Entry(
+                @JsonProperty("aaid") String aaid,
+                @JsonProperty("aaguid") String aaguid,
+                @JsonProperty("attestationCertificateKeyIdentifiers") List<String> attestationCertificateKeyIdentifiers,
+                @JsonProperty("hash") String hash,
+                @JsonProperty("statusReports") List<StatusReport> statusReports,
+                @JsonProperty("timeOfLastStatusChange") LocalDate timeOfLastStatusChange,
+                @JsonProperty("metadataStatement") MetadataStatement metadataStatement) {
+            this.aaid = aaid;
+            this.aaguid = aaguid;
+            this.attestationCertificateKeyIdentifiers = attestationCertificateKeyIdentifiers;
+            this.hash = hash;
+            this.statusReports = statusReports;
+            this.timeOfLastStatusChange = timeOfLastStatusChange;
+            this.metadataStatement = metadataStatement;
+        }
+
+        // AAGUID.NULL, which U2F and UAF items carry, is written as null, since its string form can't be parsed back
+        Entry(MetadataItem metadataItem) {
+            this(
+                    metadataItem.getAaid(),
+                    metadataItem.getAaguid() == null || metadataItem.getAaguid().getValue() == null ? null : metadataItem.getAaguid().toString(),
+                    metadataItem.getAttestationCertificateKeyIdentifiers(),
+                    metadataItem.getHash(),
+                    metadataItem.getStatusReports(),
+                    metadataItem.getTimeOfLastStatusChange(),
+                    metadataItem.getMetadataStatement()
+            );
+        }
+
+        MetadataItem toMetadataItem() {
+            return new MetadataItemImpl(aaid, aaguid == null ? AAGUID.NULL : new AAGUID(aaguid), attestationCertificateKeyIdentifiers,
+                    hash, statusReports, timeOfLastStatusChange, metadataStatement);
+        }
+
+        public String getAaid() {
+            return aaid;
+        }
+
+        public String getAaguid() {
+            return aaguid;
+        }
+
+        public List<String> getAttestationCertificateKeyIdentifiers() {
+            return attestationCertificateKeyIdentifiers;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public List<StatusReport> getStatusReports() {
+            return statusReports;
+        }
+
+        public LocalDate getTimeOfLastStatusChange() {
+            return timeOfLastStatusChange;
+        }
+
+        public MetadataStatement getMetadataStatement() {
+            return metadataStatement;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metadata;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Statistics of a metadata refresh
+ */
+public class MetadataRefreshStatistics implements Serializable {
+
+    private final int reused;
+    private final int fetched;
+    private final int failed;
+    private final int dropped;
+
+    public MetadataRefreshStatistics(int reused, int fetched, int failed, int dropped) {
+        this.reused = reused;
+        this.fetched = fetched;
+        this.failed = failed;
+        this.dropped = dropped;
+    }
+
+    /**
+     * Returns the number of entries whose metadata was unchanged and reused
+     *
+     * @return the number of reused entries
+     */
+    public int getReused() {
+        return reused;
+    }
+
+    /**
+     * Returns the number of new or changed entries whose metadata was fetched
+     *
+     * @return the number of fetched entries
+     */
+    public int getFetched() {
+        return fetched;
+    }
+
+    /**
+     * Returns the number of new or changed entries whose metadata failed to be fetched
+     *
+     * @return the number of failed entries
+     */
+    public int getFailed() {
+        return failed;
+    }
+
+    /**
+     * Returns the number of previously held entries which are no longer listed
+     *
+     * @return the number of dropped entries
+     */
+    public int getDropped() {
+        return dropped;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MetadataRefreshStatistics that = (MetadataRefreshStatistics) o;
+        return reused == that.reused &&
+                fetched == that.fetched &&
+                failed == that.failed &&
+                dropped == that.dropped;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(reused, fetched, failed, dropped);
+    }
+
+    @Override
+    public String toString() {
+        return "MetadataRefreshStatistics(" +
+                "reused=" + reused +
+                ", fetched=" + fetched +
+                ", failed=" + failed +
+                ", dropped=" + dropped +
+                ')';
+    }
+}
@@ -18,29 +18,54 @@ package com.webauthn4j.metadata;
 
 import com.webauthn4j.anchor.TrustAnchorsProvider;
 import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.metadata.data.statement.MetadataStatement;
 
 import java.security.cert.TrustAnchor;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 public class MetadataStatementsTrustAnchorsProvider implements TrustAnchorsProvider {
 
     private final MetadataStatementsProvider metadataStatementsProvider;
+    private final DerivedSnapshotCache<Map<AAGUID, Set<TrustAnchor>>> cache = new DerivedSnapshotCache<>();
 
     public MetadataStatementsTrustAnchorsProvider(MetadataStatementsProvider metadataStatementsProvider) {
         this.metadataStatementsProvider = metadataStatementsProvider;
     }
 
+    /**
+     * Provides {@link TrustAnchor}s derived from the metadata statements. The derived map is cached, and only rebuilt
+     * when the {@link MetadataStatementsProvider} provides a new map.
+     *
+     * @return {@link AAGUID} key {@link TrustAnchor} {@link Set} value {@link Map}
+     */
     @Override
     public Map<AAGUID, Set<TrustAnchor>> provide() {
-        return metadataStatementsProvider.provide().entrySet().stream()
+        return derive(metadataStatementsProvider.provide());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Completes when {@link MetadataStatementsProvider#provideAsync(Executor)} completes.
+     */
+    @Override
+    public CompletionStage<Map<AAGUID, Set<TrustAnchor>>> provideAsync(Executor executor) {
+        return metadataStatementsProvider.provideAsync(executor).thenApply(this::derive);
+    }
+
+    private Map<AAGUID, Set<TrustAnchor>> derive(Map<AAGUID, Set<MetadataStatement>> metadataStatements) {
+        return cache.get(metadataStatements, () -> Collections.unmodifiableMap(metadataStatements.entrySet().stream()
                 .collect(Collectors.toMap(
                         Map.Entry::getKey,
-                        entry -> entry.getValue().stream().flatMap(metadataStatement ->
+                        entry -> Collections.unmodifiableSet(entry.getValue().stream().flatMap(metadataStatement ->
                                 metadataStatement.getAttestationRootCertificates().stream()
                                         .map(certificate -> new TrustAnchor(certificate, null))
-                        ).collect(Collectors.toSet())
-                ));
+                        ).collect(Collectors.toSet()))
+                ))));
     }
 }
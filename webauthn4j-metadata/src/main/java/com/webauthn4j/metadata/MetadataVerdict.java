@@ -0,0 +1,139 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metadata;
+
+import com.webauthn4j.metadata.data.MetadataItem;
+import com.webauthn4j.metadata.data.statement.AttestationType;
+import com.webauthn4j.metadata.data.statement.MetadataStatement;
+import com.webauthn4j.metadata.data.toc.AuthenticatorStatus;
+import com.webauthn4j.metadata.data.toc.StatusReport;
+
+import java.security.cert.X509Certificate;
+import java.util.*;
+
+/**
+ * Precomputed verdict of the FIDO Metadata Service for an authenticator model
+ */
+public class MetadataVerdict {
+
+    static final MetadataVerdict EMPTY = new MetadataVerdict(false, null, Collections.emptySet(), Collections.emptyList());
+
+    private final boolean surrogateOnly;
+    private final AuthenticatorStatus badStatus;
+    private final Set<AttestationType> attestationTypes;
+    private final List<X509Certificate> attestationRootCertificates;
+
+    MetadataVerdict(boolean surrogateOnly, AuthenticatorStatus badStatus, Set<AttestationType> attestationTypes, List<X509Certificate> attestationRootCertificates) {
+        this.surrogateOnly = surrogateOnly;
+        this.badStatus = badStatus;
+        this.attestationTypes = attestationTypes;
+        this.attestationRootCertificates = attestationRootCertificates;
+    }
+
+    /**
+     * Compiles the verdict for the metadata items of an authenticator model
+     *
+     * @param metadataItems metadata items
+     * @return the verdict
+     */
+    public static MetadataVerdict create(Collection<MetadataItem> metadataItems) {
+        if (metadataItems.isEmpty()) {
+            return EMPTY;
+        }
+        Set<AttestationType> attestationTypes = EnumSet.noneOf(AttestationType.class);
+        List<X509Certificate> attestationRootCertificates = new ArrayList<>();
+        boolean surrogateOnly = true;
+        boolean hasAttestationType = false;
+        AuthenticatorStatus badStatus = null;
+        for (MetadataItem metadataItem : metadataItems) {
+            MetadataStatement metadataStatement = metadataItem.getMetadataStatement();
+            if (metadataStatement != null) {
+                if (metadataStatement.getAttestationTypes() != null) {
+                    for (AttestationType attestationType : metadataStatement.getAttestationTypes()) {
+                        hasAttestationType = true;
+                        surrogateOnly &= attestationType == AttestationType.BASIC_SURROGATE;
+                        attestationTypes.add(attestationType);
+                    }
+                }
+                if (metadataStatement.getAttestationRootCertificates() != null) {
+                    attestationRootCertificates.addAll(metadataStatement.getAttestationRootCertificates());
+                }
+            }
+            if (badStatus == null && metadataItem.getStatusReports() != null) {
+                badStatus = findBadStatus(metadataItem.getStatusReports());
+            }
+        }
+        return new MetadataVerdict(hasAttestationType && surrogateOnly, badStatus,
+                Collections.unmodifiableSet(attestationTypes), Collections.unmodifiableList(attestationRootCertificates));
+    }
+
+    private static AuthenticatorStatus findBadStatus(List<StatusReport> statusReports) {
+        for (StatusReport statusReport : statusReports) {
+            AuthenticatorStatus status = statusReport.getStatus();
+            if (status == null) {
+                continue;
+            }
+            switch (status) {
+                case FIDO_CERTIFIED:
+                case FIDO_CERTIFIED_L1:
+                case FIDO_CERTIFIED_L1_PLUS:
+                case FIDO_CERTIFIED_L2:
+                case FIDO_CERTIFIED_L2_PLUS:
+                case FIDO_CERTIFIED_L3:
+                case FIDO_CERTIFIED_L3_PLUS:
+                case UPDATE_AVAILABLE:
+                case NOT_FIDO_CERTIFIED:
+                case SELF_ASSERTION_SUBMITTED:
+                    break;
+                case ATTESTATION_KEY_COMPROMISE:
+                case USER_VERIFICATION_BYPASS:
+                case USER_KEY_REMOTE_COMPROMISE:
+                case USER_KEY_PHYSICAL_COMPROMISE:
+                case REVOKED:
+                default:
+                    return status;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns true if the metadata registers the authenticator model only for surrogate basic attestation
+     *
+     * @return true if surrogate only
+     */
+    public boolean isSurrogateOnly() {
+        return surrogateOnly;
+    }
+
+    /**
+     * Returns the status reported by the metadata which disqualifies the authenticator model
+     *
+     * @return the status, or null if not reported
+     */
+    public AuthenticatorStatus getBadStatus() {
+        return badStatus;
+    }
+
+    public Set<AttestationType> getAttestationTypes() {
+        return attestationTypes;
+    }
+
+    public List<X509Certificate> getAttestationRootCertificates() {
+        return attestationRootCertificates;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metadata;
+
+import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.metadata.data.MetadataItem;
+import com.webauthn4j.util.AssertUtil;
+
+import java.security.cert.X509Certificate;
+import java.util.*;
+
+/**
+ * Per-AAGUID {@link MetadataVerdict} table compiled from a metadata snapshot. Metadata items registered for
+ * {@link AAGUID#NULL} apply to every AAGUID, as {@link MetadataItemsResolverImpl} does.
+ */
+public class MetadataVerdictTable {
+
+    private final Map<AAGUID, MetadataVerdict> verdicts;
+    private final Map<String, MetadataVerdict> keyIdentifierVerdicts;
+    private final MetadataVerdict defaultVerdict;
+
+    private MetadataVerdictTable(Map<AAGUID, MetadataVerdict> verdicts, Map<String, MetadataVerdict> keyIdentifierVerdicts, MetadataVerdict defaultVerdict) {
+        this.verdicts = verdicts;
+        this.keyIdentifierVerdicts = keyIdentifierVerdicts;
+        this.defaultVerdict = defaultVerdict;
+    }
+
+    /**
+     * Compiles the table
+     *
+     * @param metadataItemMap {@link AAGUID} key {@link MetadataItem} {@link Set} value {@link Map}
+     * @return the table
+     */
+    public static MetadataVerdictTable create(Map<AAGUID, Set<MetadataItem>> metadataItemMap) {
+        AssertUtil.notNull(metadataItemMap, "metadataItemMap must not be null");
+        Set<MetadataItem> commonItems = metadataItemMap.getOrDefault(AAGUID.NULL, Collections.emptySet());
+        Map<AAGUID, MetadataVerdict> verdicts = new HashMap<>();
+        metadataItemMap.forEach((aaguid, items) -> {
+            if (AAGUID.NULL.equals(aaguid)) {
+                return;
+            }
+            Set<MetadataItem> metadataItems = new HashSet<>(commonItems);
+            metadataItems.addAll(items);
+            verdicts.put(aaguid, MetadataVerdict.create(metadataItems));
+        });
+        Map<String, MetadataVerdict> keyIdentifierVerdicts = new HashMap<>();
+        MetadataItemsResolverImpl.createKeyIdentifierIndex(metadataItemMap)
+                .forEach((keyIdentifier, items) -> keyIdentifierVerdicts.put(keyIdentifier, MetadataVerdict.create(items)));
+        return new MetadataVerdictTable(verdicts, keyIdentifierVerdicts, MetadataVerdict.create(commonItems));
+    }
+
+    /**
+     * Returns the verdict for the AAGUID
+     *
+     * @param aaguid aaguid
+     * @return the verdict. For an AAGUID unknown to the metadata, the verdict of the items registered for
+     * {@link AAGUID#NULL} is returned.
+     */
+    public MetadataVerdict get(AAGUID aaguid) {
+        AssertUtil.notNull(aaguid, "aaguid must not be null");
+        return verdicts.getOrDefault(aaguid, defaultVerdict);
+    }
+
+    /**
+     * Returns the verdict for the authenticator. For a U2F authenticator, whose AAGUID is {@link AAGUID#ZERO}, if the
+     * attestation certificate key identifier of the attestation certificate is registered in the metadata, the verdict
+     * of the exactly matching metadata items is returned.
+     *
+     * @param aaguid                 aaguid
+     * @param attestationCertificate attestation certificate, nullable
+     * @return the verdict
+     */
+    public MetadataVerdict get(AAGUID aaguid, X509Certificate attestationCertificate) {
+        // as MetadataItemsResolverImpl does, the key identifier never hides the items registered for a real AAGUID
+        if (AAGUID.ZERO.equals(aaguid) && attestationCertificate != null && !keyIdentifierVerdicts.isEmpty()) {
+            MetadataVerdict verdict = keyIdentifierVerdicts.get(AttestationCertificateKeyIdentifierUtil.compute(attestationCertificate));
+            if (verdict != null) {
+                return verdict;
+            }
+        }
+        return get(aaguid);
+    }
+
+    public Set<AAGUID> getAAGUIDs() {
+        return Collections.unmodifiableSet(verdicts.keySet());
+    }
+}
@@ -18,7 +18,6 @@ package com.webauthn4j.metadata;
 
 import com.webauthn4j.metadata.exception.MDSException;
 
-import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -42,15 +41,14 @@ public class SimpleHttpClient implements HttpClient {
             int status = urlConnection.getResponseCode();
 
             if (status == HttpURLConnection.HTTP_OK) {
-                InputStream inputStream = urlConnection.getInputStream();
-                BufferedInputStream bis = new BufferedInputStream(inputStream);
                 ByteArrayOutputStream buf = new ByteArrayOutputStream();
-                int result = bis.read();
-                while (result != -1) {
-                    buf.write((byte) result);
-                    result = bis.read();
+                try (InputStream inputStream = urlConnection.getInputStream()) {
+                    byte[] buffer = new byte[8192];
+                    int length;
+                    while ((length = inputStream.read(buffer)) != -1) {
+                        buf.write(buffer, 0, length);
+                    }
                 }
-                bis.close();
                 return buf.toString("UTF-8");
             }
             throw new MDSException("failed to fetch " + url);
@@ -58,4 +56,19 @@ public class SimpleHttpClient implements HttpClient {
             throw new MDSException("failed to fetch " + url, e);
         }
     }
+
+    @Override
+    public InputStream fetchAsStream(String url) {
+        try {
+            HttpURLConnection urlConnection = (HttpURLConnection) new URL(url).openConnection();
+            urlConnection.setRequestMethod("GET");
+            urlConnection.connect();
+            if (urlConnection.getResponseCode() == HttpURLConnection.HTTP_OK) {
+                return urlConnection.getInputStream();
+            }
+            throw new MDSException("failed to fetch " + url);
+        } catch (IOException e) {
+            throw new MDSException("failed to fetch " + url, e);
+        }
+    }
 }
@@ -31,7 +31,8 @@ public enum AttestationType {
     BASIC_FULL(0x3E07),
     BASIC_SURROGATE(0x3E08),
     ECDAA(0x3E09),
-    ATTCA(0x3E0A);
+    ATTCA(0x3E0A),
+    ANONCA(0x3E0C);
 
     private final int value;
 
@@ -52,6 +53,8 @@ public enum AttestationType {
                 return ECDAA;
             case 0x3E0A:
                 return ATTCA;
+            case 0x3E0C:
+                return ANONCA;
             default:
                 throw new IllegalArgumentException("value '" + value + "' is out of range");
         }
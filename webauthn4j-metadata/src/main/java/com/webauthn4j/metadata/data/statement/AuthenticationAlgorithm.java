@@ -45,7 +45,8 @@ public enum AuthenticationAlgorithm {
     RSASSA_PKCSV15_SHA1_RAW(0x000F),
     SECP384R1_ECDSA_SHA384_RAW(0x0010),
     SECP521R1_ECDSA_SHA512_RAW(0x0011),
-    ED25519_EDDSA_SHA256_RAW(0x0012);
+    ED25519_EDDSA_SHA256_RAW(0x0012),
+    ED448_EDDSA_SHA512_RAW(0x0013);
 
     private final int value;
 
@@ -94,6 +95,8 @@ public enum AuthenticationAlgorithm {
                 return SECP521R1_ECDSA_SHA512_RAW;
             case 0x0012:
                 return ED25519_EDDSA_SHA256_RAW;
+            case 0x0013:
+                return ED448_EDDSA_SHA512_RAW;
             default:
                 throw new IllegalArgumentException("value '" + value + "' is out of range");
         }
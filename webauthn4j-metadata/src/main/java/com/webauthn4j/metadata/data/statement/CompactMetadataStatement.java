@@ -0,0 +1,202 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metadata.data.statement;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.webauthn4j.converter.util.JsonConverter;
+import com.webauthn4j.util.AssertUtil;
+import com.webauthn4j.util.CollectionUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Memory-lean {@link MetadataStatement}, which decodes only the fields used for validation eagerly.
+ * <p>
+ * Display oriented fields, which are large but rarely read (legalHeader, alternativeDescriptions,
+ * userVerificationDetails, tcDisplayPNGCharacteristics, ecdaaTrustAnchors, icon and supportedExtensions), are kept
+ * as deflated UTF-8 JSON bytes and decoded on first access.
+ */
+public class CompactMetadataStatement extends MetadataStatement {
+
+    private static final List<String> LAZY_FIELD_NAMES = Arrays.asList(
+            "legalHeader", "alternativeDescriptions", "userVerificationDetails", "tcDisplayPNGCharacteristics",
+            "ecdaaTrustAnchors", "icon", "supportedExtensions");
+
+    private final JsonConverter jsonConverter;
+    private final byte[] lazyFieldBytes;
+    private transient volatile LazyFields lazyFields;
+
+    private CompactMetadataStatement(MetadataStatement eager, JsonConverter jsonConverter, byte[] lazyFieldBytes) {
+        super(
+                null,
+                eager.getAaid(),
+                eager.getAaguid(),
+                eager.getAttestationCertificateKeyIdentifiers(),
+                eager.getDescription(),
+                null,
+                eager.getAuthenticatorVersion(),
+                eager.getProtocolFamily(),
+                eager.getUpv(),
+                eager.getAssertionScheme(),
+                eager.getAuthenticationAlgorithm(),
+                eager.getAuthenticationAlgorithms(),
+                eager.getPublicKeyAlgAndEncoding(),
+                eager.getPublicKeyAlgAndEncodings(),
+                eager.getAttestationTypes(),
+                null,
+                eager.getKeyProtection(),
+                eager.getKeyRestricted(),
+                eager.getFreshUserVerificationRequired(),
+                eager.getMatcherProtection(),
+                eager.getCryptoStrength(),
+                eager.getOperationEnv(),
+                eager.getAttachmentHint(),
+                eager.getSecondFactorOnly(),
+                eager.getTcDisplay(),
+                eager.getTcDisplayContentType(),
+                null,
+                eager.getAttestationRootCertificates(),
+                null,
+                null,
+                null
+        );
+        this.jsonConverter = jsonConverter;
+        this.lazyFieldBytes = lazyFieldBytes;
+    }
+
+    /**
+     * Parses a metadata statement JSON in compact form
+     *
+     * @param jsonConverter json converter
+     * @param json          metadata statement JSON
+     * @return the metadata statement
+     */
+    public static CompactMetadataStatement parse(JsonConverter jsonConverter, String json) {
+        AssertUtil.notNull(jsonConverter, "jsonConverter must not be null");
+        AssertUtil.notNull(json, "json must not be null");
+        ObjectNode statement = jsonConverter.readValue(json, ObjectNode.class);
+        ObjectNode lazy = JsonNodeFactory.instance.objectNode();
+        for (String fieldName : LAZY_FIELD_NAMES) {
+            JsonNode value = statement.remove(fieldName);
+            if (value != null) {
+                lazy.set(fieldName, value);
+            }
+        }
+        MetadataStatement eager = jsonConverter.readValue(jsonConverter.writeValueAsString(statement), MetadataStatement.class);
+        return new CompactMetadataStatement(eager, jsonConverter, deflate(jsonConverter.writeValueAsBytes(lazy)));
+    }
+
+    private static byte[] deflate(byte[] bytes) {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(bytes.length / 2);
+        try (OutputStream outputStream = new DeflaterOutputStream(byteArrayOutputStream)) {
+            outputStream.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    private LazyFields getLazyFields() {
+        LazyFields decoded = lazyFields;
+        if (decoded == null) {
+            try (InputStream inputStream = new InflaterInputStream(new ByteArrayInputStream(lazyFieldBytes))) {
+                decoded = jsonConverter.readValue(inputStream, LazyFields.class);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            lazyFields = decoded;
+        }
+        return decoded;
+    }
+
+    @Override
+    public String getLegalHeader() {
+        return getLazyFields().legalHeader;
+    }
+
+    @Override
+    public AlternativeDescriptions getAlternativeDescriptions() {
+        return getLazyFields().alternativeDescriptions;
+    }
+
+    @Override
+    public List<VerificationMethodANDCombinations> getUserVerificationDetails() {
+        return getLazyFields().userVerificationDetails;
+    }
+
+    @Override
+    public List<DisplayPNGCharacteristicsDescriptor> getTcDisplayPNGCharacteristics() {
+        return getLazyFields().tcDisplayPNGCharacteristics;
+    }
+
+    @Override
+    public List<EcdaaTrustAnchor> getEcdaaTrustAnchors() {
+        return getLazyFields().ecdaaTrustAnchors;
+    }
+
+    @Override
+    public String getIcon() {
+        return getLazyFields().icon;
+    }
+
+    @Override
+    public List<ExtensionDescriptor> getSupportedExtensions() {
+        return getLazyFields().supportedExtensions;
+    }
+
+    static class LazyFields {
+
+        private final String legalHeader;
+        private final AlternativeDescriptions alternativeDescriptions;
+        private final List<VerificationMethodANDCombinations> userVerificationDetails;
+        private final List<DisplayPNGCharacteristicsDescriptor> tcDisplayPNGCharacteristics;
+        private final List<EcdaaTrustAnchor> ecdaaTrustAnchors;
+        private final String icon;
+        private final List<ExtensionDescriptor> supportedExtensions;
+
+        @JsonCreator
+        LazyFields(
+                @JsonProperty("legalHeader") String legalHeader,
+                @JsonProperty("alternativeDescriptions") AlternativeDescriptions alternativeDescriptions,
+                @JsonProperty("userVerificationDetails") List<VerificationMethodANDCombinations> userVerificationDetails,
+                @JsonProperty("tcDisplayPNGCharacteristics") List<DisplayPNGCharacteristicsDescriptor> tcDisplayPNGCharacteristics,
+                @JsonProperty("ecdaaTrustAnchors") List<EcdaaTrustAnchor> ecdaaTrustAnchors,
+                @JsonProperty("icon") String icon,
+                @JsonProperty("supportedExtensions") List<ExtensionDescriptor> supportedExtensions) {
+            this.legalHeader = legalHeader;
+            this.alternativeDescriptions = alternativeDescriptions;
+            this.userVerificationDetails = CollectionUtil.unmodifiableList(userVerificationDetails);
+            this.tcDisplayPNGCharacteristics = CollectionUtil.unmodifiableList(tcDisplayPNGCharacteristics);
+            this.ecdaaTrustAnchors = CollectionUtil.unmodifiableList(ecdaaTrustAnchors);
+            this.icon = icon;
+            this.supportedExtensions = CollectionUtil.unmodifiableList(supportedExtensions);
+        }
+    }
+}
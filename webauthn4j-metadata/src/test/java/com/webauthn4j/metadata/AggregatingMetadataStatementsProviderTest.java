@@ -58,4 +58,21 @@ class AggregatingMetadataStatementsProviderTest {
         AggregatingMetadataStatementsProvider target = new AggregatingMetadataStatementsProvider(Arrays.asList(providerA, providerB));
         assertThat(target.provide()).containsOnlyKeys(new AAGUID("df495bdc-223a-429d-9f0e-ebfa29155812"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void provide_memoizes_until_one_of_providers_changes_test() {
+        MetadataStatementsProvider providerA = mock(MetadataStatementsProvider.class);
+        Map<AAGUID, Set<MetadataStatement>> mapA = Collections.singletonMap(new AAGUID("df495bdc-223a-429d-9f0e-ebfa29155812"), new HashSet<>());
+        when(providerA.provide()).thenReturn(mapA);
+
+        MetadataStatementsProvider providerB = mock(MetadataStatementsProvider.class);
+        Map<AAGUID, Set<MetadataStatement>> mapB1 = Collections.singletonMap(new AAGUID("d075c221-6a37-4c61-80c7-11254460d5bb"), new HashSet<>());
+        Map<AAGUID, Set<MetadataStatement>> mapB2 = Collections.singletonMap(new AAGUID("d075c221-6a37-4c61-80c7-11254460d5bb"), new HashSet<>());
+        when(providerB.provide()).thenReturn(mapB1).thenReturn(mapB1).thenReturn(mapB2);
+
+        AggregatingMetadataStatementsProvider target = new AggregatingMetadataStatementsProvider(Arrays.asList(providerA, providerB));
+        Map<AAGUID, Set<MetadataStatement>> first = target.provide();
+        assertThat(target.provide()).isSameAs(first);
+        assertThat(target.provide()).isNotSameAs(first);
+    }
+}
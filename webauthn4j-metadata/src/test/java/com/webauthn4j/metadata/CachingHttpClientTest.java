@@ -0,0 +1,172 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metadata;
+
+import com.sun.net.httpserver.HttpServer;
+import com.webauthn4j.metadata.exception.MDSException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CachingHttpClientTest {
+
+    private static final String ETAG = "\"v1\"";
+
+    private HttpServer server;
+    private final List<Integer> statuses = Collections.synchronizedList(new ArrayList<>());
+    private final List<Integer> remotePorts = Collections.synchronizedList(new ArrayList<>());
+    private String baseUrl;
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/toc", exchange -> {
+            remotePorts.add(exchange.getRemoteAddress().getPort());
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                statuses.add(304);
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                byte[] body = "toc body".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("ETag", ETAG);
+                statuses.add(200);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream outputStream = exchange.getResponseBody()) {
+                    outputStream.write(body);
+                }
+            }
+            exchange.close();
+        });
+        server.createContext("/missing", exchange -> {
+            remotePorts.add(exchange.getRemoteAddress().getPort());
+            byte[] body = "not found".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(404, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void fetch_sends_conditional_request_and_reuses_connection_test() {
+        CachingHttpClient target = new CachingHttpClient();
+
+        String first = target.fetch(baseUrl + "/toc");
+        String second = target.fetch(baseUrl + "/toc");
+
+        assertAll(
+                () -> assertThat(first).isEqualTo("toc body"),
+                () -> assertThat(second).isEqualTo("toc body"),
+                () -> assertThat(statuses).containsExactly(200, 304),
+                () -> assertThat(new HashSet<>(remotePorts)).hasSize(1)
+        );
+    }
+
+    @Test
+    void fetch_after_clearCache_downloads_again_test() {
+        CachingHttpClient target = new CachingHttpClient();
+
+        target.fetch(baseUrl + "/toc");
+        target.clearCache();
+        target.fetch(baseUrl + "/toc");
+
+        assertThat(statuses).containsExactly(200, 200);
+    }
+
+    @Test
+    void fetch_evicts_least_recently_used_response_test() {
+        CachingHttpClient target = new CachingHttpClient();
+        target.setMaxCachedResponses(2);
+
+        target.fetch(baseUrl + "/toc?a");
+        target.fetch(baseUrl + "/toc?b");
+        target.fetch(baseUrl + "/toc?a");
+        target.fetch(baseUrl + "/toc?c");
+        statuses.clear();
+        target.fetch(baseUrl + "/toc?a");
+        target.fetch(baseUrl + "/toc?b");
+
+        assertThat(statuses).containsExactly(304, 200);
+    }
+
+    @Test
+    void retainCache_test() {
+        CachingHttpClient target = new CachingHttpClient();
+
+        target.fetch(baseUrl + "/toc?a");
+        target.fetch(baseUrl + "/toc?b");
+        target.retainCache(Collections.singletonList(baseUrl + "/toc?b"));
+        statuses.clear();
+        target.fetch(baseUrl + "/toc?a");
+        target.fetch(baseUrl + "/toc?b");
+
+        assertThat(statuses).containsExactly(200, 304);
+    }
+
+    @Test
+    void fetchAsStream_test() throws IOException {
+        CachingHttpClient target = new CachingHttpClient();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (InputStream inputStream = target.fetchAsStream(baseUrl + "/toc")) {
+            byte[] buffer = new byte[1024];
+            int length;
+            while ((length = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, length);
+            }
+        }
+        String body = new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+
+        assertAll(
+                () -> assertThat(body).isEqualTo("toc body"),
+                () -> assertThrows(MDSException.class, () -> target.fetchAsStream(baseUrl + "/missing"))
+        );
+    }
+
+    @Test
+    void fetch_error_response_test() {
+        CachingHttpClient target = new CachingHttpClient();
+
+        assertThrows(MDSException.class, () -> target.fetch(baseUrl + "/missing"));
+        target.fetch(baseUrl + "/toc");
+
+        assertThat(new HashSet<>(remotePorts)).hasSize(1);
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metadata;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.webauthn4j.converter.util.JsonConverter;
+import com.webauthn4j.converter.util.ObjectConverter;
+import com.webauthn4j.data.KeyProtectionType;
+import com.webauthn4j.data.UserVerificationMethod;
+import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.data.jws.JWAIdentifier;
+import com.webauthn4j.data.jws.JWS;
+import com.webauthn4j.data.jws.JWSFactory;
+import com.webauthn4j.data.jws.JWSHeader;
+import com.webauthn4j.metadata.converter.jackson.WebAuthnMetadataJSONModule;
+import com.webauthn4j.metadata.data.MetadataItem;
+import com.webauthn4j.metadata.data.statement.*;
+import com.webauthn4j.metadata.data.toc.AuthenticatorStatus;
+import com.webauthn4j.metadata.data.toc.StatusReport;
+import com.webauthn4j.metadata.exception.MDSException;
+import com.webauthn4j.test.TestAttestationUtil;
+import com.webauthn4j.test.TestDataUtil;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FidoMds3MetadataItemsProviderTest {
+
+    private static final String AAGUID_A = "49e25c43-a6d1-49f0-bcfa-23e23a7c0e52";
+    private static final String AAGUID_B = "d075c221-6a37-4c61-80c7-11254460d5bb";
+
+    private final ObjectConverter objectConverter;
+    private final JsonConverter jsonConverter;
+    private final JWSFactory jwsFactory;
+    private final HttpClient httpClient = mock(HttpClient.class);
+
+    FidoMds3MetadataItemsProviderTest() {
+        ObjectMapper jsonMapper = new ObjectMapper();
+        jsonMapper.registerModule(new WebAuthnMetadataJSONModule());
+        ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+        objectConverter = new ObjectConverter(jsonMapper, cborMapper);
+        jsonConverter = objectConverter.getJsonConverter();
+        jwsFactory = new JWSFactory(objectConverter);
+    }
+
+    @Test
+    void provide_test() {
+        String blob = createBLOB(1).toString();
+        when(httpClient.fetchAsStream("https://example.com/blob")).thenReturn(new ByteArrayInputStream(blob.getBytes(StandardCharsets.UTF_8)));
+        FidoMds3MetadataItemsProvider target = createProvider();
+
+        Map<AAGUID, Set<MetadataItem>> metadataItems = target.provide();
+
+        MetadataItem metadataItem = metadataItems.get(new AAGUID(AAGUID_A)).iterator().next();
+        assertAll(
+                () -> assertThat(metadataItems).containsOnlyKeys(new AAGUID(AAGUID_A), new AAGUID(AAGUID_B)),
+                () -> assertThat(metadataItem.getTimeOfLastStatusChange()).isEqualTo(LocalDate.of(2020, 1, 1)),
+                () -> assertThat(metadataItem.getMetadataStatement().getDescription()).isEqualTo("dummy statement"),
+                () -> assertThat(target.nextUpdate.toLocalDate()).isEqualTo(LocalDate.of(2020, 2, 1)),
+                () -> assertThat(target.provide()).isSameAs(metadataItems)
+        );
+    }
+
+    @Test
+    void provide_with_mds3_schema_blob_test() {
+        HashMap<String, Object> payload = jsonConverter.readValue(getClass().getResourceAsStream("FidoMds3MetadataBLOBPayload.json"), new TypeReference<HashMap<String, Object>>() {
+        });
+        JWSHeader header = new JWSHeader(JWAIdentifier.ES256, TestAttestationUtil.load3tierTestAttestationCertificatePath());
+        String blob = jwsFactory.create(header, payload, TestAttestationUtil.load3tierTestAuthenticatorAttestationPrivateKey()).toString();
+        when(httpClient.fetchAsStream("https://example.com/blob")).thenReturn(new ByteArrayInputStream(blob.getBytes(StandardCharsets.UTF_8)));
+        FidoMds3MetadataItemsProvider target = createProvider();
+
+        Map<AAGUID, Set<MetadataItem>> metadataItems = target.provide();
+
+        MetadataItem fido2 = metadataItems.get(new AAGUID("cb69481e-8ff7-4039-93ec-0a2729a154a8")).iterator().next();
+        MetadataStatement statement = fido2.getMetadataStatement();
+        assertAll(
+                // the entry with a value which is not registered is skipped, U2F and UAF entries have no AAGUID
+                () -> assertThat(metadataItems).containsOnlyKeys(new AAGUID("cb69481e-8ff7-4039-93ec-0a2729a154a8"), AAGUID.NULL),
+                () -> assertThat(metadataItems.get(AAGUID.NULL)).hasSize(2),
+                () -> assertThat(statement.getAssertionScheme()).isEqualTo("FIDOV2"),
+                () -> assertThat(statement.getAuthenticationAlgorithms()).containsExactly(AuthenticationAlgorithm.ED25519_EDDSA_SHA256_RAW, AuthenticationAlgorithm.SECP256R1_ECDSA_SHA256_RAW),
+                () -> assertThat(statement.getPublicKeyAlgAndEncodings()).containsExactly(PublicKeyRepresentationFormat.COSE),
+                () -> assertThat(statement.getAttestationTypes()).containsExactly(AttestationType.BASIC_FULL),
+                () -> assertThat(statement.getUserVerificationDetails().get(0).get(0).getUserVerification()).isEqualTo(UserVerificationMethod.PASSCODE_EXTERNAL),
+                () -> assertThat(statement.getKeyProtection()).containsExactlyInAnyOrder(KeyProtectionType.HARDWARE, KeyProtectionType.SECURE_ELEMENT),
+                () -> assertThat(statement.getAttachmentHint()).containsExactlyInAnyOrder(AttachmentHint.EXTERNAL, AttachmentHint.WIRED, AttachmentHint.WIRELESS, AttachmentHint.NFC),
+                () -> assertThat(statement.getAttestationRootCertificates()).hasSize(1),
+                () -> assertThat(fido2.getStatusReports()).extracting(StatusReport::getStatus).containsExactly(AuthenticatorStatus.FIDO_CERTIFIED_L1, AuthenticatorStatus.FIDO_CERTIFIED),
+                () -> assertThat(target.nextUpdate.toLocalDate()).isEqualTo(LocalDate.of(2021, 7, 1))
+        );
+    }
+
+    @Test
+    void provide_with_tampered_payload_test() {
+        String[] original = createBLOB(1).toString().split("\\.");
+        String[] tampered = createBLOB(2).toString().split("\\.");
+        String blob = original[0] + "." + tampered[1] + "." + original[2];
+        when(httpClient.fetchAsStream("https://example.com/blob")).thenReturn(new ByteArrayInputStream(blob.getBytes(StandardCharsets.UTF_8)));
+        FidoMds3MetadataItemsProvider target = createProvider();
+
+        assertThrows(MDSException.class, target::provide);
+    }
+
+    @Test
+    void refresh_with_decreasing_serial_number_test() {
+        FidoMds3MetadataItemsProvider target = createProvider();
+        target.refresh(new MetadataBLOBReader.MetadataBLOB(null, 2, LocalDate.of(2020, 2, 1), Collections.emptyMap()));
+
+        assertThrows(MDSException.class, () -> target.refresh(new MetadataBLOBReader.MetadataBLOB(null, 1, LocalDate.of(2020, 2, 1), Collections.emptyMap())));
+    }
+
+    private FidoMds3MetadataItemsProvider createProvider() {
+        FidoMds3MetadataItemsProvider provider = new FidoMds3MetadataItemsProvider(objectConverter, httpClient, TestAttestationUtil.load3tierTestRootCACertificate()) {
+            @Override
+            MetadataBLOBReader.MetadataBLOB fetchMetadataBLOB(boolean skipCertPathValidation) {
+                return super.fetchMetadataBLOB(true);
+            }
+        };
+        provider.setFidoMetadataServiceEndpoint("https://example.com/blob");
+        return provider;
+    }
+
+    private JWS<HashMap<String, Object>> createBLOB(int no) {
+        HashMap<String, Object> payload = new LinkedHashMap<>();
+        payload.put("legalHeader", "legal header");
+        payload.put("no", no);
+        payload.put("nextUpdate", "2020-02-01");
+        payload.put("entries", Arrays.asList(createEntry(AAGUID_A), createEntry(AAGUID_B)));
+        JWSHeader header = new JWSHeader(JWAIdentifier.ES256, TestAttestationUtil.load3tierTestAttestationCertificatePath());
+        return jwsFactory.create(header, payload, TestAttestationUtil.load3tierTestAuthenticatorAttestationPrivateKey());
+    }
+
+    private Map<String, Object> createEntry(String aaguid) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("aaguid", aaguid);
+        Map<String, Object> metadataStatement = jsonConverter.readValue(jsonConverter.writeValueAsString(TestDataUtil.createMetadataStatement()), new TypeReference<Map<String, Object>>() {
+        });
+        metadataStatement.put("aaguid", aaguid);
+        entry.put("metadataStatement", metadataStatement);
+        entry.put("statusReports", Collections.emptyList());
+        entry.put("timeOfLastStatusChange", "2020-01-01");
+        return entry;
+    }
+}
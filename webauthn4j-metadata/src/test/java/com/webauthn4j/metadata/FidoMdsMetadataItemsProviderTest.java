@@ -16,9 +16,49 @@
 
 package com.webauthn4j.metadata;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.webauthn4j.converter.util.ObjectConverter;
+import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.data.jws.JWAIdentifier;
+import com.webauthn4j.data.jws.JWSFactory;
+import com.webauthn4j.data.jws.JWSHeader;
+import com.webauthn4j.metadata.converter.jackson.WebAuthnMetadataJSONModule;
+import com.webauthn4j.metadata.data.MetadataItem;
+import com.webauthn4j.metadata.data.MetadataItemImpl;
+import com.webauthn4j.metadata.data.statement.MetadataStatement;
+import com.webauthn4j.metadata.data.toc.MetadataTOCPayload;
+import com.webauthn4j.metadata.data.toc.AuthenticatorStatus;
+import com.webauthn4j.metadata.data.toc.MetadataTOCPayloadEntry;
+import com.webauthn4j.metadata.data.toc.StatusReport;
+import com.webauthn4j.metadata.exception.MDSException;
+import com.webauthn4j.test.TestAttestationUtil;
+import com.webauthn4j.test.TestDataUtil;
+import com.webauthn4j.util.Base64UrlUtil;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 class FidoMdsMetadataItemsProviderTest {
 
@@ -29,4 +69,278 @@ class FidoMdsMetadataItemsProviderTest {
         assertThat(FidoMdsMetadataItemsProvider.appendToken("https://mds2.fidoalliance.org/metadata/4e4e%234005/", "dummyToken")).isEqualTo("https://mds2.fidoalliance.org/metadata/4e4e%234005/?token=dummyToken");
     }
 
-}
\ No newline at end of file
+    @Test
+    void refresh_fetches_only_new_or_changed_entries_test() {
+        AtomicInteger fetchCount = new AtomicInteger();
+        FidoMdsMetadataItemsProvider target = new FidoMdsMetadataItemsProvider(new ObjectConverter(), mock(HttpClient.class), TestAttestationUtil.load3tierTestRootCACertificate()) {
+            @Override
+            MetadataStatement fetchMetadataStatement(String uri, byte[] expectedHash) {
+                fetchCount.incrementAndGet();
+                return TestDataUtil.createMetadataStatement();
+            }
+        };
+        LocalDate date = LocalDate.of(2020, 1, 1);
+        MetadataTOCPayloadEntry entryA = createEntry("49e25c43-a6d1-49f0-bcfa-23e23a7c0e52", "A", date);
+        MetadataTOCPayloadEntry entryB = createEntry("d075c221-6a37-4c61-80c7-11254460d5bb", "B", date);
+        MetadataTOCPayloadEntry entryC = createEntry("df495bdc-223a-429d-9f0e-ebfa29155812", "C", date);
+
+        target.refresh(new MetadataTOCPayload(null, 1, date, Arrays.asList(entryA, entryB)));
+        assertThat(target.getLastRefreshStatistics()).isEqualTo(new MetadataRefreshStatistics(0, 2, 0, 0));
+
+        // A unchanged, B status changed, C added
+        MetadataTOCPayloadEntry entryB2 = createEntry("d075c221-6a37-4c61-80c7-11254460d5bb", "B", date.plusDays(1));
+        target.refresh(new MetadataTOCPayload(null, 2, date, Arrays.asList(entryA, entryB2, entryC)));
+        assertAll(
+                () -> assertThat(target.getLastRefreshStatistics()).isEqualTo(new MetadataRefreshStatistics(1, 2, 0, 1)),
+                () -> assertThat(fetchCount.get()).isEqualTo(4),
+                () -> assertThat(target.cachedMetadataItemMap).hasSize(3)
+        );
+
+        // only A remains
+        target.refresh(new MetadataTOCPayload(null, 3, date, Collections.singletonList(entryA)));
+        assertAll(
+                () -> assertThat(target.getLastRefreshStatistics()).isEqualTo(new MetadataRefreshStatistics(1, 0, 0, 2)),
+                () -> assertThat(fetchCount.get()).isEqualTo(4),
+                () -> assertThat(target.cachedMetadataItemMap).hasSize(1)
+        );
+    }
+
+    @Test
+    void refresh_with_fetchExecutor_test() {
+        ExecutorService fetchExecutor = Executors.newFixedThreadPool(2, runnable -> new Thread(runnable, "mds-fetch"));
+        Set<String> threadNames = Collections.synchronizedSet(new HashSet<>());
+        FidoMdsMetadataItemsProvider target = new FidoMdsMetadataItemsProvider(new ObjectConverter(), mock(HttpClient.class), TestAttestationUtil.load3tierTestRootCACertificate()) {
+            @Override
+            MetadataStatement fetchMetadataStatement(String uri, byte[] expectedHash) {
+                threadNames.add(Thread.currentThread().getName());
+                return TestDataUtil.createMetadataStatement();
+            }
+        };
+        target.setFetchExecutor(fetchExecutor);
+        LocalDate date = LocalDate.of(2020, 1, 1);
+        try {
+            target.refresh(new MetadataTOCPayload(null, 1, date, Arrays.asList(
+                    createEntry("49e25c43-a6d1-49f0-bcfa-23e23a7c0e52", "A", date),
+                    createEntry("d075c221-6a37-4c61-80c7-11254460d5bb", "B", date),
+                    createEntry("df495bdc-223a-429d-9f0e-ebfa29155812", "C", date))));
+        } finally {
+            fetchExecutor.shutdown();
+        }
+        assertAll(
+                () -> assertThat(target.cachedMetadataItemMap).hasSize(3),
+                () -> assertThat(threadNames).containsOnly("mds-fetch")
+        );
+    }
+
+    @Test
+    void provide_with_refreshExecutor_serves_current_snapshot_while_refreshing_test() {
+        LocalDate date = LocalDate.of(2020, 1, 1);
+        AtomicReference<MetadataTOCPayload> toc = new AtomicReference<>(
+                new MetadataTOCPayload(null, 1, date.plusDays(30), Collections.singletonList(createEntry("49e25c43-a6d1-49f0-bcfa-23e23a7c0e52", "A", date))));
+        FidoMdsMetadataItemsProvider target = createTOCStubProvider(toc);
+        target.clock = Clock.fixed(date.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        ScheduledExecutorService refreshExecutor = mock(ScheduledExecutorService.class);
+        target.setRefreshExecutor(refreshExecutor);
+        List<Duration> snapshotAges = new ArrayList<>();
+        target.setSnapshotAgeListener(snapshotAges::add);
+
+        // first load is inline
+        Map<AAGUID, Set<MetadataItem>> first = target.provide();
+        assertThat(first).hasSize(1);
+        verify(refreshExecutor, never()).execute(any());
+
+        // the snapshot is due
+        target.clock = Clock.fixed(date.plusDays(31).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        toc.set(new MetadataTOCPayload(null, 2, date.plusDays(60), Arrays.asList(
+                createEntry("49e25c43-a6d1-49f0-bcfa-23e23a7c0e52", "A", date),
+                createEntry("d075c221-6a37-4c61-80c7-11254460d5bb", "B", date))));
+        assertThat(target.provide()).isSameAs(first);
+        assertThat(target.provide()).isSameAs(first);
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(refreshExecutor, times(1)).execute(captor.capture());
+
+        captor.getValue().run();
+        assertAll(
+                () -> assertThat(target.provide()).hasSize(2),
+                () -> assertThat(snapshotAges).startsWith(Duration.ZERO).endsWith(Duration.ZERO),
+                () -> assertThat(snapshotAges.get(1)).isEqualTo(Duration.ofDays(31))
+        );
+    }
+
+    @Test
+    void provide_with_refreshExecutor_backs_off_on_failure_and_rejects_beyond_maxStaleness_test() {
+        LocalDate date = LocalDate.of(2020, 1, 1);
+        AtomicReference<MetadataTOCPayload> toc = new AtomicReference<>(
+                new MetadataTOCPayload(null, 1, date.plusDays(30), Collections.singletonList(createEntry("49e25c43-a6d1-49f0-bcfa-23e23a7c0e52", "A", date))));
+        FidoMdsMetadataItemsProvider target = createTOCStubProvider(toc);
+        target.clock = Clock.fixed(date.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        ScheduledExecutorService refreshExecutor = mock(ScheduledExecutorService.class);
+        target.setRefreshExecutor(refreshExecutor);
+        target.setMaxStaleness(Duration.ofDays(7));
+        target.provide();
+
+        target.clock = Clock.fixed(date.plusDays(31).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        toc.set(null); // makes the refresh fail
+        target.provide();
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(refreshExecutor).execute(captor.capture());
+        captor.getValue().run();
+        verify(refreshExecutor).schedule(any(Runnable.class), eq(Duration.ofMinutes(1).toMillis()), eq(TimeUnit.MILLISECONDS));
+
+        target.clock = Clock.fixed(date.plusDays(38).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        assertThrows(MDSException.class, target::provide);
+    }
+
+    @Test
+    void provide_with_snapshotPath_serves_persisted_snapshot_on_startup_test(@TempDir Path tempDir) {
+        Path snapshotPath = tempDir.resolve("metadata.snapshot");
+        LocalDate date = LocalDate.of(2020, 1, 1);
+        AtomicReference<MetadataTOCPayload> toc = new AtomicReference<>(
+                new MetadataTOCPayload(null, 1, date.plusDays(30), Collections.singletonList(createEntry("49e25c43-a6d1-49f0-bcfa-23e23a7c0e52", "A", date))));
+        FidoMdsMetadataItemsProvider first = createTOCStubProvider(toc);
+        first.clock = Clock.fixed(date.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        first.setSnapshotPath(snapshotPath);
+        assertThat(first.provide()).hasSize(1);
+        assertThat(snapshotPath).exists();
+
+        // restarted while the TOC is unavailable
+        toc.set(null);
+        FidoMdsMetadataItemsProvider second = createTOCStubProvider(toc);
+        second.clock = Clock.fixed(date.plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        ScheduledExecutorService refreshExecutor = mock(ScheduledExecutorService.class);
+        second.setRefreshExecutor(refreshExecutor);
+        second.setSnapshotPath(snapshotPath);
+        assertAll(
+                () -> assertThat(second.provide()).containsOnlyKeys(new AAGUID("49e25c43-a6d1-49f0-bcfa-23e23a7c0e52")),
+                () -> assertThat(second.getSnapshotAge()).isEqualTo(Duration.ofDays(1)),
+                () -> verify(refreshExecutor, times(1)).execute(any())
+        );
+
+        // revalidation fetches the restored entry again instead of trusting the unsigned snapshot
+        toc.set(new MetadataTOCPayload(null, 2, date.plusDays(30), Collections.singletonList(createEntry("49e25c43-a6d1-49f0-bcfa-23e23a7c0e52", "A", date))));
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(refreshExecutor).execute(captor.capture());
+        captor.getValue().run();
+        assertThat(second.getLastRefreshStatistics()).isEqualTo(new MetadataRefreshStatistics(0, 1, 0, 0));
+    }
+
+    @Test
+    void provide_with_tampered_snapshot_is_replaced_after_refresh_test(@TempDir Path tempDir) {
+        Path snapshotPath = tempDir.resolve("metadata.snapshot");
+        LocalDate date = LocalDate.of(2020, 1, 1);
+        AAGUID aaguid = new AAGUID("49e25c43-a6d1-49f0-bcfa-23e23a7c0e52");
+        MetadataTOCPayloadEntry entry = createEntry(aaguid.toString(), "A", date);
+        // the snapshot claims a status report which is not in the signed TOC, with a recomputed checksum
+        List<StatusReport> tamperedStatusReports = Collections.singletonList(new StatusReport(AuthenticatorStatus.FIDO_CERTIFIED, date, null, null));
+        MetadataItem tampered = new MetadataItemImpl(null, aaguid, null, entry.getHash(), tamperedStatusReports, date, TestDataUtil.createMetadataStatement());
+        new MetadataItemsSnapshot(Collections.singletonMap(aaguid, Collections.singleton(tampered)), date.atStartOfDay().toInstant(ZoneOffset.UTC), date.plusDays(30)).write(snapshotPath);
+
+        AtomicReference<MetadataTOCPayload> toc = new AtomicReference<>(new MetadataTOCPayload(null, 1, date.plusDays(30), Collections.singletonList(entry)));
+        FidoMdsMetadataItemsProvider target = createTOCStubProvider(toc);
+        target.clock = Clock.fixed(date.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        ScheduledExecutorService refreshExecutor = mock(ScheduledExecutorService.class);
+        target.setRefreshExecutor(refreshExecutor);
+        target.setSnapshotPath(snapshotPath);
+        assertThat(target.provide().get(aaguid).iterator().next().getStatusReports()).isEqualTo(tamperedStatusReports);
+
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(refreshExecutor).execute(captor.capture());
+        captor.getValue().run();
+        assertAll(
+                () -> assertThat(target.getLastRefreshStatistics()).isEqualTo(new MetadataRefreshStatistics(0, 1, 0, 0)),
+                () -> assertThat(target.provide().get(aaguid).iterator().next().getStatusReports()).isNull(),
+                () -> assertThat(MetadataItemsSnapshot.read(snapshotPath).getMetadataItems().get(aaguid).iterator().next().getStatusReports()).isNull()
+        );
+    }
+
+    @Test
+    void computeRetryBackoff_test() {
+        FidoMdsMetadataItemsProvider target = new FidoMdsMetadataItemsProvider(new ObjectConverter(), mock(HttpClient.class), TestAttestationUtil.load3tierTestRootCACertificate());
+        target.setRetryBackoff(Duration.ofSeconds(10), Duration.ofSeconds(60));
+        assertAll(
+                () -> assertThat(target.computeRetryBackoff(1)).isEqualTo(Duration.ofSeconds(10)),
+                () -> assertThat(target.computeRetryBackoff(2)).isEqualTo(Duration.ofSeconds(20)),
+                () -> assertThat(target.computeRetryBackoff(3)).isEqualTo(Duration.ofSeconds(40)),
+                () -> assertThat(target.computeRetryBackoff(4)).isEqualTo(Duration.ofSeconds(60)),
+                () -> assertThat(target.computeRetryBackoff(100)).isEqualTo(Duration.ofSeconds(60))
+        );
+    }
+
+    @Test
+    void fetchMetadataTOCPayload_skips_verification_of_unchanged_TOC_test() {
+        HttpClient httpClient = mock(HttpClient.class);
+        String toc = createTOC(1);
+        String updatedTOC = createTOC(2);
+        when(httpClient.fetch("https://example.com/toc")).thenReturn(toc).thenReturn(toc).thenReturn(updatedTOC).thenReturn(updatedTOC);
+        FidoMdsMetadataItemsProvider target = new FidoMdsMetadataItemsProvider(createMetadataObjectConverter(), httpClient, TestAttestationUtil.load3tierTestRootCACertificate());
+        target.setFidoMetadataServiceEndpoint("https://example.com/toc");
+
+        MetadataTOCPayload first = target.fetchMetadataTOCPayload(true);
+        MetadataTOCPayload second = target.fetchMetadataTOCPayload(true);
+        long skippedAfterSecond = target.getSkippedTOCVerificationCount();
+        MetadataTOCPayload third = target.fetchMetadataTOCPayload(true);
+        // the cached verification result is reused only until it expires
+        target.clock = Clock.offset(Clock.systemUTC(), Duration.ofHours(25));
+        MetadataTOCPayload fourth = target.fetchMetadataTOCPayload(true);
+
+        assertAll(
+                () -> assertThat(second).isSameAs(first),
+                () -> assertThat(skippedAfterSecond).isEqualTo(1),
+                () -> assertThat(third.getNo()).isEqualTo(2),
+                () -> assertThat(fourth).isNotSameAs(third),
+                () -> assertThat(target.getSkippedTOCVerificationCount()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void fetchMetadataTOCPayload_does_not_skip_cert_path_validation_test() {
+        HttpClient httpClient = mock(HttpClient.class);
+        when(httpClient.fetch("https://example.com/toc")).thenReturn(createTOC(1));
+        FidoMdsMetadataItemsProvider target = new FidoMdsMetadataItemsProvider(createMetadataObjectConverter(), httpClient, TestAttestationUtil.load3tierTestRootCACertificate());
+        target.setFidoMetadataServiceEndpoint("https://example.com/toc");
+
+        target.fetchMetadataTOCPayload(true);
+        // a result verified without cert path validation doesn't cover a request with it
+        assertThrows(MDSException.class, () -> target.fetchMetadataTOCPayload(false));
+        assertThat(target.getSkippedTOCVerificationCount()).isZero();
+    }
+
+    private ObjectConverter createMetadataObjectConverter() {
+        ObjectMapper jsonMapper = new ObjectMapper();
+        jsonMapper.registerModule(new WebAuthnMetadataJSONModule());
+        return new ObjectConverter(jsonMapper, new ObjectMapper(new CBORFactory()));
+    }
+
+    private String createTOC(int no) {
+        HashMap<String, Object> payload = new LinkedHashMap<>();
+        payload.put("legalHeader", "legal header");
+        payload.put("no", no);
+        payload.put("nextUpdate", "2020-02-01");
+        payload.put("entries", Collections.emptyList());
+        JWSHeader header = new JWSHeader(JWAIdentifier.ES256, TestAttestationUtil.load3tierTestAttestationCertificatePath());
+        return new JWSFactory(createMetadataObjectConverter()).create(header, payload, TestAttestationUtil.load3tierTestAuthenticatorAttestationPrivateKey()).toString();
+    }
+
+    private FidoMdsMetadataItemsProvider createTOCStubProvider(AtomicReference<MetadataTOCPayload> toc) {
+        return new FidoMdsMetadataItemsProvider(new ObjectConverter(), mock(HttpClient.class), TestAttestationUtil.load3tierTestRootCACertificate()) {
+            @Override
+            MetadataTOCPayload fetchMetadataTOCPayload(boolean skipCertPathValidation) {
+                MetadataTOCPayload payload = toc.get();
+                if (payload == null) {
+                    throw new MDSException("unavailable");
+                }
+                return payload;
+            }
+
+            @Override
+            MetadataStatement fetchMetadataStatement(String uri, byte[] expectedHash) {
+                return TestDataUtil.createMetadataStatement();
+            }
+        };
+    }
+
+    private MetadataTOCPayloadEntry createEntry(String aaguid, String statement, LocalDate timeOfLastStatusChange) {
+        return new MetadataTOCPayloadEntry(null, aaguid, null, Base64UrlUtil.encodeToString(statement.getBytes()),
+                URI.create("https://example.com/" + aaguid), null, null, timeOfLastStatusChange, null, null);
+    }
+}
@@ -16,11 +16,28 @@
 
 package com.webauthn4j.metadata;
 
+import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.data.attestation.statement.CertificateBaseAttestationStatement;
+import com.webauthn4j.metadata.data.MetadataItem;
+import com.webauthn4j.metadata.data.MetadataItemImpl;
+import com.webauthn4j.metadata.data.statement.AttestationType;
+import com.webauthn4j.metadata.data.statement.MetadataStatement;
+import com.webauthn4j.metadata.data.toc.AuthenticatorStatus;
+import com.webauthn4j.metadata.data.toc.StatusReport;
+import com.webauthn4j.metadata.exception.BadStatusException;
 import com.webauthn4j.test.TestDataUtil;
 import com.webauthn4j.validator.RegistrationObject;
+import com.webauthn4j.validator.exception.BadAttestationStatementException;
 import org.junit.jupiter.api.Test;
 
+import java.security.cert.X509Certificate;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class FidoMdsMetadataValidatorTest {
 
@@ -32,4 +49,100 @@ class FidoMdsMetadataValidatorTest {
         RegistrationObject registrationObject = TestDataUtil.createRegistrationObjectWithPackedAttestation();
         target.validate(registrationObject);
     }
+
+    @Test
+    void validate_with_bad_status_test() {
+        RegistrationObject registrationObject = TestDataUtil.createRegistrationObjectWithPackedAttestation();
+        AAGUID aaguid = registrationObject.getAttestationObject().getAuthenticatorData().getAttestedCredentialData().getAaguid();
+        Map<AAGUID, Set<MetadataItem>> metadataItemMap = Collections.singletonMap(aaguid,
+                Collections.singleton(createMetadataItem(aaguid, AuthenticatorStatus.REVOKED, AttestationType.BASIC_FULL)));
+        MetadataItemsProvider metadataItemsProvider = mock(MetadataItemsProvider.class);
+        when(metadataItemsProvider.provide()).thenReturn(metadataItemMap);
+        FidoMdsMetadataValidator fidoMdsMetadataValidator = new FidoMdsMetadataValidator(metadataItemsProvider);
+
+        assertThrows(BadStatusException.class, () -> fidoMdsMetadataValidator.validate(registrationObject));
+    }
+
+    @Test
+    void validate_with_surrogate_only_metadata_and_x5c_test() {
+        RegistrationObject registrationObject = TestDataUtil.createRegistrationObjectWithPackedAttestation();
+        AAGUID aaguid = registrationObject.getAttestationObject().getAuthenticatorData().getAttestedCredentialData().getAaguid();
+        Map<AAGUID, Set<MetadataItem>> metadataItemMap = Collections.singletonMap(aaguid,
+                Collections.singleton(createMetadataItem(aaguid, AuthenticatorStatus.FIDO_CERTIFIED, AttestationType.BASIC_SURROGATE)));
+        MetadataItemsProvider metadataItemsProvider = mock(MetadataItemsProvider.class);
+        when(metadataItemsProvider.provide()).thenReturn(metadataItemMap);
+        FidoMdsMetadataValidator fidoMdsMetadataValidator = new FidoMdsMetadataValidator(metadataItemsProvider);
+
+        assertThrows(BadAttestationStatementException.class, () -> fidoMdsMetadataValidator.validate(registrationObject));
+    }
+
+    @Test
+    void getVerdictTable_test() {
+        AAGUID aaguid = new AAGUID("49e25c43-a6d1-49f0-bcfa-23e23a7c0e52");
+        AAGUID unknown = new AAGUID("d075c221-6a37-4c61-80c7-11254460d5bb");
+        Map<AAGUID, Set<MetadataItem>> first = new HashMap<>();
+        first.put(aaguid, Collections.singleton(createMetadataItem(aaguid, AuthenticatorStatus.FIDO_CERTIFIED, AttestationType.BASIC_SURROGATE)));
+        first.put(AAGUID.NULL, Collections.singleton(createMetadataItem(AAGUID.NULL, AuthenticatorStatus.USER_VERIFICATION_BYPASS, AttestationType.BASIC_FULL)));
+        Map<AAGUID, Set<MetadataItem>> second = Collections.singletonMap(aaguid,
+                Collections.singleton(createMetadataItem(aaguid, AuthenticatorStatus.FIDO_CERTIFIED, AttestationType.BASIC_SURROGATE)));
+        MetadataItemsProvider metadataItemsProvider = mock(MetadataItemsProvider.class);
+        when(metadataItemsProvider.provide()).thenReturn(first).thenReturn(first).thenReturn(second);
+        FidoMdsMetadataValidator fidoMdsMetadataValidator = new FidoMdsMetadataValidator(metadataItemsProvider);
+
+        MetadataVerdictTable firstTable = fidoMdsMetadataValidator.getVerdictTable();
+        MetadataVerdictTable cachedTable = fidoMdsMetadataValidator.getVerdictTable();
+        MetadataVerdictTable secondTable = fidoMdsMetadataValidator.getVerdictTable();
+
+        assertAll(
+                () -> assertThat(cachedTable).isSameAs(firstTable),
+                () -> assertThat(firstTable.getAAGUIDs()).containsExactly(aaguid),
+                () -> assertThat(firstTable.get(aaguid).isSurrogateOnly()).isFalse(),
+                () -> assertThat(firstTable.get(aaguid).getAttestationTypes()).containsExactlyInAnyOrder(AttestationType.BASIC_FULL, AttestationType.BASIC_SURROGATE),
+                () -> assertThat(firstTable.get(aaguid).getBadStatus()).isEqualTo(AuthenticatorStatus.USER_VERIFICATION_BYPASS),
+                () -> assertThat(firstTable.get(unknown).getBadStatus()).isEqualTo(AuthenticatorStatus.USER_VERIFICATION_BYPASS),
+                () -> assertThat(secondTable).isNotSameAs(firstTable),
+                () -> assertThat(secondTable.get(aaguid).isSurrogateOnly()).isTrue(),
+                () -> assertThat(secondTable.get(aaguid).getBadStatus()).isNull(),
+                () -> assertThat(secondTable.get(unknown).getAttestationTypes()).isEmpty()
+        );
+    }
+
+    @Test
+    void validate_with_revoked_aaguid_and_clean_key_identifier_entry_test() {
+        RegistrationObject registrationObject = TestDataUtil.createRegistrationObjectWithAndroidKeyAttestation();
+        AAGUID aaguid = registrationObject.getAttestationObject().getAuthenticatorData().getAttestedCredentialData().getAaguid();
+        CertificateBaseAttestationStatement attestationStatement = (CertificateBaseAttestationStatement) registrationObject.getAttestationObject().getAttestationStatement();
+        X509Certificate attestationCertificate = attestationStatement.getX5c().getEndEntityAttestationCertificate().getCertificate();
+        String keyIdentifier = AttestationCertificateKeyIdentifierUtil.compute(attestationCertificate);
+        // a U2F entry listing the same attestation key as the revoked FIDO2 entry
+        MetadataItem clean = new MetadataItemImpl(null, AAGUID.ZERO, Collections.singletonList(keyIdentifier), null,
+                Collections.singletonList(new StatusReport(AuthenticatorStatus.FIDO_CERTIFIED, null, null, null)), null, TestDataUtil.createMetadataStatement());
+        MetadataItem revoked = new MetadataItemImpl(null, aaguid, null, null,
+                Collections.singletonList(new StatusReport(AuthenticatorStatus.REVOKED, null, null, null)), null, TestDataUtil.createMetadataStatement());
+        Map<AAGUID, Set<MetadataItem>> metadataItemMap = new HashMap<>();
+        metadataItemMap.put(AAGUID.ZERO, Collections.singleton(clean));
+        metadataItemMap.put(aaguid, Collections.singleton(revoked));
+        MetadataItemsProvider metadataItemsProvider = mock(MetadataItemsProvider.class);
+        when(metadataItemsProvider.provide()).thenReturn(metadataItemMap);
+        FidoMdsMetadataValidator verdictTableValidator = new FidoMdsMetadataValidator(metadataItemsProvider);
+        FidoMdsMetadataValidator resolverValidator = new FidoMdsMetadataValidator(new MetadataItemsResolverImpl(metadataItemsProvider));
+
+        assertAll(
+                () -> assertThrows(BadStatusException.class, () -> verdictTableValidator.validate(registrationObject)),
+                () -> assertThrows(BadStatusException.class, () -> resolverValidator.validate(registrationObject)),
+                () -> assertThat(verdictTableValidator.getVerdictTable().get(AAGUID.ZERO, attestationCertificate).getBadStatus()).isNull()
+        );
+    }
+
+    @Test
+    void getVerdictTable_without_provider_test() {
+        assertThrows(IllegalStateException.class, target::getVerdictTable);
+    }
+
+    private MetadataItem createMetadataItem(AAGUID aaguid, AuthenticatorStatus status, AttestationType attestationType) {
+        MetadataStatement metadataStatement = mock(MetadataStatement.class);
+        when(metadataStatement.getAttestationTypes()).thenReturn(Collections.singletonList(attestationType));
+        return new MetadataItemImpl(null, aaguid, null, null,
+                Collections.singletonList(new StatusReport(status, null, null, null)), null, metadataStatement);
+    }
 }
@@ -24,14 +24,21 @@ import com.webauthn4j.metadata.converter.jackson.WebAuthnMetadataJSONModule;
 import com.webauthn4j.metadata.data.statement.MetadataStatement;
 import com.webauthn4j.metadata.exception.UnknownProtocolFamilyException;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class JsonFileMetadataStatementsProviderTest {
@@ -77,6 +84,104 @@ class JsonFileMetadataStatementsProviderTest {
         assertThrows(UncheckedIOException.class, provider::provide);
     }
 
+    @Test
+    void fetchMetadataFromDirectory_with_loadExecutor(@TempDir Path directory) throws URISyntaxException, IOException {
+        copyResource("JsonMetadataItem_fido2.json", directory);
+        copyResource("JsonMetadataItem_u2f.json", directory);
+        copyResource("JsonMetadataItem_uaf.json", directory);
+        Files.write(directory.resolve("readme.txt"), "not a metadata statement".getBytes(StandardCharsets.UTF_8));
+        JsonFileMetadataStatementsProvider provider = new JsonFileMetadataStatementsProvider(objectConverter, directory);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            provider.setLoadExecutor(executorService);
+            Map<AAGUID, Set<MetadataStatement>> itemMap = provider.provide();
+            readMetadataItem(itemMap);
+            assertThat(itemMap).containsKeys(AAGUID.ZERO, AAGUID.NULL).hasSize(3);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    void fetchMetadataFromDirectory_with_loadExecutor_fails_with_broken_file(@TempDir Path directory) throws URISyntaxException, IOException {
+        copyResource("JsonMetadataItem_fido2.json", directory);
+        copyResource("JsonMetadataItem_unknown_protocol.json", directory);
+        JsonFileMetadataStatementsProvider provider = new JsonFileMetadataStatementsProvider(objectConverter, directory);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            provider.setLoadExecutor(executorService);
+            assertThrows(UnknownProtocolFamilyException.class, provider::provide);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    void reload_test(@TempDir Path directory) throws URISyntaxException, IOException {
+        Path fido2 = copyResource("JsonMetadataItem_fido2.json", directory);
+        Path u2f = copyResource("JsonMetadataItem_u2f.json", directory);
+        JsonFileMetadataStatementsProvider provider = new JsonFileMetadataStatementsProvider(objectConverter, directory);
+        Map<AAGUID, Set<MetadataStatement>> initial = provider.provide();
+        MetadataStatement fido2Statement = initial.get(new AAGUID("81303c1a-25cf-4f43-be04-0460df5b6c68")).iterator().next();
+
+        Files.delete(u2f);
+        Path uaf = copyResource("JsonMetadataItem_uaf.json", directory);
+        Files.write(fido2, "{ broken".getBytes(StandardCharsets.UTF_8));
+        provider.reload(Arrays.asList(fido2, u2f, uaf));
+
+        Map<AAGUID, Set<MetadataStatement>> reloaded = provider.provide();
+        assertAll(
+                () -> assertThat(reloaded).isNotSameAs(initial),
+                () -> assertThat(reloaded).containsOnlyKeys(new AAGUID("81303c1a-25cf-4f43-be04-0460df5b6c68"), AAGUID.NULL),
+                // a file which fails to reload keeps its previous statement
+                () -> assertThat(reloaded.get(new AAGUID("81303c1a-25cf-4f43-be04-0460df5b6c68"))).containsExactly(fido2Statement),
+                () -> assertThat(initial).containsOnlyKeys(new AAGUID("81303c1a-25cf-4f43-be04-0460df5b6c68"), AAGUID.ZERO)
+        );
+    }
+
+    @Test
+    void startWatching_test(@TempDir Path directory) throws URISyntaxException, IOException, InterruptedException {
+        copyResource("JsonMetadataItem_fido2.json", directory);
+        try (JsonFileMetadataStatementsProvider provider = new JsonFileMetadataStatementsProvider(objectConverter, directory)) {
+            provider.startWatching();
+            assertThat(provider.provide()).doesNotContainKey(AAGUID.ZERO);
+
+            copyResource("JsonMetadataItem_u2f.json", directory);
+            long deadline = System.currentTimeMillis() + 30_000;
+            while (!provider.provide().containsKey(AAGUID.ZERO) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertThat(provider.provide()).containsKey(AAGUID.ZERO);
+        }
+    }
+
+    @Test
+    void startWatching_after_provide_reloads_directory_test(@TempDir Path directory) throws URISyntaxException, IOException {
+        copyResource("JsonMetadataItem_fido2.json", directory);
+        try (JsonFileMetadataStatementsProvider provider = new JsonFileMetadataStatementsProvider(objectConverter, directory)) {
+            assertThat(provider.provide()).doesNotContainKey(AAGUID.ZERO);
+
+            // a change made before watching starts is not notified
+            copyResource("JsonMetadataItem_u2f.json", directory);
+            provider.startWatching();
+
+            assertThat(provider.provide()).containsKey(AAGUID.ZERO);
+        }
+    }
+
+    @Test
+    void startWatching_without_directory_test() {
+        JsonFileMetadataStatementsProvider provider = new JsonFileMetadataStatementsProvider(objectConverter, Collections.emptyList());
+        assertThrows(IllegalStateException.class, provider::startWatching);
+    }
+
+    private Path copyResource(String name, Path directory) throws URISyntaxException, IOException {
+        Path source = Paths.get(ClassLoader.getSystemResource("com/webauthn4j/metadata/" + name).toURI());
+        Path target = directory.resolve(name);
+        Files.copy(source, target);
+        return target;
+    }
+
     private void readMetadataItem(Map<AAGUID, Set<MetadataStatement>> itemMap) {
         itemMap.keySet().stream()
                 .flatMap(key -> itemMap.get(key).stream())
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metadata;
+
+import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.metadata.data.MetadataItem;
+import com.webauthn4j.metadata.data.MetadataItemImpl;
+import com.webauthn4j.test.TestAttestationUtil;
+import com.webauthn4j.test.TestDataUtil;
+import com.webauthn4j.util.HexUtil;
+import com.webauthn4j.util.MessageDigestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.security.cert.X509Certificate;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MetadataItemsResolverImplTest {
+
+    @Test
+    void resolve_test() {
+        AAGUID aaguid = new AAGUID("49e25c43-a6d1-49f0-bcfa-23e23a7c0e52");
+        MetadataItem item = createMetadataItem(aaguid, null);
+        MetadataItem common = createMetadataItem(AAGUID.NULL, null);
+        Map<AAGUID, Set<MetadataItem>> metadataItemMap = new HashMap<>();
+        metadataItemMap.put(aaguid, Collections.singleton(item));
+        metadataItemMap.put(AAGUID.NULL, Collections.singleton(common));
+        MetadataItemsProvider metadataItemsProvider = mock(MetadataItemsProvider.class);
+        when(metadataItemsProvider.provide()).thenReturn(metadataItemMap);
+
+        MetadataItemsResolverImpl target = new MetadataItemsResolverImpl(metadataItemsProvider);
+
+        assertThat(target.resolve(aaguid)).containsExactlyInAnyOrder(item, common);
+    }
+
+    @Test
+    void resolve_with_attestationCertificate_test() {
+        X509Certificate attestationCertificate = TestAttestationUtil.load3tierTestAuthenticatorAttestationCertificate();
+        String keyIdentifier = AttestationCertificateKeyIdentifierUtil.compute(attestationCertificate);
+        MetadataItem matching = createMetadataItem(AAGUID.ZERO, Collections.singletonList(keyIdentifier.toUpperCase(Locale.ROOT)));
+        MetadataItem other = createMetadataItem(AAGUID.ZERO, Collections.singletonList("0123456789abcdef0123456789abcdef01234567"));
+        Map<AAGUID, Set<MetadataItem>> metadataItemMap = Collections.singletonMap(AAGUID.ZERO, new HashSet<>(Arrays.asList(matching, other)));
+        MetadataItemsProvider metadataItemsProvider = mock(MetadataItemsProvider.class);
+        when(metadataItemsProvider.provide()).thenReturn(metadataItemMap);
+
+        MetadataItemsResolverImpl target = new MetadataItemsResolverImpl(metadataItemsProvider);
+
+        assertAll(
+                () -> assertThat(target.resolve(AAGUID.ZERO, attestationCertificate)).containsExactly(matching),
+                () -> assertThat(target.resolve(AAGUID.ZERO, TestAttestationUtil.load3tierTestRootCACertificate())).containsExactlyInAnyOrder(matching, other),
+                () -> assertThat(target.resolve(AAGUID.ZERO, null)).containsExactlyInAnyOrder(matching, other)
+        );
+    }
+
+    @Test
+    void compute_attestation_certificate_key_identifier_test() {
+        X509Certificate attestationCertificate = TestAttestationUtil.load3tierTestAuthenticatorAttestationCertificate();
+        byte[] encoded = attestationCertificate.getPublicKey().getEncoded();
+        // subjectPublicKey of a P-256 key is the trailing 65 bytes uncompressed point
+        byte[] subjectPublicKey = Arrays.copyOfRange(encoded, encoded.length - 65, encoded.length);
+        String expected = HexUtil.encodeToString(MessageDigestUtil.createMessageDigest("SHA-1").digest(subjectPublicKey)).toLowerCase(Locale.ROOT);
+
+        assertThat(AttestationCertificateKeyIdentifierUtil.compute(attestationCertificate)).isEqualTo(expected);
+    }
+
+    private MetadataItem createMetadataItem(AAGUID aaguid, List<String> attestationCertificateKeyIdentifiers) {
+        return new MetadataItemImpl(null, aaguid, attestationCertificateKeyIdentifiers, null,
+                Collections.emptyList(), null, TestDataUtil.createMetadataStatement());
+    }
+}
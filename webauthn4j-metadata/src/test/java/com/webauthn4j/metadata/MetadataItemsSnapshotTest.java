@@ -0,0 +1,138 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metadata;
+
+import com.webauthn4j.converter.util.JsonConverter;
+import com.webauthn4j.converter.util.ObjectConverter;
+import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.metadata.data.MetadataItem;
+import com.webauthn4j.metadata.data.MetadataItemImpl;
+import com.webauthn4j.metadata.data.toc.AuthenticatorStatus;
+import com.webauthn4j.metadata.data.toc.StatusReport;
+import com.webauthn4j.metadata.exception.MDSException;
+import com.webauthn4j.test.TestAttestationUtil;
+import com.webauthn4j.test.TestDataUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MetadataItemsSnapshotTest {
+
+    private final JsonConverter jsonConverter = new ObjectConverter().getJsonConverter();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void write_read_test() {
+        Path path = tempDir.resolve("metadata.snapshot");
+        AAGUID aaguid = new AAGUID("49e25c43-a6d1-49f0-bcfa-23e23a7c0e52");
+        StatusReport statusReport = new StatusReport(AuthenticatorStatus.FIDO_CERTIFIED, LocalDate.of(2020, 1, 1),
+                TestAttestationUtil.load3tierTestRootCACertificate(), "https://example.com");
+        MetadataItem metadataItem = new MetadataItemImpl(null, aaguid, Collections.singletonList("keyIdentifier"), "hash",
+                Collections.singletonList(statusReport), LocalDate.of(2020, 1, 2), TestDataUtil.createMetadataStatement());
+        Instant createdAt = Instant.ofEpochMilli(1577836800000L);
+        MetadataItemsSnapshot snapshot = new MetadataItemsSnapshot(Collections.singletonMap(aaguid, Collections.singleton(metadataItem)), createdAt, LocalDate.of(2020, 2, 1));
+
+        snapshot.write(path);
+        MetadataItemsSnapshot restored = MetadataItemsSnapshot.read(path);
+
+        MetadataItem restoredItem = restored.getMetadataItems().get(aaguid).iterator().next();
+        assertAll(
+                () -> assertThat(restored.getCreatedAt()).isEqualTo(createdAt),
+                () -> assertThat(restored.getNextUpdate()).isEqualTo(LocalDate.of(2020, 2, 1)),
+                () -> assertThat(restored.getMetadataItems()).containsOnlyKeys(aaguid),
+                () -> assertThat(restoredItem.getAaguid()).isEqualTo(aaguid),
+                () -> assertThat(restoredItem.getAttestationCertificateKeyIdentifiers()).containsExactly("keyIdentifier"),
+                () -> assertThat(restoredItem.getHash()).isEqualTo("hash"),
+                () -> assertThat(restoredItem.getStatusReports()).containsExactly(statusReport),
+                () -> assertThat(restoredItem.getTimeOfLastStatusChange()).isEqualTo(LocalDate.of(2020, 1, 2)),
+                () -> assertThat(jsonConverter.writeValueAsString(restoredItem.getMetadataStatement()))
+                        .isEqualTo(jsonConverter.writeValueAsString(metadataItem.getMetadataStatement()))
+        );
+    }
+
+    @Test
+    void write_read_u2f_and_uaf_items_test() {
+        Path path = tempDir.resolve("metadata.snapshot");
+        AAGUID aaguid = new AAGUID("49e25c43-a6d1-49f0-bcfa-23e23a7c0e52");
+        MetadataItem fido2Item = new MetadataItemImpl(null, aaguid, null, "fido2-hash",
+                Collections.emptyList(), LocalDate.of(2020, 1, 2), TestDataUtil.createMetadataStatement());
+        MetadataItem u2fItem = new MetadataItemImpl(null, AAGUID.NULL, Collections.singletonList("bf7bcaa0d0c6187a8c6abbdd16a15640e7c7bde2"), "u2f-hash",
+                Collections.emptyList(), LocalDate.of(2020, 1, 2), TestDataUtil.createMetadataStatement());
+        MetadataItem uafItem = new MetadataItemImpl("4e4e#4005", AAGUID.NULL, null, "uaf-hash",
+                Collections.emptyList(), LocalDate.of(2020, 1, 2), TestDataUtil.createMetadataStatement());
+        Map<AAGUID, Set<MetadataItem>> metadataItems = new HashMap<>();
+        metadataItems.put(aaguid, Collections.singleton(fido2Item));
+        metadataItems.put(AAGUID.NULL, new HashSet<>(Arrays.asList(u2fItem, uafItem)));
+        MetadataItemsSnapshot snapshot = new MetadataItemsSnapshot(metadataItems, Instant.ofEpochMilli(1577836800000L), LocalDate.of(2020, 2, 1));
+
+        snapshot.write(path);
+        MetadataItemsSnapshot restored = MetadataItemsSnapshot.read(path);
+
+        Set<MetadataItem> restoredNullItems = restored.getMetadataItems().get(AAGUID.NULL);
+        assertAll(
+                () -> assertThat(restored.getMetadataItems()).containsOnlyKeys(aaguid, AAGUID.NULL),
+                () -> assertThat(restoredNullItems).hasSize(2),
+                () -> assertThat(restoredNullItems).extracting(MetadataItem::getAaguid).containsOnly(AAGUID.NULL),
+                () -> assertThat(restoredNullItems).extracting(MetadataItem::getHash).containsExactlyInAnyOrder("u2f-hash", "uaf-hash"),
+                () -> assertThat(restoredNullItems).extracting(MetadataItem::getAaid).containsExactlyInAnyOrder(null, "4e4e#4005"),
+                () -> assertThat(restored.getMetadataItems().get(aaguid)).extracting(MetadataItem::getAaguid).containsExactly(aaguid)
+        );
+    }
+
+    @Test
+    void read_corrupted_file_test() throws IOException {
+        Path path = tempDir.resolve("metadata.snapshot");
+        new MetadataItemsSnapshot(Collections.emptyMap(), Instant.now(), LocalDate.of(2020, 2, 1)).write(path);
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(path, bytes);
+
+        assertThrows(MDSException.class, () -> MetadataItemsSnapshot.read(path));
+    }
+
+    @Test
+    void read_unsupported_format_version_test() throws IOException {
+        Path path = tempDir.resolve("metadata.snapshot");
+        new MetadataItemsSnapshot(Collections.emptyMap(), Instant.now(), LocalDate.of(2020, 2, 1)).write(path);
+        byte[] bytes = Files.readAllBytes(path);
+        ByteBuffer.wrap(bytes).putInt(4, MetadataItemsSnapshot.FORMAT_VERSION + 1);
+        Files.write(path, bytes);
+
+        assertThrows(MDSException.class, () -> MetadataItemsSnapshot.read(path));
+    }
+
+    @Test
+    void read_truncated_file_test() throws IOException {
+        Path path = tempDir.resolve("metadata.snapshot");
+        Files.write(path, new byte[]{'W', '4', 'J', 'M'});
+
+        assertThrows(MDSException.class, () -> MetadataItemsSnapshot.read(path));
+    }
+}
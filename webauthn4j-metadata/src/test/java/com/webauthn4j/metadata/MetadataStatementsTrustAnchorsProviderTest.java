@@ -17,6 +17,7 @@
 package com.webauthn4j.metadata;
 
 import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.metadata.data.statement.MetadataStatement;
 import com.webauthn4j.test.TestAttestationUtil;
 import com.webauthn4j.test.TestDataUtil;
 import org.junit.jupiter.api.Test;
@@ -27,6 +28,7 @@ import java.util.Map;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -42,4 +44,23 @@ class MetadataStatementsTrustAnchorsProviderTest {
         assertThat(result.get(aaguid).stream().map(TrustAnchor::getTrustedCert)).contains(TestAttestationUtil.load3tierTestAuthenticatorAttestationCertificate());
     }
 
+    @Test
+    void provide_memoizes_until_upstream_changes_test() {
+        MetadataStatementsProvider metadataStatementsProvider = mock(MetadataStatementsProvider.class);
+        AAGUID aaguid = new AAGUID("49e25c43-a6d1-49f0-bcfa-23e23a7c0e52");
+        Map<AAGUID, Set<MetadataStatement>> first = Collections.singletonMap(aaguid, Collections.singleton(TestDataUtil.createMetadataStatement()));
+        Map<AAGUID, Set<MetadataStatement>> second = Collections.singletonMap(aaguid, Collections.singleton(TestDataUtil.createMetadataStatement()));
+        when(metadataStatementsProvider.provide()).thenReturn(first).thenReturn(first).thenReturn(second);
+        MetadataStatementsTrustAnchorsProvider target = new MetadataStatementsTrustAnchorsProvider(metadataStatementsProvider);
+
+        Map<AAGUID, Set<TrustAnchor>> resultA = target.provide();
+        Map<AAGUID, Set<TrustAnchor>> resultB = target.provide();
+        Map<AAGUID, Set<TrustAnchor>> resultC = target.provide();
+        assertAll(
+                () -> assertThat(resultB).isSameAs(resultA),
+                () -> assertThat(resultC).isNotSameAs(resultA),
+                () -> assertThat(resultC.get(aaguid)).hasSize(1)
+        );
+    }
+
 }
\ No newline at end of file
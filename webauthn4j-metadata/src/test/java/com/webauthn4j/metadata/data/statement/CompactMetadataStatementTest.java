@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metadata.data.statement;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.webauthn4j.converter.util.JsonConverter;
+import com.webauthn4j.converter.util.ObjectConverter;
+import com.webauthn4j.metadata.converter.jackson.WebAuthnMetadataJSONModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class CompactMetadataStatementTest {
+
+    private final JsonConverter jsonConverter;
+
+    CompactMetadataStatementTest() {
+        ObjectMapper jsonMapper = new ObjectMapper();
+        jsonMapper.registerModule(new WebAuthnMetadataJSONModule());
+        ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+        jsonConverter = new ObjectConverter(jsonMapper, cborMapper).getJsonConverter();
+    }
+
+    @Test
+    void parse_test() throws IOException, URISyntaxException {
+        String json = new String(Files.readAllBytes(Paths.get(getClass().getResource("/com/webauthn4j/metadata/JsonMetadataItem_fido2.json").toURI())), StandardCharsets.UTF_8);
+
+        MetadataStatement full = jsonConverter.readValue(json, MetadataStatement.class);
+        CompactMetadataStatement compact = CompactMetadataStatement.parse(jsonConverter, json);
+
+        assertAll(
+                () -> assertThat(compact.getAaguid()).isEqualTo(full.getAaguid()),
+                () -> assertThat(compact.getAttestationTypes()).isEqualTo(full.getAttestationTypes()),
+                () -> assertThat(compact.getAttestationRootCertificates()).isEqualTo(full.getAttestationRootCertificates()),
+                () -> assertThat(compact.getIcon()).isNotNull().isEqualTo(full.getIcon()),
+                () -> assertThat(compact.getAlternativeDescriptions()).isNotNull().isEqualTo(full.getAlternativeDescriptions()),
+                () -> assertThat(compact.getUserVerificationDetails()).isNotNull().isEqualTo(full.getUserVerificationDetails()),
+                () -> assertThat(jsonConverter.readValue(jsonConverter.writeValueAsString(compact), JsonNode.class)).isEqualTo(jsonConverter.readValue(jsonConverter.writeValueAsString(full), JsonNode.class))
+        );
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.util;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * A set of utility methods for {@link CompletableFuture}
+ * <p>
+ * Unlike {@link CompletableFuture#supplyAsync(Supplier, Executor)}, futures created by this class complete
+ * exceptionally with the thrown exception itself, not wrapped in {@link java.util.concurrent.CompletionException}.
+ */
+public class CompletableFutureUtil {
+
+    private CompletableFutureUtil() {
+    }
+
+    /**
+     * Returns a future completed exceptionally with the given throwable
+     *
+     * @param throwable the throwable
+     * @param <T>       result type
+     * @return the future
+     */
+    public static <T> CompletableFuture<T> failedFuture(Throwable throwable) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(throwable);
+        return future;
+    }
+
+    /**
+     * Runs the supplier on the executor
+     *
+     * @param supplier the supplier
+     * @param executor the executor
+     * @param <T>      result type
+     * @return the future completed with the result of the supplier, or exceptionally with what it has thrown
+     */
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier, Executor executor) {
+        AssertUtil.notNull(supplier, "supplier must not be null");
+        AssertUtil.notNull(executor, "executor must not be null");
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(supplier.get());
+                } catch (RuntimeException | Error e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Runs the supplier on the calling thread
+     *
+     * @param supplier the supplier
+     * @param <T>      result type
+     * @return the future completed with the result of the supplier, or exceptionally with what it has thrown
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> supplier) {
+        try {
+            return CompletableFuture.completedFuture(supplier.get());
+        } catch (RuntimeException e) {
+            return failedFuture(e);
+        }
+    }
+
+    /**
+     * Runs the action once all the stages complete, on the thread completing the last one, or on the calling thread
+     * if they are already completed
+     *
+     * @param stages the stages to wait for
+     * @param action the action
+     * @return the future completed when the action returns, or exceptionally with what a stage has failed with or
+     * what the action has thrown
+     */
+    public static CompletableFuture<Void> runAfterAll(List<? extends CompletionStage<?>> stages, Runnable action) {
+        AssertUtil.notNull(stages, "stages must not be null");
+        AssertUtil.notNull(action, "action must not be null");
+        CompletableFuture<?>[] futures = stages.stream().map(CompletionStage::toCompletableFuture).toArray(CompletableFuture<?>[]::new);
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        CompletableFuture.allOf(futures).whenComplete((unused, throwable) -> {
+            if (throwable != null) {
+                future.completeExceptionally(throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+                return;
+            }
+            try {
+                action.run();
+                future.complete(null);
+            } catch (RuntimeException | Error e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+}
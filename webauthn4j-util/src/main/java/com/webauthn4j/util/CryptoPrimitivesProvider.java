@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.util;
+
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.Signature;
+
+/**
+ * Provides JCA primitives used for signature verification and hashing.
+ * <p>
+ * Implementations may hand out a reused instance. Callers must initialize the returned {@link Signature}
+ * ({@code initVerify} / {@code initSign}) before use, finish using it before requesting another primitive
+ * of the same algorithm, and must not share it across threads.
+ */
+public interface CryptoPrimitivesProvider {
+
+    /**
+     * Returns a {@link Signature} for the specified algorithm
+     *
+     * @param algorithm JCA signature algorithm name
+     * @return signature
+     * @throws IllegalArgumentException if the algorithm is not available
+     */
+    Signature getSignature(String algorithm);
+
+    /**
+     * Returns a {@link MessageDigest} for the specified algorithm in its reset state
+     *
+     * @param algorithm JCA message digest algorithm name
+     * @return message digest
+     * @throws IllegalArgumentException if the algorithm is not available
+     */
+    MessageDigest getMessageDigest(String algorithm);
+
+    /**
+     * Returns a {@link KeyFactory} for the specified algorithm
+     *
+     * @param algorithm JCA key algorithm name
+     * @return key factory
+     * @throws IllegalArgumentException if the algorithm is not available
+     */
+    KeyFactory getKeyFactory(String algorithm);
+
+}
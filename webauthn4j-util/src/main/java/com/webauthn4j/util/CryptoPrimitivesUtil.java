@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.util;
+
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.Signature;
+
+/**
+ * A Utility class to obtain JCA primitives through the configured {@link CryptoPrimitivesProvider}.
+ * By default, primitives are cached per thread. Set a {@link JcaCryptoPrimitivesProvider} with a {@link java.security.Provider}
+ * to pin a specific JCA provider.
+ */
+public class CryptoPrimitivesUtil {
+
+    private static volatile CryptoPrimitivesProvider cryptoPrimitivesProvider = new ThreadLocalCryptoPrimitivesProvider();
+
+    private CryptoPrimitivesUtil() {
+    }
+
+    public static CryptoPrimitivesProvider getCryptoPrimitivesProvider() {
+        return cryptoPrimitivesProvider;
+    }
+
+    public static void setCryptoPrimitivesProvider(CryptoPrimitivesProvider cryptoPrimitivesProvider) {
+        AssertUtil.notNull(cryptoPrimitivesProvider, "cryptoPrimitivesProvider must not be null");
+        CryptoPrimitivesUtil.cryptoPrimitivesProvider = cryptoPrimitivesProvider;
+    }
+
+    public static Signature getSignature(String algorithm) {
+        return cryptoPrimitivesProvider.getSignature(algorithm);
+    }
+
+    public static MessageDigest getMessageDigest(String algorithm) {
+        return cryptoPrimitivesProvider.getMessageDigest(algorithm);
+    }
+
+    public static MessageDigest getSHA256() {
+        return getMessageDigest("SHA-256");
+    }
+
+    public static KeyFactory getKeyFactory(String algorithm) {
+        return cryptoPrimitivesProvider.getKeyFactory(algorithm);
+    }
+}
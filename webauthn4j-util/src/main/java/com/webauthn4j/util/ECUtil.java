@@ -74,18 +74,18 @@ public class ECUtil {
 
     public static PublicKey createPublicKey(ECPublicKeySpec ecPublicKeySpec) {
         try {
-            KeyFactory factory = KeyFactory.getInstance("EC");
+            KeyFactory factory = CryptoPrimitivesUtil.getKeyFactory("EC");
             return factory.generatePublic(ecPublicKeySpec);
-        } catch (InvalidKeySpecException | NoSuchAlgorithmException e) {
+        } catch (InvalidKeySpecException e) {
             throw new UnexpectedCheckedException(e);
         }
     }
 
     public static PrivateKey createPrivateKey(ECPrivateKeySpec ecPrivateKeySpec) {
         try {
-            KeyFactory factory = KeyFactory.getInstance("EC");
+            KeyFactory factory = CryptoPrimitivesUtil.getKeyFactory("EC");
             return factory.generatePrivate(ecPrivateKeySpec);
-        } catch (InvalidKeySpecException | NoSuchAlgorithmException e) {
+        } catch (InvalidKeySpecException e) {
             throw new UnexpectedCheckedException(e);
         }
     }
@@ -135,8 +135,8 @@ public class ECUtil {
         try {
             byte[] encodedPublicKey = ByteBuffer.allocate(1 + x.length + y.length).put(new byte[]{0x04}).put(x).put(y).array();
             ECPoint point = createECPoint(encodedPublicKey);
-            return KeyFactory.getInstance("ECDSA").generatePublic(new ECPublicKeySpec(point, ECUtil.P_256_SPEC));
-        } catch (InvalidKeySpecException | NoSuchAlgorithmException e) {
+            return CryptoPrimitivesUtil.getKeyFactory("ECDSA").generatePublic(new ECPublicKeySpec(point, ECUtil.P_256_SPEC));
+        } catch (InvalidKeySpecException e) {
             throw new UnexpectedCheckedException(e);
         }
     }
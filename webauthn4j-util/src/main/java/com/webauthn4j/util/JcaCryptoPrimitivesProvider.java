@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.util;
+
+import java.security.*;
+
+/**
+ * {@link CryptoPrimitivesProvider} implementation which creates a new JCA instance on each call.
+ * If a {@link Provider} is specified, all the primitives are taken from the provider.
+ */
+public class JcaCryptoPrimitivesProvider implements CryptoPrimitivesProvider {
+
+    // ~ Instance fields
+    // ================================================================================================
+
+    private final Provider provider;
+
+    // ~ Constructors
+    // ========================================================================================================
+
+    public JcaCryptoPrimitivesProvider(Provider provider) {
+        this.provider = provider;
+    }
+
+    public JcaCryptoPrimitivesProvider() {
+        this(null);
+    }
+
+    // ~ Methods
+    // ========================================================================================================
+
+    @Override
+    public Signature getSignature(String algorithm) {
+        AssertUtil.notNull(algorithm, "algorithm is required; it must not be null");
+        try {
+            return provider == null ? Signature.getInstance(algorithm) : Signature.getInstance(algorithm, provider);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @Override
+    public MessageDigest getMessageDigest(String algorithm) {
+        AssertUtil.notNull(algorithm, "algorithm is required; it must not be null");
+        try {
+            return provider == null ? MessageDigest.getInstance(algorithm) : MessageDigest.getInstance(algorithm, provider);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @Override
+    public KeyFactory getKeyFactory(String algorithm) {
+        AssertUtil.notNull(algorithm, "algorithm is required; it must not be null");
+        try {
+            return provider == null ? KeyFactory.getInstance(algorithm) : KeyFactory.getInstance(algorithm, provider);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    public Provider getProvider() {
+        return provider;
+    }
+}
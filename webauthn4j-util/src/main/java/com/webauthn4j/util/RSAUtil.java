@@ -31,18 +31,18 @@ public class RSAUtil {
 
     public static PublicKey createPublicKey(RSAPublicKeySpec rsaPublicKeySpec) {
         try {
-            KeyFactory factory = KeyFactory.getInstance("RSA");
+            KeyFactory factory = CryptoPrimitivesUtil.getKeyFactory("RSA");
             return factory.generatePublic(rsaPublicKeySpec);
-        } catch (InvalidKeySpecException | NoSuchAlgorithmException e) {
+        } catch (InvalidKeySpecException e) {
             throw new UnexpectedCheckedException(e);
         }
     }
 
     public static PrivateKey createPrivateKey(RSAPrivateKeySpec rsaPrivateKeySpec) {
         try {
-            KeyFactory factory = KeyFactory.getInstance("RSA");
+            KeyFactory factory = CryptoPrimitivesUtil.getKeyFactory("RSA");
             return factory.generatePrivate(rsaPrivateKeySpec);
-        } catch (InvalidKeySpecException | NoSuchAlgorithmException e) {
+        } catch (InvalidKeySpecException e) {
             throw new UnexpectedCheckedException(e);
         }
     }
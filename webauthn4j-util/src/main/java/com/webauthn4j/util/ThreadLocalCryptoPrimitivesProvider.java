@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.util;
+
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.Signature;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link CryptoPrimitivesProvider} implementation which caches primitives per thread and algorithm,
+ * so that the JCA provider lookup is done only once per thread.
+ * Instances are created by the delegate {@link CryptoPrimitivesProvider}.
+ */
+public class ThreadLocalCryptoPrimitivesProvider implements CryptoPrimitivesProvider {
+
+    // ~ Instance fields
+    // ================================================================================================
+
+    private final CryptoPrimitivesProvider delegate;
+
+    private final ThreadLocal<Map<String, Signature>> signatures = ThreadLocal.withInitial(HashMap::new);
+    private final ThreadLocal<Map<String, MessageDigest>> messageDigests = ThreadLocal.withInitial(HashMap::new);
+    private final ThreadLocal<Map<String, KeyFactory>> keyFactories = ThreadLocal.withInitial(HashMap::new);
+
+    // ~ Constructors
+    // ========================================================================================================
+
+    public ThreadLocalCryptoPrimitivesProvider(CryptoPrimitivesProvider delegate) {
+        AssertUtil.notNull(delegate, "delegate must not be null");
+        this.delegate = delegate;
+    }
+
+    public ThreadLocalCryptoPrimitivesProvider() {
+        this(new JcaCryptoPrimitivesProvider());
+    }
+
+    // ~ Methods
+    // ========================================================================================================
+
+    @Override
+    public Signature getSignature(String algorithm) {
+        AssertUtil.notNull(algorithm, "algorithm is required; it must not be null");
+        return signatures.get().computeIfAbsent(algorithm, delegate::getSignature);
+    }
+
+    @Override
+    public MessageDigest getMessageDigest(String algorithm) {
+        AssertUtil.notNull(algorithm, "algorithm is required; it must not be null");
+        MessageDigest messageDigest = messageDigests.get().computeIfAbsent(algorithm, delegate::getMessageDigest);
+        messageDigest.reset();
+        return messageDigest;
+    }
+
+    @Override
+    public KeyFactory getKeyFactory(String algorithm) {
+        AssertUtil.notNull(algorithm, "algorithm is required; it must not be null");
+        return keyFactories.get().computeIfAbsent(algorithm, delegate::getKeyFactory);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompletableFutureUtilTest {
+
+    @Test
+    void supplyAsync_test() throws ExecutionException, InterruptedException {
+        CompletableFuture<String> future = CompletableFutureUtil.supplyAsync(() -> "result", Runnable::run);
+        assertThat(future.get()).isEqualTo("result");
+    }
+
+    @Test
+    void supplyAsync_completes_with_thrown_exception_test() {
+        IllegalStateException exception = new IllegalStateException();
+        CompletableFuture<String> future = CompletableFutureUtil.supplyAsync(() -> {
+            throw exception;
+        }, Runnable::run);
+        assertThat(future.handle((result, throwable) -> throwable).join()).isSameAs(exception);
+    }
+
+    @Test
+    void supplyAsync_with_rejecting_executor_test() {
+        CompletableFuture<String> future = CompletableFutureUtil.supplyAsync(() -> "result", command -> {
+            throw new RejectedExecutionException();
+        });
+        assertThat(future.handle((result, throwable) -> throwable).join()).isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void supply_test() {
+        assertThat(CompletableFutureUtil.supply(() -> "result").join()).isEqualTo("result");
+        assertThat(CompletableFutureUtil.supply(() -> {
+            throw new IllegalArgumentException();
+        }).handle((result, throwable) -> throwable).join()).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void runAfterAll_runs_on_calling_thread_if_completed_test() {
+        Thread[] threads = new Thread[1];
+        CompletableFuture<Void> future = CompletableFutureUtil.runAfterAll(Collections.singletonList(CompletableFuture.completedFuture("result")), () -> threads[0] = Thread.currentThread());
+        assertThat(future.isDone()).isTrue();
+        assertThat(threads[0]).isSameAs(Thread.currentThread());
+    }
+
+    @Test
+    void runAfterAll_runs_after_last_stage_test() {
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> second = new CompletableFuture<>();
+        boolean[] ran = new boolean[1];
+        CompletableFuture<Void> future = CompletableFutureUtil.runAfterAll(Arrays.asList(first, second), () -> ran[0] = true);
+        first.complete("first");
+        assertThat(ran[0]).isFalse();
+        second.complete("second");
+        assertThat(ran[0]).isTrue();
+        assertThat(future.isDone()).isTrue();
+    }
+
+    @Test
+    void runAfterAll_completes_with_stage_exception_test() {
+        IllegalStateException exception = new IllegalStateException();
+        boolean[] ran = new boolean[1];
+        CompletableFuture<Void> future = CompletableFutureUtil.runAfterAll(Collections.singletonList(CompletableFutureUtil.failedFuture(exception)), () -> ran[0] = true);
+        assertThat(future.handle((result, throwable) -> throwable).join()).isSameAs(exception);
+        assertThat(ran[0]).isFalse();
+    }
+
+    @Test
+    void runAfterAll_completes_with_thrown_exception_test() {
+        IllegalArgumentException exception = new IllegalArgumentException();
+        CompletableFuture<Void> future = CompletableFutureUtil.runAfterAll(Collections.emptyList(), () -> {
+            throw exception;
+        });
+        assertThat(future.handle((result, throwable) -> throwable).join()).isSameAs(exception);
+    }
+
+    @Test
+    void failedFuture_test() {
+        CompletableFuture<String> future = CompletableFutureUtil.failedFuture(new IllegalStateException());
+        assertThrows(ExecutionException.class, future::get);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.util;
+
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.Test;
+
+import java.security.Provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JcaCryptoPrimitivesProviderTest {
+
+    private final JcaCryptoPrimitivesProvider target = new JcaCryptoPrimitivesProvider();
+
+    @Test
+    void getSignature_test() {
+        assertThat(target.getSignature("SHA256withECDSA").getAlgorithm()).isEqualTo("SHA256withECDSA");
+        assertThat(target.getSignature("SHA256withECDSA")).isNotSameAs(target.getSignature("SHA256withECDSA"));
+    }
+
+    @Test
+    void getMessageDigest_test() {
+        assertThat(target.getMessageDigest("SHA-256").getAlgorithm()).isEqualTo("SHA-256");
+    }
+
+    @Test
+    void getKeyFactory_test() {
+        assertThat(target.getKeyFactory("EC").getAlgorithm()).isEqualTo("EC");
+    }
+
+    @Test
+    void getSignature_with_illegal_argument_test() {
+        Throwable t = assertThrows(IllegalArgumentException.class,
+                () -> target.getSignature("dummyAlg")
+        );
+        assertThat(t).hasMessageContaining("dummyAlg Signature not available");
+    }
+
+    @Test
+    void getSignature_with_null_test() {
+        Throwable t = assertThrows(IllegalArgumentException.class,
+                () -> target.getSignature(null)
+        );
+        assertThat(t).hasMessage("algorithm is required; it must not be null");
+    }
+
+    @Test
+    void pinned_provider_test() {
+        Provider provider = new BouncyCastleProvider();
+        JcaCryptoPrimitivesProvider pinned = new JcaCryptoPrimitivesProvider(provider);
+        assertThat(pinned.getProvider()).isSameAs(provider);
+        assertThat(pinned.getSignature("SHA256withECDSA").getProvider()).isSameAs(provider);
+        assertThat(pinned.getMessageDigest("SHA-256").getProvider()).isSameAs(provider);
+        assertThat(pinned.getKeyFactory("EC").getProvider()).isSameAs(provider);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.Signature;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThreadLocalCryptoPrimitivesProviderTest {
+
+    private final ThreadLocalCryptoPrimitivesProvider target = new ThreadLocalCryptoPrimitivesProvider();
+
+    @Test
+    void getSignature_returns_same_instance_in_same_thread_test() {
+        assertThat(target.getSignature("SHA256withECDSA")).isSameAs(target.getSignature("SHA256withECDSA"));
+        assertThat(target.getSignature("SHA256withECDSA")).isNotSameAs(target.getSignature("SHA256withRSA"));
+        assertThat(target.getKeyFactory("EC")).isSameAs(target.getKeyFactory("EC"));
+    }
+
+    @Test
+    void getSignature_returns_different_instance_in_different_thread_test() {
+        Signature signature = target.getSignature("SHA256withECDSA");
+        Signature other = CompletableFuture.supplyAsync(() -> target.getSignature("SHA256withECDSA")).join();
+        assertThat(other).isNotSameAs(signature);
+    }
+
+    @Test
+    void getMessageDigest_returns_reset_instance_test() {
+        byte[] data = "example.com".getBytes(StandardCharsets.UTF_8);
+        byte[] expected = MessageDigestUtil.createSHA256().digest(data);
+
+        MessageDigest messageDigest = target.getMessageDigest("SHA-256");
+        messageDigest.update(new byte[]{0x01, 0x02}); // left dirty intentionally
+
+        assertThat(target.getMessageDigest("SHA-256").digest(data)).isEqualTo(expected);
+    }
+}